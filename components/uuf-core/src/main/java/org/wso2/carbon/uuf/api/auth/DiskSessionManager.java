@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.api.auth;
+
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.api.config.Configuration;
+import org.wso2.carbon.uuf.api.exception.SessionManagementException;
+import org.wso2.carbon.uuf.internal.auth.SessionLog;
+import org.wso2.carbon.uuf.internal.io.util.PrivateDirectories;
+import org.wso2.carbon.uuf.spi.HttpRequest;
+import org.wso2.carbon.uuf.spi.HttpResponse;
+import org.wso2.carbon.uuf.spi.auth.SessionManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Manages sessions of a single UUF app in memory and persists them to a log on the disk, so that sessions survive
+ * restarts of the server.
+ * <p>
+ * Creations and removals of sessions are appended to a memory-mapped {@link SessionLog} as they happen. Accesses to
+ * sessions (and changes of their themes) are appended in the background every {@code uuf.session.log.flushInterval}
+ * milliseconds (default 1000), which is also how often the log is forced to the disk. Hence a crash of the server may
+ * lose the changes of the last flush interval. The log is compacted in the background once it has grown to twice its
+ * compacted size. Log files are created in the {@code uuf.session.log.dir} directory (default
+ * {@code <carbon.home>/tmp/uuf/sessions}), which is made accessible only to the user running the server, since the
+ * logs carry session IDs and CSRF tokens.
+ * <p>
+ * Properties of users should preferably be strings, numbers or booleans; other values are persisted with Java
+ * serialization and are restored only if their classes are allowed by {@link SessionCodec}.
+ *
+ * @since 1.0.0
+ */
+public class DiskSessionManager implements SessionManager, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskSessionManager.class);
+    private static final long SESSION_DEFAULT_TIMEOUT = 1200L; // 20 minutes
+    private static final String COOKIE_SESSION_ID = "UUFSESSIONID";
+    private static final String COOKIE_CSRF_TOKEN = "CSRFTOKEN";
+    private static final String LOG_DIRECTORY = System.getProperty(
+            "uuf.session.log.dir", PrivateDirectories.getDefaultPath("sessions").toString());
+    private static final long FLUSH_INTERVAL = Long.getLong("uuf.session.log.flushInterval", 1000L);
+    private static final long EXPIRY_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    private final ConcurrentMap<String, Entry> sessions;
+    private final Queue<Entry> accessedEntries;
+    private final SessionLog sessionLog;
+    private final long sessionTimeoutMillis;
+    private final ScheduledExecutorService executor;
+    private final Thread shutdownHook;
+    private final AtomicBoolean isClosed;
+
+    /**
+     * Constructs a new DiskSessionManager which persists sessions of the specified app.
+     *
+     * @param appName       name of the app
+     * @param configuration app configuration
+     * @throws SessionManagementException if the session log of the app cannot be opened
+     */
+    public DiskSessionManager(String appName, Configuration configuration) throws SessionManagementException {
+        this(Paths.get(LOG_DIRECTORY, appName.replaceAll("[^\\w.-]", "_") + ".log"), configuration, FLUSH_INTERVAL);
+    }
+
+    DiskSessionManager(Path logFile, Configuration configuration, long flushIntervalMillis)
+            throws SessionManagementException {
+        long sessionTimeout = configuration.getSessionTimeout();
+        sessionTimeout = (sessionTimeout == 0) ? SESSION_DEFAULT_TIMEOUT : sessionTimeout;
+        this.sessionTimeoutMillis = TimeUnit.SECONDS.toMillis(sessionTimeout);
+        this.sessions = new ConcurrentHashMap<>();
+        this.accessedEntries = new ConcurrentLinkedQueue<>();
+
+        Map<String, Entry> recoveredSessions = new HashMap<>();
+        try {
+            PrivateDirectories.create(logFile.toAbsolutePath().getParent());
+            this.sessionLog = SessionLog.open(logFile, payload -> recover(payload, recoveredSessions));
+        } catch (IOException e) {
+            throw new SessionManagementException("Cannot open session log '" + logFile + "'.", e);
+        }
+        long now = System.currentTimeMillis();
+        recoveredSessions.forEach((sessionId, entry) -> {
+            if (!entry.isExpired(now)) {
+                sessions.put(sessionId, entry);
+            }
+        });
+        LOGGER.debug("Recovered {} sessions from session log '{}'.", sessions.size(), logFile);
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("uuf-session-log-%d").setDaemon(true).build());
+        executor.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::expire, EXPIRY_INTERVAL, EXPIRY_INTERVAL, TimeUnit.MILLISECONDS);
+        this.isClosed = new AtomicBoolean(false);
+        this.shutdownHook = new Thread(this::closeQuietly, "uuf-session-log-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    private void recover(ByteBuffer payload, Map<String, Entry> recoveredSessions) {
+        SessionCodec.Record record;
+        try {
+            record = SessionCodec.decode(payload);
+        } catch (IOException e) {
+            LOGGER.warn("Skipping an unreadable session record.", e);
+            return;
+        }
+        switch (record.getType()) {
+            case SessionCodec.TYPE_PUT:
+                recoveredSessions.put(record.getSessionId(),
+                                      new Entry(record.getSession(), record.getLastAccessedTime()));
+                break;
+            case SessionCodec.TYPE_TOUCH:
+                Entry entry = recoveredSessions.get(record.getSessionId());
+                if (entry != null) {
+                    entry.lastAccessedTime = Math.max(entry.lastAccessedTime, record.getLastAccessedTime());
+                }
+                break;
+            default:
+                recoveredSessions.remove(record.getSessionId());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Session createSession(User user, HttpRequest request, HttpResponse response)
+            throws SessionManagementException {
+        Session session = new Session(user);
+        Entry entry = new Entry(session, System.currentTimeMillis());
+        // Session is indexed before it is logged, so that a compaction of the log which starts after the record was
+        // appended always sees the session.
+        sessions.put(session.getSessionId(), entry);
+        try {
+            sessionLog.append(SessionCodec.encodePut(session, entry.lastAccessedTime));
+        } catch (IOException e) {
+            sessions.remove(session.getSessionId(), entry);
+            throw new SessionManagementException("Cannot persist session '" + session.getSessionId() + "'.", e);
+        }
+
+        // Create cookies
+        response.addCookie(COOKIE_SESSION_ID, session.getSessionId() +
+                "; Path=" + request.getContextPath() + "; Secure; HTTPOnly");
+        response.addCookie(COOKIE_CSRF_TOKEN, session.getCsrfToken() + "; Path=" +
+                request.getContextPath() + "; Secure");
+        return session;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Session> getSession(HttpRequest request, HttpResponse response) throws SessionManagementException {
+        String sessionId = request.getCookieValue(COOKIE_SESSION_ID);
+        if (sessionId == null) {
+            return Optional.empty();
+        }
+        if (!Session.isValidSessionId(sessionId)) {
+            throw new SessionManagementException("Session ID '" + sessionId + "' is invalid.");
+        }
+
+        Entry entry = sessions.get(sessionId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        if (entry.isExpired(now)) {
+            try {
+                remove(entry);
+            } catch (IOException e) {
+                throw new SessionManagementException("Cannot persist the removal of session '" + sessionId + "'.", e);
+            }
+            return Optional.empty();
+        }
+        // Access is logged in the next flush.
+        entry.lastAccessedTime = now;
+        if (entry.isAccessed.compareAndSet(false, true)) {
+            accessedEntries.add(entry);
+        }
+        return Optional.of(entry.session);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean destroySession(HttpRequest request, HttpResponse response) throws SessionManagementException {
+        String sessionId = request.getCookieValue(COOKIE_SESSION_ID);
+        if (sessionId == null) {
+            return true; // Session not available
+        }
+        if (!Session.isValidSessionId(sessionId)) {
+            throw new SessionManagementException("Session ID '" + sessionId + "' is invalid.");
+        }
+
+        // Clear the session cookie by setting its value to an empty string, Max-Age to zero, & Expires to a past date.
+        String expiredCookie = "Max-Age=0; Expires=Thu, 01 Jan 1970 00:00:01 GMT; Path=" + request.getContextPath() +
+                "; Secure; HTTPOnly";
+        response.addCookie(COOKIE_SESSION_ID, expiredCookie);
+        response.addCookie(COOKIE_CSRF_TOKEN, expiredCookie);
+
+        Entry entry = sessions.get(sessionId);
+        if (entry == null) {
+            return false;
+        }
+        try {
+            return remove(entry);
+        } catch (IOException e) {
+            throw new SessionManagementException("Cannot persist the removal of session '" + sessionId + "'.", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Persists pending changes of the sessions, stops the background tasks of this session manager and closes the
+     * session log.
+     *
+     * @throws IOException if an error occurred when closing the session log
+     */
+    @Override
+    public void close() throws IOException {
+        if (!isClosed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // JVM is shutting down and this is being called from the shutdown hook.
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        sessionLog.close();
+        sessions.clear();
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            LOGGER.warn("Cannot close the session log.", e);
+        }
+    }
+
+    private boolean remove(Entry entry) throws IOException {
+        if (!sessions.remove(entry.session.getSessionId(), entry)) {
+            return false;
+        }
+        sessionLog.append(SessionCodec.encodeDelete(entry.session.getSessionId()));
+        return true;
+    }
+
+    private void flush() {
+        try {
+            Entry entry;
+            while ((entry = accessedEntries.poll()) != null) {
+                entry.isAccessed.set(false);
+                if (sessions.get(entry.session.getSessionId()) != entry) {
+                    continue; // Session is already removed.
+                }
+                String themeName = entry.session.getThemeName();
+                if (Objects.equals(themeName, entry.persistedThemeName)) {
+                    sessionLog.append(SessionCodec.encodeTouch(entry.session.getSessionId(), entry.lastAccessedTime));
+                } else {
+                    entry.persistedThemeName = themeName;
+                    sessionLog.append(SessionCodec.encodePut(entry.session, entry.lastAccessedTime));
+                }
+            }
+            sessionLog.sync();
+            if (sessionLog.needsCompaction()) {
+                sessionLog.compact(Iterables.transform(sessions.values(), e -> {
+                    e.persistedThemeName = e.session.getThemeName();
+                    return SessionCodec.encodePut(e.session, e.lastAccessedTime);
+                }));
+            }
+        } catch (IOException | RuntimeException e) {
+            // Keep the background task scheduled.
+            LOGGER.error("Cannot flush session log.", e);
+        }
+    }
+
+    private void expire() {
+        long now = System.currentTimeMillis();
+        try {
+            for (Entry entry : sessions.values()) {
+                if (entry.isExpired(now)) {
+                    remove(entry);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Cannot remove expired sessions from session log.", e);
+        }
+    }
+
+    /**
+     * A session with its access details.
+     */
+    private class Entry {
+
+        private final Session session;
+        private final AtomicBoolean isAccessed;
+        private volatile long lastAccessedTime;
+        private String persistedThemeName;
+
+        Entry(Session session, long lastAccessedTime) {
+            this.session = session;
+            this.isAccessed = new AtomicBoolean(false);
+            this.lastAccessedTime = lastAccessedTime;
+            this.persistedThemeName = session.getThemeName();
+        }
+
+        boolean isExpired(long now) {
+            return (now - lastAccessedTime) >= sessionTimeoutMillis;
+        }
+    }
+}
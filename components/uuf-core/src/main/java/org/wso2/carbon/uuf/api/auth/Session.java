@@ -18,13 +18,20 @@
 
 package org.wso2.carbon.uuf.api.auth;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.wso2.carbon.uuf.core.Theme;
 
 import java.io.Serializable;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.util.Base64;
 import java.util.Objects;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Provides a way to identify a user across more than one page request or visit to a Web site and to store information
@@ -61,6 +68,21 @@ public class Session implements Serializable {
         this.csrfToken = sessionIdGenerator.generateId();
     }
 
+    /**
+     * Creates a session instance with the specified state, e.g. when restoring a persisted session.
+     *
+     * @param sessionId ID of the session
+     * @param user      user of the session
+     * @param csrfToken CSRF token of the session
+     * @param themeName theme name of the session, or {@code null}
+     */
+    Session(String sessionId, User user, String csrfToken, String themeName) {
+        this.sessionId = sessionId;
+        this.user = user;
+        this.csrfToken = csrfToken;
+        this.themeName = themeName;
+    }
+
     /**
      * Returns the ID of this session.
      *
@@ -139,35 +161,58 @@ public class Session implements Serializable {
     }
 
     /**
-     * Adopted from <a href="https://git.io/vrYMl">org.apache.catalina.util.SessionIdGenerator</a> in Apache Tomcat
-     * 8.0.0 release.
+     * Fills the given array with random bytes from the generator which creates session IDs.
+     *
+     * @param bytes array to fill
+     */
+    static void nextSecureBytes(byte[] bytes) {
+        sessionIdGenerator.nextBytes(bytes);
+    }
+
+    /**
+     * Generates session IDs and CSRF tokens as strings of upper-case hexadecimal digits.
+     * <p>
+     * IDs are taken from a lock-free buffer which a background thread refills. When the buffer is drained, e.g.
+     * during a login storm, IDs are generated by the calling thread from one of several independent {@link
+     * SecureRandom}s selected by the thread, so that threads do not serialize on a single random number generator.
+     * Each of those is seeded with 256 bits from the default {@link SecureRandom} of the platform.
      */
     private static class SessionIdGenerator {
 
-        private final SecureRandom secureRandom;
+        private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+        private static final String PRNG_ALGORITHM = "SHA1PRNG";
+        private static final int SEED_LENGTH = 32;
+        private static final int BUFFER_CAPACITY = 1024;
+
         private final int sessionIdLength;
+        private final SecureRandom[] stripes;
+        private final SecureRandom refillRandom;
+        private final Queue<String> buffer;
+        private final AtomicInteger bufferedCount;
+        private final AtomicBoolean isRefilling;
+        private final Executor refillExecutor;
 
         /**
          * Creates a new session ID generator.
          *
          * @param sessionIdLength number of bytes in a session ID
          */
-        public SessionIdGenerator(int sessionIdLength) {
-            byte[] randomBytes = new byte[32];
-            ThreadLocalRandom.current().nextBytes(randomBytes);
-            char[] entropy = Base64.getEncoder().encodeToString(randomBytes).toCharArray();
-
-            long seed = System.currentTimeMillis();
-            for (int i = 0; i < entropy.length; i++) {
-                long update = ((byte) entropy[i]) << ((i % 8) * 8);
-                seed ^= update;
-            }
-
+        SessionIdGenerator(int sessionIdLength) {
+            this.sessionIdLength = sessionIdLength;
             // We call the default constructor so that system will figure-out the best, available algorithm.
             // See: http://stackoverflow.com/a/27638413/1577286
-            this.secureRandom = new SecureRandom();
-            this.secureRandom.setSeed(seed);
-            this.sessionIdLength = sessionIdLength;
+            SecureRandom seedSource = new SecureRandom();
+            int stripesCount = Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors() - 1, 1)) << 2;
+            this.stripes = new SecureRandom[stripesCount];
+            for (int i = 0; i < stripesCount; i++) {
+                stripes[i] = createSecureRandom(seedSource);
+            }
+            this.refillRandom = createSecureRandom(seedSource);
+            this.buffer = new ConcurrentLinkedQueue<>();
+            this.bufferedCount = new AtomicInteger();
+            this.isRefilling = new AtomicBoolean(false);
+            this.refillExecutor = Executors.newSingleThreadExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("uuf-session-id-generator-%d").setDaemon(true).build());
         }
 
         /**
@@ -175,32 +220,75 @@ public class Session implements Serializable {
          *
          * @return session ID
          */
-        public synchronized String generateId() {
-            byte randomBytes[] = new byte[16];
+        String generateId() {
+            String id = buffer.poll();
+            if (id != null) {
+                if (bufferedCount.decrementAndGet() < (BUFFER_CAPACITY / 2)) {
+                    refill();
+                }
+                return id;
+            }
+            refill();
+            return generateId(getStripe());
+        }
+
+        /**
+         * Fills the given array with random bytes from the {@link SecureRandom} selected by the calling thread.
+         *
+         * @param bytes array to fill
+         */
+        void nextBytes(byte[] bytes) {
+            getStripe().nextBytes(bytes);
+        }
+
+        private SecureRandom getStripe() {
+            return stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+        }
+
+        private String generateId(SecureRandom secureRandom) {
+            byte[] randomBytes = new byte[sessionIdLength];
+            secureRandom.nextBytes(randomBytes);
             // Render the result as a String of hexadecimal digits
-            StringBuilder buffer = new StringBuilder();
-
-            int resultLenBytes = 0;
-
-            while (resultLenBytes < sessionIdLength) {
-                secureRandom.nextBytes(randomBytes);
-                for (int j = 0; j < randomBytes.length && resultLenBytes < sessionIdLength; j++) {
-                    byte b1 = (byte) ((randomBytes[j] & 0xf0) >> 4);
-                    byte b2 = (byte) (randomBytes[j] & 0x0f);
-                    if (b1 < 10) {
-                        buffer.append((char) ('0' + b1));
-                    } else {
-                        buffer.append((char) ('A' + (b1 - 10)));
-                    }
-                    if (b2 < 10) {
-                        buffer.append((char) ('0' + b2));
-                    } else {
-                        buffer.append((char) ('A' + (b2 - 10)));
+            char[] hexChars = new char[sessionIdLength * 2];
+            for (int i = 0; i < sessionIdLength; i++) {
+                hexChars[2 * i] = HEX_DIGITS[(randomBytes[i] & 0xf0) >>> 4];
+                hexChars[(2 * i) + 1] = HEX_DIGITS[randomBytes[i] & 0x0f];
+            }
+            return new String(hexChars);
+        }
+
+        private void refill() {
+            if (!isRefilling.compareAndSet(false, true)) {
+                return; // Already refilling.
+            }
+            try {
+                refillExecutor.execute(() -> {
+                    try {
+                        while (bufferedCount.get() < BUFFER_CAPACITY) {
+                            buffer.offer(generateId(refillRandom));
+                            bufferedCount.incrementAndGet();
+                        }
+                    } finally {
+                        isRefilling.set(false);
                     }
-                    resultLenBytes++;
-                }
+                });
+            } catch (RejectedExecutionException e) {
+                isRefilling.set(false);
+            }
+        }
+
+        private static SecureRandom createSecureRandom(SecureRandom seedSource) {
+            byte[] seed = new byte[SEED_LENGTH];
+            seedSource.nextBytes(seed);
+            SecureRandom secureRandom;
+            try {
+                secureRandom = SecureRandom.getInstance(PRNG_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                secureRandom = new SecureRandom();
             }
-            return buffer.toString();
+            // Seeding before the first use replaces the self-seeding of the generator.
+            secureRandom.setSeed(seed);
+            return secureRandom;
         }
     }
 }
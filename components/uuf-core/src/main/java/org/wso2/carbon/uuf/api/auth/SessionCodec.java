@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.api.auth;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Encodes changes of sessions as compact binary records for the {@link DiskSessionManager}.
+ * <p>
+ * Session IDs and CSRF tokens are written as raw bytes rather than hexadecimal strings, and other strings as length
+ * prefixed UTF-8 bytes, so that strings of any length can be written. User property values which are strings, numbers
+ * or booleans are written as such; other values, and users of subclasses of {@link User}, are written with Java
+ * serialization. When reading them back, only subclasses of {@link User}, common JDK value and collection
+ * classes, and the classes (or packages, when ending with a dot) listed in the comma separated
+ * {@code uuf.session.log.serializableClasses} system property are deserialized.
+ *
+ * @since 1.0.0
+ */
+class SessionCodec {
+
+    static final byte TYPE_PUT = 1;
+    static final byte TYPE_TOUCH = 2;
+    static final byte TYPE_DELETE = 3;
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final byte USER_PLAIN = 0;
+    private static final byte USER_SERIALIZED = 1;
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_INTEGER = 2;
+    private static final byte VALUE_LONG = 3;
+    private static final byte VALUE_BOOLEAN = 4;
+    private static final byte VALUE_DOUBLE = 5;
+    private static final byte VALUE_SERIALIZED = 6;
+    private static final Set<String> SERIALIZABLE_CLASSES = ImmutableSet.of(
+            String.class.getName(), Boolean.class.getName(), Character.class.getName(), Number.class.getName(),
+            Byte.class.getName(), Short.class.getName(), Integer.class.getName(), Long.class.getName(),
+            Float.class.getName(), Double.class.getName(), Enum.class.getName(), BigInteger.class.getName(),
+            BigDecimal.class.getName(), ArrayList.class.getName(), LinkedList.class.getName(),
+            HashMap.class.getName(), LinkedHashMap.class.getName(), TreeMap.class.getName(), HashSet.class.getName(),
+            LinkedHashSet.class.getName(), TreeSet.class.getName(), Date.class.getName(), Locale.class.getName(),
+            UUID.class.getName(), "[B", "[C", "[S", "[I", "[J", "[F", "[D", "[Z", "[Ljava.lang.String;");
+    private static final List<String> CONFIGURED_SERIALIZABLE_CLASSES = Splitter.on(',').trimResults()
+            .omitEmptyStrings().splitToList(System.getProperty("uuf.session.log.serializableClasses", ""));
+
+    private SessionCodec() {
+    }
+
+    /**
+     * Encodes the full state of the specified session.
+     *
+     * @param session          session to be encoded
+     * @param lastAccessedTime time the session was last accessed, in milliseconds since the epoch
+     * @return encoded record
+     */
+    static byte[] encodePut(Session session, long lastAccessedTime) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(TYPE_PUT);
+            writeId(out, session.getSessionId());
+            writeId(out, session.getCsrfToken());
+            out.writeLong(lastAccessedTime);
+            writeNullableString(out, session.getThemeName());
+            User user = session.getUser();
+            if (user.getClass() == User.class) {
+                out.writeByte(USER_PLAIN);
+                writeNullableString(out, user.getId());
+                Map<String, Serializable> properties = user.getProperties();
+                out.writeInt(properties.size());
+                for (Map.Entry<String, Serializable> property : properties.entrySet()) {
+                    writeString(out, property.getKey());
+                    writeValue(out, property.getValue());
+                }
+            } else {
+                // Subclasses may carry state of their own.
+                out.writeByte(USER_SERIALIZED);
+                writeValue(out, user);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot encode session '" + session.getSessionId() + "'.", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes an access of the specified session.
+     *
+     * @param sessionId        ID of the session
+     * @param lastAccessedTime time the session was last accessed, in milliseconds since the epoch
+     * @return encoded record
+     */
+    static byte[] encodeTouch(String sessionId, long lastAccessedTime) {
+        ByteBuffer record = ByteBuffer.allocate(1 + Session.SESSION_ID_LENGTH + 8);
+        record.put(TYPE_TOUCH);
+        putId(record, sessionId);
+        record.putLong(lastAccessedTime);
+        return record.array();
+    }
+
+    /**
+     * Encodes the removal of the specified session.
+     *
+     * @param sessionId ID of the session
+     * @return encoded record
+     */
+    static byte[] encodeDelete(String sessionId) {
+        ByteBuffer record = ByteBuffer.allocate(1 + Session.SESSION_ID_LENGTH);
+        record.put(TYPE_DELETE);
+        putId(record, sessionId);
+        return record.array();
+    }
+
+    /**
+     * Decodes the specified record.
+     *
+     * @param payload record to be decoded
+     * @return decoded record
+     * @throws IOException if the record is malformed or a property value cannot be deserialized
+     */
+    static Record decode(ByteBuffer payload) throws IOException {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte type = in.readByte();
+        String sessionId = readId(in);
+        switch (type) {
+            case TYPE_PUT:
+                String csrfToken = readId(in);
+                long lastAccessedTime = in.readLong();
+                String themeName = readNullableString(in);
+                Session session = new Session(sessionId, readUser(in), csrfToken, themeName);
+                return new Record(type, sessionId, lastAccessedTime, session);
+            case TYPE_TOUCH:
+                return new Record(type, sessionId, in.readLong(), null);
+            case TYPE_DELETE:
+                return new Record(type, sessionId, 0L, null);
+            default:
+                throw new IOException("Unknown session record type '" + type + "'.");
+        }
+    }
+
+    private static void writeId(DataOutput out, String id) throws IOException {
+        for (int i = 0; i < Session.SESSION_ID_LENGTH; i++) {
+            out.writeByte(parseByte(id, i));
+        }
+    }
+
+    private static void putId(ByteBuffer record, String id) {
+        for (int i = 0; i < Session.SESSION_ID_LENGTH; i++) {
+            record.put(parseByte(id, i));
+        }
+    }
+
+    private static byte parseByte(String id, int index) {
+        return (byte) ((Character.digit(id.charAt(2 * index), 16) << 4) | Character.digit(id.charAt((2 * index) + 1),
+                                                                                           16));
+    }
+
+    private static String readId(DataInput in) throws IOException {
+        char[] hexChars = new char[Session.SESSION_ID_LENGTH * 2];
+        for (int i = 0; i < Session.SESSION_ID_LENGTH; i++) {
+            int b = in.readUnsignedByte();
+            hexChars[2 * i] = HEX_DIGITS[b >>> 4];
+            hexChars[(2 * i) + 1] = HEX_DIGITS[b & 0x0f];
+        }
+        return new String(hexChars);
+    }
+
+    private static User readUser(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        if (type == USER_SERIALIZED) {
+            Serializable user = readValue(in);
+            if (!(user instanceof User)) {
+                throw new IOException("Serialized user is not a '" + User.class.getName() + "'.");
+            }
+            return (User) user;
+        }
+        String userId = readNullableString(in);
+        int propertiesCount = in.readInt();
+        Map<String, Serializable> properties = new HashMap<>(propertiesCount);
+        for (int i = 0; i < propertiesCount; i++) {
+            properties.put(readString(in), readValue(in));
+        }
+        return new User(userId, properties);
+    }
+
+    private static void writeNullableString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeString(out, value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readString(in) : null;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        // DataOutput.writeUTF cannot write strings longer than 65535 bytes.
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if ((length < 0) || (length > in.available())) {
+            throw new IOException("Invalid length '" + length + "' in session record.");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static void writeValue(DataOutputStream out, Serializable value) throws IOException {
+        if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(VALUE_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(VALUE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else {
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(serialized)) {
+                objectOut.writeObject(value);
+            }
+            out.writeByte(VALUE_SERIALIZED);
+            out.writeInt(serialized.size());
+            serialized.writeTo(out);
+        }
+    }
+
+    private static Serializable readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return readString(in);
+            case VALUE_INTEGER:
+                return in.readInt();
+            case VALUE_LONG:
+                return in.readLong();
+            case VALUE_BOOLEAN:
+                return in.readBoolean();
+            case VALUE_DOUBLE:
+                return in.readDouble();
+            case VALUE_SERIALIZED:
+                byte[] serialized = readBytes(in);
+                try (ObjectInputStream objectIn = new AllowedClassesInputStream(new ByteArrayInputStream(serialized))) {
+                    return (Serializable) objectIn.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Cannot deserialize a user property value.", e);
+                }
+            default:
+                throw new IOException("Unknown user property value type '" + type + "'.");
+        }
+    }
+
+    /**
+     * Object input stream which deserializes only the allowed classes, so that a tampered session log cannot make the
+     * server instantiate arbitrary serializable classes.
+     */
+    private static class AllowedClassesInputStream extends ObjectInputStream {
+
+        AllowedClassesInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String className = desc.getName();
+            if (SERIALIZABLE_CLASSES.contains(className) || isConfigured(className)) {
+                return super.resolveClass(desc);
+            }
+            Class<?> clazz = super.resolveClass(desc); // Not initialized, hence no code of the class is run.
+            if (User.class.isAssignableFrom(clazz)) {
+                return clazz;
+            }
+            throw new InvalidClassException(className, "Class is not allowed to be deserialized from a session log.");
+        }
+
+        private static boolean isConfigured(String className) {
+            for (String configuredClass : CONFIGURED_SERIALIZABLE_CLASSES) {
+                if (configuredClass.endsWith(".") ? className.startsWith(configuredClass) :
+                        className.equals(configuredClass)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A decoded record.
+     */
+    static class Record {
+
+        private final byte type;
+        private final String sessionId;
+        private final long lastAccessedTime;
+        private final Session session;
+
+        Record(byte type, String sessionId, long lastAccessedTime, Session session) {
+            this.type = type;
+            this.sessionId = sessionId;
+            this.lastAccessedTime = lastAccessedTime;
+            this.session = session;
+        }
+
+        byte getType() {
+            return type;
+        }
+
+        String getSessionId() {
+            return sessionId;
+        }
+
+        long getLastAccessedTime() {
+            return lastAccessedTime;
+        }
+
+        Session getSession() {
+            return session;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.api.auth;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.api.config.Configuration;
+import org.wso2.carbon.uuf.api.exception.SessionManagementException;
+import org.wso2.carbon.uuf.internal.auth.TimerWheel;
+import org.wso2.carbon.uuf.spi.HttpRequest;
+import org.wso2.carbon.uuf.spi.HttpResponse;
+import org.wso2.carbon.uuf.spi.auth.SessionManager;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Manages sessions in memory for a single UUF app, in lock-striped shards.
+ * <p>
+ * Each shard guards its sessions and a {@link TimerWheel} with its own lock, so requests of different sessions rarely
+ * contend. Accessing a session only records the access time. A background task advances the timer wheels of all shards
+ * every {@code uuf.session.expiryInterval} milliseconds (default 1000), which expires idle sessions; the timer of a
+ * session is rescheduled when it fires and the session was accessed since it was scheduled. Number of active sessions
+ * is kept in a counter, hence {@link #getCount()} neither iterates the sessions nor takes any lock. Number of shards
+ * can be set with the system property {@code uuf.session.shards}.
+ *
+ * @since 1.0.0
+ */
+public class ShardedSessionManager implements SessionManager, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedSessionManager.class);
+
+    private static final long SESSION_DEFAULT_TIMEOUT = 1200L; // 20 minutes
+    private static final String COOKIE_SESSION_ID = "UUFSESSIONID";
+    private static final String COOKIE_CSRF_TOKEN = "CSRFTOKEN";
+    private static final int SHARDS = Integer.getInteger("uuf.session.shards", 64);
+    private static final long EXPIRY_INTERVAL = Long.getLong("uuf.session.expiryInterval", 1000L);
+
+    private final Shard[] shards;
+    private final AtomicInteger count;
+    private final long sessionTimeoutMillis;
+    private final long startTime;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Constructs a new ShardedSessionManager.
+     *
+     * @param configuration app configuration
+     */
+    public ShardedSessionManager(Configuration configuration) {
+        long sessionTimeout = configuration.getSessionTimeout();
+        sessionTimeout = (sessionTimeout == 0) ? SESSION_DEFAULT_TIMEOUT : sessionTimeout;
+        this.sessionTimeoutMillis = TimeUnit.SECONDS.toMillis(sessionTimeout);
+        this.startTime = System.nanoTime();
+        // Number of shards is rounded up to a power of two so that a shard can be selected with a mask.
+        int shardsCount = Integer.highestOneBit(Math.max(SHARDS - 1, 1)) << 1;
+        this.shards = new Shard[shardsCount];
+        for (int i = 0; i < shardsCount; i++) {
+            shards[i] = new Shard();
+        }
+        this.count = new AtomicInteger();
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("uuf-session-expiry-%d").setDaemon(true).build());
+        executor.scheduleWithFixedDelay(this::expire, EXPIRY_INTERVAL, EXPIRY_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Session createSession(User user, HttpRequest request, HttpResponse response)
+            throws SessionManagementException {
+        Session session = new Session(user);
+        long now = currentTime();
+        Shard shard = getShard(session.getSessionId());
+        shard.lock.lock();
+        try {
+            Entry entry = new Entry(session, now);
+            Entry previousEntry = shard.sessions.put(session.getSessionId(), entry);
+            if (previousEntry == null) {
+                count.incrementAndGet();
+            } else {
+                shard.timerWheel.cancel(previousEntry.timer);
+            }
+            shard.timerWheel.schedule(entry.timer, now + sessionTimeoutMillis);
+        } finally {
+            shard.lock.unlock();
+        }
+
+        // Create cookies
+        response.addCookie(COOKIE_SESSION_ID, session.getSessionId() +
+                "; Path=" + request.getContextPath() + "; Secure; HTTPOnly");
+        response.addCookie(COOKIE_CSRF_TOKEN, session.getCsrfToken() + "; Path=" +
+                request.getContextPath() + "; Secure");
+        return session;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Session> getSession(HttpRequest request, HttpResponse response) throws SessionManagementException {
+        String sessionId = request.getCookieValue(COOKIE_SESSION_ID);
+        if (sessionId == null) {
+            return Optional.empty();
+        }
+        if (!Session.isValidSessionId(sessionId)) {
+            throw new SessionManagementException("Session ID '" + sessionId + "' is invalid.");
+        }
+
+        long now = currentTime();
+        Shard shard = getShard(sessionId);
+        shard.lock.lock();
+        try {
+            Entry entry = shard.sessions.get(sessionId);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if ((now - entry.lastAccessedTime) >= sessionTimeoutMillis) {
+                // Session is expired, but its timer has not fired yet.
+                shard.remove(entry);
+                return Optional.empty();
+            }
+            entry.lastAccessedTime = now;
+            return Optional.of(entry.session);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean destroySession(HttpRequest request, HttpResponse response) throws SessionManagementException {
+        String sessionId = request.getCookieValue(COOKIE_SESSION_ID);
+        if (sessionId == null) {
+            return true; // Session not available
+        }
+        if (!Session.isValidSessionId(sessionId)) {
+            throw new SessionManagementException("Session ID '" + sessionId + "' is invalid.");
+        }
+
+        // Clear the session cookie by setting its value to an empty string, Max-Age to zero, & Expires to a past date.
+        String expiredCookie = "Max-Age=0; Expires=Thu, 01 Jan 1970 00:00:01 GMT; Path=" + request.getContextPath() +
+                "; Secure; HTTPOnly";
+        response.addCookie(COOKIE_SESSION_ID, expiredCookie);
+        response.addCookie(COOKIE_CSRF_TOKEN, expiredCookie);
+
+        Shard shard = getShard(sessionId);
+        shard.lock.lock();
+        try {
+            Entry entry = shard.sessions.get(sessionId);
+            if (entry == null) {
+                return false;
+            }
+            shard.remove(entry);
+            return true;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCount() {
+        return count.get();
+    }
+
+    /**
+     * Stops the background expiry of the sessions of this session manager.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void expire() {
+        try {
+            for (Shard shard : shards) {
+                shard.lock.lock();
+                try {
+                    shard.expire(currentTime());
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+        } catch (RuntimeException e) {
+            // Keep the background task scheduled.
+            LOGGER.error("Cannot expire sessions.", e);
+        }
+    }
+
+    private Shard getShard(String sessionId) {
+        int hash = sessionId.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    private long currentTime() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    /**
+     * A shard of sessions. Sessions and the timer wheel of a shard are guarded by the lock of that shard.
+     */
+    private class Shard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Entry> sessions = new HashMap<>();
+        private final TimerWheel<Entry> timerWheel = new TimerWheel<>(0L);
+
+        void expire(long now) {
+            timerWheel.advance(now, timer -> {
+                Entry entry = timer.getValue();
+                long deadline = entry.lastAccessedTime + sessionTimeoutMillis;
+                if (deadline <= now) {
+                    sessions.remove(entry.session.getSessionId());
+                    count.decrementAndGet();
+                } else {
+                    // Session was accessed after its timer was scheduled.
+                    timerWheel.schedule(timer, deadline);
+                }
+            });
+        }
+
+        void remove(Entry entry) {
+            sessions.remove(entry.session.getSessionId());
+            timerWheel.cancel(entry.timer);
+            count.decrementAndGet();
+        }
+    }
+
+    /**
+     * A session with its access time and expiry timer.
+     */
+    private static class Entry {
+
+        private final Session session;
+        private final TimerWheel.Timer<Entry> timer;
+        private long lastAccessedTime;
+
+        Entry(Session session, long lastAccessedTime) {
+            this.session = session;
+            this.timer = new TimerWheel.Timer<>(this);
+            this.lastAccessedTime = lastAccessedTime;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.api.auth;
+
+import org.wso2.carbon.uuf.api.config.Configuration;
+import org.wso2.carbon.uuf.api.exception.SessionManagementException;
+import org.wso2.carbon.uuf.spi.auth.SessionManager;
+import org.wso2.carbon.uuf.spi.auth.SessionManagerFactory;
+
+/**
+ * Provides ShardedSessionManagers for UUF apps.
+ * <p>
+ * Specify the class name of this factory in the <tt>app.yaml</tt> configuration file in order to use it.
+ * <p>
+ * eg:
+ * sessionManagement:
+ * factoryClassName: "org.wso2.carbon.uuf.api.auth.ShardedSessionManagerFactory"
+ * timeout: 1200
+ *
+ * @since 1.0.0
+ */
+public class ShardedSessionManagerFactory implements SessionManagerFactory {
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A new session manager is created for every deployment of an app, which is closed when the app is undeployed.
+     */
+    @Override
+    public SessionManager getSessionManager(String appName, Configuration configuration)
+            throws SessionManagementException {
+        return new ShardedSessionManager(configuration);
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.api.auth;
+
+import org.wso2.carbon.uuf.api.config.Configuration;
+import org.wso2.carbon.uuf.api.exception.SessionManagementException;
+import org.wso2.carbon.uuf.spi.HttpRequest;
+import org.wso2.carbon.uuf.spi.HttpResponse;
+import org.wso2.carbon.uuf.spi.auth.SessionManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Manages sessions of a single UUF app without storing them, by keeping each session in a signed cookie.
+ * <p>
+ * The session cookie carries the session ID, CSRF token, theme, user and the time the cookie was issued, signed with
+ * HMAC-SHA256 and optionally encrypted with AES-GCM. Hence any node that shares the keys can serve a session without
+ * a lookup, and no sticky sessions or shared session store is needed. A session expires when its cookie is older
+ * than the session timeout; the cookie is reissued once half of the timeout has passed since it was issued.
+ * <p>
+ * Keys are configured in the {@code other} section of the <tt>app.yaml</tt> as a list of Base64 encoded secrets of
+ * at least 32 bytes, or in the {@code uuf.session.keys} system property as a comma separated list. The first key
+ * signs new cookies, while the rest are only accepted, so keys can be rotated by prepending a new key and removing the
+ * oldest key after a session timeout. Set {@code sessionEncryption} to {@code true} to encrypt cookies.
+ * <p>
+ * eg:
+ * sessionManagement:
+ * factoryClassName: "org.wso2.carbon.uuf.api.auth.SignedCookieSessionManagerFactory"
+ * timeout: 1200
+ * other:
+ * sessionKeys: ["<new key>", "<old key>"]
+ * sessionEncryption: true
+ * <p>
+ * Destroyed sessions are remembered until they expire, but only in the node that destroyed them. Theme of a session
+ * is the theme it had when its cookie was issued.
+ *
+ * @since 1.0.0
+ */
+public class SignedCookieSessionManager implements SessionManager {
+
+    private static final long SESSION_DEFAULT_TIMEOUT = 1200L; // 20 minutes
+    private static final String COOKIE_SESSION_ID = "UUFSESSIONID";
+    private static final String COOKIE_CSRF_TOKEN = "CSRFTOKEN";
+    private static final String CONFIG_KEYS = "sessionKeys";
+    private static final String CONFIG_ENCRYPTION = "sessionEncryption";
+    private static final int MINIMUM_KEY_LENGTH = 32;
+    private static final byte VERSION = 1;
+    private static final byte FLAG_ENCRYPTED = 1;
+    private static final int HEADER_LENGTH = 2; // version and flags
+    private static final int MAC_LENGTH = 32;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH = 128;
+    private static final int MAX_COOKIE_LENGTH = 4000;
+
+    private final List<SessionKey> keys;
+    private final boolean isEncrypted;
+    private final long sessionTimeoutMillis;
+    private final ConcurrentMap<String, Long> revokedSessions;
+
+    /**
+     * Constructs a new SignedCookieSessionManager.
+     *
+     * @param configuration app configuration
+     * @throws SessionManagementException if no valid keys are configured
+     */
+    public SignedCookieSessionManager(Configuration configuration) throws SessionManagementException {
+        long sessionTimeout = configuration.getSessionTimeout();
+        sessionTimeout = (sessionTimeout == 0) ? SESSION_DEFAULT_TIMEOUT : sessionTimeout;
+        this.sessionTimeoutMillis = TimeUnit.SECONDS.toMillis(sessionTimeout);
+        this.keys = createKeys(configuration.other().get(CONFIG_KEYS));
+        Object encryption = configuration.other().get(CONFIG_ENCRYPTION);
+        this.isEncrypted = (encryption == null) ? Boolean.getBoolean("uuf.session.encryption") :
+                Boolean.parseBoolean(encryption.toString());
+        this.revokedSessions = new ConcurrentHashMap<>();
+    }
+
+    private static List<SessionKey> createKeys(Object keysConfig) throws SessionManagementException {
+        List<String> secrets = new ArrayList<>();
+        if (keysConfig instanceof List) {
+            for (Object secret : (List<?>) keysConfig) {
+                secrets.add(String.valueOf(secret));
+            }
+        } else if (keysConfig != null) {
+            secrets.add(keysConfig.toString());
+        } else {
+            String keysProperty = System.getProperty("uuf.session.keys");
+            if (keysProperty != null) {
+                secrets.addAll(Arrays.asList(keysProperty.split(",")));
+            }
+        }
+        if (secrets.isEmpty()) {
+            throw new SessionManagementException(
+                    "Cannot find session keys in '" + CONFIG_KEYS + "' configuration or 'uuf.session.keys' property.");
+        }
+
+        List<SessionKey> keys = new ArrayList<>(secrets.size());
+        for (int i = 0; i < secrets.size(); i++) {
+            byte[] secret;
+            try {
+                secret = Base64.getDecoder().decode(secrets.get(i).trim());
+            } catch (IllegalArgumentException e) {
+                throw new SessionManagementException("Session key at index " + i + " is not Base64 encoded.", e);
+            }
+            if (secret.length < MINIMUM_KEY_LENGTH) {
+                throw new SessionManagementException(
+                        "Session key at index " + i + " is shorter than " + MINIMUM_KEY_LENGTH + " bytes.");
+            }
+            keys.add(new SessionKey(secret));
+        }
+        return Collections.unmodifiableList(keys);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Session createSession(User user, HttpRequest request, HttpResponse response)
+            throws SessionManagementException {
+        Session session = new Session(user);
+        addCookies(session, System.currentTimeMillis(), request, response);
+        return session;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Session> getSession(HttpRequest request, HttpResponse response) throws SessionManagementException {
+        String cookieValue = request.getCookieValue(COOKIE_SESSION_ID);
+        if (cookieValue == null) {
+            return Optional.empty();
+        }
+        Optional<SessionCodec.Record> record = readCookie(cookieValue);
+        if (!record.isPresent()) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        long issuedTime = record.get().getLastAccessedTime();
+        Session session = record.get().getSession();
+        if (((now - issuedTime) >= sessionTimeoutMillis) || revokedSessions.containsKey(session.getSessionId())) {
+            return Optional.empty();
+        }
+        if ((now - issuedTime) >= (sessionTimeoutMillis / 2)) {
+            addCookies(session, now, request, response); // Extend the session.
+        }
+        return Optional.of(session);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean destroySession(HttpRequest request, HttpResponse response) throws SessionManagementException {
+        String cookieValue = request.getCookieValue(COOKIE_SESSION_ID);
+        if (cookieValue == null) {
+            return true; // Session not available
+        }
+        Optional<SessionCodec.Record> record = readCookie(cookieValue);
+
+        // Clear the session cookie by setting its value to an empty string, Max-Age to zero, & Expires to a past date.
+        String expiredCookie = "Max-Age=0; Expires=Thu, 01 Jan 1970 00:00:01 GMT; Path=" + request.getContextPath() +
+                "; Secure; HTTPOnly";
+        response.addCookie(COOKIE_SESSION_ID, expiredCookie);
+        response.addCookie(COOKIE_CSRF_TOKEN, expiredCookie);
+
+        if (!record.isPresent()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        long expiryTime = record.get().getLastAccessedTime() + sessionTimeoutMillis;
+        revokedSessions.values().removeIf(sessionExpiryTime -> sessionExpiryTime <= now);
+        if (expiryTime <= now) {
+            return false;
+        }
+        // A reissued cookie of the same session may expire later than this one.
+        return revokedSessions.put(record.get().getSessionId(), now + sessionTimeoutMillis) == null;
+    }
+
+    /**
+     * Returns {@code 0}, as sessions are not stored by this session manager.
+     *
+     * @return {@code 0}
+     */
+    @Override
+    public int getCount() {
+        return 0;
+    }
+
+    private void addCookies(Session session, long issuedTime, HttpRequest request, HttpResponse response)
+            throws SessionManagementException {
+        String cookieValue = writeCookie(session, issuedTime);
+        if (cookieValue.length() > MAX_COOKIE_LENGTH) {
+            throw new SessionManagementException(
+                    "Session of user '" + session.getUser().getId() + "' does not fit in a cookie.");
+        }
+        response.addCookie(COOKIE_SESSION_ID, cookieValue + "; Path=" + request.getContextPath() +
+                "; Secure; HTTPOnly");
+        response.addCookie(COOKIE_CSRF_TOKEN, session.getCsrfToken() + "; Path=" + request.getContextPath() +
+                "; Secure");
+    }
+
+    private String writeCookie(Session session, long issuedTime) throws SessionManagementException {
+        SessionKey key = keys.get(0);
+        byte[] record = SessionCodec.encodePut(session, issuedTime);
+        byte[] body;
+        if (isEncrypted) {
+            byte[] iv = new byte[IV_LENGTH];
+            Session.nextSecureBytes(iv);
+            try {
+                Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+                cipher.init(Cipher.ENCRYPT_MODE, key.encryptionKey, new GCMParameterSpec(TAG_LENGTH, iv));
+                byte[] encryptedRecord = cipher.doFinal(record);
+                body = ByteBuffer.allocate(IV_LENGTH + encryptedRecord.length).put(iv).put(encryptedRecord).array();
+            } catch (GeneralSecurityException e) {
+                throw new SessionManagementException("Cannot encrypt session '" + session.getSessionId() + "'.", e);
+            }
+        } else {
+            body = record;
+        }
+
+        ByteBuffer cookie = ByteBuffer.allocate(HEADER_LENGTH + body.length + MAC_LENGTH);
+        cookie.put(VERSION).put(isEncrypted ? FLAG_ENCRYPTED : 0).put(body);
+        Mac mac = key.mac.get();
+        mac.update(cookie.array(), 0, cookie.position());
+        cookie.put(mac.doFinal());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cookie.array());
+    }
+
+    private Optional<SessionCodec.Record> readCookie(String cookieValue) throws SessionManagementException {
+        byte[] cookie;
+        try {
+            cookie = Base64.getUrlDecoder().decode(cookieValue);
+        } catch (IllegalArgumentException e) {
+            throw new SessionManagementException("Session cookie '" + cookieValue + "' is invalid.", e);
+        }
+        if ((cookie.length <= (HEADER_LENGTH + MAC_LENGTH)) || (cookie[0] != VERSION)) {
+            throw new SessionManagementException("Session cookie '" + cookieValue + "' is invalid.");
+        }
+
+        int macOffset = cookie.length - MAC_LENGTH;
+        byte[] cookieMac = Arrays.copyOfRange(cookie, macOffset, cookie.length);
+        SessionKey key = null;
+        for (SessionKey candidateKey : keys) {
+            Mac mac = candidateKey.mac.get();
+            mac.update(cookie, 0, macOffset);
+            if (MessageDigest.isEqual(mac.doFinal(), cookieMac)) {
+                key = candidateKey;
+                break;
+            }
+        }
+        if (key == null) {
+            return Optional.empty(); // Forged, or signed with a key which is not used anymore.
+        }
+
+        ByteBuffer record;
+        if ((cookie[1] & FLAG_ENCRYPTED) != 0) {
+            if ((macOffset - HEADER_LENGTH) <= IV_LENGTH) {
+                return Optional.empty();
+            }
+            try {
+                Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+                cipher.init(Cipher.DECRYPT_MODE, key.encryptionKey,
+                            new GCMParameterSpec(TAG_LENGTH, cookie, HEADER_LENGTH, IV_LENGTH));
+                record = ByteBuffer.wrap(cipher.doFinal(cookie, HEADER_LENGTH + IV_LENGTH,
+                                                        macOffset - HEADER_LENGTH - IV_LENGTH));
+            } catch (GeneralSecurityException e) {
+                return Optional.empty();
+            }
+        } else {
+            record = ByteBuffer.wrap(cookie, HEADER_LENGTH, macOffset - HEADER_LENGTH);
+        }
+        try {
+            return Optional.of(SessionCodec.decode(record));
+        } catch (IOException e) {
+            throw new SessionManagementException("Cannot read session from a session cookie.", e);
+        }
+    }
+
+    /**
+     * Keys derived from a configured secret.
+     */
+    private static class SessionKey {
+
+        private final ThreadLocal<Mac> mac;
+        private final SecretKeySpec encryptionKey;
+
+        SessionKey(byte[] secret) throws SessionManagementException {
+            SecretKeySpec signingKey = new SecretKeySpec(derive(secret, "signing"), "HmacSHA256");
+            this.mac = ThreadLocal.withInitial(() -> newMac(signingKey));
+            this.encryptionKey = new SecretKeySpec(Arrays.copyOf(derive(secret, "encryption"), 16), "AES");
+        }
+
+        private static byte[] derive(byte[] secret, String purpose) throws SessionManagementException {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+                return mac.doFinal(("uuf-session-" + purpose).getBytes(StandardCharsets.UTF_8));
+            } catch (GeneralSecurityException e) {
+                throw new SessionManagementException("Cannot derive session keys.", e);
+            }
+        }
+
+        private static Mac newMac(SecretKeySpec key) {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available.", e);
+            }
+        }
+    }
+}
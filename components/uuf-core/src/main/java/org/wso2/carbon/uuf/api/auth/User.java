@@ -64,6 +64,10 @@ public class User implements Serializable {
         return properties.get(propertyKey);
     }
 
+    Map<String, Serializable> getProperties() {
+        return properties;
+    }
+
     /**
      * {@inheritDoc}
      */
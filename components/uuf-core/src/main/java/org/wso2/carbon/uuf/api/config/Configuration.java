@@ -28,12 +28,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.emptySortedMap;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
+import static java.util.Collections.unmodifiableSortedMap;
 
 /**
  * Represents the final configuration of an UUF App.
@@ -52,6 +56,12 @@ public class Configuration {
     private String authorizer;
     private String sessionManagerFactoryClassName;
     private long sessionTimeout;
+    private long requestTimeout;
+    private SortedMap<UriPatten, Long> pageRequestTimeouts = emptySortedMap();
+    private int executorThreads;
+    private int executorQueueDepth;
+    private boolean assetBundlingEnabled;
+    private String assetsCdnBaseUrl;
     private Map<Integer, String> errorPageUris;
     private String defaultErrorPageUri;
     private ListMultimap<String, MenuItem> menus;
@@ -217,6 +227,182 @@ public class Configuration {
         this.sessionTimeout = sessionTimeout;
     }
 
+    /**
+     * Returns the request timeout in milliseconds for the app. A value of {@code 0} means requests of this app do not
+     * have a deadline.
+     *
+     * @return request timeout in milliseconds
+     * @see #getRequestTimeout(String)
+     */
+    public long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Returns the request timeout in milliseconds for the specified page URI. If a timeout is not configured for the
+     * page, then the app's request timeout is returned.
+     *
+     * @param pageUri page URI (without the app context path)
+     * @return request timeout in milliseconds for the page
+     * @see #getRequestTimeout()
+     */
+    public long getRequestTimeout(String pageUri) {
+        for (Map.Entry<UriPatten, Long> entry : pageRequestTimeouts.entrySet()) {
+            if (entry.getKey().matches(pageUri)) {
+                return entry.getValue();
+            }
+        }
+        return requestTimeout;
+    }
+
+    /**
+     * Sets the request timeout in milliseconds for the app.
+     *
+     * @param requestTimeout request timeout in milliseconds, {@code 0} to disable
+     * @throws IllegalArgumentException if the timeout is a negative value
+     * @see #getRequestTimeout()
+     */
+    public void setRequestTimeout(long requestTimeout) {
+        if (requestTimeout < 0) {
+            throw new IllegalArgumentException("Request timeout should not be a negative value.");
+        }
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Sets the request timeouts in milliseconds for pages of the app.
+     *
+     * @param pageRequestTimeouts request timeouts keyed by page URI patterns
+     * @throws IllegalArgumentException if a URI pattern is null, empty or invalid
+     * @throws IllegalArgumentException if a timeout is null or a negative value
+     * @see #getRequestTimeout(String)
+     */
+    public void setPageRequestTimeouts(Map<String, Long> pageRequestTimeouts) {
+        if (pageRequestTimeouts == null) {
+            this.pageRequestTimeouts = emptySortedMap();
+        } else {
+            SortedMap<UriPatten, Long> timeouts = new TreeMap<>();
+            for (Map.Entry<String, Long> entry : pageRequestTimeouts.entrySet()) {
+                String pageUri = entry.getKey();
+                Long timeout = entry.getValue();
+                if (pageUri == null) {
+                    throw new IllegalArgumentException("Page URI pattern of a request timeout cannot be null.");
+                } else if (pageUri.isEmpty()) {
+                    throw new IllegalArgumentException("Page URI pattern of a request timeout cannot be empty.");
+                }
+                if ((timeout == null) || (timeout < 0)) {
+                    throw new IllegalArgumentException(
+                            "Request timeout of page URI pattern '" + pageUri + "' should be a non-negative value. " +
+                                    "Instead found '" + timeout + "'.");
+                }
+                try {
+                    timeouts.put(new UriPatten(pageUri), timeout);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Page URI pattern '" + pageUri + "' is invalid.", e);
+                }
+            }
+            this.pageRequestTimeouts = unmodifiableSortedMap(timeouts);
+        }
+    }
+
+    /**
+     * Returns the number of threads that can serve pages and fragments of the app concurrently. A value of {@code 0}
+     * means the server default is used.
+     *
+     * @return number of threads
+     */
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+
+    /**
+     * Sets the number of threads that can serve pages and fragments of the app concurrently.
+     *
+     * @param executorThreads number of threads, {@code 0} to use the server default
+     * @throws IllegalArgumentException if the number of threads is a negative value
+     * @see #getExecutorThreads()
+     */
+    public void setExecutorThreads(int executorThreads) {
+        if (executorThreads < 0) {
+            throw new IllegalArgumentException("Number of executor threads should not be a negative value.");
+        }
+        this.executorThreads = executorThreads;
+    }
+
+    /**
+     * Returns the maximum number of page and fragment requests of the app that can wait for their turn. A value
+     * of {@code 0} means the server default is used, which rejects requests that cannot be served right away. A
+     * waiting request holds a connector thread, hence it waits at most {@code uuf.executor.queueTimeout} milliseconds
+     * (default 1000) and the number of waiting requests of all apps is capped by
+     * {@code uuf.executor.maxWaitingThreads} (default is the number of processors).
+     *
+     * @return queue depth
+     */
+    public int getExecutorQueueDepth() {
+        return executorQueueDepth;
+    }
+
+    /**
+     * Sets the maximum number of page and fragment requests of the app that can wait for their turn.
+     *
+     * @param executorQueueDepth queue depth, {@code 0} to use the server default
+     * @throws IllegalArgumentException if the queue depth is a negative value
+     * @see #getExecutorQueueDepth()
+     */
+    public void setExecutorQueueDepth(int executorQueueDepth) {
+        if (executorQueueDepth < 0) {
+            throw new IllegalArgumentException("Executor queue depth should not be a negative value.");
+        }
+        this.executorQueueDepth = executorQueueDepth;
+    }
+
+    /**
+     * Returns whether CSS and JS files of the app are bundled and served with content-fingerprinted URIs.
+     *
+     * @return {@code true} if asset bundling is enabled, {@code false} otherwise
+     */
+    public boolean isAssetBundlingEnabled() {
+        return assetBundlingEnabled;
+    }
+
+    /**
+     * Sets whether CSS and JS files of the app are bundled and served with content-fingerprinted URIs.
+     *
+     * @param assetBundlingEnabled {@code true} to enable asset bundling
+     * @see #isAssetBundlingEnabled()
+     */
+    public void setAssetBundlingEnabled(boolean assetBundlingEnabled) {
+        this.assetBundlingEnabled = assetBundlingEnabled;
+    }
+
+    /**
+     * Returns the configured base URL of the CDN that serves the bundled and fingerprinted assets of the app.
+     *
+     * @return CDN base URL
+     */
+    public Optional<String> getAssetsCdnBaseUrl() {
+        return Optional.ofNullable(assetsCdnBaseUrl);
+    }
+
+    /**
+     * Sets the base URL of the CDN that serves the bundled and fingerprinted assets of the app.
+     *
+     * @param assetsCdnBaseUrl CDN base URL, e.g. {@code https://cdn.example.com}
+     * @throws IllegalArgumentException if the CDN base URL is empty or ends with a '/'
+     * @see #getAssetsCdnBaseUrl()
+     */
+    public void setAssetsCdnBaseUrl(String assetsCdnBaseUrl) {
+        if (assetsCdnBaseUrl != null) {
+            if (assetsCdnBaseUrl.isEmpty()) {
+                throw new IllegalArgumentException("CDN base URL cannot be empty.");
+            } else if (assetsCdnBaseUrl.endsWith("/")) {
+                throw new IllegalArgumentException("CDN base URL cannot end with a '/'. Instead found '" +
+                                                           assetsCdnBaseUrl + "'.");
+            }
+        }
+        this.assetsCdnBaseUrl = assetsCdnBaseUrl;
+    }
+
     /**
      * Returns the configured error page URI (without the app context path) for the specified HTTP status code.
      *
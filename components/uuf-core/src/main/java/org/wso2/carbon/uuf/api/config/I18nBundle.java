@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.api.config;
+
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Messages of a component in a particular locale, prepared to be sent to the client side.
+ * <p>
+ * A bundle is served both as JSON and as a script which adds the messages to the {@code uufI18n} global object. Its
+ * version is derived from the content digest, so a versioned URI of a bundle can be cached by browsers forever.
+ *
+ * @since 1.0.0
+ */
+public class I18nBundle {
+
+    public static final String URI_PREFIX = "/i18n/";
+    public static final String EXTENSION_JSON = "json";
+    public static final String EXTENSION_JS = "js";
+    public static final String QUERY_PARAM_VERSION = "v";
+    private static final int VERSION_LENGTH = 16;
+
+    private final String componentName;
+    private final Locale locale;
+    private final String json;
+    private final String script;
+    private final String version;
+
+    I18nBundle(String componentName, Locale locale, Map<String, String> messages) {
+        JsonObject jsonObject = new JsonObject();
+        new TreeMap<>(messages).forEach(jsonObject::addProperty);
+        this.componentName = componentName;
+        this.locale = locale;
+        this.json = jsonObject.toString();
+        this.script = "(function(m){var t=window.uufI18n=window.uufI18n||{};for(var k in m){t[k]=m[k];}})(" + json +
+                ");";
+        this.version = Hashing.sha256().hashString(json, StandardCharsets.UTF_8).toString()
+                .substring(0, VERSION_LENGTH);
+    }
+
+    public String getComponentName() {
+        return componentName;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Returns the messages of this bundle as a JSON object.
+     *
+     * @return JSON of the messages
+     */
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * Returns a script that adds the messages of this bundle to the {@code uufI18n} global object.
+     *
+     * @return script of the messages
+     */
+    public String getScript() {
+        return script;
+    }
+
+    /**
+     * Returns the version of this bundle, which changes whenever its messages change.
+     *
+     * @return version of this bundle
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the strong entity tag of this bundle.
+     *
+     * @return value for the {@code ETag} HTTP header
+     */
+    public String getETag() {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the versioned URI of the script of this bundle.
+     *
+     * @return URI without the app context path
+     */
+    public String getScriptUri() {
+        return URI_PREFIX + componentName + "/" + locale.toLanguageTag() + "." + EXTENSION_JS +
+                "?" + QUERY_PARAM_VERSION + "=" + version;
+    }
+
+    @Override
+    public String toString() {
+        return "{\"component\": \"" + componentName + "\", \"locale\": \"" + locale.toLanguageTag() +
+                "\", \"version\": \"" + version + "\"}";
+    }
+}
@@ -18,28 +18,63 @@
 
 package org.wso2.carbon.uuf.api.config;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+
 import java.text.MessageFormat;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Holds the i18n language resources of an UUF App.
+ * <p>
+ * Once all language resources are added, they are frozen into immutable tables of pre-parsed messages (see
+ * {@link #freeze()}). A message which is not available in a locale is looked up in its parent locales, e.g.
+ * {@code en-US} falls back to {@code en}. Locales chosen for "Accept-Language" header values are cached.
+ * <p>
+ * Messages of each component are also available as {@link I18nBundle bundles} for the client side. A bundle is
+ * created when it is first asked for, and only for one of the available locales.
  *
  * @since 1.0.0
  */
 public class I18nResources {
 
+    private static final int MAX_CACHED_LANGUAGE_RANGES = 1024;
+    private static final int MAX_CACHED_LOCALES = 256;
+    private static final ResourceBundle.Control CANDIDATE_LOCALES =
+            ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT);
+
     private final Map<Locale, Properties> i18nResources = new HashMap<>();
+    private final Map<String, Set<String>> componentMessageKeys = new HashMap<>();
+    private volatile Map<Locale, Map<String, Message>> messages;
+    private final ConcurrentMap<Locale, ConcurrentMap<String, I18nBundle>> bundles = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Locale, Map<String, Message>> resolvedMessages = new ConcurrentHashMap<>();
+    private final Cache<String, Optional<Locale>> negotiatedLocales = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_LANGUAGE_RANGES)
+            .build();
 
     /**
      * Adds the given language.
      *
      * @param locale language to be add
      * @param i18n   properties
+     * @throws IllegalStateException if these resources are already frozen
      */
-    public void addI18nResource(Locale locale, Properties i18n) {
+    public synchronized void addI18nResource(Locale locale, Properties i18n) {
+        if (messages != null) {
+            throw new IllegalStateException("Cannot add language '" + locale + "' to frozen i18n resources.");
+        }
         Properties i18nResource = this.i18nResources.get(locale);
         if (i18nResource == null) {
             this.i18nResources.put(locale, i18n);
@@ -48,6 +83,49 @@ public class I18nResources {
         }
     }
 
+    /**
+     * Adds the given language of the given component.
+     *
+     * @param componentName name of the component
+     * @param locale        language to be add
+     * @param i18n          properties
+     * @throws IllegalStateException if these resources are already frozen
+     */
+    public synchronized void addI18nResource(String componentName, Locale locale, Properties i18n) {
+        addI18nResource(locale, i18n);
+        componentMessageKeys.computeIfAbsent(componentName, key -> new HashSet<>())
+                .addAll(i18n.stringPropertyNames());
+    }
+
+    /**
+     * Freezes these resources, so that no more languages can be added. Messages are parsed once here rather than
+     * every time they are formatted. Resources are frozen when they are read for the first time, if not before.
+     */
+    public synchronized void freeze() {
+        if (messages != null) {
+            return;
+        }
+        ImmutableMap.Builder<Locale, Map<String, Message>> frozenMessages = ImmutableMap.builder();
+        i18nResources.forEach((locale, properties) -> {
+            ImmutableMap.Builder<String, Message> localeMessages = ImmutableMap.builder();
+            for (String messageKey : properties.stringPropertyNames()) {
+                localeMessages.put(messageKey, new Message(properties.getProperty(messageKey), locale));
+            }
+            frozenMessages.put(locale, localeMessages.build());
+        });
+        messages = frozenMessages.build();
+        i18nResources.clear();
+    }
+
+    private Map<Locale, Map<String, Message>> getMessages() {
+        Map<Locale, Map<String, Message>> frozenMessages = messages;
+        if (frozenMessages == null) {
+            freeze();
+            frozenMessages = messages;
+        }
+        return frozenMessages;
+    }
+
     /**
      * Returns the best matching locale chosen from the available locales for the given language ranges.
      *
@@ -61,17 +139,24 @@ public class I18nResources {
             return null;
         }
 
-        try {
-            return Locale.lookup(Locale.LanguageRange.parse(languageRanges), i18nResources.keySet());
-        } catch (IllegalArgumentException e) {
-            // languageRanges is ill formed
-            return null;
+        Optional<Locale> locale = negotiatedLocales.getIfPresent(languageRanges);
+        if (locale == null) {
+            try {
+                locale = Optional.ofNullable(Locale.lookup(Locale.LanguageRange.parse(languageRanges),
+                                                           getMessages().keySet()));
+            } catch (IllegalArgumentException e) {
+                // languageRanges is ill formed
+                locale = Optional.empty();
+            }
+            negotiatedLocales.put(languageRanges, locale);
         }
+        return locale.orElse(null);
     }
 
     /**
      * Returns the formatted message of the given message key in the given locale. If no message is found for the
-     * given message key in the given locale, then the specified default message will be returned.
+     * given message key in the given locale or its parent locales, then the specified default message will be
+     * returned.
      * @param locale locale of the message
      * @param messageKey key of the message
      * @param messageParams parameters to format the message, or {@code null} if there are no parameters
@@ -81,16 +166,109 @@ public class I18nResources {
      * given locale
      */
     public String getMessage(Locale locale, String messageKey, Object[] messageParams, String defaultMessage) {
-        Properties messages = i18nResources.get(locale);
-        if (messages == null) {
+        if (locale == null) {
             return defaultMessage;
         }
-        String message = messages.getProperty(messageKey);
+        Message message = resolveMessages(locale).get(messageKey);
         if (message == null) {
             return defaultMessage;
         }
+        return ((messageParams == null) || (messageParams.length == 0)) ? message.pattern :
+                message.format(messageParams);
+    }
+
+    /**
+     * Returns the bundle of the messages of the given component in the given locale. The bundle is in the best
+     * matching available locale, e.g. {@code en} for {@code en-GB} when there are no messages for {@code en-GB}.
+     * Messages of the bundle are not formatted.
+     *
+     * @param componentName name of the component
+     * @param locale        locale of the messages
+     * @return the bundle, or an empty {@link Optional} if the given component does not have language resources or
+     * no available locale matches the given locale
+     */
+    public Optional<I18nBundle> getBundle(String componentName, Locale locale) {
+        Set<Locale> availableLocales = getMessages().keySet();
+        if ((locale == null) || !componentMessageKeys.containsKey(componentName)) {
+            return Optional.empty();
+        }
+        // Bundles are created only for the available locales, so arbitrary locales cannot make more bundles.
+        Locale bundleLocale;
+        try {
+            bundleLocale = Locale.lookup(Collections.singletonList(new Locale.LanguageRange(locale.toLanguageTag())),
+                                         availableLocales);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty(); // Language tag is not a valid language range.
+        }
+        if (bundleLocale == null) {
+            return Optional.empty();
+        }
+        return Optional.of(bundles.computeIfAbsent(bundleLocale, key -> new ConcurrentHashMap<>())
+                                   .computeIfAbsent(componentName, key -> createBundle(componentName, bundleLocale)));
+    }
+
+    private I18nBundle createBundle(String componentName, Locale locale) {
+        Map<String, Message> localeMessages = resolveMessages(locale);
+        Map<String, String> componentMessages = new HashMap<>();
+        // Message keys of components are not modified once frozen.
+        for (String messageKey : componentMessageKeys.get(componentName)) {
+            Message message = localeMessages.get(messageKey);
+            if (message != null) {
+                componentMessages.put(messageKey, message.pattern);
+            }
+        }
+        return new I18nBundle(componentName, locale, componentMessages);
+    }
+
+    private Map<String, Message> resolveMessages(Locale locale) {
+        Map<String, Message> localeMessages = resolvedMessages.get(locale);
+        if (localeMessages != null) {
+            return localeMessages;
+        }
 
-        return ((messageParams == null) || (messageParams.length == 0)) ? message :
-                new MessageFormat(message, locale).format(messageParams);
+        // Merge messages of the locale with the messages of its parents, e.g. en-US with en.
+        Map<Locale, Map<String, Message>> frozenMessages = getMessages();
+        List<Locale> candidateLocales = CANDIDATE_LOCALES.getCandidateLocales("", locale);
+        Map<String, Message> mergedMessages = new HashMap<>();
+        for (int i = candidateLocales.size() - 1; i >= 0; i--) {
+            Map<String, Message> candidateMessages = frozenMessages.get(candidateLocales.get(i));
+            if (candidateMessages != null) {
+                mergedMessages.putAll(candidateMessages);
+            }
+        }
+        localeMessages = mergedMessages.isEmpty() ? Collections.emptyMap() : ImmutableMap.copyOf(mergedMessages);
+        if (resolvedMessages.size() < MAX_CACHED_LOCALES) {
+            resolvedMessages.putIfAbsent(locale, localeMessages);
+        }
+        return localeMessages;
+    }
+
+    /**
+     * A message with its pre-parsed format.
+     */
+    private static class Message {
+
+        private final String pattern;
+        private final Locale locale;
+        private final MessageFormat messageFormat;
+
+        Message(String pattern, Locale locale) {
+            this.pattern = pattern;
+            this.locale = locale;
+            MessageFormat format;
+            try {
+                format = new MessageFormat(pattern, locale);
+            } catch (IllegalArgumentException e) {
+                format = null; // Reported when the message is formatted.
+            }
+            this.messageFormat = format;
+        }
+
+        String format(Object[] messageParams) {
+            // MessageFormat is not thread-safe, hence format with a copy.
+            MessageFormat format = (messageFormat == null) ? new MessageFormat(pattern, locale) :
+                    (MessageFormat) messageFormat.clone();
+            return format.format(messageParams);
+        }
     }
 }
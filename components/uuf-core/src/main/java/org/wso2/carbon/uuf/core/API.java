@@ -34,9 +34,12 @@ import org.wso2.carbon.uuf.spi.auth.Authorizer;
 import org.wso2.carbon.uuf.spi.auth.SessionManager;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import javax.naming.Binding;
 import javax.naming.Context;
 import javax.naming.InitialContext;
@@ -52,12 +55,30 @@ public class API {
     private final SessionManager sessionManager;
     private final Authorizer authorizer;
     private final RequestLookup requestLookup;
+    private final Set<Permission> prefetchedPermissions;
+    private final Map<Permission, Boolean> permissionDecisions;
     private Session currentSession;
 
     API(SessionManager sessionManager, Authorizer authorizer, RequestLookup requestLookup) {
+        this(sessionManager, authorizer, Collections.emptySet(), requestLookup);
+    }
+
+    /**
+     * Creates a new API for a request.
+     *
+     * @param sessionManager        session manager of the app
+     * @param authorizer            authorizer of the app, or {@code null} if the app does not have one
+     * @param prefetchedPermissions permissions to be evaluated with a single call to the authorizer when a permission
+     *                              is checked for the first time in the request
+     * @param requestLookup         request lookup
+     */
+    API(SessionManager sessionManager, Authorizer authorizer, Set<Permission> prefetchedPermissions,
+        RequestLookup requestLookup) {
         this.sessionManager = sessionManager;
         this.authorizer = authorizer;
         this.requestLookup = requestLookup;
+        this.prefetchedPermissions = prefetchedPermissions;
+        this.permissionDecisions = new HashMap<>();
     }
 
     /**
@@ -234,8 +255,26 @@ public class API {
         if (authorizer == null) {
             return false;
         }
+        // Since an API object lives in the request scope, it is safe to remember decisions for the current user.
+        Boolean decision = permissionDecisions.get(permission);
+        if (decision != null) {
+            return decision;
+        }
+        User user = session.get().getUser();
         try {
-            return authorizer.hasPermission(session.get().getUser(), permission);
+            if (permissionDecisions.isEmpty() && !prefetchedPermissions.isEmpty()) {
+                // First check in this request, hence evaluate all permissions declared in the app at once.
+                Set<Permission> permissions = new HashSet<>(prefetchedPermissions);
+                permissions.add(permission);
+                Set<Permission> grantedPermissions = authorizer.hasPermissions(user, permissions);
+                for (Permission prefetchedPermission : permissions) {
+                    permissionDecisions.put(prefetchedPermission, grantedPermissions.contains(prefetchedPermission));
+                }
+                return grantedPermissions.contains(permission);
+            }
+            decision = authorizer.hasPermission(user, permission);
+            permissionDecisions.put(permission, decision);
+            return decision;
         } catch (AuthorizationException e) {
             throw new PluginExecutionException(
                     "Cannot check permission for user '" + session.get().getUser().getId() + "' using authorizer '" +
@@ -255,8 +294,9 @@ public class API {
             // No session found in the current request.
             return false;
         }
-        // Remove cached session.
+        // Remove cached session and its permission decisions.
         currentSession = null;
+        permissionDecisions.clear();
         try {
             return sessionManager.destroySession(requestLookup.getRequest(), requestLookup.getResponse());
         } catch (SessionManagementException e) {
@@ -23,18 +23,22 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.uuf.api.Placeholder;
+import org.wso2.carbon.uuf.api.auth.Permission;
 import org.wso2.carbon.uuf.api.auth.Session;
 import org.wso2.carbon.uuf.api.config.Bindings;
 import org.wso2.carbon.uuf.api.config.Configuration;
 import org.wso2.carbon.uuf.api.config.I18nResources;
 import org.wso2.carbon.uuf.api.exception.RenderingException;
 import org.wso2.carbon.uuf.api.model.MapModel;
+import org.wso2.carbon.uuf.internal.auth.CachingAuthorizer;
 import org.wso2.carbon.uuf.internal.exception.FragmentNotFoundException;
 import org.wso2.carbon.uuf.internal.exception.HttpErrorException;
 import org.wso2.carbon.uuf.internal.exception.PageNotFoundException;
 import org.wso2.carbon.uuf.internal.exception.PageRedirectException;
 import org.wso2.carbon.uuf.internal.exception.PluginExecutionException;
 import org.wso2.carbon.uuf.internal.exception.SessionNotFoundException;
+import org.wso2.carbon.uuf.internal.io.AssetBundles;
+import org.wso2.carbon.uuf.internal.io.StaticResourceIndex;
 import org.wso2.carbon.uuf.internal.util.NameUtils;
 import org.wso2.carbon.uuf.internal.util.UriUtils;
 import org.wso2.carbon.uuf.spi.HttpRequest;
@@ -43,7 +47,11 @@ import org.wso2.carbon.uuf.spi.auth.Authorizer;
 import org.wso2.carbon.uuf.spi.auth.SessionManager;
 import org.wso2.carbon.uuf.spi.model.Model;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -66,10 +74,14 @@ public class App {
     private final SessionManager sessionManager;
     private final Authorizer authorizer;
     private final Configuration configuration;
+    private final StaticResourceIndex staticResourceIndex;
+    private final AssetBundles assetBundles;
+    private final Set<Permission> prefetchedPermissions;
 
     public App(String name, String contextPath, Set<Component> components, Set<Theme> themes,
                Configuration configuration, Bindings bindings, I18nResources i18nResources,
-               SessionManager sessionManager, Authorizer authorizer) {
+               SessionManager sessionManager, Authorizer authorizer, StaticResourceIndex staticResourceIndex,
+               AssetBundles assetBundles, Set<Permission> securedPermissions) {
         this.name = name;
         this.contextPath = contextPath;
 
@@ -92,6 +104,16 @@ public class App {
         this.configuration = configuration;
         this.sessionManager = sessionManager;
         this.authorizer = authorizer;
+        this.staticResourceIndex = staticResourceIndex;
+        this.assetBundles = assetBundles;
+        // Declared permissions are evaluated together only when the authorizer can do that in a single call.
+        if ((authorizer != null) && CachingAuthorizer.isBatchAuthorizer(authorizer)) {
+            Set<Permission> permissions = new HashSet<>(securedPermissions);
+            permissions.remove(Permission.ANY_PERMISSION);
+            this.prefetchedPermissions = Collections.unmodifiableSet(permissions);
+        } else {
+            this.prefetchedPermissions = Collections.emptySet();
+        }
     }
 
     public String getName() {
@@ -122,6 +144,42 @@ public class App {
         return configuration;
     }
 
+    public I18nResources getI18nResources() {
+        return lookup.getI18nResources();
+    }
+
+    /**
+     * Returns the index of static resources of this app, if it was built when creating this app.
+     *
+     * @return index of static resources
+     */
+    public Optional<StaticResourceIndex> getStaticResourceIndex() {
+        return Optional.ofNullable(staticResourceIndex);
+    }
+
+    /**
+     * Returns the asset bundles of this app, if asset bundling is enabled for this app.
+     *
+     * @return asset bundles
+     */
+    public Optional<AssetBundles> getAssetBundles() {
+        return Optional.ofNullable(assetBundles);
+    }
+
+    /**
+     * Releases the resources held by this app, such as its session manager. Called when this app is undeployed.
+     */
+    public void close() {
+        if (sessionManager instanceof Closeable) {
+            try {
+                ((Closeable) sessionManager).close();
+            } catch (IOException e) {
+                LOGGER.warn("Cannot close session manager '{}' of app '{}'.", sessionManager.getClass().getName(),
+                            name, e);
+            }
+        }
+    }
+
     /**
      * Renders the relevant page for the given request.
      *
@@ -133,7 +191,7 @@ public class App {
      */
     public String renderPage(HttpRequest request, HttpResponse response) {
         RequestLookup requestLookup = createRequestLookup(request, response);
-        API api = new API(sessionManager, authorizer, requestLookup);
+        API api = new API(sessionManager, authorizer, prefetchedPermissions, requestLookup);
         Theme theme = getRenderingTheme(api);
         try {
             return renderPageUri(request.getUriWithoutContextPath(), null, requestLookup, api, theme);
@@ -193,7 +251,7 @@ public class App {
         MapModel model = new MapModel(modelMap);
 
         RequestLookup requestLookup = createRequestLookup(request, response);
-        API api = new API(sessionManager, authorizer, requestLookup);
+        API api = new API(sessionManager, authorizer, prefetchedPermissions, requestLookup);
 
         return renderPageUri(errorPageUri, model, requestLookup, api, theme);
     }
@@ -247,7 +305,7 @@ public class App {
 
         Model model = new MapModel(request.getFormParams());
         RequestLookup requestLookup = createRequestLookup(request, response);
-        API api = new API(sessionManager, authorizer, requestLookup);
+        API api = new API(sessionManager, authorizer, prefetchedPermissions, requestLookup);
 
         JsonObject output = new JsonObject();
         output.addProperty("html", fragment.render(model, lookup, requestLookup, api));
@@ -293,7 +351,12 @@ public class App {
     }
 
     private RequestLookup createRequestLookup(HttpRequest request, HttpResponse response) {
-        return new RequestLookup((configuration.getContextPath().orElse(null)), request, response);
+        RequestLookup requestLookup = new RequestLookup((configuration.getContextPath().orElse(null)), request,
+                                                        response,
+                                                        configuration.getRequestTimeout(
+                                                                request.getUriWithoutContextPath()));
+        requestLookup.setAssetBundles(assetBundles);
+        return requestLookup;
     }
 
     @Override
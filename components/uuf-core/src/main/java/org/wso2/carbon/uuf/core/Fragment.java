@@ -18,7 +18,10 @@
 
 package org.wso2.carbon.uuf.core;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.wso2.carbon.uuf.api.auth.Permission;
+import org.wso2.carbon.uuf.api.exception.RenderingTimeoutException;
 import org.wso2.carbon.uuf.internal.debug.DebugLogger;
 import org.wso2.carbon.uuf.internal.exception.UnauthorizedException;
 import org.wso2.carbon.uuf.internal.util.NameUtils;
@@ -27,13 +30,17 @@ import org.wso2.carbon.uuf.spi.Renderable;
 import org.wso2.carbon.uuf.spi.model.Model;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 
 public class Fragment {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(Fragment.class);
+
     private final String name;
     private final String simpleName;
     private final Renderable renderer;
     private final Permission permission;
+    private final LongAdder timeoutsCount;
 
     /**
      * Constructs an UUF fragment.
@@ -47,6 +54,7 @@ public class Fragment {
         this.simpleName = NameUtils.getSimpleName(name);
         this.renderer = renderer;
         this.permission = permission;
+        this.timeoutsCount = new LongAdder();
     }
 
     public String getName() {
@@ -61,10 +69,20 @@ public class Fragment {
         return renderer;
     }
 
+    /**
+     * Returns the number of times this fragment did not complete rendering within the deadline of a request.
+     *
+     * @return number of timeouts of this fragment
+     */
+    public long getTimeoutsCount() {
+        return timeoutsCount.sum();
+    }
+
     public String render(Model model, Lookup lookup, RequestLookup requestLookup, API api) {
+        boolean isIncluded = requestLookup.tracker().isInPage() || requestLookup.tracker().isInLayout() ||
+                requestLookup.tracker().isInFragment();
         if ((permission != null) && (!api.hasPermission(permission))) {
-            if (requestLookup.tracker().isInPage() || requestLookup.tracker().isInLayout() ||
-                    requestLookup.tracker().isInFragment()) {
+            if (isIncluded) {
                 // This fragment is included in a page/fragment/layout which is not secured.
                 return "";
             } else {
@@ -72,6 +90,11 @@ public class Fragment {
                                                         + "'.");
             }
         }
+        if (requestLookup.isDeadlineExceeded()) {
+            return onTimeout(new RenderingTimeoutException(
+                    "Deadline of the request exceeded before rendering fragment '" + name + "'."), isIncluded,
+                             requestLookup);
+        }
 
         try {
             // Debug logs for fragment rendering start.
@@ -83,6 +106,8 @@ public class Fragment {
                     .ifPresent(requestLookup::pushToPublicUriStack); // Push it to the public URi stack.
 
             return renderer.render(model, lookup, requestLookup, api);
+        } catch (RenderingTimeoutException e) {
+            return onTimeout(e, isIncluded, requestLookup);
         } finally {
             // Rendering flow tracking out.
             requestLookup.popPublicUriStack();
@@ -92,6 +117,18 @@ public class Fragment {
         }
     }
 
+    private String onTimeout(RenderingTimeoutException e, boolean isIncluded, RequestLookup requestLookup) {
+        timeoutsCount.increment();
+        if (!isIncluded) {
+            throw e;
+        }
+        // This fragment is included in a page/fragment/layout, hence skip it so that the rest can be rendered.
+        LOGGER.warn("Fragment '{}' timed out while rendering request '{}'. {}", name, requestLookup.getRequest(),
+                    e.getMessage());
+        requestLookup.addTimedOutFragment(this);
+        return "";
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(name, renderer);
@@ -104,6 +141,7 @@ public class Fragment {
 
     @Override
     public String toString() {
-        return "{\"name\": \"" + name + "\", \"renderer\": " + renderer + ", \"permission\": " + permission + "}";
+        return "{\"name\": \"" + name + "\", \"renderer\": " + renderer + ", \"permission\": " + permission +
+                ", \"timeouts\": " + timeoutsCount.sum() + "}";
     }
 }
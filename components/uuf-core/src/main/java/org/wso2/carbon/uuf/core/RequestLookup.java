@@ -19,6 +19,7 @@
 package org.wso2.carbon.uuf.core;
 
 import org.wso2.carbon.uuf.api.Placeholder;
+import org.wso2.carbon.uuf.internal.io.AssetBundles;
 import org.wso2.carbon.uuf.internal.util.NameUtils;
 import org.wso2.carbon.uuf.spi.HttpRequest;
 import org.wso2.carbon.uuf.spi.HttpResponse;
@@ -27,8 +28,11 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class RequestLookup {
 
@@ -40,6 +44,10 @@ public class RequestLookup {
     private final Deque<String> publicUriStack;
     private final EnumMap<Placeholder, StringBuilder> placeholderBuffers;
     private final Map<String, String> zoneContents;
+    private final long deadline;
+    private final boolean hasDeadline;
+    private Set<Fragment> timedOutFragments;
+    private AssetBundles assetBundles;
 
     /**
      * Constructs a new {@code RequestLookup} with given parameters.
@@ -49,6 +57,20 @@ public class RequestLookup {
      * @param response    HTTP response
      */
     public RequestLookup(String contextPath, HttpRequest request, HttpResponse response) {
+        this(contextPath, request, response, 0);
+    }
+
+    /**
+     * Constructs a new {@code RequestLookup} with given parameters.
+     *
+     * @param contextPath context path for URLs
+     * @param request     HTTP request
+     * @param response    HTTP response
+     * @param timeout     timeout of the request in milliseconds, {@code 0} if the request doesn't have a deadline
+     */
+    public RequestLookup(String contextPath, HttpRequest request, HttpResponse response, long timeout) {
+        this.hasDeadline = (timeout > 0);
+        this.deadline = hasDeadline ? (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout)) : 0;
         this.contextPath = (contextPath == null) ? request.getContextPath() : contextPath;
         this.request = request;
         this.response = response;
@@ -88,6 +110,17 @@ public class RequestLookup {
         }
     }
 
+    /**
+     * Returns the buffer of the specified placeholder so that content can be appended to it without creating
+     * intermediate strings.
+     *
+     * @param placeholder placeholder
+     * @return buffer of the placeholder
+     */
+    public StringBuilder getPlaceholderBuffer(Placeholder placeholder) {
+        return placeholderBuffers.computeIfAbsent(placeholder, key -> new StringBuilder());
+    }
+
     public Optional<String> getPlaceholderContent(Placeholder placeholder) {
         StringBuilder buffer = placeholderBuffers.get(placeholder);
         return (buffer == null) ? Optional.<String>empty() : Optional.of(buffer.toString());
@@ -126,6 +159,80 @@ public class RequestLookup {
         return publicUriStack.removeLast();
     }
 
+    AssetBundles getAssetBundles() {
+        return assetBundles;
+    }
+
+    void setAssetBundles(AssetBundles assetBundles) {
+        this.assetBundles = assetBundles;
+    }
+
+    /**
+     * Returns the URI to be used in pages to refer the specified static resource. When asset bundling is enabled for
+     * the app, this is the content-fingerprinted URI of the resource (prefixed with the CDN base URL if configured)
+     * which can be cached forever by browsers.
+     *
+     * @param publicUri URI of the static resource including the context path
+     * @return URI to refer the static resource
+     */
+    public String getStaticResourceUri(String publicUri) {
+        if ((assetBundles == null) || !publicUri.startsWith(contextPath)) {
+            return publicUri;
+        }
+        return assetBundles.getFingerprintedUri(publicUri.substring(contextPath.length()))
+                .map(fingerprintedUri -> assetBundles.getUrl(contextPath, fingerprintedUri))
+                .orElse(publicUri);
+    }
+
+    /**
+     * Returns whether this request has a deadline.
+     *
+     * @return {@code true} if this request has a deadline, otherwise {@code false}
+     */
+    public boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    /**
+     * Returns the remaining time in milliseconds until the deadline of this request.
+     *
+     * @return remaining time in milliseconds, {@code 0} if the deadline is already exceeded or {@link Long#MAX_VALUE}
+     * if this request doesn't have a deadline
+     */
+    public long getRemainingTime() {
+        if (!hasDeadline) {
+            return Long.MAX_VALUE;
+        }
+        long remainingNanos = deadline - System.nanoTime();
+        return (remainingNanos > 0) ? TimeUnit.NANOSECONDS.toMillis(remainingNanos) : 0;
+    }
+
+    /**
+     * Returns whether the deadline of this request is exceeded.
+     *
+     * @return {@code true} if this request has a deadline and it is exceeded, otherwise {@code false}
+     */
+    public boolean isDeadlineExceeded() {
+        return hasDeadline && ((deadline - System.nanoTime()) <= 0);
+    }
+
+    /**
+     * Returns whether the specified fragment did not complete rendering within the deadline of this request.
+     *
+     * @param fragment fragment to check
+     * @return {@code true} if the fragment was timed out, otherwise {@code false}
+     */
+    public boolean isTimedOut(Fragment fragment) {
+        return (timedOutFragments != null) && timedOutFragments.contains(fragment);
+    }
+
+    void addTimedOutFragment(Fragment fragment) {
+        if (timedOutFragments == null) {
+            timedOutFragments = new HashSet<>();
+        }
+        timedOutFragments.add(fragment);
+    }
+
     public RenderingFlowTracker tracker() {
         return renderingFlowTracker;
     }
@@ -19,15 +19,24 @@
 package org.wso2.carbon.uuf.core;
 
 import org.wso2.carbon.uuf.api.Placeholder;
+import org.wso2.carbon.uuf.internal.io.AssetBundles;
 import org.wso2.carbon.uuf.internal.util.UriUtils;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class Theme {
 
+    private static final String CSS_TAG_SUFFIX = "\" rel=\"stylesheet\" type=\"text/css\" />";
+    private static final String JS_TAG_SUFFIX = "\" type=\"text/javascript\"></script>";
+
     private final String name;
+    private final List<String> cssRelativePaths;
+    private final List<String> headJsRelativePaths;
+    private final List<String> bodyJsRelativePaths;
     private final List<String> cssTagSuffixes;
     private final List<String> headJsTagSuffixes;
     private final List<String> bodyJsTagSuffixes;
@@ -36,17 +45,20 @@ public class Theme {
     public Theme(String name, List<String> cssRelativePaths, List<String> headJsRelativePaths,
                  List<String> bodyJsRelativePaths, String path) {
         this.name = name;
+        this.cssRelativePaths = cssRelativePaths;
+        this.headJsRelativePaths = headJsRelativePaths;
+        this.bodyJsRelativePaths = bodyJsRelativePaths;
         this.path = path;
 
         String uriPrefix = UriUtils.getPublicUri(this) + "/";
         this.cssTagSuffixes = cssRelativePaths.stream()
-                .map(relativePath -> uriPrefix + relativePath + "\" rel=\"stylesheet\" type=\"text/css\" />")
+                .map(relativePath -> uriPrefix + relativePath + CSS_TAG_SUFFIX)
                 .collect(Collectors.toList());
         this.headJsTagSuffixes = headJsRelativePaths.stream()
-                .map(relativePath -> uriPrefix + relativePath + "\" type=\"text/javascript\"></script>")
+                .map(relativePath -> uriPrefix + relativePath + JS_TAG_SUFFIX)
                 .collect(Collectors.toList());
         this.bodyJsTagSuffixes = bodyJsRelativePaths.stream()
-                .map(relativePath -> uriPrefix + relativePath + "\" type=\"text/javascript\"></script>")
+                .map(relativePath -> uriPrefix + relativePath + JS_TAG_SUFFIX)
                 .collect(Collectors.toList());
     }
 
@@ -58,16 +70,46 @@ public class Theme {
         return path;
     }
 
+    /**
+     * Returns the relative paths of the files of this theme that fill the specified placeholder.
+     *
+     * @param placeholder one of {@link Placeholder#css}, {@link Placeholder#headJs} or {@link Placeholder#js}
+     * @return relative paths in the declared order, or an empty list for other placeholders
+     */
+    public List<String> getRelativePaths(Placeholder placeholder) {
+        switch (placeholder) {
+            case css:
+                return cssRelativePaths;
+            case headJs:
+                return headJsRelativePaths;
+            case js:
+                return bodyJsRelativePaths;
+            default:
+                return Collections.emptyList();
+        }
+    }
+
     public void addPlaceHolderValues(RequestLookup requestLookup) {
+        addPlaceholderValues(requestLookup, Placeholder.css, "<link href=\"", cssTagSuffixes, CSS_TAG_SUFFIX);
+        addPlaceholderValues(requestLookup, Placeholder.headJs, "<script src=\"", headJsTagSuffixes, JS_TAG_SUFFIX);
+        addPlaceholderValues(requestLookup, Placeholder.js, "<script src=\"", bodyJsTagSuffixes, JS_TAG_SUFFIX);
+    }
+
+    private void addPlaceholderValues(RequestLookup requestLookup, Placeholder placeholder, String tagPrefix,
+                                      List<String> tagSuffixes, String bundleTagSuffix) {
         String contextPath = requestLookup.getContextPath();
-        for (String cssTagSuffix : cssTagSuffixes) {
-            requestLookup.addToPlaceholder(Placeholder.css, "<link href=\"" + contextPath + cssTagSuffix);
-        }
-        for (String headJsTagSuffix : headJsTagSuffixes) {
-            requestLookup.addToPlaceholder(Placeholder.headJs, "<script src=\"" + contextPath + headJsTagSuffix);
+        AssetBundles assetBundles = requestLookup.getAssetBundles();
+        Optional<String> bundleUri = (assetBundles == null) ? Optional.empty() :
+                assetBundles.getBundleUri(this, placeholder);
+        if (bundleUri.isPresent()) {
+            // All files of the placeholder are concatenated to a single bundle.
+            requestLookup.addToPlaceholder(placeholder,
+                                           tagPrefix + assetBundles.getUrl(contextPath, bundleUri.get()) +
+                                                   bundleTagSuffix);
+            return;
         }
-        for (String bodyJsTagSuffix : bodyJsTagSuffixes) {
-            requestLookup.addToPlaceholder(Placeholder.js, "<script src=\"" + contextPath + bodyJsTagSuffix);
+        for (String tagSuffix : tagSuffixes) {
+            requestLookup.addToPlaceholder(placeholder, tagPrefix + contextPath + tagSuffix);
         }
     }
 
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An adaptive concurrency limit for the requests served by an app.
+ * <p>
+ * The limit is adjusted in an AIMD (additive increase, multiplicative decrease) manner using the measured serving
+ * latency. Latencies are sampled in windows of a fixed number of requests, and the median latency of each window is
+ * compared against the baseline, which is a slowly moving average of the medians of past windows. Comparing window
+ * medians rather than individual requests keeps apps that serve both cheap and expensive pages from mistaking their
+ * slow pages for congestion. While the window median stays within the tolerance factor of the baseline the limit
+ * grows by one per window; once it exceeds the baseline, or a request is dropped, the limit is decreased
+ * multiplicatively, at most once per window. Requests that arrive while the number of in-flight requests is at the
+ * limit are shed. Priority requests are allowed a small headroom over the limit.
+ *
+ * @since 1.0.0
+ */
+public class AdmissionController {
+
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double PRIORITY_HEADROOM = 0.25;
+    private static final int WINDOW_SIZE = 32;
+    private static final int BASELINE_DECAY = 30;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight;
+    private final LongAdder shedCount;
+    private final long[] windowLatencies;
+    private volatile double limit;
+    private long baselineLatency;
+    private int windowSampleCount;
+    private int windowMaxInFlight;
+    private boolean isDecreasedInWindow;
+
+    /**
+     * Creates a new admission controller.
+     *
+     * @param name         name of this admission controller
+     * @param initialLimit initial concurrency limit
+     * @param minLimit     minimum concurrency limit
+     * @param maxLimit     maximum concurrency limit
+     * @throws IllegalArgumentException if the limits are not positive or are inconsistent
+     */
+    public AdmissionController(String name, int initialLimit, int minLimit, int maxLimit) {
+        if ((minLimit <= 0) || (minLimit > initialLimit) || (initialLimit > maxLimit)) {
+            throw new IllegalArgumentException(
+                    "Concurrency limits of admission controller '" + name + "' should satisfy 0 < min <= initial <= " +
+                            "max. Instead found min '" + minLimit + "', initial '" + initialLimit + "' and max '" +
+                            maxLimit + "'.");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.baselineLatency = Long.MAX_VALUE;
+        this.windowLatencies = new long[WINDOW_SIZE];
+        this.inFlight = new AtomicInteger(0);
+        this.shedCount = new LongAdder();
+    }
+
+    /**
+     * Tries to admit a request. Every admitted request must be released with {@link #release(long, boolean)}.
+     *
+     * @param priority whether the request is a priority request
+     * @return {@code true} if the request is admitted, {@code false} if it was shed
+     */
+    public boolean tryAcquire(boolean priority) {
+        double currentLimit = limit;
+        int allowed = (int) (priority ? Math.ceil(currentLimit * (1 + PRIORITY_HEADROOM)) : currentLimit);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                shedCount.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and adjusts the limit using its outcome.
+     *
+     * @param latencyNanos time taken to serve the request in nanoseconds
+     * @param dropped      whether the request was dropped due to overload
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        adjustLimit(latencyNanos, dropped, current);
+    }
+
+    private synchronized void adjustLimit(long latencyNanos, boolean dropped, int inFlightCount) {
+        if (dropped) {
+            decreaseLimit();
+        } else {
+            windowLatencies[windowSampleCount++] = latencyNanos;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightCount);
+        }
+        if (windowSampleCount < WINDOW_SIZE) {
+            return;
+        }
+
+        Arrays.sort(windowLatencies);
+        long medianLatency = windowLatencies[WINDOW_SIZE / 2];
+        if (baselineLatency == Long.MAX_VALUE) {
+            baselineLatency = medianLatency;
+        } else if (medianLatency > baselineLatency * LATENCY_TOLERANCE) {
+            decreaseLimit();
+        } else if (!isDecreasedInWindow && (windowMaxInFlight * 2 >= limit)) {
+            // Only grow the limit when it is actually being used.
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        // Let the baseline drift slowly so that it adapts to permanent changes in serving cost.
+        baselineLatency += (medianLatency - baselineLatency) / BASELINE_DECAY;
+
+        windowSampleCount = 0;
+        windowMaxInFlight = 0;
+        isDecreasedInWindow = false;
+    }
+
+    private void decreaseLimit() {
+        if (!isDecreasedInWindow) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            isDecreasedInWindow = true;
+        }
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return current concurrency limit
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of requests currently admitted.
+     *
+     * @return number of in-flight requests
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of requests shed by this admission controller.
+     *
+     * @return number of shed requests
+     */
+    public long getShedCount() {
+        return shedCount.sum();
+    }
+
+    /**
+     * Returns the baseline serving latency in milliseconds, or {@code -1} if no request has been served yet.
+     *
+     * @return baseline latency in milliseconds
+     */
+    public synchronized long getBaselineLatency() {
+        return (baselineLatency == Long.MAX_VALUE) ? -1 : TimeUnit.NANOSECONDS.toMillis(baselineLatency);
+    }
+
+    @Override
+    public String toString() {
+        return "{\"name\": \"" + name + "\", \"limit\": " + getLimit() + ", \"inFlight\": " + getInFlightCount() +
+                ", \"shed\": " + getShedCount() + "}";
+    }
+}
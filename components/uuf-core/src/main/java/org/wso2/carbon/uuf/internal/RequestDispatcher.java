@@ -18,10 +18,13 @@
 
 package org.wso2.carbon.uuf.internal;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.gson.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.api.auth.Session;
 import org.wso2.carbon.uuf.api.config.Configuration;
 import org.wso2.carbon.uuf.api.exception.UUFRuntimeException;
 import org.wso2.carbon.uuf.core.App;
@@ -39,6 +42,8 @@ import org.wso2.carbon.uuf.spi.HttpRequest;
 import org.wso2.carbon.uuf.spi.HttpResponse;
 
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 
 import static org.wso2.carbon.uuf.spi.HttpResponse.CONTENT_TYPE_APPLICATION_JSON;
 import static org.wso2.carbon.uuf.spi.HttpResponse.CONTENT_TYPE_TEXT_HTML;
@@ -46,6 +51,7 @@ import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_CACHE_CONTROL;
 import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_EXPIRES;
 import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_LOCATION;
 import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_PRAGMA;
+import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_RETRY_AFTER;
 import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_X_CONTENT_TYPE_OPTIONS;
 import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_X_FRAME_OPTIONS;
 import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_X_XSS_PROTECTION;
@@ -54,14 +60,33 @@ import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_FOUND;
 import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_INTERNAL_SERVER_ERROR;
 import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_NOT_FOUND;
 import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_OK;
+import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_SERVICE_UNAVAILABLE;
 
 public class RequestDispatcher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RequestDispatcher.class);
+    private static final int DEFAULT_EXECUTOR_THREADS = Integer.getInteger("uuf.executor.threads", 50);
+    private static final int DEFAULT_EXECUTOR_QUEUE_DEPTH = Integer.getInteger("uuf.executor.queueDepth", 0);
+    private static final long EXECUTOR_QUEUE_TIMEOUT = Long.getLong("uuf.executor.queueTimeout", 1000L);
+    private static final int CPUS = Runtime.getRuntime().availableProcessors();
+    // Requests wait for their turn in connector threads, hence only a few of them may wait at a time.
+    private static final int MAX_WAITING_THREADS = Integer.getInteger("uuf.executor.maxWaitingThreads", CPUS);
+    private static final int STATIC_EXECUTOR_THREADS = Integer.getInteger("uuf.static.threads", CPUS * 4);
+    private static final boolean IS_ADMISSION_CONTROL_ENABLED =
+            Boolean.parseBoolean(System.getProperty("uuf.admission.enabled", "true"));
+    // Requests with a well-formed session ID get the priority headroom of admission control. The session is not
+    // looked up before admission, hence this is only a hint which a client can claim with any such cookie value.
+    private static final boolean IS_SESSION_PRIORITY_ENABLED =
+            Boolean.parseBoolean(System.getProperty("uuf.admission.prioritizeSessions", "true"));
+    private static final String RETRY_AFTER_SECONDS = Integer.toString(Integer.getInteger("uuf.retryAfter", 1));
 
     private final StaticResolver staticResolver;
     private final Debugger debugger;
     private final List<Filter> filters;
+    private final Semaphore waitingThreads;
+    private final RequestExecutor staticExecutor;
+    private final Cache<App, RequestExecutor> appExecutors;
+    private final Cache<App, AdmissionController> appAdmissionControllers;
 
     public RequestDispatcher() {
         this(new StaticResolver(), (Debugger.isDebuggingEnabled() ? new Debugger() : null));
@@ -71,6 +96,17 @@ public class RequestDispatcher {
         this.staticResolver = staticResolver;
         this.debugger = debugger;
         this.filters = ImmutableList.of(new CsrfFilter());
+        this.waitingThreads = new Semaphore(MAX_WAITING_THREADS);
+        // Static resources are served in a bulkhead of their own, so that neither pages nor static resources can take
+        // up all the connector threads. Static requests are cheap, hence they never wait for a turn.
+        this.staticExecutor = new RequestExecutor("static", STATIC_EXECUTOR_THREADS, 0, 0, waitingThreads);
+        // Executors are keyed by app instance, so a re-deployed app gets a fresh executor and the old one is dropped
+        // once its app is garbage collected.
+        this.appExecutors = CacheBuilder.newBuilder().weakKeys().build();
+        this.appAdmissionControllers = CacheBuilder.newBuilder().weakKeys().build();
+        if (this.debugger != null) {
+            this.debugger.setMetricsProvider(this::getMetrics);
+        }
     }
 
     public void serve(HttpRequest request, HttpResponse response, AppRegistry appRegistry) {
@@ -104,16 +140,21 @@ public class RequestDispatcher {
     private void serve(App app, HttpRequest request, HttpResponse response) {
         try {
             if (request.isStaticResourceRequest()) {
-                staticResolver.serve(app, request, response);
+                staticExecutor.execute(() -> staticResolver.serve(app, request, response));
+            } else if (request.isI18nBundleRequest()) {
+                staticExecutor.execute(() -> staticResolver.serveI18nBundle(app, request, response));
             } else if (Debugger.isDebuggingEnabled() && request.isDebugRequest()) {
                 debugger.serve(app, request, response);
             } else {
-                servePageOrFragment(app, request, response);
+                serveAdmitted(app, request, response);
             }
         } catch (PageRedirectException e) {
             response.setStatus(STATUS_FOUND);
             response.setHeader(HEADER_LOCATION, e.getRedirectUrl());
         } catch (HttpErrorException e) {
+            if (e.getHttpStatusCode() == STATUS_SERVICE_UNAVAILABLE) {
+                response.setHeader(HEADER_RETRY_AFTER, RETRY_AFTER_SECONDS);
+            }
             serveDefaultErrorPage(e.getHttpStatusCode(), e.getMessage(), response);
         } catch (UUFRuntimeException e) {
             String msg = "A server error occurred while serving for request '" + request + "'.";
@@ -126,6 +167,94 @@ public class RequestDispatcher {
         }
     }
 
+    /**
+     * Prepares to serve requests of the specified newly deployed app.
+     *
+     * @param app deployed app
+     */
+    public void onAppDeployed(App app) {
+        staticResolver.watch(app);
+    }
+
+    /**
+     * Releases the resources used to serve requests.
+     */
+    public void shutdown() {
+        staticResolver.shutdown();
+        appExecutors.invalidateAll();
+    }
+
+    private void serveAdmitted(App app, HttpRequest request, HttpResponse response) {
+        RequestExecutor executor = getExecutor(app);
+        if (!IS_ADMISSION_CONTROL_ENABLED) {
+            executor.execute(() -> servePageOrFragment(app, request, response));
+            return;
+        }
+
+        AdmissionController admissionController = getAdmissionController(app);
+        boolean isPriority = IS_SESSION_PRIORITY_ENABLED &&
+                Session.isValidSessionId(request.getCookieValue(HttpRequest.COOKIE_UUFSESSIONID));
+        if (!admissionController.tryAcquire(isPriority)) {
+            throw new HttpErrorException(STATUS_SERVICE_UNAVAILABLE,
+                                         "Server is too busy to serve the request. Please try again later.");
+        }
+        long startTime = System.nanoTime();
+        boolean isDropped = false;
+        try {
+            executor.execute(() -> servePageOrFragment(app, request, response));
+        } catch (HttpErrorException e) {
+            isDropped = (e.getHttpStatusCode() == STATUS_SERVICE_UNAVAILABLE);
+            throw e;
+        } finally {
+            admissionController.release(System.nanoTime() - startTime, isDropped);
+        }
+    }
+
+    private RequestExecutor getExecutor(App app) {
+        try {
+            return appExecutors.get(app, () -> {
+                Configuration configuration = app.getConfiguration();
+                int threads = configuration.getExecutorThreads();
+                int queueDepth = configuration.getExecutorQueueDepth();
+                // A request does not wait for its turn longer than it may take to serve.
+                long requestTimeout = configuration.getRequestTimeout();
+                long queueTimeout = (requestTimeout > 0) ? Math.min(requestTimeout, EXECUTOR_QUEUE_TIMEOUT) :
+                        EXECUTOR_QUEUE_TIMEOUT;
+                return new RequestExecutor(app.getName(),
+                                           (threads > 0) ? threads : DEFAULT_EXECUTOR_THREADS,
+                                           (queueDepth > 0) ? queueDepth : DEFAULT_EXECUTOR_QUEUE_DEPTH,
+                                           queueTimeout, waitingThreads);
+            });
+        } catch (ExecutionException e) {
+            throw new UUFRuntimeException("Cannot create a request executor for app '" + app.getName() + "'.",
+                                          e.getCause());
+        }
+    }
+
+    private AdmissionController getAdmissionController(App app) {
+        try {
+            return appAdmissionControllers.get(app, () -> {
+                Configuration configuration = app.getConfiguration();
+                int threads = configuration.getExecutorThreads();
+                int queueDepth = configuration.getExecutorQueueDepth();
+                int initialLimit = (threads > 0) ? threads : DEFAULT_EXECUTOR_THREADS;
+                int maxLimit = initialLimit + ((queueDepth > 0) ? queueDepth : DEFAULT_EXECUTOR_QUEUE_DEPTH);
+                return new AdmissionController(app.getName(), initialLimit, 1, maxLimit);
+            });
+        } catch (ExecutionException e) {
+            throw new UUFRuntimeException("Cannot create an admission controller for app '" + app.getName() + "'.",
+                                          e.getCause());
+        }
+    }
+
+    private String getMetrics(App app) {
+        RequestExecutor executor = appExecutors.getIfPresent(app);
+        AdmissionController admissionController = appAdmissionControllers.getIfPresent(app);
+        return "{\"static\": " + staticExecutor + ", \"executor\": " + ((executor == null) ? "null" : executor) +
+                ", \"admission\": " + ((admissionController == null) ? "null" : admissionController) +
+                ", \"staticResourceCache\": " + staticResolver.getResourceCache() + "}";
+    }
+
     private void servePageOrFragment(App app, HttpRequest request, HttpResponse response) {
         DebugLogger.startRequest(request);
         try {
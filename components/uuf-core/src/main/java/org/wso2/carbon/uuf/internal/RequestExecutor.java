@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal;
+
+import org.wso2.carbon.uuf.api.exception.UUFRuntimeException;
+import org.wso2.carbon.uuf.internal.exception.HttpErrorException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_SERVICE_UNAVAILABLE;
+
+/**
+ * A bulkhead that serves requests in the calling thread, limiting the number of requests served concurrently and the
+ * number of requests waiting for their turn.
+ * <p>
+ * Requests are served inline, hence the thread context (e.g. context class loader) of the connector is preserved. A
+ * request that cannot be served right away parks the calling connector thread, so waiting is kept short: a request
+ * waits at most the queue timeout, and only while a waiting slot is free in both this executor and the pool of waiting
+ * slots shared by all executors. The shared pool should be well below the number of connector threads, so that a slow
+ * app cannot park the threads that serve other apps. Requests that cannot wait or whose wait times out are rejected
+ * with an HTTP 503 error and counted.
+ *
+ * @since 1.0.0
+ */
+public class RequestExecutor {
+
+    private final String name;
+    private final int threads;
+    private final int queueDepth;
+    private final long queueTimeoutMillis;
+    private final Semaphore permits;
+    private final Semaphore sharedWaitingSlots;
+    private final AtomicInteger queuedCount;
+    private final LongAdder rejectedCount;
+
+    /**
+     * Creates a new request executor.
+     *
+     * @param name               name of this executor
+     * @param threads            maximum number of requests that can be served concurrently
+     * @param queueDepth         maximum number of requests that can wait for their turn, {@code 0} to reject at once
+     * @param queueTimeoutMillis maximum time in milliseconds that a request waits for its turn
+     * @param sharedWaitingSlots waiting slots shared with other executors, one taken by each waiting request
+     * @throws IllegalArgumentException if number of threads is not positive, or queue depth or timeout is negative
+     */
+    public RequestExecutor(String name, int threads, int queueDepth, long queueTimeoutMillis,
+                           Semaphore sharedWaitingSlots) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads of request executor '" + name +
+                                                       "' should be a positive value. Instead found '" + threads +
+                                                       "'.");
+        }
+        if (queueDepth < 0) {
+            throw new IllegalArgumentException("Queue depth of request executor '" + name +
+                                                       "' should not be a negative value. Instead found '" +
+                                                       queueDepth + "'.");
+        }
+        if (queueTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Queue timeout of request executor '" + name +
+                                                       "' should not be a negative value. Instead found '" +
+                                                       queueTimeoutMillis + "'.");
+        }
+        this.name = name;
+        this.threads = threads;
+        this.queueDepth = queueDepth;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.permits = new Semaphore(threads);
+        this.sharedWaitingSlots = sharedWaitingSlots;
+        this.queuedCount = new AtomicInteger();
+        this.rejectedCount = new LongAdder();
+    }
+
+    /**
+     * Serves the given request in the calling thread once it is its turn. Any exception thrown while serving
+     * propagates to the caller.
+     *
+     * @param request request to be served
+     * @throws HttpErrorException  if this executor is saturated, or the turn did not come within the queue timeout
+     * @throws UUFRuntimeException if interrupted while waiting for the turn
+     */
+    public void execute(Runnable request) {
+        if (!permits.tryAcquire() && !awaitTurn()) {
+            rejectedCount.increment();
+            throw new HttpErrorException(STATUS_SERVICE_UNAVAILABLE,
+                                         "Server is too busy to serve the request. Please try again later.");
+        }
+        try {
+            request.run();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean awaitTurn() {
+        if ((queueTimeoutMillis == 0) || !tryIncrementQueued()) {
+            return false;
+        }
+        try {
+            if (!sharedWaitingSlots.tryAcquire()) {
+                return false;
+            }
+            try {
+                return permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+            } finally {
+                sharedWaitingSlots.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UUFRuntimeException("Interrupted while waiting for request executor '" + name + "'.", e);
+        } finally {
+            queuedCount.decrementAndGet();
+        }
+    }
+
+    private boolean tryIncrementQueued() {
+        int queued;
+        do {
+            queued = queuedCount.get();
+            if (queued >= queueDepth) {
+                return false;
+            }
+        } while (!queuedCount.compareAndSet(queued, queued + 1));
+        return true;
+    }
+
+    /**
+     * Returns the number of requests rejected by this executor.
+     *
+     * @return number of rejected requests
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Returns the number of requests currently being served by this executor.
+     *
+     * @return number of active requests
+     */
+    public int getActiveCount() {
+        return threads - permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of requests waiting for their turn in this executor.
+     *
+     * @return number of queued requests
+     */
+    public int getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "{\"name\": \"" + name + "\", \"threads\": " + threads + ", \"active\": " + getActiveCount() +
+                ", \"queued\": " + getQueuedCount() + ", \"rejected\": " + getRejectedCount() + "}";
+    }
+}
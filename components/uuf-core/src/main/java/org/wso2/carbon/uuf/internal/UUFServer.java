@@ -119,6 +119,7 @@ public class UUFServer implements Server, RequiredCapabilityListener {
     @Deactivate
     protected void deactivate(BundleContext bundleContext) {
         stop();
+        requestDispatcher.shutdown();
         this.bundleContext = null;
         serverServiceRegistration.unregister();
         pluginProvider = null;
@@ -142,7 +143,7 @@ public class UUFServer implements Server, RequiredCapabilityListener {
     private AppRegistry createAppRegistry() {
         AppCreator appCreator = new AppCreator(renderableCreators, classLoaderProvider, pluginProvider,
                                                restApiDeployer);
-        return new AppRegistry(appFinder, appCreator);
+        return new AppRegistry(appFinder, appCreator, requestDispatcher::onAppDeployed);
     }
 
     /**
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.wso2.carbon.uuf.api.auth.Permission;
+import org.wso2.carbon.uuf.api.auth.User;
+import org.wso2.carbon.uuf.api.exception.AuthorizationException;
+import org.wso2.carbon.uuf.spi.auth.Authorizer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An authorizer that caches the decisions of another authorizer for a fixed time.
+ * <p>
+ * Decisions are cached per user ID and permission. Hence a revoked permission may still be granted until its cached
+ * decision expires.
+ *
+ * @since 1.0.0
+ */
+public class CachingAuthorizer implements Authorizer {
+
+    private final Authorizer authorizer;
+    private final Cache<DecisionKey, Boolean> decisions;
+
+    /**
+     * Creates a new caching authorizer.
+     *
+     * @param authorizer     authorizer whose decisions are cached
+     * @param timeToLive     time to keep a decision, in milliseconds
+     * @param maximumEntries maximum number of decisions to keep
+     */
+    public CachingAuthorizer(Authorizer authorizer, long timeToLive, long maximumEntries) {
+        this.authorizer = authorizer;
+        this.decisions = CacheBuilder.newBuilder()
+                .expireAfterWrite(timeToLive, TimeUnit.MILLISECONDS)
+                .maximumSize(maximumEntries)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasPermission(User user, Permission permission) throws AuthorizationException {
+        DecisionKey key = new DecisionKey(user.getId(), permission);
+        Boolean decision = decisions.getIfPresent(key);
+        if (decision == null) {
+            decision = authorizer.hasPermission(user, permission);
+            decisions.put(key, decision);
+        }
+        return decision;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Permission> hasPermissions(User user, Collection<Permission> permissions)
+            throws AuthorizationException {
+        Set<Permission> grantedPermissions = new HashSet<>();
+        List<Permission> uncachedPermissions = new ArrayList<>();
+        for (Permission permission : permissions) {
+            Boolean decision = decisions.getIfPresent(new DecisionKey(user.getId(), permission));
+            if (decision == null) {
+                uncachedPermissions.add(permission);
+            } else if (decision) {
+                grantedPermissions.add(permission);
+            }
+        }
+        if (uncachedPermissions.isEmpty()) {
+            return grantedPermissions;
+        }
+
+        Set<Permission> newlyGrantedPermissions = authorizer.hasPermissions(user, uncachedPermissions);
+        for (Permission permission : uncachedPermissions) {
+            decisions.put(new DecisionKey(user.getId(), permission), newlyGrantedPermissions.contains(permission));
+        }
+        grantedPermissions.addAll(newlyGrantedPermissions);
+        return grantedPermissions;
+    }
+
+    /**
+     * Returns whether the specified authorizer evaluates many permissions at once, i.e. whether it overrides
+     * {@link Authorizer#hasPermissions(User, Collection)}.
+     *
+     * @param authorizer authorizer to be checked
+     * @return {@code true} if the authorizer evaluates many permissions at once, {@code false} otherwise
+     */
+    public static boolean isBatchAuthorizer(Authorizer authorizer) {
+        if (authorizer instanceof CachingAuthorizer) {
+            return isBatchAuthorizer(((CachingAuthorizer) authorizer).authorizer);
+        }
+        try {
+            return !authorizer.getClass().getMethod("hasPermissions", User.class, Collection.class).isDefault();
+        } catch (NoSuchMethodException e) {
+            return false; // Cannot happen, as the method is declared in the interface.
+        }
+    }
+
+    /**
+     * Key of a cached decision.
+     */
+    private static class DecisionKey {
+
+        private final String userId;
+        private final Permission permission;
+
+        DecisionKey(String userId, Permission permission) {
+            this.userId = userId;
+            this.permission = permission;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DecisionKey)) {
+                return false;
+            }
+            DecisionKey other = (DecisionKey) obj;
+            return Objects.equals(userId, other.userId) && Objects.equals(permission, other.permission);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, permission);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.auth;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of records in a memory-mapped file.
+ * <p>
+ * Each record is written as the length of its payload, the payload and the CRC32 checksum of the payload. Appending a
+ * record only copies it into the mapped file; {@link #sync()} forces the appended records to the disk, so that many
+ * appends are made durable with a single sync. When a log is opened, its records are read up to the first incomplete
+ * or corrupted record, which marks where the log was cut if the process stopped before a sync.
+ * <p>
+ * Since records are never overwritten, the log grows with every change. {@link #compact(Iterable)} rewrites the log
+ * with the records of the current state, followed by the records appended while it was being rewritten.
+ * <p>
+ * Methods of this class are thread safe.
+ *
+ * @since 1.0.0
+ */
+public class SessionLog implements Closeable {
+
+    private static final long MAGIC = 0x5555465345535331L; // "UUFSESS1"
+    private static final int HEADER_LENGTH = 8;
+    private static final int RECORD_OVERHEAD = 8; // length and checksum
+    private static final int INITIAL_CAPACITY = 1 << 20;
+    private static final int MINIMUM_COMPACTION_LENGTH = 4 << 20;
+    private static final String COMPACTION_FILE_SUFFIX = ".compact";
+
+    private final Path path;
+    private FileChannel channel;
+    private FileLock fileLock;
+    private MappedByteBuffer buffer;
+    private int position;
+    private int compactedLength;
+    private boolean isDirty;
+
+    private SessionLog(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Opens the log in the specified file, creating it if it does not exist, and reads its records.
+     *
+     * @param path           path to the log file
+     * @param recordConsumer consumer of the payloads of the records in the log, in the order they were appended
+     * @return opened log
+     * @throws IOException if the log file cannot be opened, is not a session log, or is already open
+     */
+    public static SessionLog open(Path path, Consumer<ByteBuffer> recordConsumer) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        SessionLog sessionLog = new SessionLog(path);
+        sessionLog.map();
+        try {
+            sessionLog.read(recordConsumer);
+        } catch (IOException | RuntimeException e) {
+            sessionLog.close();
+            throw e;
+        }
+        return sessionLog;
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null; // Locked within this JVM.
+        }
+        if (fileLock == null) {
+            channel.close();
+            channel = null;
+            throw new IOException("Session log '" + path + "' is used by another session log.");
+        }
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Session log '" + path + "' is too large.");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(INITIAL_CAPACITY, (int) size));
+    }
+
+    private void read(Consumer<ByteBuffer> recordConsumer) throws IOException {
+        long magic = buffer.getLong(0);
+        if (magic == 0) {
+            buffer.putLong(0, MAGIC); // New log.
+        } else if (magic != MAGIC) {
+            throw new IOException("File '" + path + "' is not a session log.");
+        }
+
+        CRC32 crc32 = new CRC32();
+        int offset = HEADER_LENGTH;
+        while ((offset + RECORD_OVERHEAD) <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if ((length <= 0) || (length > (buffer.capacity() - offset - RECORD_OVERHEAD))) {
+                break; // End of the log or an incomplete record.
+            }
+            ByteBuffer payload = slice(offset + 4, length);
+            crc32.reset();
+            crc32.update(payload.duplicate());
+            if ((int) crc32.getValue() != buffer.getInt(offset + 4 + length)) {
+                break; // Corrupted record.
+            }
+            recordConsumer.accept(payload.asReadOnlyBuffer());
+            offset += RECORD_OVERHEAD + length;
+        }
+        // Clear whatever is after the last record, so that it cannot be mistaken for records later.
+        ByteBuffer tail = slice(offset, buffer.capacity() - offset);
+        while (tail.hasRemaining()) {
+            tail.put((byte) 0);
+        }
+        position = offset;
+        compactedLength = offset;
+        isDirty = true;
+    }
+
+    /**
+     * Appends a record with the specified payload.
+     *
+     * @param payload payload of the record
+     * @throws IOException if the log is closed or cannot be grown to fit the record
+     */
+    public synchronized void append(byte[] payload) throws IOException {
+        if (buffer == null) {
+            throw new IOException("Session log '" + path + "' is closed.");
+        }
+        int recordLength = RECORD_OVERHEAD + payload.length;
+        ensureCapacity(recordLength);
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+        ByteBuffer record = slice(position, recordLength);
+        record.putInt(payload.length).put(payload).putInt((int) crc32.getValue());
+        position += recordLength;
+        isDirty = true;
+    }
+
+    private void ensureCapacity(int recordLength) throws IOException {
+        if ((buffer.capacity() - position) >= recordLength) {
+            return;
+        }
+        long requiredCapacity = (long) position + recordLength;
+        long capacity = buffer.capacity();
+        while (capacity < requiredCapacity) {
+            capacity *= 2;
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("Session log '" + path + "' cannot grow beyond 2 GB.");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    /**
+     * Forces the appended records to the disk.
+     */
+    public void sync() {
+        MappedByteBuffer mappedBuffer;
+        synchronized (this) {
+            if (!isDirty || (buffer == null)) {
+                return;
+            }
+            isDirty = false;
+            mappedBuffer = buffer;
+        }
+        // Appends can continue while the mapped file is being forced.
+        mappedBuffer.force();
+    }
+
+    /**
+     * Returns whether this log has grown enough since it was last compacted to be compacted.
+     *
+     * @return {@code true} if this log should be compacted, {@code false} otherwise
+     */
+    public synchronized boolean needsCompaction() {
+        return (position > MINIMUM_COMPACTION_LENGTH) && (position > (2L * compactedLength));
+    }
+
+    /**
+     * Rewrites this log with the specified records.
+     * <p>
+     * The specified records should reflect every record appended to this log before this method is called. Records
+     * appended while the log is being rewritten are carried over to the rewritten log after the specified records.
+     *
+     * @param records payloads of the records of the current state
+     * @throws IOException if an error occurred when rewriting the log
+     */
+    public void compact(Iterable<byte[]> records) throws IOException {
+        int snapshotPosition;
+        synchronized (this) {
+            snapshotPosition = position;
+        }
+
+        Path compactionPath = path.resolveSibling(path.getFileName() + COMPACTION_FILE_SUFFIX);
+        try (FileChannel compactionChannel = FileChannel.open(compactionPath, StandardOpenOption.CREATE,
+                                                              StandardOpenOption.TRUNCATE_EXISTING,
+                                                              StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putLong(0, MAGIC);
+            writeFully(compactionChannel, header);
+            CRC32 crc32 = new CRC32();
+            for (byte[] payload : records) {
+                crc32.reset();
+                crc32.update(payload);
+                ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + payload.length);
+                record.putInt(payload.length).put(payload).putInt((int) crc32.getValue()).flip();
+                writeFully(compactionChannel, record);
+            }
+
+            synchronized (this) {
+                // Carry over the records appended since the snapshot, then switch to the rewritten log.
+                writeFully(compactionChannel, slice(snapshotPosition, position - snapshotPosition));
+                compactionChannel.force(false);
+                int length = (int) compactionChannel.position();
+                buffer.force();
+                closeChannel();
+                try {
+                    Files.move(compactionPath, path, StandardCopyOption.REPLACE_EXISTING,
+                               StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    map(); // Continue with the current log.
+                    throw e;
+                }
+                map();
+                position = length;
+                compactedLength = length;
+            }
+        } finally {
+            Files.deleteIfExists(compactionPath);
+        }
+    }
+
+    /**
+     * Returns the length of this log in bytes.
+     *
+     * @return length of this log
+     */
+    public synchronized int getLength() {
+        return position;
+    }
+
+    /**
+     * Forces the appended records to the disk and closes this log.
+     *
+     * @throws IOException if an error occurred when closing the log file
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        if (buffer != null) {
+            buffer.force();
+        }
+        closeChannel();
+        buffer = null;
+    }
+
+    private void closeChannel() throws IOException {
+        try {
+            if ((fileLock != null) && fileLock.isValid()) {
+                fileLock.release();
+            }
+        } finally {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private ByteBuffer slice(int offset, int length) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.limit(offset + length).position(offset);
+        return duplicate.slice();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer byteBuffer) throws IOException {
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.auth;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timer wheel which schedules, cancels and expires timers in amortized constant time.
+ * <p>
+ * Timers are kept in the buckets of four wheels with ticks of about a second, a minute, an hour and three days. As the
+ * time advances, the buckets that passed are visited; timers whose deadlines passed are expired, and the rest are
+ * cascaded into the finer wheels. Hence a timer is expired within about one tick of the finest wheel after its
+ * deadline. Times are in milliseconds and should not be negative.
+ * <p>
+ * This class is not thread safe. Callers should guard an instance with a lock.
+ *
+ * @param <T> type of the values of the timers
+ * @since 1.0.0
+ */
+public class TimerWheel<T> {
+
+    private static final int BUCKETS = 64;
+    private static final int[] SHIFTS = {10, 16, 22, 28};
+
+    private final Timer<T>[][] wheels;
+    private long currentTime;
+    private int size;
+
+    /**
+     * Creates a new timer wheel.
+     *
+     * @param currentTime current time in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long currentTime) {
+        this.wheels = new Timer[SHIFTS.length][BUCKETS];
+        for (Timer<T>[] wheel : wheels) {
+            for (int i = 0; i < BUCKETS; i++) {
+                Timer<T> sentinel = new Timer<>(null);
+                sentinel.previous = sentinel;
+                sentinel.next = sentinel;
+                wheel[i] = sentinel;
+            }
+        }
+        this.currentTime = currentTime;
+    }
+
+    /**
+     * Schedules the specified timer to expire at the specified deadline. If the timer is already scheduled, it is
+     * rescheduled.
+     *
+     * @param timer    timer to be scheduled
+     * @param deadline deadline in milliseconds
+     */
+    public void schedule(Timer<T> timer, long deadline) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+        } else {
+            size++;
+        }
+        timer.deadline = deadline;
+        link(findBucket(deadline), timer);
+    }
+
+    /**
+     * Cancels the specified timer.
+     *
+     * @param timer timer to be cancelled
+     * @return {@code true} if the timer was scheduled, {@code false} otherwise
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (!timer.isScheduled()) {
+            return false;
+        }
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the time of this wheel and expires the timers whose deadlines passed. An expired timer is removed from
+     * this wheel before it is passed to the consumer, so the consumer may schedule it again.
+     *
+     * @param time                 current time in milliseconds
+     * @param expiredTimerConsumer consumer of the expired timers
+     */
+    public void advance(long time, Consumer<Timer<T>> expiredTimerConsumer) {
+        long previousTime = currentTime;
+        if (time <= previousTime) {
+            return;
+        }
+        currentTime = time;
+        for (int level = 0; level < SHIFTS.length; level++) {
+            long previousTicks = previousTime >>> SHIFTS[level];
+            long currentTicks = time >>> SHIFTS[level];
+            if (currentTicks == previousTicks) {
+                break; // Coarser wheels did not move either.
+            }
+            expire(level, previousTicks, currentTicks, expiredTimerConsumer);
+        }
+    }
+
+    /**
+     * Returns the number of scheduled timers.
+     *
+     * @return number of scheduled timers
+     */
+    public int size() {
+        return size;
+    }
+
+    private void expire(int level, long previousTicks, long currentTicks, Consumer<Timer<T>> expiredTimerConsumer) {
+        Timer<T>[] wheel = wheels[level];
+        int buckets = (int) Math.min(currentTicks - previousTicks + 1, BUCKETS);
+        for (int i = 0; i < buckets; i++) {
+            Timer<T> sentinel = wheel[(int) ((previousTicks + i) & (BUCKETS - 1))];
+            // Detach all timers of the bucket, since they are either expired or cascaded into another bucket.
+            Timer<T> timer = sentinel.next;
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+            while (timer != sentinel) {
+                Timer<T> next = timer.next;
+                timer.previous = null;
+                timer.next = null;
+                if (timer.deadline <= currentTime) {
+                    size--;
+                    expiredTimerConsumer.accept(timer);
+                } else {
+                    link(findBucket(timer.deadline), timer);
+                }
+                timer = next;
+            }
+        }
+    }
+
+    private Timer<T> findBucket(long deadline) {
+        long time = Math.max(deadline, currentTime);
+        long duration = time - currentTime;
+        for (int level = 0; level < (SHIFTS.length - 1); level++) {
+            if (duration < (1L << SHIFTS[level + 1])) {
+                return wheels[level][(int) ((time >>> SHIFTS[level]) & (BUCKETS - 1))];
+            }
+        }
+        // Deadlines beyond the span of the coarsest wheel are kept in its furthest bucket until they come closer.
+        int level = SHIFTS.length - 1;
+        long maximumTime = currentTime + ((long) (BUCKETS - 1) << SHIFTS[level]);
+        return wheels[level][(int) ((Math.min(time, maximumTime) >>> SHIFTS[level]) & (BUCKETS - 1))];
+    }
+
+    private static <T> void link(Timer<T> sentinel, Timer<T> timer) {
+        timer.previous = sentinel.previous;
+        timer.next = sentinel;
+        sentinel.previous.next = timer;
+        sentinel.previous = timer;
+    }
+
+    private static <T> void unlink(Timer<T> timer) {
+        timer.previous.next = timer.next;
+        timer.next.previous = timer.previous;
+        timer.previous = null;
+        timer.next = null;
+    }
+
+    /**
+     * A timer that can be scheduled in a {@link TimerWheel}.
+     *
+     * @param <T> type of the value of the timer
+     * @since 1.0.0
+     */
+    public static class Timer<T> {
+
+        private final T value;
+        private long deadline;
+        private Timer<T> previous;
+        private Timer<T> next;
+
+        /**
+         * Creates a new timer for the specified value.
+         *
+         * @param value value of the timer
+         */
+        public Timer(T value) {
+            this.value = value;
+        }
+
+        /**
+         * Returns the value of this timer.
+         *
+         * @return value of this timer
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the deadline of this timer.
+         *
+         * @return deadline in milliseconds
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        boolean isScheduled() {
+            return next != null;
+        }
+    }
+}
@@ -35,6 +35,7 @@ import org.wso2.carbon.uuf.spi.HttpResponse;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.function.Function;
 
 import static org.wso2.carbon.uuf.spi.HttpResponse.CONTENT_TYPE_APPLICATION_JSON;
 import static org.wso2.carbon.uuf.spi.HttpResponse.CONTENT_TYPE_WILDCARD;
@@ -52,6 +53,7 @@ public class Debugger {
     private static final UriPatten URI_PATTEN_API_FRAGMENTS = new UriPatten("/debug/api/fragments/");
     private static final UriPatten URI_PATTEN_API_THEMES = new UriPatten("/debug/api/themes/");
     private static final UriPatten URI_PATTEN_API_LOGS = new UriPatten("/debug/api/logs/");
+    private static final UriPatten URI_PATTEN_API_METRICS = new UriPatten("/debug/api/metrics/");
     private static final UriPatten URI_PATTEN_PAGE_INDEX = new UriPatten("/debug/");
     private static final UriPatten URI_PATTEN_RESOURCES = new UriPatten("/debug/{+resource}");
 
@@ -59,12 +61,23 @@ public class Debugger {
     private static final Logger LOGGER = LoggerFactory.getLogger(Debugger.class);
     private static final boolean IS_DEBUGGING_ENABLED = UUFServer.isDevModeEnabled();
 
+    private Function<App, String> metricsProvider = app -> "{}";
+
     public Debugger() {
         // TODO: 12/07/2016 uncomment this once osgi issue solved for DebugAppender
         //this.debugAppender = new DebugAppender("debugger", "");
         //this.debugAppender.attach();
     }
 
+    /**
+     * Sets the provider of the request serving metrics of an app, as a JSON string.
+     *
+     * @param metricsProvider metrics provider
+     */
+    public void setMetricsProvider(Function<App, String> metricsProvider) {
+        this.metricsProvider = metricsProvider;
+    }
+
     public void serve(App app, HttpRequest request, HttpResponse response) {
         String uriWithoutContextPath = request.getUriWithoutContextPath();
         DebugConnector debugConnector = new DebugConnector(app);
@@ -126,6 +139,13 @@ public class Debugger {
             return;
         }
 
+        if (URI_PATTEN_API_METRICS.matches(uriWithoutContextPath)) {
+            JsonObject content = new JsonObject();
+            content.add(app.getContextPath(), JSON_PARSER.parse(metricsProvider.apply(app)));
+            response.setContent(STATUS_OK, content.toString(), CONTENT_TYPE_APPLICATION_JSON);
+            return;
+        }
+
         if (URI_PATTEN_PAGE_INDEX.matches(uriWithoutContextPath) ||
                 URI_PATTEN_RESOURCES.matches(uriWithoutContextPath)) {
             char tailChar = uriWithoutContextPath.charAt(uriWithoutContextPath.length() - 1);
@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.uuf.api.RestApi;
 import org.wso2.carbon.uuf.api.auth.InMemorySessionManagerFactory;
+import org.wso2.carbon.uuf.api.auth.Permission;
 import org.wso2.carbon.uuf.api.config.Bindings;
 import org.wso2.carbon.uuf.api.config.Configuration;
 import org.wso2.carbon.uuf.api.config.I18nResources;
@@ -43,6 +44,8 @@ import org.wso2.carbon.uuf.core.Layout;
 import org.wso2.carbon.uuf.core.Page;
 import org.wso2.carbon.uuf.core.Theme;
 import org.wso2.carbon.uuf.core.UriPatten;
+import org.wso2.carbon.uuf.internal.UUFServer;
+import org.wso2.carbon.uuf.internal.auth.CachingAuthorizer;
 import org.wso2.carbon.uuf.internal.deployment.parser.AppConfig;
 import org.wso2.carbon.uuf.internal.deployment.parser.ComponentConfig;
 import org.wso2.carbon.uuf.internal.deployment.parser.DependencyNode;
@@ -51,12 +54,16 @@ import org.wso2.carbon.uuf.internal.deployment.parser.ThemeConfig;
 import org.wso2.carbon.uuf.internal.deployment.parser.YamlFileParser;
 import org.wso2.carbon.uuf.internal.exception.AppCreationException;
 import org.wso2.carbon.uuf.internal.exception.ConfigurationException;
+import org.wso2.carbon.uuf.internal.io.AssetBundles;
+import org.wso2.carbon.uuf.internal.io.StaticResourceIndex;
+import org.wso2.carbon.uuf.internal.io.util.PrivateDirectories;
 import org.wso2.carbon.uuf.internal.util.NameUtils;
 import org.wso2.carbon.uuf.spi.RenderableCreator;
 import org.wso2.carbon.uuf.spi.auth.Authorizer;
 import org.wso2.carbon.uuf.spi.auth.SessionManager;
 import org.wso2.carbon.uuf.spi.auth.SessionManagerFactory;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -78,6 +85,11 @@ import static org.wso2.carbon.uuf.internal.util.NameUtils.getFullyQualifiedName;
 public class AppCreator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AppCreator.class);
+    private static final String ASSET_BUNDLES_DIRECTORY = System.getProperty(
+            "uuf.static.bundles.dir", PrivateDirectories.getDefaultPath("bundles").toString());
+    // Authorization decisions are not cached across requests unless a time-to-live (in milliseconds) is given.
+    private static final long AUTHORIZATION_CACHE_TTL = Long.getLong("uuf.authorization.cache.ttl", 0L);
+    private static final long AUTHORIZATION_CACHE_SIZE = Long.getLong("uuf.authorization.cache.size", 10000L);
 
     private final Map<String, RenderableCreator> renderableCreators;
     private final Set<String> supportedExtensions;
@@ -109,6 +121,7 @@ public class AppCreator {
         final Configuration configuration = createConfiguration(appReference);
         final Bindings bindings = new Bindings();
         final I18nResources i18nResources = new I18nResources();
+        final Set<Permission> securedPermissions = new HashSet<>();
 
         // Create components.
         final Map<String, Component> createdComponents = new HashMap<>();
@@ -118,9 +131,10 @@ public class AppCreator {
             }
 
             Component component = createComponent(dependencyNode, appReference, rootNode, appContextPath,
-                                                  createdComponents, bindings, i18nResources);
+                                                  createdComponents, bindings, i18nResources, securedPermissions);
             createdComponents.put(component.getName(), component);
         });
+        i18nResources.freeze();
 
         // Create Themes.
         final Set<Theme> themes = appReference.getThemeReferences().map(this::createTheme).collect(toSet());
@@ -148,11 +162,29 @@ public class AppCreator {
                 .orElse(null);
         if (authorizer == null) {
             LOGGER.warn("No authorizer is configured for '{}' app.", appName);
+        } else if (AUTHORIZATION_CACHE_TTL > 0) {
+            authorizer = new CachingAuthorizer(authorizer, AUTHORIZATION_CACHE_TTL, AUTHORIZATION_CACHE_SIZE);
+        }
+
+        // Index static resources. In dev mode the index is refreshed when static resources change.
+        StaticResourceIndex staticResourceIndex = StaticResourceIndex.create(createdComponents.values(), themes,
+                                                                             UUFServer.isDevModeEnabled());
+
+        // Bundle assets. In dev mode assets are served directly from the files, hence not bundled.
+        AssetBundles assetBundles = null;
+        if (configuration.isAssetBundlingEnabled() && !UUFServer.isDevModeEnabled()) {
+            assetBundles = AssetBundles.create(themes, staticResourceIndex,
+                                               configuration.getContextPath().orElse(appContextPath),
+                                               Paths.get(ASSET_BUNDLES_DIRECTORY),
+                                               configuration.getAssetsCdnBaseUrl().orElse(null));
+            staticResourceIndex = staticResourceIndex.withResources(assetBundles.getResources());
+            LOGGER.debug("Assets of app '{}' are bundled: {}", appName, assetBundles);
         }
 
         // Create App.
         return new App(appName, appContextPath, new HashSet<>(createdComponents.values()), themes, configuration,
-                       bindings, i18nResources, sessionManager, authorizer);
+                       bindings, i18nResources, sessionManager, authorizer, staticResourceIndex, assetBundles,
+                       securedPermissions);
     }
 
     private Configuration createConfiguration(AppReference appReference) {
@@ -164,6 +196,15 @@ public class AppCreator {
         configuration.setAuthorizer(appConfig.getAuthorizer());
         configuration.setSessionManagerFactoryClassName(appConfig.getSessionManagement().getFactoryClassName());
         configuration.setSessionTimeout(appConfig.getSessionManagement().getTimeout());
+        configuration.setRequestTimeout(appConfig.getTimeout().getRequest());
+        Map<String, Long> pageRequestTimeouts = new HashMap<>();
+        appConfig.getTimeout().getPages().forEach((pageUri, timeout) -> pageRequestTimeouts
+                .put(pageUri, (timeout == null) ? null : timeout.longValue()));
+        configuration.setPageRequestTimeouts(pageRequestTimeouts);
+        configuration.setExecutorThreads(appConfig.getExecutor().getThreads());
+        configuration.setExecutorQueueDepth(appConfig.getExecutor().getQueueDepth());
+        configuration.setAssetBundlingEnabled(appConfig.getAssets().isBundling());
+        configuration.setAssetsCdnBaseUrl(appConfig.getAssets().getCdnBaseUrl());
         Map<Integer, String> errorPageUris = appConfig.getErrorPages().entrySet().stream()
                 .filter(entry -> NumberUtils.isNumber(entry.getKey()))
                 .collect(toMap(entry -> Integer.valueOf(entry.getKey()), Map.Entry::getValue));
@@ -182,7 +223,7 @@ public class AppCreator {
     private Component createComponent(DependencyNode componentNode, AppReference appReference,
                                       DependencyNode rootNode, String appContextPath,
                                       Map<String, Component> createdComponents, Bindings bindings,
-                                      I18nResources i18nResources) {
+                                      I18nResources i18nResources, Set<Permission> securedPermissions) {
         final String componentName = componentNode.getArtifactId();
         final String componentVersion = componentNode.getVersion();
         final String componentContextPath =
@@ -197,18 +238,20 @@ public class AppCreator {
                 .collect(toSet());
         // Create layouts in the component.
         final Set<Layout> layouts = componentReference.getLayouts(supportedExtensions)
-                .map(layoutReference -> createLayout(layoutReference, componentName))
+                .map(layoutReference -> createLayout(layoutReference, componentName, securedPermissions))
                 .collect(toSet());
         // Create pages in the component.
         final Set<Fragment> fragments = componentReference.getFragments(supportedExtensions)
-                .map(fragmentReference -> createFragment(fragmentReference, componentName, classLoader))
+                .map(fragmentReference -> createFragment(fragmentReference, componentName, classLoader,
+                                                         securedPermissions))
                 .collect(toSet());
         // Create pages in the component.
         Map<String, Layout> availableLayouts = new HashMap<>();
         layouts.forEach(layout -> availableLayouts.put(layout.getName(), layout));
         dependencies.forEach(cmp -> cmp.getLayouts().forEach(l -> availableLayouts.put(l.getName(), l)));
         final SortedSet<Page> pages = componentReference.getPages(supportedExtensions)
-                .map(pageReference -> createPage(pageReference, classLoader, availableLayouts, componentName))
+                .map(pageReference -> createPage(pageReference, classLoader, availableLayouts, componentName,
+                                                 securedPermissions))
                 .collect(toCollection(TreeSet::new));
 
         // Handle component's configurations.
@@ -224,14 +267,15 @@ public class AppCreator {
                         "Cannot identify the locale of the language file '" + i18nFile.getAbsolutePath() +
                                 "' of component '" + componentName + "'.");
             }
-            i18nResources.addI18nResource(locale, PropertyFileParser.parse(i18nFile));
+            i18nResources.addI18nResource(componentName, locale, PropertyFileParser.parse(i18nFile));
         });
 
         return new Component(componentName, componentVersion, componentContextPath, pages, fragments, layouts,
                              dependencies, componentReference.getPath());
     }
 
-    private Layout createLayout(LayoutReference layoutReference, String componentName) {
+    private Layout createLayout(LayoutReference layoutReference, String componentName,
+                                Set<Permission> securedPermissions) {
         RenderableCreator renderableCreator = getRenderableCreator(layoutReference.getRenderingFile());
         RenderableCreator.LayoutRenderableData lrd;
         try {
@@ -241,11 +285,12 @@ public class AppCreator {
                     "Cannot create a renderable for the layout '" + layoutReference.getName() + "' of component '" +
                     componentName + "'.", e);
         }
+        securedPermissions.addAll(lrd.getSecuredPermissions());
         return new Layout(getFullyQualifiedName(componentName, layoutReference.getName()), lrd.getRenderable());
     }
 
     private Fragment createFragment(FragmentReference fragmentReference, String componentName,
-                                    ClassLoader classLoader) {
+                                    ClassLoader classLoader, Set<Permission> securedPermissions) {
         RenderableCreator renderableCreator = getRenderableCreator(fragmentReference.getRenderingFile());
         RenderableCreator.FragmentRenderableData frd;
         try {
@@ -255,6 +300,7 @@ public class AppCreator {
                     "Cannot create a renderable for the fragment '" + fragmentReference.getName() + "' of component '" +
                     componentName + "'.", e);
         }
+        addSecuredPermissions(frd.getPermission(), frd.getSecuredPermissions(), securedPermissions);
         String fragmentName = getFullyQualifiedName(componentName, fragmentReference.getName());
         return new Fragment(fragmentName, frd.getRenderable(), frd.getPermission());
     }
@@ -316,7 +362,7 @@ public class AppCreator {
     }
 
     private Page createPage(PageReference pageReference, ClassLoader classLoader, Map<String, Layout> availableLayouts,
-                            String componentName) {
+                            String componentName, Set<Permission> securedPermissions) {
         FileReference pageRenderingFile = pageReference.getRenderingFile();
         RenderableCreator renderableCreator = getRenderableCreator(pageRenderingFile);
         RenderableCreator.PageRenderableData prd;
@@ -327,6 +373,7 @@ public class AppCreator {
                     "Cannot create a renderable for the page '" + pageReference.getPathPattern() + "' of component '" +
                     componentName + "'.", e);
         }
+        addSecuredPermissions(prd.getPermission(), prd.getSecuredPermissions(), securedPermissions);
         UriPatten uriPatten = new UriPatten(pageReference.getPathPattern());
         if (prd.getLayoutName().isPresent()) {
             // This page has a layout.
@@ -345,6 +392,16 @@ public class AppCreator {
         }
     }
 
+    private static void addSecuredPermissions(Permission permission, Set<Permission> permissions,
+                                              Set<Permission> securedPermissions) {
+        if (permission != null) {
+            securedPermissions.add(permission);
+        }
+        if (permissions != null) {
+            securedPermissions.addAll(permissions);
+        }
+    }
+
     private RenderableCreator getRenderableCreator(FileReference fileReference) {
         RenderableCreator renderableCreator = renderableCreators.get(fileReference.getExtension());
         if (renderableCreator == null) {
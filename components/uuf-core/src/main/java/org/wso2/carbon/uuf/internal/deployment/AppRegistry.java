@@ -26,8 +26,11 @@ import org.wso2.carbon.uuf.internal.exception.AppCreationException;
 import org.wso2.carbon.uuf.internal.exception.DeploymentException;
 import org.wso2.carbon.uuf.internal.exception.FileOperationException;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 
 /**
  * A registry that maintains deployed UUF apps.
@@ -41,6 +44,8 @@ public class AppRegistry {
     private final AppFinder appFinder;
     private final AppCreator appCreator;
     private final ConcurrentMap<String, App> deployedApps;
+    private final ConcurrentMap<String, AppReference> deployedAppReferences;
+    private final Consumer<App> deploymentListener;
 
     /**
      * Creates a new app registry with the specified app finder and app creator.
@@ -49,9 +54,23 @@ public class AppRegistry {
      * @param appCreator app creator to be used
      */
     public AppRegistry(AppFinder appFinder, AppCreator appCreator) {
+        this(appFinder, appCreator, app -> {
+        });
+    }
+
+    /**
+     * Creates a new app registry with the specified app finder, app creator and deployment listener.
+     *
+     * @param appFinder          app finder to be used
+     * @param appCreator         app creator to be used
+     * @param deploymentListener listener notified once for each app deployed by this registry
+     */
+    public AppRegistry(AppFinder appFinder, AppCreator appCreator, Consumer<App> deploymentListener) {
         this.appFinder = appFinder;
         this.appCreator = appCreator;
         this.deployedApps = new ConcurrentHashMap<>();
+        this.deployedAppReferences = new ConcurrentHashMap<>();
+        this.deploymentListener = deploymentListener;
     }
 
     /**
@@ -66,10 +85,17 @@ public class AppRegistry {
     }
 
     /**
-     * Clears all the deployed apps of this registry.
+     * Clears all the deployed apps of this registry and releases their resources.
      */
     public void clear() {
-        deployedApps.clear();
+        deployedApps.values().removeIf(app -> {
+            app.close();
+            return true;
+        });
+        deployedAppReferences.values().removeIf(appReference -> {
+            close(appReference);
+            return true;
+        });
     }
 
     private App createApp(String appContextPath) throws DeploymentException {
@@ -87,13 +113,27 @@ public class AppRegistry {
         try {
             app = appCreator.createApp(appReference, appContextPath);
         } catch (AppCreationException | FileOperationException e) {
+            close(appReference);
             throw new DeploymentException("Cannot create app '" + appReference.getName() +
                                                   "' to deploy for context path '" + appContextPath + "'.", e);
         } catch (Exception e) {
+            close(appReference);
             throw new DeploymentException(
                     "Cannot deploy app '" + appReference.getName() + "' for context path '" + appContextPath + "'.", e);
         }
+        deployedAppReferences.put(appContextPath, appReference);
+        deploymentListener.accept(app);
         LOGGER.info("UUF app '{}' deployed for context path '{}' successfully.", app.getName(), app.getContextPath());
         return app;
     }
+
+    private static void close(AppReference appReference) {
+        if (appReference instanceof Closeable) {
+            try {
+                ((Closeable) appReference).close();
+            } catch (IOException e) {
+                LOGGER.warn("Cannot release resources of app '{}'.", appReference.getName(), e);
+            }
+        }
+    }
 }
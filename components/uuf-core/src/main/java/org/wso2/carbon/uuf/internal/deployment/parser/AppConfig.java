@@ -40,6 +40,9 @@ public class AppConfig {
     private String loginPageUri;
     private String authorizer;
     private SessionConfig sessionManagement = new SessionConfig();
+    private TimeoutConfig timeout = new TimeoutConfig();
+    private ExecutorConfig executor = new ExecutorConfig();
+    private AssetsConfig assets = new AssetsConfig();
     private Map<String, String> errorPages = Collections.emptyMap();
     private List<Menu> menus = Collections.emptyList();
     private SecurityConfig security = new SecurityConfig();
@@ -135,6 +138,60 @@ public class AppConfig {
         this.sessionManagement = (sessionManagement == null) ? new SessionConfig() : sessionManagement;
     }
 
+    /**
+     * Returns the request timeout configuration in this app's config.
+     *
+     * @return request timeout configuration
+     */
+    public TimeoutConfig getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the request timeout configuration in this app's config.
+     *
+     * @param timeout request timeout configuration
+     */
+    public void setTimeout(TimeoutConfig timeout) {
+        this.timeout = (timeout == null) ? new TimeoutConfig() : timeout;
+    }
+
+    /**
+     * Returns the request executor configuration in this app's config.
+     *
+     * @return request executor configuration
+     */
+    public ExecutorConfig getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the request executor configuration in this app's config.
+     *
+     * @param executor request executor configuration
+     */
+    public void setExecutor(ExecutorConfig executor) {
+        this.executor = (executor == null) ? new ExecutorConfig() : executor;
+    }
+
+    /**
+     * Returns the assets configuration in this app's config.
+     *
+     * @return assets configuration
+     */
+    public AssetsConfig getAssets() {
+        return assets;
+    }
+
+    /**
+     * Sets the assets configuration in this app's config.
+     *
+     * @param assets assets configuration
+     */
+    public void setAssets(AssetsConfig assets) {
+        this.assets = (assets == null) ? new AssetsConfig() : assets;
+    }
+
     /**
      * Returns the error pages URIs in this app's config.
      *
@@ -254,6 +311,147 @@ public class AppConfig {
         }
     }
 
+    /**
+     * Bean class that represents the request timeout config of an UUF app.
+     *
+     * @since 1.0.0
+     */
+    public static class TimeoutConfig {
+
+        private long request;
+        private Map<String, Number> pages = Collections.emptyMap();
+
+        /**
+         * Returns the request timeout in milliseconds for this configuration.
+         *
+         * @return request timeout in milliseconds
+         */
+        public long getRequest() {
+            return request;
+        }
+
+        /**
+         * Sets the request timeout in milliseconds for this configuration.
+         *
+         * @param request request timeout in milliseconds
+         */
+        public void setRequest(long request) {
+            this.request = request;
+        }
+
+        /**
+         * Returns the request timeouts in milliseconds of pages for this configuration.
+         *
+         * @return request timeouts keyed by page URI patterns
+         */
+        public Map<String, Number> getPages() {
+            return pages;
+        }
+
+        /**
+         * Sets the request timeouts in milliseconds of pages for this configuration.
+         *
+         * @param pages request timeouts keyed by page URI patterns
+         */
+        public void setPages(Map<String, Number> pages) {
+            this.pages = (pages == null) ? Collections.emptyMap() : pages;
+        }
+    }
+
+    /**
+     * Bean class that represents the request executor config of an UUF app.
+     *
+     * @since 1.0.0
+     */
+    public static class ExecutorConfig {
+
+        private int threads;
+        private int queueDepth;
+
+        /**
+         * Returns the number of threads that serve requests for this configuration.
+         *
+         * @return number of threads
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * Sets the number of threads that serve requests for this configuration.
+         *
+         * @param threads number of threads
+         */
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        /**
+         * Returns the maximum number of requests waiting to be served for this configuration.
+         *
+         * @return queue depth
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        /**
+         * Sets the maximum number of requests waiting to be served for this configuration.
+         *
+         * @param queueDepth queue depth
+         */
+        public void setQueueDepth(int queueDepth) {
+            this.queueDepth = queueDepth;
+        }
+    }
+
+    /**
+     * Bean class that represents the assets config of an UUF app.
+     *
+     * @since 1.0.0
+     */
+    public static class AssetsConfig {
+
+        private boolean bundling;
+        private String cdnBaseUrl;
+
+        /**
+         * Returns whether CSS and JS files are bundled in this configuration.
+         *
+         * @return {@code true} if bundling is enabled, {@code false} otherwise
+         */
+        public boolean isBundling() {
+            return bundling;
+        }
+
+        /**
+         * Sets whether CSS and JS files are bundled in this configuration.
+         *
+         * @param bundling {@code true} to enable bundling
+         */
+        public void setBundling(boolean bundling) {
+            this.bundling = bundling;
+        }
+
+        /**
+         * Returns the base URL of the CDN that serves assets in this configuration.
+         *
+         * @return CDN base URL
+         */
+        public String getCdnBaseUrl() {
+            return cdnBaseUrl;
+        }
+
+        /**
+         * Sets the base URL of the CDN that serves assets in this configuration.
+         *
+         * @param cdnBaseUrl CDN base URL
+         */
+        public void setCdnBaseUrl(String cdnBaseUrl) {
+            this.cdnBaseUrl = cdnBaseUrl;
+        }
+    }
+
     /**
      * Bean class that represents a menu in the app's config file of an UUF App.
      *
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.api.Placeholder;
+import org.wso2.carbon.uuf.core.Theme;
+import org.wso2.carbon.uuf.internal.exception.FileOperationException;
+import org.wso2.carbon.uuf.internal.io.util.PrivateDirectories;
+import org.wso2.carbon.uuf.internal.util.UriUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-fingerprinted URIs and bundles of the CSS and JS files of an app.
+ * <p>
+ * Asset bundles are created once when the app is deployed. The CSS, head JS and body JS files of each theme are
+ * concatenated in their declared order into bundle files named by the content digest. Every CSS and JS file of the
+ * components gets an alias URI that carries its content digest. These URIs change whenever the content changes, so
+ * they are served with an {@code immutable} cache control and can optionally be prefixed with a CDN base URL.
+ * <p>
+ * Relative {@code url(...)} references in bundled CSS files are rewritten to absolute paths, since the bundle is
+ * served from a different location than the original files.
+ *
+ * @since 1.0.0
+ */
+public class AssetBundles {
+
+    public static final String URI_PREFIX_BUNDLES = "/public/bundles/";
+    public static final String CACHE_CONTROL_IMMUTABLE = "public,max-age=31536000,immutable";
+    private static final int FINGERPRINT_LENGTH = 16;
+    private static final String CONTENT_TYPE_CSS = "text/css";
+    private static final String CONTENT_TYPE_JS = "application/javascript";
+    private static final Pattern CSS_URL_PATTERN = Pattern.compile("url\\(\\s*(['\"]?)([^'\")]+)\\1\\s*\\)");
+    private static final Pattern URI_SCHEME_PATTERN = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*:");
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssetBundles.class);
+
+    private final String cdnBaseUrl;
+    private final Map<String, String> fingerprintedUris;
+    private final Map<String, String> bundleUris;
+    private final Map<String, StaticResource> resources;
+
+    private AssetBundles(String cdnBaseUrl, Map<String, String> fingerprintedUris, Map<String, String> bundleUris,
+                         Map<String, StaticResource> resources) {
+        this.cdnBaseUrl = cdnBaseUrl;
+        this.fingerprintedUris = fingerprintedUris;
+        this.bundleUris = bundleUris;
+        this.resources = resources;
+    }
+
+    /**
+     * Returns the content-fingerprinted URI of the specified static resource URI.
+     *
+     * @param uriWithoutContextPath public URI of a CSS or JS file without the app context path
+     * @return fingerprinted URI without the app context path, or an empty {@link Optional} if the resource is not
+     * fingerprinted
+     */
+    public Optional<String> getFingerprintedUri(String uriWithoutContextPath) {
+        return Optional.ofNullable(fingerprintedUris.get(uriWithoutContextPath));
+    }
+
+    /**
+     * Returns the URI of the bundle that concatenates the files of the specified theme for the specified placeholder.
+     *
+     * @param theme       theme
+     * @param placeholder one of {@link Placeholder#css}, {@link Placeholder#headJs} or {@link Placeholder#js}
+     * @return bundle URI without the app context path, or an empty {@link Optional} if there is no such bundle
+     */
+    public Optional<String> getBundleUri(Theme theme, Placeholder placeholder) {
+        return Optional.ofNullable(bundleUris.get(getBundleKey(theme, placeholder)));
+    }
+
+    /**
+     * Returns the URL to be used in pages for the specified fingerprinted or bundle URI.
+     *
+     * @param contextPath           context path of the app
+     * @param uriWithoutContextPath fingerprinted or bundle URI
+     * @return URL prefixed with the CDN base URL, if configured
+     */
+    public String getUrl(String contextPath, String uriWithoutContextPath) {
+        return cdnBaseUrl + contextPath + uriWithoutContextPath;
+    }
+
+    /**
+     * Returns whether the specified URI is a fingerprinted or bundle URI, whose content never changes.
+     *
+     * @param uriWithoutContextPath public URI without the app context path
+     * @return {@code true} if the content of the URI never changes, {@code false} otherwise
+     */
+    public boolean isImmutable(String uriWithoutContextPath) {
+        return resources.containsKey(uriWithoutContextPath);
+    }
+
+    /**
+     * Returns the static resources of all fingerprinted and bundle URIs.
+     *
+     * @return static resources keyed by their URIs
+     */
+    public Map<String, StaticResource> getResources() {
+        return resources;
+    }
+
+    @Override
+    public String toString() {
+        return "{\"cdnBaseUrl\": \"" + cdnBaseUrl + "\", \"fingerprinted\": " + fingerprintedUris.size() +
+                ", \"bundles\": " + bundleUris.size() + "}";
+    }
+
+    /**
+     * Creates asset bundles for the specified themes and the indexed static resources of an app.
+     *
+     * @param themes              themes of the app
+     * @param staticResourceIndex static resources of the app
+     * @param contextPath         context path of the app, used to rewrite relative URLs in bundled CSS files
+     * @param bundlesDirectory    directory to write the bundle files, which is created readable only by the server
+     * @param cdnBaseUrl          base URL of the CDN that serves the assets, or {@code null} if served by the app
+     * @return created asset bundles
+     * @throws FileOperationException if cannot read a static resource or cannot write a bundle file
+     */
+    public static AssetBundles create(Collection<Theme> themes, StaticResourceIndex staticResourceIndex,
+                                      String contextPath, Path bundlesDirectory, String cdnBaseUrl) {
+        ImmutableMap.Builder<String, String> fingerprintedUris = new ImmutableMap.Builder<>();
+        ImmutableMap.Builder<String, String> bundleUris = new ImmutableMap.Builder<>();
+        // Themes with identical files share the same bundle, hence resources are not collected to a builder.
+        Map<String, StaticResource> resources = new HashMap<>();
+
+        Map<String, StaticResource> indexedResources = staticResourceIndex.getResources();
+        for (Map.Entry<String, StaticResource> entry : indexedResources.entrySet()) {
+            String uri = entry.getKey();
+            StaticResource resource = entry.getValue();
+            String extension = FilenameUtils.getExtension(uri);
+            if (!isBundleable(resource) || extension.isEmpty()) {
+                continue;
+            }
+            // css/main.css -> css/main.{fingerprint}.css so that relative URLs in the file still resolve.
+            String fingerprintedUri = FilenameUtils.removeExtension(uri) + "." +
+                    resource.getDigest().substring(0, FINGERPRINT_LENGTH) + "." + extension;
+            if (!indexedResources.containsKey(fingerprintedUri)) {
+                fingerprintedUris.put(uri, fingerprintedUri);
+                resources.put(fingerprintedUri, resource);
+            }
+        }
+
+        for (Theme theme : themes) {
+            for (Placeholder placeholder : new Placeholder[]{Placeholder.css, Placeholder.headJs, Placeholder.js}) {
+                createBundle(theme, placeholder, indexedResources, contextPath, bundlesDirectory)
+                        .ifPresent(bundle -> {
+                            String bundleUri = URI_PREFIX_BUNDLES +
+                                    bundle.getDigest().substring(0, FINGERPRINT_LENGTH) + "." +
+                                    (bundle.getContentType().equals(CONTENT_TYPE_CSS) ? "css" : "js");
+                            bundleUris.put(getBundleKey(theme, placeholder), bundleUri);
+                            resources.put(bundleUri, bundle);
+                        });
+            }
+        }
+        return new AssetBundles((cdnBaseUrl == null) ? "" : cdnBaseUrl, fingerprintedUris.build(),
+                                bundleUris.build(), ImmutableMap.copyOf(resources));
+    }
+
+    private static boolean isBundleable(StaticResource resource) {
+        return CONTENT_TYPE_CSS.equals(resource.getContentType()) || CONTENT_TYPE_JS.equals(resource.getContentType());
+    }
+
+    private static Optional<StaticResource> createBundle(Theme theme, Placeholder placeholder,
+                                                         Map<String, StaticResource> indexedResources,
+                                                         String contextPath, Path bundlesDirectory) {
+        List<String> relativePaths = theme.getRelativePaths(placeholder);
+        if (relativePaths.isEmpty()) {
+            return Optional.empty();
+        }
+        boolean isCss = (placeholder == Placeholder.css);
+        StringBuilder content = new StringBuilder();
+        ZonedDateTime lastModifiedDate = null;
+        List<String> sourceUris = new ArrayList<>(relativePaths.size());
+        for (String relativePath : relativePaths) {
+            String uri = UriUtils.getPublicUri(theme) + "/" + relativePath;
+            StaticResource resource = indexedResources.get(uri);
+            if (resource == null) {
+                LOGGER.warn("Cannot bundle {} files of theme '{}' as file '{}' is not a static resource.",
+                            placeholder, theme.getName(), relativePath);
+                return Optional.empty();
+            }
+            String fileContent = readContent(resource);
+            content.append(isCss ? rewriteRelativeUrls(fileContent, uri, contextPath) : fileContent);
+            // Separate files so that a file without a trailing new line or semicolon does not break the next one.
+            content.append(isCss ? "\n" : ";\n");
+            if ((lastModifiedDate == null) || resource.getLastModifiedDate().isAfter(lastModifiedDate)) {
+                lastModifiedDate = resource.getLastModifiedDate();
+            }
+            sourceUris.add(uri);
+        }
+
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        String digest = Hashing.sha256().hashBytes(bytes).toString();
+        Path bundleFile = bundlesDirectory.resolve(digest + (isCss ? ".css" : ".js"));
+        writeBundle(bundleFile, bytes);
+        LOGGER.debug("Bundled {} files {} of theme '{}' to '{}'.", placeholder, sourceUris, theme.getName(),
+                     bundleFile);
+        return Optional.of(new StaticResource(bundleFile, bytes.length, isCss ? CONTENT_TYPE_CSS : CONTENT_TYPE_JS,
+                                              lastModifiedDate));
+    }
+
+    private static String readContent(StaticResource resource) {
+        try {
+            return new String(Files.readAllBytes(resource.getPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new FileOperationException("Cannot read static resource file '" + resource.getPath() + "'.", e);
+        }
+    }
+
+    /**
+     * Rewrites relative {@code url(...)} references of the specified CSS content to absolute paths.
+     *
+     * @param css         CSS content
+     * @param cssUri      public URI of the CSS file without the context path
+     * @param contextPath context path of the app
+     * @return rewritten CSS content
+     */
+    static String rewriteRelativeUrls(String css, String cssUri, String contextPath) {
+        Matcher matcher = CSS_URL_PATTERN.matcher(css);
+        StringBuffer buffer = new StringBuffer(css.length());
+        while (matcher.find()) {
+            String url = matcher.group(2).trim();
+            String rewrittenUrl = url;
+            if (!url.startsWith("/") && !url.startsWith("#") && !URI_SCHEME_PATTERN.matcher(url).find()) {
+                try {
+                    rewrittenUrl = contextPath + URI.create(cssUri).resolve(url).toString();
+                } catch (IllegalArgumentException e) {
+                    // Not a valid URI, hence leave as it is.
+                }
+            }
+            matcher.appendReplacement(buffer, Matcher.quoteReplacement(
+                    "url(" + matcher.group(1) + rewrittenUrl + matcher.group(1) + ")"));
+        }
+        matcher.appendTail(buffer);
+        return buffer.toString();
+    }
+
+    private static void writeBundle(Path bundleFile, byte[] content) {
+        // An existing file is always overwritten, as bundle files are served immutable and must have been written by
+        // this server from the content they are named by.
+        Path bundlesDirectory = bundleFile.getParent();
+        try {
+            PrivateDirectories.create(bundlesDirectory);
+            // Write to a temporary file first, so that a partially written file is never served.
+            Path tempFile = Files.createTempFile(bundlesDirectory, bundleFile.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tempFile, content);
+                Files.move(tempFile, bundleFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            throw new FileOperationException("Cannot write asset bundle file '" + bundleFile + "'.", e);
+        }
+    }
+
+    private static String getBundleKey(Theme theme, Placeholder placeholder) {
+        return theme.getName() + "/" + placeholder;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A byte range of a static resource requested through the HTTP {@code Range} header.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc7233">RFC 7233</a>
+ * @since 1.0.0
+ */
+public class ByteRange {
+
+    private static final String BYTES_UNIT_PREFIX = "bytes=";
+    private static final int MAX_RANGES = 16;
+
+    private final long start;
+    private final long end;
+
+    /**
+     * Creates a new byte range.
+     *
+     * @param start first byte position (inclusive)
+     * @param end   last byte position (inclusive)
+     */
+    public ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * Returns the value of the {@code Content-Range} header for this range.
+     *
+     * @param size size of the complete resource
+     * @return value for the {@code Content-Range} header
+     */
+    public String toContentRange(long size) {
+        return "bytes " + start + "-" + end + "/" + size;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return (this == obj) || ((obj instanceof ByteRange) && (start == ((ByteRange) obj).start) &&
+                (end == ((ByteRange) obj).end));
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(start) * 31 + Long.hashCode(end);
+    }
+
+    @Override
+    public String toString() {
+        return start + "-" + end;
+    }
+
+    /**
+     * Parses the specified {@code Range} header value for a resource of the specified size.
+     * <p>
+     * Ranges that cannot be satisfied are dropped and the remaining ones are clipped to the resource size. A header
+     * that is malformed, uses an unit other than bytes, or asks for too many ranges is ignored altogether, as allowed
+     * by RFC 7233.
+     *
+     * @param rangeHeader value of the {@code Range} header
+     * @param size        size of the resource in bytes
+     * @return satisfiable ranges, possibly none, or an empty {@link Optional} if the header should be ignored
+     */
+    public static Optional<List<ByteRange>> parse(String rangeHeader, long size) {
+        if ((rangeHeader == null) || !rangeHeader.startsWith(BYTES_UNIT_PREFIX)) {
+            return Optional.empty();
+        }
+        String[] rangeSpecs = rangeHeader.substring(BYTES_UNIT_PREFIX.length()).split(",");
+        if (rangeSpecs.length > MAX_RANGES) {
+            return Optional.empty();
+        }
+
+        List<ByteRange> ranges = new ArrayList<>(rangeSpecs.length);
+        for (String rangeSpec : rangeSpecs) {
+            String spec = rangeSpec.trim();
+            int dashIndex = spec.indexOf('-');
+            if (dashIndex < 0) {
+                return Optional.empty();
+            }
+            long first, last;
+            try {
+                if (dashIndex == 0) {
+                    // Suffix range: '-500' means the last 500 bytes.
+                    long suffixLength = Long.parseLong(spec.substring(1));
+                    if (suffixLength <= 0) {
+                        continue; // Not satisfiable.
+                    }
+                    first = Math.max(0, size - suffixLength);
+                    last = size - 1;
+                } else {
+                    first = Long.parseLong(spec.substring(0, dashIndex));
+                    if (dashIndex == spec.length() - 1) {
+                        // Open range: '500-' means from the 500th byte to the end.
+                        last = size - 1;
+                    } else {
+                        long requestedLast = Long.parseLong(spec.substring(dashIndex + 1));
+                        if (requestedLast < first) {
+                            return Optional.empty(); // Malformed, last position is before the first position.
+                        }
+                        last = Math.min(requestedLast, size - 1);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+            if ((first < size) && (first <= last)) {
+                ranges.add(new ByteRange(first, last));
+            }
+        }
+        return Optional.of(ranges);
+    }
+}
@@ -19,8 +19,12 @@
 package org.wso2.carbon.uuf.internal.io;
 
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.api.config.I18nBundle;
+import org.wso2.carbon.uuf.api.io.ByteBufferInputStream;
 import org.wso2.carbon.uuf.core.App;
 import org.wso2.carbon.uuf.core.Component;
 import org.wso2.carbon.uuf.core.Theme;
@@ -28,52 +32,97 @@ import org.wso2.carbon.uuf.internal.UUFServer;
 import org.wso2.carbon.uuf.internal.exception.FileOperationException;
 import org.wso2.carbon.uuf.internal.exception.ResourceNotFoundException;
 import org.wso2.carbon.uuf.internal.io.util.MimeMapper;
+import org.wso2.carbon.uuf.internal.io.util.PrivateDirectories;
+import org.wso2.carbon.uuf.internal.io.util.ZipArtifactHandler;
+import org.wso2.carbon.uuf.internal.util.UriUtils;
 import org.wso2.carbon.uuf.spi.HttpRequest;
 import org.wso2.carbon.uuf.spi.HttpResponse;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.wso2.carbon.uuf.api.reference.ComponentReference.DIR_NAME_FRAGMENTS;
+import static org.wso2.carbon.uuf.internal.io.StaticResourceCompressor.CONTENT_ENCODING_GZIP;
+import static org.wso2.carbon.uuf.spi.HttpRequest.HEADER_ACCEPT_ENCODING;
+import static org.wso2.carbon.uuf.spi.HttpRequest.HEADER_CONTENT_TYPE;
+import static org.wso2.carbon.uuf.spi.HttpRequest.HEADER_IF_MODIFIED_SINCE;
+import static org.wso2.carbon.uuf.spi.HttpRequest.HEADER_IF_NONE_MATCH;
+import static org.wso2.carbon.uuf.spi.HttpRequest.HEADER_IF_RANGE;
+import static org.wso2.carbon.uuf.spi.HttpRequest.HEADER_RANGE;
+import static org.wso2.carbon.uuf.spi.HttpResponse.CONTENT_TYPE_APPLICATION_JSON;
 import static org.wso2.carbon.uuf.spi.HttpResponse.CONTENT_TYPE_IMAGE_PNG;
 import static org.wso2.carbon.uuf.spi.HttpResponse.CONTENT_TYPE_WILDCARD;
+import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_ACCEPT_RANGES;
 import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_CACHE_CONTROL;
+import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_CONTENT_ENCODING;
+import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_CONTENT_RANGE;
+import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_ETAG;
 import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_LAST_MODIFIED;
+import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_VARY;
 import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_BAD_REQUEST;
 import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_INTERNAL_SERVER_ERROR;
 import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_NOT_FOUND;
 import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_NOT_MODIFIED;
 import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_OK;
+import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_PARTIAL_CONTENT;
+import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_RANGE_NOT_SATISFIABLE;
 
 public class StaticResolver {
 
     public static final String DIR_NAME_COMPONENT_RESOURCES = "base";
     public static final String DIR_NAME_PUBLIC_RESOURCES = "public";
-    private static final DateTimeFormatter HTTP_DATE_FORMATTER;
+    static final DateTimeFormatter HTTP_DATE_FORMATTER;
     private static final ZoneId GMT_TIME_ZONE;
     private static final Logger LOGGER = LoggerFactory.getLogger(StaticResolver.class);
+    private static final long CACHE_MAX_BYTES = Long.getLong("uuf.static.cache.maxBytes", 64 * 1024 * 1024);
+    private static final long CACHE_MAX_ENTRY_BYTES = Long.getLong("uuf.static.cache.maxEntryBytes", 512 * 1024);
+    private static final int CACHE_MAX_MAPPED_FILES = Integer.getInteger("uuf.static.cache.maxMappedFiles", 128);
+    private static final boolean IS_GZIP_ENABLED =
+            Boolean.parseBoolean(System.getProperty("uuf.static.gzip.enabled", "true"));
+    private static final long GZIP_MIN_BYTES = Long.getLong("uuf.static.gzip.minBytes", 1024);
+    private static final String GZIP_CACHE_DIRECTORY = System.getProperty(
+            "uuf.static.gzip.dir", PrivateDirectories.getDefaultPath("gzip-cache").toString());
+    private static final String CACHE_CONTROL_DEFAULT = "public,max-age=2592000";
+    private static final String CACHE_CONTROL_REVALIDATE = "public,no-cache";
+    private static final String CONTENT_TYPE_MULTIPART_BYTERANGES = "multipart/byteranges";
+    private static final String MULTIPART_BOUNDARY = "UUF_BYTERANGES_" + UUID.randomUUID().toString().replace("-", "");
 
     private final Map<Path, ZonedDateTime> resourcesLastModifiedDates;
+    private final StaticResourceCache resourceCache;
+    private final StaticResourceCompressor resourceCompressor;
+    private final StaticResourceUpdater resourceUpdater;
+    private volatile ByteBuffer defaultFavicon;
 
     static {
         // See https://tools.ietf.org/html/rfc7231#section-7.1.1.1
-        HTTP_DATE_FORMATTER = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss zzz");
+        HTTP_DATE_FORMATTER = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.ENGLISH);
         GMT_TIME_ZONE = ZoneId.of("GMT");
     }
 
@@ -83,9 +132,9 @@ public class StaticResolver {
     public StaticResolver() {
         if (UUFServer.isDevModeEnabled()) {
             /*
-             * When the dev mode is enabled, we do not cache last modified dates of serving static resources. This is
-             * achieved by setting a dummy map to the 'resourcesLastModifiedDates' field. Dummy map does not store any
-             * values and it size is always zero.
+             * When the dev mode is enabled, we do not cache last modified dates of static resources of apps that are
+             * not indexed (hence not watched for changes). This is achieved by setting a dummy map to the
+             * 'resourcesLastModifiedDates' field. Dummy map does not store any values and it size is always zero.
              */
             this.resourcesLastModifiedDates = new AbstractMap<Path, ZonedDateTime>() {
                 @Override
@@ -101,35 +150,90 @@ public class StaticResolver {
         } else {
             this.resourcesLastModifiedDates = new ConcurrentHashMap<>();
         }
+        this.resourceCache = new StaticResourceCache(CACHE_MAX_BYTES, CACHE_MAX_ENTRY_BYTES, CACHE_MAX_MAPPED_FILES);
+        this.resourceCompressor = IS_GZIP_ENABLED ?
+                new StaticResourceCompressor(Paths.get(GZIP_CACHE_DIRECTORY), GZIP_MIN_BYTES) : null;
+        if (UUFServer.isDevModeEnabled()) {
+            // Indexes are refreshed when static resources change, so that dev mode can keep the same caches.
+            this.resourceUpdater = new StaticResourceUpdater();
+            this.resourceUpdater.start();
+        } else {
+            this.resourceUpdater = null;
+        }
+    }
+
+    /**
+     * Stops watching static resources for changes, if watching.
+     */
+    public void shutdown() {
+        if (resourceUpdater != null) {
+            resourceUpdater.finish();
+        }
+    }
+
+    /**
+     * Starts watching the static resources of the specified newly deployed app for changes, if its index is updatable.
+     *
+     * @param app deployed app
+     */
+    public void watch(App app) {
+        if (resourceUpdater == null) {
+            return;
+        }
+        app.getStaticResourceIndex().filter(StaticResourceIndex::isUpdatable).ifPresent(staticResourceIndex -> {
+            try {
+                resourceUpdater.add(staticResourceIndex);
+            } catch (FileOperationException e) {
+                LOGGER.warn("Cannot watch static resources of app '{}' for changes.", app.getName(), e);
+            }
+        });
+    }
+
+    /**
+     * Returns the cache of static resource contents used by this resolver.
+     *
+     * @return static resource cache
+     */
+    public StaticResourceCache getResourceCache() {
+        return resourceCache;
     }
 
     public void serveDefaultFavicon(HttpRequest request, HttpResponse response) {
-        InputStream inputStream = this.getClass().getClassLoader().getResourceAsStream("/favicon.png");
-        if (inputStream == null) {
-            LOGGER.error("Cannot find default favicon 'favicon.png' in classpath.");
-            response.setStatus(STATUS_NOT_FOUND);
-        } else {
-            response.setStatus(STATUS_OK);
-            response.setContent(inputStream, CONTENT_TYPE_IMAGE_PNG);
+        ByteBuffer favicon = defaultFavicon;
+        if (favicon == null) {
+            InputStream inputStream = this.getClass().getClassLoader().getResourceAsStream("/favicon.png");
+            if (inputStream == null) {
+                LOGGER.error("Cannot find default favicon 'favicon.png' in classpath.");
+                response.setStatus(STATUS_NOT_FOUND);
+                return;
+            }
+            try {
+                favicon = ByteBuffer.wrap(IOUtils.toByteArray(inputStream)).asReadOnlyBuffer();
+            } catch (IOException e) {
+                LOGGER.error("Cannot read default favicon 'favicon.png' from classpath.", e);
+                response.setStatus(STATUS_INTERNAL_SERVER_ERROR);
+                return;
+            } finally {
+                IOUtils.closeQuietly(inputStream);
+            }
+            defaultFavicon = favicon;
         }
+        response.setStatus(STATUS_OK);
+        response.setContent(favicon, CONTENT_TYPE_IMAGE_PNG);
     }
 
     public void serve(App app, HttpRequest request, HttpResponse response) {
+        setResponseSecurityHeaders(app, response);
+        Optional<StaticResourceIndex> staticResourceIndex = app.getStaticResourceIndex();
+        if (staticResourceIndex.isPresent()) {
+            serveIndexed(staticResourceIndex.get(), app, request, response);
+            return;
+        }
+
         Path resourcePath;
         ZonedDateTime lastModifiedDate;
-        setResponseSecurityHeaders(app, response);
         try {
-            if (request.isComponentStaticResourceRequest()) {
-                // /public/components/...
-                resourcePath = resolveResourceInComponent(app, request.getUriWithoutContextPath());
-            } else if (request.isThemeStaticResourceRequest()) {
-                // /public/themes/...
-                resourcePath = resolveResourceInTheme(app, request.getUriWithoutContextPath());
-            } else {
-                // /public/...
-                response.setContent(STATUS_BAD_REQUEST, "Invalid static resource URI '" + request.getUri() + "'.");
-                return;
-            }
+            resourcePath = resolveResource(app, request);
             lastModifiedDate = resourcesLastModifiedDates.computeIfAbsent(resourcePath, this::getLastModifiedDate);
         } catch (IllegalArgumentException e) {
             // Invalid/incorrect static resource URI.
@@ -147,23 +251,327 @@ public class StaticResolver {
             return;
         }
 
-        if (lastModifiedDate == null) {
+        serveResource(resourcePath, lastModifiedDate, getContentType(request, resourcePath), request, response);
+    }
+
+    /**
+     * Serves the i18n bundle requested as {@code /i18n/<component-name>/<language-tag>.(js|json)}. A request which
+     * carries the current version of the bundle is served with an {@code immutable} cache control, as the versioned
+     * URI changes whenever the messages change.
+     *
+     * @param app      app of the bundle
+     * @param request  i18n bundle request
+     * @param response response
+     */
+    public void serveI18nBundle(App app, HttpRequest request, HttpResponse response) {
+        setResponseSecurityHeaders(app, response);
+        String uriPart = request.getUriWithoutContextPath().substring(UriUtils.I18N_BUNDLES_URI_PREFIX.length());
+        int slashIndex = uriPart.lastIndexOf('/');
+        String extension = FilenameUtils.getExtension(uriPart);
+        boolean isScript = I18nBundle.EXTENSION_JS.equals(extension);
+        if ((slashIndex <= 0) || !(isScript || I18nBundle.EXTENSION_JSON.equals(extension))) {
+            response.setContent(STATUS_BAD_REQUEST, "Invalid i18n bundle URI '" + request.getUri() + "'.");
+            return;
+        }
+        String componentName = uriPart.substring(0, slashIndex);
+        String languageTag = FilenameUtils.removeExtension(uriPart.substring(slashIndex + 1));
+        Locale locale = Locale.forLanguageTag(languageTag);
+        Optional<I18nBundle> bundle = locale.getLanguage().isEmpty() ? Optional.empty() :
+                app.getI18nResources().getBundle(componentName, locale);
+        if (!bundle.isPresent()) {
+            response.setContent(STATUS_NOT_FOUND, "Requested i18n bundle '" + request.getUri() + "' does not exists.");
+            return;
+        }
+
+        String eTag = bundle.get().getETag();
+        response.setHeader(HEADER_ETAG, eTag);
+        String ifNoneMatchHeader = request.getHeaders().get(HEADER_IF_NONE_MATCH);
+        if ((ifNoneMatchHeader != null) && matchesETag(ifNoneMatchHeader, eTag)) {
+            response.setStatus(STATUS_NOT_MODIFIED);
+            return;
+        }
+        boolean isVersioned = bundle.get().getVersion().equals(
+                request.getQueryParams().get(I18nBundle.QUERY_PARAM_VERSION));
+        response.setHeader(HEADER_CACHE_CONTROL,
+                           isVersioned ? AssetBundles.CACHE_CONTROL_IMMUTABLE : CACHE_CONTROL_REVALIDATE);
+        if (isScript) {
+            response.setContent(STATUS_OK, bundle.get().getScript(),
+                                MimeMapper.getMimeType(extension).orElse(CONTENT_TYPE_WILDCARD));
+        } else {
+            response.setContent(STATUS_OK, bundle.get().getJson(), CONTENT_TYPE_APPLICATION_JSON);
+        }
+    }
+
+    private void serveIndexed(StaticResourceIndex staticResourceIndex, App app, HttpRequest request,
+                              HttpResponse response) {
+        String uriWithoutContextPath = request.getUriWithoutContextPath();
+        Optional<StaticResource> staticResource = staticResourceIndex.getResource(uriWithoutContextPath);
+        if (staticResource.isPresent()) {
+            // Content of a fingerprinted or bundle URI never changes.
+            boolean isImmutable = app.getAssetBundles()
+                    .map(assetBundles -> assetBundles.isImmutable(uriWithoutContextPath))
+                    .orElse(false);
+            serveResource(staticResource.get(), isImmutable ? AssetBundles.CACHE_CONTROL_IMMUTABLE :
+                    CACHE_CONTROL_DEFAULT, request, response);
+            return;
+        }
+
+        // Resource is not in the index. Resolve the URI only to report why; no file system calls are made here.
+        try {
+            resolveResource(app, request);
+            response.setContent(STATUS_NOT_FOUND, "Requested resource '" + request.getUri() + "' does not exists.");
+        } catch (IllegalArgumentException e) {
+            // Invalid/incorrect static resource URI.
+            response.setContent(STATUS_BAD_REQUEST, e.getMessage());
+        } catch (ResourceNotFoundException e) {
+            // Component or theme does not exists.
+            response.setContent(STATUS_NOT_FOUND, "Requested resource '" + request.getUri() + "' does not exists.");
+        }
+    }
+
+    private void serveResource(Path resourcePath, ZonedDateTime lastModifiedDate, String contentType,
+                               HttpRequest request, HttpResponse response) {
+        String lastModifiedHeader = (lastModifiedDate == null) ? null : HTTP_DATE_FORMATTER.format(lastModifiedDate);
+        if (isModified(lastModifiedHeader, null, CACHE_CONTROL_DEFAULT, request, response)) {
+            response.setContent(resourcePath, contentType);
+        }
+    }
+
+    private void serveResource(StaticResource staticResource, String cacheControl, HttpRequest request,
+                               HttpResponse response) {
+        StaticResource resource = selectRepresentation(staticResource, request, response);
+        String eTag;
+        try {
+            eTag = resource.getETag();
+        } catch (Exception e) {
+            // FileOperationException or any other Exception that might occur. Validate with the date only.
+            LOGGER.warn("Cannot compute entity tag of static resource '{}'.", resource.getPath(), e);
+            eTag = null;
+        }
+        if (!isModified(resource.getLastModifiedHeader(), eTag, cacheControl, request, response)) {
+            return;
+        }
+        resource.getContentEncoding().ifPresent(encoding -> response.setHeader(HEADER_CONTENT_ENCODING, encoding));
+        Optional<ByteBuffer> cachedContent = getCachedContent(resource, request);
+        response.setHeader(HEADER_ACCEPT_RANGES, "bytes");
+
+        String rangeHeader = request.getHeaders().get(HEADER_RANGE);
+        if ((rangeHeader != null) && isIfRangeSatisfied(resource, eTag, request)) {
+            Optional<List<ByteRange>> ranges = ByteRange.parse(rangeHeader, resource.getSize());
+            if (ranges.isPresent()) {
+                servePartialContent(resource, ranges.get(), cachedContent, response);
+                return;
+            }
+        }
+
+        if (cachedContent.isPresent()) {
+            response.setContent(cachedContent.get(), resource.getContentType());
+        } else {
+            response.setContent(resource.getPath(), resource.getContentType());
+        }
+    }
+
+    private StaticResource selectRepresentation(StaticResource resource, HttpRequest request,
+                                                HttpResponse response) {
+        if ((resourceCompressor == null) || !resourceCompressor.isCompressible(resource)) {
+            return resource;
+        }
+        // Responses of a compressible resource depend on the 'Accept-Encoding' header, whether compressed or not.
+        response.setHeader(HEADER_VARY, HEADER_ACCEPT_ENCODING);
+        if (!isGzipAccepted(request)) {
+            return resource;
+        }
+        try {
+            return resourceCompressor.getGzipVariant(resource).orElse(resource);
+        } catch (Exception e) {
+            // FileOperationException or any other Exception that might occur. Serve the uncompressed resource.
+            LOGGER.warn("Cannot compress static resource '{}' for request '{}'.", resource.getPath(), request, e);
+            return resource;
+        }
+    }
+
+    private static boolean isGzipAccepted(HttpRequest request) {
+        // Accept-Encoding: gzip, deflate;q=0.5
+        String acceptEncodingHeader = request.getHeaders().get(HEADER_ACCEPT_ENCODING);
+        if (acceptEncodingHeader == null) {
+            return false;
+        }
+        for (String coding : acceptEncodingHeader.split(",")) {
+            int semicolonIndex = coding.indexOf(';');
+            String name = ((semicolonIndex < 0) ? coding : coding.substring(0, semicolonIndex)).trim();
+            if (CONTENT_ENCODING_GZIP.equalsIgnoreCase(name)) {
+                // 'q=0' means not acceptable.
+                return (semicolonIndex < 0) || !coding.substring(semicolonIndex + 1).trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private Optional<ByteBuffer> getCachedContent(StaticResource resource, HttpRequest request) {
+        try {
+            return resourceCache.getContent(resource);
+        } catch (Exception e) {
+            // FileOperationException or any other Exception that might occur. The file can still be served directly.
+            LOGGER.warn("Cannot cache static resource '{}' for request '{}'.", resource.getPath(), request, e);
+            return Optional.empty();
+        }
+    }
+
+    private boolean isIfRangeSatisfied(StaticResource resource, String eTag, HttpRequest request) {
+        // If-Range: "xyzzy" or If-Range: Sat, 29 Oct 1994 19:43:31 GMT
+        String ifRangeHeader = request.getHeaders().get(HEADER_IF_RANGE);
+        if (ifRangeHeader == null) {
+            return true;
+        }
+        if (ifRangeHeader.startsWith("\"") || ifRangeHeader.startsWith("W/")) {
+            // If-Range uses the strong comparison, hence a weak entity tag never matches.
+            return ifRangeHeader.equals(eTag);
+        }
+        return ifRangeHeader.equals(resource.getLastModifiedHeader());
+    }
+
+    private void servePartialContent(StaticResource resource, List<ByteRange> ranges,
+                                     Optional<ByteBuffer> cachedContent, HttpResponse response) {
+        if (ranges.isEmpty()) {
+            response.setStatus(STATUS_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HEADER_CONTENT_RANGE, "bytes */" + resource.getSize());
+            return;
+        }
+
+        response.setStatus(STATUS_PARTIAL_CONTENT);
+        if (ranges.size() == 1) {
+            ByteRange range = ranges.get(0);
+            response.setHeader(HEADER_CONTENT_RANGE, range.toContentRange(resource.getSize()));
+            response.setContent(openRange(resource, range, cachedContent), resource.getContentType());
+            return;
+        }
+
+        // See https://tools.ietf.org/html/rfc7233#appendix-A
+        List<InputStream> parts = new ArrayList<>((ranges.size() * 2) + 1);
+        for (ByteRange range : ranges) {
+            String partHeader = "\r\n--" + MULTIPART_BOUNDARY + "\r\n" +
+                    HEADER_CONTENT_TYPE + ": " + resource.getContentType() + "\r\n" +
+                    HEADER_CONTENT_RANGE + ": " + range.toContentRange(resource.getSize()) + "\r\n\r\n";
+            parts.add(new ByteArrayInputStream(partHeader.getBytes(StandardCharsets.US_ASCII)));
+            parts.add(openRange(resource, range, cachedContent));
+        }
+        parts.add(new ByteArrayInputStream(
+                ("\r\n--" + MULTIPART_BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII)));
+        response.setContent(new SequenceInputStream(Collections.enumeration(parts)),
+                            CONTENT_TYPE_MULTIPART_BYTERANGES + "; boundary=" + MULTIPART_BOUNDARY);
+    }
+
+    private InputStream openRange(StaticResource resource, ByteRange range, Optional<ByteBuffer> cachedContent) {
+        if (cachedContent.isPresent()) {
+            ByteBuffer content = cachedContent.get().duplicate();
+            content.position((int) range.getStart());
+            content.limit((int) range.getEnd() + 1);
+            return new ByteBufferInputStream(content);
+        }
+
+        // Read only the requested range from the file, without loading the whole file to the memory.
+        InputStream inputStream = null;
+        try {
+            if (resource.getPath().getFileSystem() == FileSystems.getDefault()) {
+                FileChannel fileChannel = FileChannel.open(resource.getPath(), StandardOpenOption.READ);
+                inputStream = Channels.newInputStream(fileChannel);
+                fileChannel.position(range.getStart());
+            } else {
+                // Entries of zip artifacts are not seekable.
+                inputStream = Files.newInputStream(resource.getPath());
+                IOUtils.skipFully(inputStream, range.getStart());
+            }
+            return new BoundedInputStream(inputStream, range.getLength());
+        } catch (IOException e) {
+            IOUtils.closeQuietly(inputStream);
+            throw new FileOperationException(
+                    "Cannot read range '" + range + "' of static resource file '" + resource.getPath() + "'.", e);
+        }
+    }
+
+    /**
+     * Sets the status and the cache headers of the response for a resource with the specified validators.
+     * <p>
+     * When an entity tag is available, {@code If-None-Match} takes precedence over {@code If-Modified-Since} as
+     * specified in RFC 7232. {@code If-Modified-Since} is compared with the formatted last modified date as clients
+     * send back the exact {@code Last-Modified} value they received, hence no date parsing is needed.
+     *
+     * @return {@code true} if the content of the resource should be sent, {@code false} if not modified
+     */
+    private boolean isModified(String lastModifiedHeader, String eTag, String cacheControl, HttpRequest request,
+                               HttpResponse response) {
+        if (lastModifiedHeader == null) {
             /* Since we failed to read last modified date of 'resourcePath' file, we cannot set cache headers.
             Therefore just serve the file without any cache headers. */
             response.setStatus(STATUS_OK);
-            response.setContent(resourcePath, getContentType(request, resourcePath));
-            return;
+            return true;
+        }
+        if (eTag != null) {
+            response.setHeader(HEADER_ETAG, eTag);
         }
-        ZonedDateTime ifModifiedSinceDate = getIfModifiedSinceDate(request);
-        if ((ifModifiedSinceDate != null) && Duration.between(ifModifiedSinceDate, lastModifiedDate).isZero()) {
+
+        String ifNoneMatchHeader = request.getHeaders().get(HEADER_IF_NONE_MATCH);
+        boolean isNotModified;
+        if ((eTag != null) && (ifNoneMatchHeader != null)) {
+            isNotModified = matchesETag(ifNoneMatchHeader, eTag);
+        } else {
+            isNotModified = lastModifiedHeader.equals(request.getHeaders().get(HEADER_IF_MODIFIED_SINCE));
+        }
+        if (isNotModified) {
             // Resource is NOT modified since the last serve.
             response.setStatus(STATUS_NOT_MODIFIED);
-            return;
+            return false;
         }
 
-        setCacheHeaders(lastModifiedDate, response);
+        setCacheHeaders(lastModifiedHeader, cacheControl, response);
         response.setStatus(STATUS_OK);
-        response.setContent(resourcePath, getContentType(request, resourcePath));
+        return true;
+    }
+
+    private static boolean matchesETag(String ifNoneMatchHeader, String eTag) {
+        // If-None-Match: "xyzzy", W/"r2d2xxxx" or If-None-Match: *
+        int index = 0;
+        int length = ifNoneMatchHeader.length();
+        while (index < length) {
+            while ((index < length) && ((ifNoneMatchHeader.charAt(index) == ' ') ||
+                    (ifNoneMatchHeader.charAt(index) == ','))) {
+                index++;
+            }
+            if (index == length) {
+                break;
+            }
+            if (ifNoneMatchHeader.charAt(index) == '*') {
+                return true;
+            }
+            // If-None-Match uses the weak comparison, hence ignore the weakness indicator.
+            if (ifNoneMatchHeader.startsWith("W/", index)) {
+                index += 2;
+            }
+            int end = ifNoneMatchHeader.indexOf(',', index);
+            end = (end < 0) ? length : end;
+            int tagEnd = end;
+            while ((tagEnd > index) && (ifNoneMatchHeader.charAt(tagEnd - 1) == ' ')) {
+                tagEnd--;
+            }
+            if (((tagEnd - index) == eTag.length()) && ifNoneMatchHeader.startsWith(eTag, index)) {
+                return true;
+            }
+            index = end;
+        }
+        return false;
+    }
+
+    private Path resolveResource(App app, HttpRequest request) {
+        if (request.isComponentStaticResourceRequest()) {
+            // /public/components/...
+            return resolveResourceInComponent(app, request.getUriWithoutContextPath());
+        } else if (request.isThemeStaticResourceRequest()) {
+            // /public/themes/...
+            return resolveResourceInTheme(app, request.getUriWithoutContextPath());
+        } else {
+            // /public/...
+            throw new IllegalArgumentException("Invalid static resource URI '" + request.getUri() + "'.");
+        }
     }
 
     private Path resolveResourceInComponent(App app, String uriWithoutContextPath) {
@@ -208,11 +616,11 @@ public class StaticResolver {
                                                                     uriWithoutContextPath.length());
         if (DIR_NAME_COMPONENT_RESOURCES.equals(fragmentSimpleName)) {
             // Resource is inside the 'public' directory of the 'component'
-            return Paths.get(component.getPath(), DIR_NAME_PUBLIC_RESOURCES, relativePathString);
+            return ZipArtifactHandler.toPath(component.getPath(), DIR_NAME_PUBLIC_RESOURCES, relativePathString);
         } else {
             // Resource is inside the 'public' directory of fragment 'fragmentSimpleName' of the 'component'
-            return Paths.get(component.getPath(), DIR_NAME_FRAGMENTS, fragmentSimpleName, DIR_NAME_PUBLIC_RESOURCES,
-                             relativePathString);
+            return ZipArtifactHandler.toPath(component.getPath(), DIR_NAME_FRAGMENTS, fragmentSimpleName,
+                                             DIR_NAME_PUBLIC_RESOURCES, relativePathString);
         }
     }
 
@@ -249,7 +657,7 @@ public class StaticResolver {
         // {sub-directory}/{rest-of-the-path}
         String relativePathString = uriWithoutContextPath.substring(fourthSlashIndex + 1,
                                                                     uriWithoutContextPath.length());
-        return Paths.get(theme.getPath(), DIR_NAME_PUBLIC_RESOURCES, relativePathString);
+        return ZipArtifactHandler.toPath(theme.getPath(), DIR_NAME_PUBLIC_RESOURCES, relativePathString);
     }
 
     private ZonedDateTime getLastModifiedDate(Path resourcePath) {
@@ -283,27 +691,13 @@ public class StaticResolver {
         }
     }
 
-    private ZonedDateTime getIfModifiedSinceDate(HttpRequest request) {
-        // If-Modified-Since: Sat, 29 Oct 1994 19:43:31 GMT
-        String ifModifiedSinceHeader = request.getHeaders().get("If-Modified-Since");
-        if (ifModifiedSinceHeader == null) {
-            return null; // 'If-Modified-Since' does not exists in HTTP headres.
-        }
-        try {
-            return ZonedDateTime.parse(ifModifiedSinceHeader, HTTP_DATE_FORMATTER);
-        } catch (DateTimeParseException e) {
-            LOGGER.warn("Cannot parse 'If-Modified-Since' HTTP header value '{}'.", ifModifiedSinceHeader, e);
-            return null;
-        }
-    }
-
     private void setResponseSecurityHeaders(App app, HttpResponse response) {
         app.getConfiguration().getResponseHeaders().getStaticResources().forEach(response::setHeader);
     }
 
-    private void setCacheHeaders(ZonedDateTime lastModifiedDate, HttpResponse response) {
-        response.setHeader(HEADER_LAST_MODIFIED, HTTP_DATE_FORMATTER.format(lastModifiedDate));
-        response.setHeader(HEADER_CACHE_CONTROL, "public,max-age=2592000");
+    private void setCacheHeaders(String lastModifiedHeader, String cacheControl, HttpResponse response) {
+        response.setHeader(HEADER_LAST_MODIFIED, lastModifiedHeader);
+        response.setHeader(HEADER_CACHE_CONTROL, cacheControl);
     }
 
     private String getContentType(HttpRequest request, Path resource) {
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import org.wso2.carbon.uuf.internal.exception.FileOperationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Metadata of a static resource file served by the {@link StaticResolver}.
+ *
+ * @since 1.0.0
+ */
+public class StaticResource {
+
+    private final Path path;
+    private final long size;
+    private final String contentType;
+    private final ZonedDateTime lastModifiedDate;
+    private final String lastModifiedHeader;
+    private final String contentEncoding;
+    private volatile String digest;
+    private volatile String eTag;
+
+    /**
+     * Creates a new static resource.
+     *
+     * @param path             path to the resource file
+     * @param size             size of the resource file in bytes
+     * @param contentType      MIME type of the resource
+     * @param lastModifiedDate last modified date of the resource file
+     */
+    public StaticResource(Path path, long size, String contentType, ZonedDateTime lastModifiedDate) {
+        this(path, size, contentType, lastModifiedDate, null, null);
+    }
+
+    private StaticResource(Path path, long size, String contentType, ZonedDateTime lastModifiedDate,
+                           String contentEncoding, String digest) {
+        this.path = path;
+        this.size = size;
+        this.contentType = contentType;
+        this.lastModifiedDate = lastModifiedDate;
+        this.lastModifiedHeader = StaticResolver.HTTP_DATE_FORMATTER.format(lastModifiedDate);
+        this.contentEncoding = contentEncoding;
+        this.digest = digest;
+    }
+
+    /**
+     * Creates an encoded variant of this resource, for example a gzip compressed copy. The variant shares the
+     * metadata of this resource but gets a distinct entity tag.
+     *
+     * @param path            path to the encoded file
+     * @param size            size of the encoded file in bytes
+     * @param contentEncoding content coding of the encoded file
+     * @return encoded variant of this resource
+     * @throws FileOperationException if cannot read this resource file to compute its digest
+     */
+    public StaticResource createEncodedVariant(Path path, long size, String contentEncoding) {
+        return new StaticResource(path, size, contentType, lastModifiedDate, contentEncoding, getDigest());
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public ZonedDateTime getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    /**
+     * Returns the last modified date of this resource formatted as a HTTP date.
+     *
+     * @return value for the {@code Last-Modified} HTTP header
+     */
+    public String getLastModifiedHeader() {
+        return lastModifiedHeader;
+    }
+
+    /**
+     * Returns the content coding of this resource, for example {@code gzip} for a compressed variant.
+     *
+     * @return content coding of this resource or an empty {@link Optional} if the content is not encoded
+     */
+    public Optional<String> getContentEncoding() {
+        return Optional.ofNullable(contentEncoding);
+    }
+
+    /**
+     * Returns the SHA-256 digest of the content of this resource as a hex string. The digest is computed when this
+     * method is called for the first time and reused afterwards. Encoded variants return the digest of the original
+     * content.
+     *
+     * @return content digest of this resource
+     * @throws FileOperationException if cannot read the resource file
+     */
+    public String getDigest() {
+        String result = digest;
+        if (result == null) {
+            Hasher hasher = Hashing.sha256().newHasher();
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                ByteStreams.copy(inputStream, Funnels.asOutputStream(hasher));
+            } catch (IOException e) {
+                throw new FileOperationException("Cannot compute digest of static resource file '" + path + "'.", e);
+            }
+            result = hasher.hash().toString();
+            digest = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the strong entity tag of this resource. As the entity tag is derived from the content digest, the same
+     * content gets the same entity tag on every server node. Encoded variants get the content coding as a suffix.
+     *
+     * @return value for the {@code ETag} HTTP header
+     * @throws FileOperationException if cannot read the resource file
+     */
+    public String getETag() {
+        String result = eTag;
+        if (result == null) {
+            result = "\"" + getDigest() + ((contentEncoding == null) ? "" : ("-" + contentEncoding)) + "\"";
+            eTag = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "{\"path\": \"" + path + "\", \"size\": " + size + ", \"contentType\": \"" + contentType +
+                "\", \"lastModified\": \"" + lastModifiedDate + "\"}";
+    }
+}
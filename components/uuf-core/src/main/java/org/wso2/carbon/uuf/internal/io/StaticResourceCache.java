@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.wso2.carbon.uuf.internal.exception.FileOperationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A bounded cache of static resource contents.
+ * <p>
+ * Resources not larger than the maximum entry size are kept in memory, bounded by the total number of cached bytes.
+ * Larger resources are memory-mapped, bounded by the number of mapped files, so that their contents live in the OS page
+ * cache instead of the heap. Cached buffers are read-only and are shared by all the requests served for a resource.
+ *
+ * @since 1.0.0
+ */
+public class StaticResourceCache {
+
+    private final long maxEntryBytes;
+    private final boolean isMappingEnabled;
+    private final Cache<StaticResource, ByteBuffer> inMemoryCache;
+    private final Cache<StaticResource, ByteBuffer> mappedCache;
+
+    /**
+     * Creates a new static resource cache.
+     *
+     * @param maxBytes       maximum number of bytes kept in memory, {@code 0} to disable in-memory caching
+     * @param maxEntryBytes  maximum size of a resource kept in memory
+     * @param maxMappedFiles maximum number of memory-mapped resources, {@code 0} to disable memory-mapping
+     * @throws IllegalArgumentException if a limit is a negative value
+     */
+    public StaticResourceCache(long maxBytes, long maxEntryBytes, int maxMappedFiles) {
+        if ((maxBytes < 0) || (maxEntryBytes < 0) || (maxMappedFiles < 0)) {
+            throw new IllegalArgumentException(
+                    "Static resource cache limits should not be negative values. Instead found max bytes '" +
+                            maxBytes + "', max entry bytes '" + maxEntryBytes + "' and max mapped files '" +
+                            maxMappedFiles + "'.");
+        }
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+        this.isMappingEnabled = (maxMappedFiles > 0);
+        // Keys are compared by identity, hence entries of an undeployed app are garbage collected with its index.
+        this.inMemoryCache = CacheBuilder.newBuilder()
+                .weakKeys()
+                .maximumWeight(maxBytes)
+                .weigher((StaticResource resource, ByteBuffer content) -> content.capacity())
+                .recordStats()
+                .build();
+        this.mappedCache = CacheBuilder.newBuilder()
+                .weakKeys()
+                .maximumSize(maxMappedFiles)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the content of the specified static resource, loading it to this cache if needed.
+     *
+     * @param resource static resource
+     * @return a read-only buffer of the content, or an empty {@link Optional} if the resource cannot be cached
+     * @throws FileOperationException if cannot read the resource file
+     */
+    public Optional<ByteBuffer> getContent(StaticResource resource) {
+        boolean isInMemory = (resource.getSize() <= maxEntryBytes);
+        // Entries of zip artifacts cannot be memory-mapped.
+        if (!isInMemory && (!isMappingEnabled || (resource.getSize() > Integer.MAX_VALUE) ||
+                (resource.getPath().getFileSystem() != FileSystems.getDefault()))) {
+            return Optional.empty();
+        }
+        Cache<StaticResource, ByteBuffer> cache = isInMemory ? inMemoryCache : mappedCache;
+        try {
+            return Optional.of(cache.get(resource, () -> load(resource, !isInMemory)));
+        } catch (ExecutionException e) {
+            throw new FileOperationException("Cannot load static resource file '" + resource.getPath() + "'.",
+                                             e.getCause());
+        }
+    }
+
+    private static ByteBuffer load(StaticResource resource, boolean map) throws IOException {
+        if (map) {
+            try (FileChannel fileChannel = FileChannel.open(resource.getPath(), StandardOpenOption.READ)) {
+                return fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size()).asReadOnlyBuffer();
+            }
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(resource.getPath())).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns statistics of the in-memory cache.
+     *
+     * @return in-memory cache statistics
+     */
+    public CacheStats getInMemoryStats() {
+        return inMemoryCache.stats();
+    }
+
+    /**
+     * Returns statistics of the memory-mapped cache.
+     *
+     * @return memory-mapped cache statistics
+     */
+    public CacheStats getMappedStats() {
+        return mappedCache.stats();
+    }
+
+    @Override
+    public String toString() {
+        CacheStats inMemoryStats = inMemoryCache.stats();
+        CacheStats mappedStats = mappedCache.stats();
+        return "{\"inMemory\": {\"entries\": " + inMemoryCache.size() + ", \"hitRate\": " + inMemoryStats.hitRate() +
+                ", \"evictions\": " + inMemoryStats.evictionCount() + "}, \"mapped\": {\"entries\": " +
+                mappedCache.size() + ", \"hitRate\": " + mappedStats.hitRate() + ", \"evictions\": " +
+                mappedStats.evictionCount() + "}}";
+    }
+}
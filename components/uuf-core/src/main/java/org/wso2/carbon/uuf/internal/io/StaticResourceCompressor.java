@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.wso2.carbon.uuf.internal.exception.FileOperationException;
+import org.wso2.carbon.uuf.internal.io.util.MimeMapper;
+import org.wso2.carbon.uuf.internal.io.util.PrivateDirectories;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Creates and keeps gzip compressed variants of static resources.
+ * <p>
+ * A variant is created when a resource is requested with gzip for the first time. Compressed files are written to a
+ * cache directory private to the server and named by the content digest. A file left in the directory by an earlier
+ * run is never trusted; it is overwritten with freshly compressed content the first time it is needed. Resources with
+ * a non-compressible MIME type, resources smaller than the threshold, and resources that do not shrink when
+ * compressed, get no variant.
+ *
+ * @since 1.0.0
+ */
+public class StaticResourceCompressor {
+
+    public static final String CONTENT_ENCODING_GZIP = "gzip";
+    private static final String FILE_EXTENSION_GZIP = ".gz";
+
+    private final Path cacheDirectory;
+    private final long minBytes;
+    private final Cache<StaticResource, Optional<StaticResource>> variants;
+
+    /**
+     * Creates a new static resource compressor.
+     *
+     * @param cacheDirectory directory to write the compressed files, which is created readable only by the server
+     * @param minBytes       minimum size of a resource to be compressed
+     */
+    public StaticResourceCompressor(Path cacheDirectory, long minBytes) {
+        this.cacheDirectory = cacheDirectory;
+        this.minBytes = minBytes;
+        // Keys are compared by identity, hence entries of an undeployed app are garbage collected with its index.
+        this.variants = CacheBuilder.newBuilder().weakKeys().build();
+    }
+
+    /**
+     * Returns whether the specified resource is compressed when gzip is accepted.
+     *
+     * @param resource static resource
+     * @return {@code true} if the resource is compressible, {@code false} otherwise
+     */
+    public boolean isCompressible(StaticResource resource) {
+        return (resource.getSize() >= minBytes) && MimeMapper.isCompressible(resource.getContentType());
+    }
+
+    /**
+     * Returns the gzip compressed variant of the specified resource, creating it if needed.
+     *
+     * @param resource static resource
+     * @return compressed variant or an empty {@link Optional} if the resource should not be compressed
+     * @throws FileOperationException if cannot create the compressed variant
+     */
+    public Optional<StaticResource> getGzipVariant(StaticResource resource) {
+        if (!isCompressible(resource)) {
+            return Optional.empty();
+        }
+        try {
+            return variants.get(resource, () -> createGzipVariant(resource));
+        } catch (ExecutionException e) {
+            throw new FileOperationException(
+                    "Cannot create gzip variant of static resource file '" + resource.getPath() + "'.", e.getCause());
+        }
+    }
+
+    private Optional<StaticResource> createGzipVariant(StaticResource resource) throws IOException {
+        Path compressedFile = cacheDirectory.resolve(resource.getDigest() + FILE_EXTENSION_GZIP);
+        PrivateDirectories.create(cacheDirectory);
+        // Write to a temporary file first, so that a partially written file is never served.
+        Path tempFile = Files.createTempFile(cacheDirectory, resource.getDigest(), FILE_EXTENSION_GZIP + ".tmp");
+        long compressedSize;
+        try {
+            try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+                Files.copy(resource.getPath(), outputStream);
+            }
+            compressedSize = Files.size(tempFile);
+            if (compressedSize >= resource.getSize()) {
+                return Optional.empty(); // Compression does not shrink this resource.
+            }
+            Files.move(tempFile, compressedFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        return Optional.of(resource.createEncodedVariant(compressedFile, compressedSize, CONTENT_ENCODING_GZIP));
+    }
+
+    @Override
+    public String toString() {
+        return "{\"cacheDirectory\": \"" + cacheDirectory + "\", \"variants\": " + variants.size() + "}";
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.core.Component;
+import org.wso2.carbon.uuf.core.Theme;
+import org.wso2.carbon.uuf.internal.exception.FileOperationException;
+import org.wso2.carbon.uuf.internal.io.util.MimeMapper;
+import org.wso2.carbon.uuf.internal.io.util.ZipArtifactHandler;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.wso2.carbon.uuf.api.reference.ComponentReference.DIR_NAME_FRAGMENTS;
+import static org.wso2.carbon.uuf.internal.io.StaticResolver.DIR_NAME_COMPONENT_RESOURCES;
+import static org.wso2.carbon.uuf.internal.io.StaticResolver.DIR_NAME_PUBLIC_RESOURCES;
+import static org.wso2.carbon.uuf.spi.HttpResponse.CONTENT_TYPE_WILDCARD;
+
+/**
+ * An index of the static resources of an app, keyed by their public URIs (without the app context path).
+ * <p>
+ * The index is built once when the app is created by walking the {@code public} directories of every component,
+ * fragment and theme, so that serving a static resource (or responding with 404 for a missing one) does not need any
+ * file system metadata calls. An updatable index (used in dev mode) is kept up to date by a {@link
+ * StaticResourceUpdater} which refreshes single entries when files in the public directories change.
+ *
+ * @since 1.0.0
+ */
+public class StaticResourceIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StaticResourceIndex.class);
+    private static final String URI_PREFIX_COMPONENTS = "/public/components";
+    private static final String URI_PREFIX_THEMES = "/public/themes/";
+    private static final ZoneId GMT_TIME_ZONE = ZoneId.of("GMT");
+
+    private final Map<Path, String> publicDirectories;
+    private final Map<String, StaticResource> resources;
+    private final boolean isUpdatable;
+
+    private StaticResourceIndex(Map<Path, String> publicDirectories, Map<String, StaticResource> resources,
+                                boolean isUpdatable) {
+        this.publicDirectories = publicDirectories;
+        this.resources = isUpdatable ? new ConcurrentHashMap<>(resources) : ImmutableMap.copyOf(resources);
+        this.isUpdatable = isUpdatable;
+    }
+
+    /**
+     * Returns the static resource for the specified public URI.
+     *
+     * @param uriWithoutContextPath public URI of the resource without the app context path
+     * @return static resource for the URI or an empty {@link Optional} if there is no such resource
+     */
+    public Optional<StaticResource> getResource(String uriWithoutContextPath) {
+        return Optional.ofNullable(resources.get(uriWithoutContextPath));
+    }
+
+    /**
+     * Returns all the indexed static resources keyed by their public URIs.
+     *
+     * @return indexed static resources
+     */
+    public Map<String, StaticResource> getResources() {
+        return Collections.unmodifiableMap(resources);
+    }
+
+    /**
+     * Returns whether this index can be refreshed when files in the public directories change.
+     *
+     * @return {@code true} if this index is updatable, {@code false} otherwise
+     */
+    public boolean isUpdatable() {
+        return isUpdatable;
+    }
+
+    /**
+     * Returns the indexed public directories mapped to the URI prefixes of their resources.
+     *
+     * @return public directories
+     */
+    Map<Path, String> getPublicDirectories() {
+        return publicDirectories;
+    }
+
+    /**
+     * Refreshes the entries of the specified file or directory, which is inside the specified public directory.
+     *
+     * @param publicDirectory indexed public directory
+     * @param path            created, modified or deleted file or directory
+     * @throws IllegalStateException  if this index is not updatable
+     * @throws FileOperationException if an I/O error occurred while walking a created directory
+     */
+    void refresh(Path publicDirectory, Path path) {
+        if (!isUpdatable) {
+            throw new IllegalStateException("Cannot refresh a static resource index that is not updatable.");
+        }
+        String uriPrefix = publicDirectories.get(publicDirectory);
+        if (uriPrefix == null) {
+            return;
+        }
+        Map<String, StaticResource> refreshedResources = new HashMap<>();
+        if (Files.exists(path)) {
+            addResources(publicDirectory, path, uriPrefix, refreshedResources);
+        }
+        // Replace entries in place, so that a concurrent lookup of an existing file finds either its old or its new
+        // entry. Then remove the entries of the path, or of the files under the path if it is a directory, which no
+        // longer exist. Here 'uri' equals to 'uriPrefix' when 'path' is the public directory itself.
+        resources.putAll(refreshedResources);
+        String uri = uriPrefix + toUriPath(publicDirectory.relativize(path));
+        String directoryUriPrefix = uri.endsWith("/") ? uri : (uri + "/");
+        resources.keySet().removeIf(key -> (key.equals(uri) || key.startsWith(directoryUriPrefix)) &&
+                !refreshedResources.containsKey(key));
+    }
+
+    /**
+     * Returns a new index that contains the static resources of this index and the specified static resources.
+     *
+     * @param additionalResources static resources keyed by their public URIs, which are not in this index
+     * @return new index
+     * @throws IllegalArgumentException if an additional resource has the same URI as an indexed one
+     */
+    public StaticResourceIndex withResources(Map<String, StaticResource> additionalResources) {
+        return new StaticResourceIndex(publicDirectories, new ImmutableMap.Builder<String, StaticResource>()
+                .putAll(resources)
+                .putAll(additionalResources)
+                .build(), isUpdatable);
+    }
+
+    @Override
+    public String toString() {
+        return "{\"resources\": " + resources.size() + ", \"updatable\": " + isUpdatable + "}";
+    }
+
+    /**
+     * Creates an index of static resources of the specified components and themes.
+     *
+     * @param components components of the app
+     * @param themes     themes of the app
+     * @return created index
+     * @throws FileOperationException if an I/O error occurred while walking the public directories
+     */
+    public static StaticResourceIndex create(Collection<Component> components, Collection<Theme> themes) {
+        return create(components, themes, false);
+    }
+
+    /**
+     * Creates an index of static resources of the specified components and themes.
+     *
+     * @param components  components of the app
+     * @param themes      themes of the app
+     * @param isUpdatable whether the created index can be refreshed when files change
+     * @return created index
+     * @throws FileOperationException if an I/O error occurred while walking the public directories
+     */
+    public static StaticResourceIndex create(Collection<Component> components, Collection<Theme> themes,
+                                             boolean isUpdatable) {
+        Map<Path, String> publicDirectories = new LinkedHashMap<>();
+        for (Component component : components) {
+            String uriPrefix = URI_PREFIX_COMPONENTS + component.getContextPath() + "/";
+            Path componentPath = ZipArtifactHandler.toPath(component.getPath());
+            publicDirectories.put(componentPath.resolve(DIR_NAME_PUBLIC_RESOURCES),
+                                  uriPrefix + DIR_NAME_COMPONENT_RESOURCES + "/");
+
+            Path fragmentsPath = componentPath.resolve(DIR_NAME_FRAGMENTS);
+            if (!Files.isDirectory(fragmentsPath)) {
+                continue;
+            }
+            try (DirectoryStream<Path> fragmentPaths = Files.newDirectoryStream(fragmentsPath, Files::isDirectory)) {
+                for (Path fragmentPath : fragmentPaths) {
+                    publicDirectories.put(fragmentPath.resolve(DIR_NAME_PUBLIC_RESOURCES),
+                                          uriPrefix + fragmentPath.getFileName().toString() + "/");
+                }
+            } catch (IOException e) {
+                throw new FileOperationException(
+                        "Cannot list fragments directory '" + fragmentsPath + "' of component '" +
+                                component.getName() + "'.", e);
+            }
+        }
+        for (Theme theme : themes) {
+            publicDirectories.put(ZipArtifactHandler.toPath(theme.getPath(), DIR_NAME_PUBLIC_RESOURCES),
+                                  URI_PREFIX_THEMES + theme.getName() + "/");
+        }
+
+        Map<String, StaticResource> resources = new HashMap<>();
+        publicDirectories.forEach((publicDirectory, uriPrefix) -> {
+            if (Files.isDirectory(publicDirectory)) {
+                addResources(publicDirectory, publicDirectory, uriPrefix, resources);
+            }
+        });
+        return new StaticResourceIndex(ImmutableMap.copyOf(publicDirectories), resources, isUpdatable);
+    }
+
+    private static void addResources(Path publicDirectory, Path start, String uriPrefix,
+                                     Map<String, StaticResource> resources) {
+        try {
+            Files.walkFileTree(start, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                               new SimpleFileVisitor<Path>() {
+                                   @Override
+                                   public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                                       Path relativePath = publicDirectory.relativize(file);
+                                       // Static resources are served from a sub-directory of the public directory.
+                                       if ((relativePath.getNameCount() > 1) && attributes.isRegularFile() &&
+                                               Files.isReadable(file)) {
+                                           resources.put(uriPrefix + toUriPath(relativePath),
+                                                         createResource(file, attributes));
+                                       }
+                                       return FileVisitResult.CONTINUE;
+                                   }
+
+                                   @Override
+                                   public FileVisitResult visitFileFailed(Path file, IOException e) {
+                                       // E.g. a link back to an ancestor directory, or an unreadable directory.
+                                       LOGGER.warn("Skipping static resource '{}' as it cannot be read.", file, e);
+                                       return FileVisitResult.CONTINUE;
+                                   }
+                               });
+        } catch (IOException e) {
+            throw new FileOperationException("Cannot walk public directory '" + publicDirectory + "'.", e);
+        }
+    }
+
+    private static StaticResource createResource(Path file, BasicFileAttributes attributes) {
+        String extension = FilenameUtils.getExtension(file.getFileName().toString());
+        return new StaticResource(file, attributes.size(),
+                                  MimeMapper.getMimeType(extension).orElse(CONTENT_TYPE_WILDCARD),
+                                  ZonedDateTime.ofInstant(attributes.lastModifiedTime().toInstant(), GMT_TIME_ZONE));
+    }
+
+    private static String toUriPath(Path relativePath) {
+        StringBuilder buffer = new StringBuilder();
+        for (Path name : relativePath) {
+            if (buffer.length() > 0) {
+                buffer.append('/');
+            }
+            buffer.append(name.toString());
+        }
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.internal.exception.FileOperationException;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps updatable static resource indexes up to date by watching their public directories.
+ * <p>
+ * Only the entry of a created, modified or deleted file is refreshed in the index. Since the static resource cache
+ * and the compressor key their entries by the {@link StaticResource} instance, a refreshed entry also invalidates the
+ * cached content and compressed variants of the file, while everything else stays cached.
+ * <p>
+ * Indexes are referenced weakly, hence the index of an undeployed app is not kept alive by this updater. Directories of
+ * a collected index are no longer watched.
+ *
+ * @since 1.0.0
+ */
+public class StaticResourceUpdater {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StaticResourceUpdater.class);
+
+    private final Set<StaticResourceIndex> watchingIndexes;
+    private final ConcurrentMap<WatchKey, WatchedDirectory> watchedDirectories;
+    private final WatchService watcher;
+    private final Thread watchService;
+    private volatile boolean isWatchServiceStopped;
+
+    public StaticResourceUpdater() {
+        this.watchingIndexes = Collections.newSetFromMap(new WeakHashMap<>());
+        this.watchedDirectories = new ConcurrentHashMap<>();
+        try {
+            this.watcher = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new FileOperationException("Cannot create file watch service for static resources.", e);
+        }
+        this.watchService = new Thread(this::run, StaticResourceUpdater.class.getName() + "-WatchService");
+        this.watchService.setDaemon(true);
+        this.isWatchServiceStopped = false;
+    }
+
+    /**
+     * Starts watching the public directories of the specified index, if not already watching.
+     *
+     * @param staticResourceIndex updatable static resource index
+     * @throws IllegalArgumentException if the index is not updatable
+     * @throws FileOperationException   if cannot register a directory to the file watch service
+     */
+    public void add(StaticResourceIndex staticResourceIndex) {
+        if (!staticResourceIndex.isUpdatable()) {
+            throw new IllegalArgumentException("Cannot watch a static resource index that is not updatable.");
+        }
+        synchronized (watchingIndexes) {
+            if (!watchingIndexes.add(staticResourceIndex)) {
+                return;
+            }
+        }
+        staticResourceIndex.getPublicDirectories().keySet().stream()
+                // Public directories inside zip artifacts cannot change.
+                .filter(publicDirectory -> publicDirectory.getFileSystem() == FileSystems.getDefault())
+                .filter(Files::isDirectory)
+                .forEach(publicDirectory -> register(staticResourceIndex, publicDirectory, publicDirectory));
+    }
+
+    private void register(StaticResourceIndex staticResourceIndex, Path publicDirectory, Path start) {
+        try {
+            Files.walkFileTree(start, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                               new SimpleFileVisitor<Path>() {
+                                   @Override
+                                   public FileVisitResult preVisitDirectory(Path directory,
+                                                                            BasicFileAttributes attributes)
+                                           throws IOException {
+                                       WatchKey watchKey = directory.register(watcher,
+                                                                              StandardWatchEventKinds.ENTRY_CREATE,
+                                                                              StandardWatchEventKinds.ENTRY_MODIFY,
+                                                                              StandardWatchEventKinds.ENTRY_DELETE);
+                                       WatchedDirectory watchedDirectory = watchedDirectories.get(watchKey);
+                                       if ((watchedDirectory != null) &&
+                                               (watchedDirectory.staticResourceIndex.get() == staticResourceIndex)) {
+                                           // Already watched for this index, e.g. reached again through a link.
+                                           return FileVisitResult.SKIP_SUBTREE;
+                                       }
+                                       // A re-deployed app replaces the index of the previous deployment.
+                                       watchedDirectories.put(watchKey, new WatchedDirectory(staticResourceIndex,
+                                                                                             publicDirectory));
+                                       return FileVisitResult.CONTINUE;
+                                   }
+
+                                   @Override
+                                   public FileVisitResult visitFileFailed(Path file, IOException e) {
+                                       // E.g. a link back to an ancestor directory, or an unreadable directory.
+                                       LOGGER.warn("Cannot watch '{}' for static resource changes.", file, e);
+                                       return FileVisitResult.CONTINUE;
+                                   }
+                               });
+        } catch (ClosedWatchServiceException e) {
+            throw new FileOperationException("File watch service is closed.", e);
+        } catch (IOException e) {
+            throw new FileOperationException(
+                    "An IO error occurred when registering directory '" + start + "' to file watch service.", e);
+        }
+    }
+
+    public void start() {
+        if (isWatchServiceStopped) {
+            throw new IllegalStateException("Cannot start StaticResourceUpdater as the file watch service is closed.");
+        } else {
+            watchService.start();
+        }
+    }
+
+    public void finish() {
+        isWatchServiceStopped = true;
+        IOUtils.closeQuietly(watcher);
+    }
+
+    private void run() {
+        while (!isWatchServiceStopped) {
+            WatchKey watchKey;
+            try {
+                watchKey = watcher.take();
+            } catch (ClosedWatchServiceException e) {
+                LOGGER.debug("File watch service is closed.");
+                return;
+            } catch (InterruptedException e) {
+                LOGGER.debug("File watch service interrupted.");
+                return;
+            }
+
+            WatchedDirectory watchedDirectory = watchedDirectories.get(watchKey);
+            if (watchedDirectory != null) {
+                StaticResourceIndex staticResourceIndex = watchedDirectory.staticResourceIndex.get();
+                if (staticResourceIndex == null) {
+                    // Index is garbage collected as its app is undeployed.
+                    watchKey.cancel();
+                    watchedDirectories.remove(watchKey);
+                    continue;
+                }
+                Path updatedDirectory = (Path) watchKey.watchable();
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    try {
+                        refresh(staticResourceIndex, watchedDirectory.publicDirectory, updatedDirectory, event);
+                    } catch (Exception e) {
+                        LOGGER.error("An error occurred while refreshing static resources in '{}'.",
+                                     updatedDirectory, e);
+                    }
+                }
+            }
+
+            boolean valid = watchKey.reset();
+            if (!valid) {
+                // Directory is deleted or the watch service is closed.
+                watchedDirectories.remove(watchKey);
+            }
+        }
+    }
+
+    private void refresh(StaticResourceIndex staticResourceIndex, Path publicDirectory, Path updatedDirectory,
+                         WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            // Some events are lost, hence refresh the whole directory.
+            staticResourceIndex.refresh(publicDirectory, updatedDirectory);
+            LOGGER.debug("Static resources in '{}' are refreshed as file watch events were lost.", updatedDirectory);
+            return;
+        }
+        Path updatedPath = updatedDirectory.resolve((Path) event.context());
+        if ((event.kind() == StandardWatchEventKinds.ENTRY_CREATE) && Files.isDirectory(updatedPath)) {
+            register(staticResourceIndex, publicDirectory, updatedPath);
+        }
+        staticResourceIndex.refresh(publicDirectory, updatedPath);
+        LOGGER.debug("Static resource '{}' is refreshed.", updatedPath);
+    }
+
+    /**
+     * A directory watched for an index.
+     *
+     * @since 1.0.0
+     */
+    private static class WatchedDirectory {
+
+        private final WeakReference<StaticResourceIndex> staticResourceIndex;
+        private final Path publicDirectory;
+
+        WatchedDirectory(StaticResourceIndex staticResourceIndex, Path publicDirectory) {
+            this.staticResourceIndex = new WeakReference<>(staticResourceIndex);
+            this.publicDirectory = publicDirectory;
+        }
+    }
+}
@@ -41,7 +41,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
- * An app finder that locates apps from a directory.
+ * An app finder that locates apps from a directory. Apps can be either directories or zip artifacts.
  *
  * @since 1.0.0
  */
@@ -83,23 +83,33 @@ public class ArtifactAppFinder implements AppFinder {
             availableApps.put(appDetails.getAppContextPath(), appDetails);
             appNameContextPath.add(Pair.of(appDetails.getAppName(), appDetails.getAppContextPath()));
             LOGGER.debug("UUF app '{}' found at '{}' for context path '{}'.", appDetails.getAppName(),
-                         appDetails.getAppReference().getPath(), appDetails.getAppContextPath());
+                         appDetails.getAppPath(), appDetails.getAppContextPath());
         }
         return appNameContextPath;
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * A new reference is created for every deployment. For a zip artifact, the artifact is opened by the returned
+     * reference, which should be closed when the app is undeployed.
      */
     @Override
     public Optional<AppReference> getAppReference(String appContextPath) {
-        return Optional.ofNullable(availableApps.get(appContextPath).getAppReference());
+        AppDetails appDetails = availableApps.get(appContextPath);
+        if (appDetails == null) {
+            return Optional.empty();
+        }
+        Path appDirectory = ZipArtifactHandler.isZipArtifact(appDetails.getAppPath()) ?
+                ZipArtifactHandler.getAppDirectory(appDetails.getAppName(), appDetails.getAppPath()) :
+                appDetails.getAppPath();
+        return Optional.of(new ArtifactAppReference(appDirectory));
     }
 
     private List<AppDetails> findApps(Path appsRepository) {
         try {
             return Files.list(appsRepository)
-                    .filter(Files::isDirectory)
+                    .filter(path -> Files.isDirectory(path) || ZipArtifactHandler.isZipArtifact(path))
                     .map(this::getAppDetails)
                     .collect(Collectors.toList());
         } catch (IOException e) {
@@ -112,19 +122,19 @@ public class ArtifactAppFinder implements AppFinder {
         Maven plugin. */
         String appFullyQualifiedName;
         if (ZipArtifactHandler.isZipArtifact(appPath)) {
+            // Zip artifacts are served directly from the archive without extracting; it is opened when deployed.
             appFullyQualifiedName = ZipArtifactHandler.getAppName(appPath);
         } else {
             appFullyQualifiedName = appPath.getFileName().toString();
         }
         // TODO: 5/4/17 through deployment.yaml Dev-Ops should be able to override app's context path
         String appContextPath = "/" + NameUtils.getSimpleName(appFullyQualifiedName);
-        AppReference appReference = new ArtifactAppReference(appPath);
 
-        return new AppDetails(appFullyQualifiedName, appContextPath, appReference);
+        return new AppDetails(appFullyQualifiedName, appContextPath, appPath);
     }
 
     /**
-     * A data holder that holds name, context path, and the app reference of an app.
+     * A data holder that holds name, context path, and the path of an app.
      *
      * @since 1.0.0
      */
@@ -132,12 +142,12 @@ public class ArtifactAppFinder implements AppFinder {
 
         private final String appName;
         private final String appContextPath;
-        private final AppReference appReference;
+        private final Path appPath;
 
-        AppDetails(String appName, String appContextPath, AppReference appReference) {
+        AppDetails(String appName, String appContextPath, Path appPath) {
             this.appName = appName;
             this.appContextPath = appContextPath;
-            this.appReference = appReference;
+            this.appPath = appPath;
         }
 
         String getAppName() {
@@ -148,8 +158,8 @@ public class ArtifactAppFinder implements AppFinder {
             return appContextPath;
         }
 
-        AppReference getAppReference() {
-            return appReference;
+        Path getAppPath() {
+            return appPath;
         }
     }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io.reference;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.wso2.carbon.uuf.internal.exception.FileOperationException;
+import org.wso2.carbon.uuf.internal.io.util.ZipArtifactHandler;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * An immutable snapshot of all files and directories of an app, built with a single parallel walk of the app
+ * directory.
+ * <p>
+ * While an app is being created, the same directories are checked, listed and resolved many times. Answering those
+ * queries from this manifest avoids repeated IO, which dominates the startup time when the deployment directory is
+ * on a network mount. Number of threads used to walk the app directory can be set with the system property {@code
+ * uuf.deployment.scan.threads}.
+ *
+ * @since 1.0.0
+ */
+class AppManifest {
+
+    private static final int SCAN_THREADS = Integer.getInteger("uuf.deployment.scan.threads", 8);
+
+    private final Path appDirectory;
+    private final Path realAppDirectory;
+    private final Map<Path, BasicFileAttributes> entries;
+    private final Map<Path, List<Path>> children;
+
+    private AppManifest(Path appDirectory, Path realAppDirectory, Map<Path, BasicFileAttributes> entries,
+                        Map<Path, List<Path>> children) {
+        this.appDirectory = appDirectory;
+        this.realAppDirectory = realAppDirectory;
+        this.entries = entries;
+        this.children = children;
+    }
+
+    /**
+     * Returns the metadata of the specified file or directory.
+     *
+     * @param path path of the file or directory
+     * @return attributes of the file or directory, {@code null} if it does not exist
+     */
+    BasicFileAttributes getAttributes(Path path) {
+        return entries.get(path);
+    }
+
+    boolean exists(Path path) {
+        return entries.containsKey(path);
+    }
+
+    boolean isDirectory(Path path) {
+        BasicFileAttributes attributes = entries.get(path);
+        return (attributes != null) && attributes.isDirectory();
+    }
+
+    boolean isRegularFile(Path path) {
+        BasicFileAttributes attributes = entries.get(path);
+        return (attributes != null) && attributes.isRegularFile();
+    }
+
+    /**
+     * Returns the entries of the specified directory, similar to {@link Files#list(Path)}.
+     *
+     * @param directory path of the directory
+     * @return entries of the directory, sorted by their paths
+     */
+    Stream<Path> list(Path directory) {
+        return children.getOrDefault(directory, ImmutableList.of()).stream();
+    }
+
+    /**
+     * Returns the specified directory and all the files and directories under it, similar to {@link
+     * Files#walk(Path, java.nio.file.FileVisitOption...)}.
+     *
+     * @param directory path of the directory
+     * @return the directory and its descendants
+     */
+    Stream<Path> walk(Path directory) {
+        if (!exists(directory)) {
+            return Stream.empty();
+        }
+        return Stream.concat(Stream.of(directory),
+                             list(directory).flatMap(path -> isDirectory(path) ? walk(path) : Stream.of(path)));
+    }
+
+    /**
+     * Returns the absolute path of the specified file. For a file in the default file system, this is the path
+     * resolved against the real path of the app directory, which is computed only once.
+     *
+     * @param path path of the file
+     * @return absolute path of the file
+     */
+    String getAbsolutePath(Path path) {
+        if (realAppDirectory == null) {
+            // File is an entry of a zip artifact.
+            return ZipArtifactHandler.toPathString(path);
+        }
+        return realAppDirectory.resolve(appDirectory.relativize(path)).toString();
+    }
+
+    /**
+     * Walks the specified app directory and creates a manifest of it.
+     *
+     * @param appDirectory absolute and normalized path to the app directory
+     * @return manifest of the app
+     * @throws FileOperationException if an IO error occurred while walking the app directory
+     */
+    static AppManifest scan(Path appDirectory) throws FileOperationException {
+        ConcurrentMap<Path, BasicFileAttributes> entries = new ConcurrentHashMap<>();
+        ConcurrentMap<Path, List<Path>> children = new ConcurrentHashMap<>();
+        BasicFileAttributes appDirectoryAttributes = readAttributes(appDirectory);
+        entries.put(appDirectory, appDirectoryAttributes);
+
+        ForkJoinPool pool = new ForkJoinPool(SCAN_THREADS);
+        try {
+            pool.invoke(new DirectoryScan(appDirectory, appDirectoryAttributes.fileKey(), null, entries, children));
+        } finally {
+            pool.shutdown();
+        }
+
+        Path realAppDirectory = null;
+        if (appDirectory.getFileSystem() == FileSystems.getDefault()) {
+            try {
+                realAppDirectory = appDirectory.toRealPath();
+            } catch (IOException e) {
+                realAppDirectory = appDirectory.toAbsolutePath();
+            }
+        }
+        ImmutableMap.Builder<Path, List<Path>> sortedChildren = ImmutableMap.builder();
+        children.forEach((directory, paths) -> {
+            Collections.sort(paths);
+            sortedChildren.put(directory, ImmutableList.copyOf(paths));
+        });
+        return new AppManifest(appDirectory, realAppDirectory, ImmutableMap.copyOf(entries), sortedChildren.build());
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new FileOperationException("Cannot read attributes of '" + path + "'.", e);
+        }
+    }
+
+    /**
+     * Lists a directory and forks a scan for each of its sub-directories.
+     * <p>
+     * A directory reached through a symbolic link is scanned again under its link path, so that every alias of a
+     * directory gets the same entries. Only a link back to one of its own ancestors is not followed, as that would
+     * never end.
+     */
+    private static class DirectoryScan extends RecursiveAction {
+
+        private final Path directory;
+        private final Object fileKey;
+        private final DirectoryScan parent;
+        private final ConcurrentMap<Path, BasicFileAttributes> entries;
+        private final ConcurrentMap<Path, List<Path>> children;
+
+        DirectoryScan(Path directory, Object fileKey, DirectoryScan parent,
+                      ConcurrentMap<Path, BasicFileAttributes> entries, ConcurrentMap<Path, List<Path>> children) {
+            this.directory = directory;
+            this.fileKey = fileKey;
+            this.parent = parent;
+            this.entries = entries;
+            this.children = children;
+        }
+
+        @Override
+        protected void compute() {
+            List<Path> directoryEntries = new ArrayList<>();
+            List<DirectoryScan> subScans = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path path : stream) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    } catch (NoSuchFileException e) {
+                        continue; // A broken symbolic link or a file deleted while scanning.
+                    }
+                    directoryEntries.add(path);
+                    entries.put(path, attributes);
+                    if (attributes.isDirectory() && !isAncestor(attributes.fileKey())) {
+                        subScans.add(new DirectoryScan(path, attributes.fileKey(), this, entries, children));
+                    }
+                }
+            } catch (IOException e) {
+                throw new FileOperationException("An error occurred while scanning directory '" + directory + "'.", e);
+            }
+            children.put(directory, directoryEntries);
+            invokeAll(subScans);
+        }
+
+        private boolean isAncestor(Object directoryFileKey) {
+            if (directoryFileKey == null) {
+                return false; // File system does not identify files, e.g. a zip file system without links.
+            }
+            for (DirectoryScan scan = this; scan != null; scan = scan.parent) {
+                if (directoryFileKey.equals(scan.fileKey)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
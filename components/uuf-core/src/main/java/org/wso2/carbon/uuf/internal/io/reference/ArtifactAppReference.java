@@ -18,27 +18,34 @@
 
 package org.wso2.carbon.uuf.internal.io.reference;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import org.wso2.carbon.uuf.api.reference.AppReference;
 import org.wso2.carbon.uuf.api.reference.ComponentReference;
 import org.wso2.carbon.uuf.api.reference.FileReference;
 import org.wso2.carbon.uuf.api.reference.ThemeReference;
 import org.wso2.carbon.uuf.internal.exception.FileOperationException;
+import org.wso2.carbon.uuf.internal.io.util.ZipArtifactHandler;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.util.stream.Stream;
 
-public class ArtifactAppReference implements AppReference {
+public class ArtifactAppReference implements AppReference, Closeable {
 
     private final Path appDirectory;
     private final Path componentsDirectory;
     private final Path customizationsDirectory;
+    private final Supplier<AppManifest> manifest;
 
     public ArtifactAppReference(Path appDirectory) {
         this.appDirectory = appDirectory.normalize().toAbsolutePath();
         this.componentsDirectory = this.appDirectory.resolve(DIR_NAME_COMPONENTS);
         this.customizationsDirectory = this.appDirectory.resolve(DIR_NAME_CUSTOMIZATIONS);
+        // App directory is scanned once, when the app is being created.
+        this.manifest = Suppliers.memoize(() -> AppManifest.scan(this.appDirectory));
     }
 
     @Override
@@ -53,12 +60,12 @@ public class ArtifactAppReference implements AppReference {
 
         // check the customizations directory first to load the customized version of the component.
         Path customizedComponentDirectory = customizationsDirectory.resolve(componentDirName);
-        if (Files.exists(customizedComponentDirectory)) {
+        if (getManifest().exists(customizedComponentDirectory)) {
             return new ArtifactComponentReference(customizedComponentDirectory, this);
         }
         // Didn't found the customized version, so try to find it in the components directory.
         Path componentDirectory = componentsDirectory.resolve(componentDirName);
-        if (Files.exists(componentDirectory)) {
+        if (getManifest().exists(componentDirectory)) {
             return new ArtifactComponentReference(componentDirectory, this);
         } else {
             throw new FileOperationException("Cannot find the component for '" + componentContext +
@@ -69,22 +76,16 @@ public class ArtifactAppReference implements AppReference {
     @Override
     public Stream<ThemeReference> getThemeReferences() {
         Path themesDirectory = this.appDirectory.resolve(DIR_NAME_THEMES);
-        if (!Files.exists(themesDirectory)) {
-            return Stream.<ThemeReference>empty();
-        }
-        try {
-            return Files.list(themesDirectory)
-                    .filter(Files::isDirectory)
-                    .map(path -> new ArtifactThemeReference(path, this));
-        } catch (IOException e) {
-            throw new FileOperationException("An error occurred while listing themes in '" + themesDirectory + "'.", e);
-        }
+        AppManifest appManifest = getManifest();
+        return appManifest.list(themesDirectory)
+                .filter(appManifest::isDirectory)
+                .map(path -> new ArtifactThemeReference(path, this));
     }
 
     @Override
     public FileReference getConfiguration() {
         Path configuration = componentsDirectory.resolve(FILE_NAME_CONFIGURATION);
-        if (Files.exists(configuration)) {
+        if (getManifest().exists(configuration)) {
             return new ArtifactFileReference(configuration, this);
         } else {
             throw new FileOperationException("Cannot find app's configuration file '" + FILE_NAME_CONFIGURATION +
@@ -95,7 +96,7 @@ public class ArtifactAppReference implements AppReference {
     @Override
     public FileReference getDependencyTree() {
         Path dependencyTree = componentsDirectory.resolve(FILE_NAME_DEPENDENCY_TREE);
-        if (Files.exists(dependencyTree)) {
+        if (getManifest().exists(dependencyTree)) {
             return new ArtifactFileReference(dependencyTree, this);
         } else {
             throw new FileOperationException("Cannot find dependency tree file '" + FILE_NAME_DEPENDENCY_TREE +
@@ -105,10 +106,26 @@ public class ArtifactAppReference implements AppReference {
 
     @Override
     public String getPath() {
-        return appDirectory.toString();
+        return ZipArtifactHandler.toPathString(appDirectory);
+    }
+
+    /**
+     * Closes the zip file system of the app, if the app is a zip artifact.
+     *
+     * @throws IOException if an I/O error occurred when closing the zip file system
+     */
+    @Override
+    public void close() throws IOException {
+        if (appDirectory.getFileSystem() != FileSystems.getDefault()) {
+            appDirectory.getFileSystem().close();
+        }
     }
 
     Path getDirectory() {
         return appDirectory;
     }
+
+    AppManifest getManifest() {
+        return manifest.get();
+    }
 }
@@ -25,9 +25,8 @@ import org.wso2.carbon.uuf.api.reference.FragmentReference;
 import org.wso2.carbon.uuf.api.reference.LayoutReference;
 import org.wso2.carbon.uuf.api.reference.PageReference;
 import org.wso2.carbon.uuf.internal.exception.FileOperationException;
+import org.wso2.carbon.uuf.internal.io.util.ZipArtifactHandler;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.Set;
@@ -47,31 +46,19 @@ public class ArtifactComponentReference implements ComponentReference {
     @Override
     public Stream<PageReference> getPages(Set<String> supportedExtensions) {
         Path pages = componentDirectory.resolve(DIR_NAME_PAGES);
-        if (!Files.exists(pages)) {
-            return Stream.<PageReference>empty();
-        }
-        try {
-            return Files.walk(pages)
-                    .filter(path -> Files.isRegularFile(path) && supportedExtensions.contains(getExtension(path)))
-                    .map(path -> new ArtifactPageReference(path, this));
-        } catch (IOException e) {
-            throw new FileOperationException("An error occurred while listing pages in '" + pages + "'.", e);
-        }
+        AppManifest manifest = appReference.getManifest();
+        return manifest.walk(pages)
+                .filter(path -> manifest.isRegularFile(path) && supportedExtensions.contains(getExtension(path)))
+                .map(path -> new ArtifactPageReference(path, this));
     }
 
     @Override
     public Stream<LayoutReference> getLayouts(Set<String> supportedExtensions) {
         Path layouts = componentDirectory.resolve(DIR_NAME_LAYOUTS);
-        if (!Files.exists(layouts)) {
-            return Stream.<LayoutReference>empty();
-        }
-        try {
-            return Files.list(layouts)
-                    .filter(path -> Files.isRegularFile(path) && supportedExtensions.contains(getExtension(path)))
-                    .map(path -> new ArtifactLayoutReference(path, this));
-        } catch (IOException e) {
-            throw new FileOperationException("An error occurred while listing layouts in '" + layouts + "'.", e);
-        }
+        AppManifest manifest = appReference.getManifest();
+        return manifest.list(layouts)
+                .filter(path -> manifest.isRegularFile(path) && supportedExtensions.contains(getExtension(path)))
+                .map(path -> new ArtifactLayoutReference(path, this));
     }
 
     private String getExtension(Path filePath) {
@@ -81,22 +68,16 @@ public class ArtifactComponentReference implements ComponentReference {
     @Override
     public Stream<FragmentReference> getFragments(Set<String> supportedExtensions) {
         Path fragments = componentDirectory.resolve(DIR_NAME_FRAGMENTS);
-        if (!Files.exists(fragments)) {
-            return Stream.<FragmentReference>empty();
-        }
-        try {
-            return Files.list(fragments)
-                    .filter(Files::isDirectory)
-                    .map(path -> new ArtifactFragmentReference(path, this, supportedExtensions));
-        } catch (IOException e) {
-            throw new FileOperationException("An error occurred while listing fragments in '" + fragments + "'.", e);
-        }
+        AppManifest manifest = appReference.getManifest();
+        return manifest.list(fragments)
+                .filter(manifest::isDirectory)
+                .map(path -> new ArtifactFragmentReference(path, this, supportedExtensions));
     }
 
     @Override
     public FileReference getConfiguration() {
         Path configuration = componentDirectory.resolve(FILE_NAME_CONFIGURATION);
-        if (Files.exists(configuration)) {
+        if (appReference.getManifest().exists(configuration)) {
             return new ArtifactFileReference(configuration, appReference);
         } else {
             throw new FileOperationException("Cannot find component's configuration '" + FILE_NAME_CONFIGURATION +
@@ -107,7 +88,7 @@ public class ArtifactComponentReference implements ComponentReference {
     @Override
     public Optional<FileReference> getOsgiImportsConfig() {
         Path osgiImports = componentDirectory.resolve(FILE_NAME_OSGI_IMPORTS);
-        if (Files.exists(osgiImports)) {
+        if (appReference.getManifest().exists(osgiImports)) {
             return Optional.of(new ArtifactFileReference(osgiImports, appReference));
         } else {
             return Optional.empty();
@@ -117,21 +98,15 @@ public class ArtifactComponentReference implements ComponentReference {
     @Override
     public Stream<FileReference> getI18nFiles() {
         Path lang = componentDirectory.resolve(DIR_NAME_LANGUAGE);
-        if (!Files.exists(lang)) {
-            return Stream.<FileReference>empty();
-        }
-        try {
-            return Files.list(lang)
-                    .filter(path -> Files.isRegularFile(path) && "properties".equals(getExtension(path)))
-                    .map(path -> new ArtifactFileReference(path, appReference));
-        } catch (IOException e) {
-            throw new FileOperationException("An error occurred while listing language files in '" + lang + "'.", e);
-        }
+        AppManifest manifest = appReference.getManifest();
+        return manifest.list(lang)
+                .filter(path -> manifest.isRegularFile(path) && "properties".equals(getExtension(path)))
+                .map(path -> new ArtifactFileReference(path, appReference));
     }
 
     @Override
     public String getPath() {
-        return componentDirectory.toString();
+        return ZipArtifactHandler.toPathString(componentDirectory);
     }
 
     Path getDirectory() {
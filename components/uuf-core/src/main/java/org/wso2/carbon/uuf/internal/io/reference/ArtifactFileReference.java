@@ -71,17 +71,16 @@ public class ArtifactFileReference implements FileReference {
 
     @Override
     public String getAbsolutePath() {
-        try {
-            return path.toRealPath().toString();
-        } catch (IOException e) {
-            return path.toAbsolutePath().toString();
-        }
+        return appReference.getManifest().getAbsolutePath(path);
     }
 
     @Override
     public Optional<FileReference> getSibling(String name) {
         Path sibling = path.resolveSibling(name);
-        return Files.exists(sibling) ? Optional.of(new ArtifactFileReference(sibling, appReference)) :
-                Optional.<FileReference>empty();
+        if (appReference.getManifest().exists(sibling)) {
+            return Optional.of(new ArtifactFileReference(sibling, appReference));
+        } else {
+            return Optional.empty();
+        }
     }
 }
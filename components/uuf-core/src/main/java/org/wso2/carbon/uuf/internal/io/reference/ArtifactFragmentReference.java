@@ -23,7 +23,6 @@ import org.wso2.carbon.uuf.api.reference.ComponentReference;
 import org.wso2.carbon.uuf.api.reference.FileReference;
 import org.wso2.carbon.uuf.api.reference.FragmentReference;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
 
@@ -51,7 +50,7 @@ public class ArtifactFragmentReference implements FragmentReference {
         String fragmentName = getName();
         for (String extension : supportedExtensions) {
             Path renderingFilePath = fragmentDirectory.resolve(fragmentName + "." + extension);
-            if (Files.isRegularFile(renderingFilePath)) {
+            if (componentReference.getAppReference().getManifest().isRegularFile(renderingFilePath)) {
                 return new ArtifactFileReference(renderingFilePath, componentReference.getAppReference());
             }
         }
@@ -21,8 +21,8 @@ package org.wso2.carbon.uuf.internal.io.reference;
 import org.wso2.carbon.uuf.api.reference.FileReference;
 import org.wso2.carbon.uuf.api.reference.ThemeReference;
 import org.wso2.carbon.uuf.internal.exception.FileOperationException;
+import org.wso2.carbon.uuf.internal.io.util.ZipArtifactHandler;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 public class ArtifactThemeReference implements ThemeReference {
@@ -44,7 +44,7 @@ public class ArtifactThemeReference implements ThemeReference {
     @Override
     public FileReference getConfiguration() {
         Path themeConfig = themeDirectory.resolve(FILE_NAME_CONFIGURATION);
-        if (Files.exists(themeConfig)) {
+        if (appReference.getManifest().exists(themeConfig)) {
             return new ArtifactFileReference(themeConfig, appReference);
         } else {
             throw new FileOperationException(
@@ -55,6 +55,6 @@ public class ArtifactThemeReference implements ThemeReference {
 
     @Override
     public String getPath() {
-        return themeDirectory.toString();
+        return ZipArtifactHandler.toPathString(themeDirectory);
     }
 }
@@ -65,4 +65,17 @@ public class MimeMapper {
         }
         return Optional.ofNullable(MIME_MAP.getProperty(extension));
     }
+
+    /**
+     * Returns whether content of the specified MIME type is worth compressing. Already compressed formats such as
+     * images (except SVG), audio, video, archives and WOFF fonts are not.
+     *
+     * @param mimeType MIME type to check
+     * @return {@code true} if the content should be compressed, {@code false} otherwise
+     */
+    public static boolean isCompressible(String mimeType) {
+        return mimeType.startsWith("text/") || mimeType.endsWith("javascript") || mimeType.endsWith("json") ||
+                mimeType.endsWith("xml") || mimeType.equals("application/x-font-ttf") ||
+                mimeType.equals("application/vnd.ms-fontobject") || mimeType.equals("font/opentype");
+    }
 }
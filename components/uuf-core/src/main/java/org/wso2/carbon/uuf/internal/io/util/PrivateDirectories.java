@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io.util;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Creates directories which only the server can read and write, for files that must not be read or planted by other
+ * users of the machine (e.g. session logs and generated static resources).
+ *
+ * @since 1.0.0
+ */
+public class PrivateDirectories {
+
+    private static final Set<PosixFilePermission> OWNER_ONLY = EnumSet.of(PosixFilePermission.OWNER_READ,
+                                                                          PosixFilePermission.OWNER_WRITE,
+                                                                          PosixFilePermission.OWNER_EXECUTE);
+
+    private PrivateDirectories() {
+    }
+
+    /**
+     * Returns the default location of the private directory with the specified name, which is
+     * {@code <carbon.home>/tmp/uuf/<name>}.
+     *
+     * @param name name of the directory
+     * @return path to the directory
+     */
+    public static Path getDefaultPath(String name) {
+        return Paths.get(System.getProperty("carbon.home", "."), "tmp", "uuf", name).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Creates the specified directory, if it does not exist, readable and writable only by the user running the
+     * server. An existing directory is accepted only if it is a real directory owned by that user and not accessible by
+     * other users.
+     *
+     * @param directory directory to be created
+     * @return the directory
+     * @throws IOException if the directory cannot be created, or is not private to the user running the server
+     */
+    public static Path create(Path directory) throws IOException {
+        boolean isPosix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+        if (!Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+            Files.createDirectories(directory.getParent());
+            try {
+                if (isPosix) {
+                    Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+                } else {
+                    Files.createDirectory(directory);
+                }
+            } catch (FileAlreadyExistsException e) {
+                // Created concurrently; verified below.
+            }
+        }
+        if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+            throw new IOException("Path '" + directory + "' is not a directory.");
+        }
+        if (isPosix) {
+            UserPrincipal owner = Files.getOwner(directory, LinkOption.NOFOLLOW_LINKS);
+            UserPrincipal currentUser = directory.getFileSystem().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+            if (!owner.equals(currentUser)) {
+                throw new IOException("Directory '" + directory + "' is owned by '" + owner.getName() +
+                                              "' instead of '" + currentUser.getName() + "'.");
+            }
+            if (!OWNER_ONLY.containsAll(Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS))) {
+                throw new IOException("Directory '" + directory + "' is accessible by other users.");
+            }
+        }
+        return directory;
+    }
+}
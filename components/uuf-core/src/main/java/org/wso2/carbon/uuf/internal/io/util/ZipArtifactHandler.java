@@ -18,7 +18,6 @@
 
 package org.wso2.carbon.uuf.internal.io.util;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
@@ -26,19 +25,32 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.uuf.internal.exception.FileOperationException;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.FileAlreadyExistsException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Enumeration;
+import java.util.Collections;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+/**
+ * Utility methods for apps packaged as zip artifacts.
+ * <p>
+ * Zip artifacts are not extracted. Instead an artifact is opened as a read-only zip {@link FileSystem} (which reads
+ * the central directory of the zip file once) when its app is deployed, and app files are served directly from its
+ * entries; the file system is closed when the app is undeployed. Paths of such entries are represented as {@code
+ * jar:} URI strings, see {@link #toPathString(Path)}, {@link #toPath(String, String...)} and {@link
+ * #isZipEntry(String)}.
+ *
+ * @since 1.0.0
+ */
 public class ZipArtifactHandler {
 
     private static final String ZIP_FILE_EXTENSION = "zip";
-    private static final Path TEMP_DIRECTORY = Paths.get(System.getProperty("java.io.tmpdir")).resolve("uufapps");
+    private static final String URI_SCHEME_JAR = "jar";
     private static final Logger LOGGER = LoggerFactory.getLogger(ZipArtifactHandler.class);
 
     public static boolean isZipArtifact(Path appPath) {
@@ -72,62 +84,84 @@ public class ZipArtifactHandler {
         }
     }
 
-    public static Path unzip(String appName, Path zipFile) {
-        Path appDirectory = TEMP_DIRECTORY.resolve(appName);
-        if (Files.exists(appDirectory)) {
-            /* A directory already exists in the tmp folder with the same app name, delete it before unzipping the
-            new app. */
+    /**
+     * Opens the specified zip artifact and returns the app directory inside it. The artifact is opened afresh, so
+     * that a replaced artifact is read anew; a file system left open for the artifact is closed. The returned
+     * directory's file system should be closed once the app is undeployed.
+     *
+     * @param appName name of the app
+     * @param zipFile zip app
+     * @return path of the app directory in the zip file system of the artifact
+     * @throws FileOperationException if cannot open the zip artifact or it does not contain the app directory
+     */
+    public static Path getAppDirectory(String appName, Path zipFile) {
+        URI zipFileUri = URI.create(URI_SCHEME_JAR + ":" + zipFile.toAbsolutePath().normalize().toUri());
+        FileSystem zipFileSystem;
+        try {
             try {
-                FileUtils.deleteDirectory(appDirectory.toFile());
-            } catch (IOException e) {
-                throw new FileOperationException("An error occurred while deleting directory '" + appDirectory + "'.",
-                                                 e);
+                zipFileSystem = FileSystems.newFileSystem(zipFileUri, Collections.emptyMap());
+            } catch (FileSystemAlreadyExistsException e) {
+                // Left open by an earlier deployment, hence it may not reflect the current content of the artifact.
+                LOGGER.debug("Closing stale zip file system of artifact '{}'.", zipFile);
+                FileSystems.getFileSystem(zipFileUri).close();
+                zipFileSystem = FileSystems.newFileSystem(zipFileUri, Collections.emptyMap());
             }
-            LOGGER.debug("Removed the existing app directory '{}' before extracting app '{}'.", appDirectory, appName);
-        }
-
-        ZipFile zip;
-        try {
-            zip = new ZipFile(zipFile.toFile(), ZipFile.OPEN_READ);
+            LOGGER.debug("Opened zip artifact '{}' of app '{}'.", zipFile, appName);
         } catch (IOException e) {
-            throw new FileOperationException("Cannot open zip artifact '" + zipFile + "' to extract.", e);
+            throw new FileOperationException("Cannot open zip artifact '" + zipFile + "'.", e);
         }
-        try {
-            Enumeration<? extends ZipEntry> zipEntries = zip.entries();
-            while (zipEntries.hasMoreElements()) {
-                ZipEntry zipEntry = zipEntries.nextElement();
-                if (zipEntry.isDirectory()) {
-                    createDirectory(TEMP_DIRECTORY.resolve(zipEntry.getName()));
-                } else {
-                    Path tempFilePath = TEMP_DIRECTORY.resolve(zipEntry.getName());
-                    // Here 'tempFilePath.getParent()' is never null.
-                    createDirectory(tempFilePath.getParent());
-                    try (InputStream inputStream = zip.getInputStream(zipEntry)) {
-                        Files.copy(inputStream, tempFilePath);
-                    } catch (IOException e) {
-                        throw new FileOperationException(
-                                "Cannot copy content of zip entry '" + zipEntry.getName() + "' in zip artifact '" +
-                                        zipFile + "' to temporary file '" + tempFilePath + "'.", e);
-                    }
-                }
+        Path appDirectory = zipFileSystem.getPath("/", appName);
+        if (!Files.isDirectory(appDirectory)) {
+            try {
+                zipFileSystem.close();
+            } catch (IOException e) {
+                LOGGER.debug("Cannot close zip artifact '{}'.", zipFile, e);
             }
-        } finally {
-            // Close zip file.
-            IOUtils.closeQuietly(zip);
+            throw new FileOperationException(
+                    "Cannot find app directory '" + appName + "' inside the zip artifact '" + zipFile + "'.");
         }
-
         return appDirectory;
     }
 
-    private static void createDirectory(Path directoryPath) {
-        try {
-            Files.createDirectories(directoryPath);
-        } catch (FileAlreadyExistsException e) {
-            throw new FileOperationException("Cannot create directory '" + directoryPath +
-                                                     "' as a file already exists in the same path.", e);
-        } catch (IOException e) {
-            throw new FileOperationException(
-                    "An error occurred when creating directory '" + directoryPath + "'.", e);
+    /**
+     * Returns whether the specified path string, as returned by {@link #toPathString(Path)}, is an entry of a zip
+     * artifact. Such entries cannot be modified, hence need not be watched for changes.
+     *
+     * @param path path string
+     * @return {@code true} if the path is an entry of a zip artifact, {@code false} otherwise
+     */
+    public static boolean isZipEntry(String path) {
+        return path.startsWith(URI_SCHEME_JAR + ":");
+    }
+
+    /**
+     * Returns the string representation of the specified path. Paths of the default file system are returned as it
+     * is, whereas paths of zip entries are returned as URIs so that they can be converted back with {@link
+     * #toPath(String, String...)}.
+     *
+     * @param path path
+     * @return string representation of the path
+     */
+    public static String toPathString(Path path) {
+        return (path.getFileSystem() == FileSystems.getDefault()) ? path.toString() : path.toUri().toString();
+    }
+
+    /**
+     * Converts the specified path string, which is either a file system path or a zip entry URI returned by {@link
+     * #toPathString(Path)}, and joins the specified names to it.
+     *
+     * @param path path string
+     * @param more names to be joined
+     * @return resulting path
+     */
+    public static Path toPath(String path, String... more) {
+        if (!isZipEntry(path)) {
+            return Paths.get(path, more);
+        }
+        Path resultingPath = Paths.get(URI.create(path));
+        for (String name : more) {
+            resultingPath = resultingPath.resolve(name);
         }
+        return resultingPath;
     }
 }
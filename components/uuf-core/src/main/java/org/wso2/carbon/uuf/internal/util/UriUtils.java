@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.uuf.internal.util;
 
+import org.wso2.carbon.uuf.api.config.I18nBundle;
 import org.wso2.carbon.uuf.core.Component;
 import org.wso2.carbon.uuf.core.Fragment;
 import org.wso2.carbon.uuf.core.Layout;
@@ -30,6 +31,7 @@ public class UriUtils {
     public static final String COMPONENT_STATIC_RESOURCES_URI_PREFIX = "/public/components";
     public static final String THEMES_STATIC_RESOURCES_URI_PREFIX = "/public/themes/";
     public static final String FRAGMENTS_URI_PREFIX = "/fragments/";
+    public static final String I18N_BUNDLES_URI_PREFIX = I18nBundle.URI_PREFIX;
 
     public static String getPublicUri(Component component, Page page) {
         return COMPONENT_STATIC_RESOURCES_URI_PREFIX + component.getContextPath() + "/" +
@@ -41,6 +41,26 @@ public interface HttpRequest {
      * HTTP header <a href="https://tools.ietf.org/html/rfc2616#section-14.4">accept language</a>.
      */
     String HEADER_ACCEPT_LANGUAGE = "Accept-Language";
+    /**
+     * HTTP header <a href="https://tools.ietf.org/html/rfc7231#section-5.3.4">accept encoding</a>.
+     */
+    String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    /**
+     * HTTP header <a href="https://tools.ietf.org/html/rfc7232#section-3.2">if none match</a>.
+     */
+    String HEADER_IF_NONE_MATCH = "If-None-Match";
+    /**
+     * HTTP header <a href="https://tools.ietf.org/html/rfc7232#section-3.3">if modified since</a>.
+     */
+    String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+    /**
+     * HTTP header <a href="https://tools.ietf.org/html/rfc7233#section-3.1">range</a>.
+     */
+    String HEADER_RANGE = "Range";
+    /**
+     * HTTP header <a href="https://tools.ietf.org/html/rfc7233#section-3.2">if range</a>.
+     */
+    String HEADER_IF_RANGE = "If-Range";
 
     String COOKIE_UUFSESSIONID = "UUFSESSIONID";
     String COOKIE_CSRFTOKEN = "CSRFTOKEN";
@@ -295,6 +315,15 @@ public interface HttpRequest {
         return getUriWithoutContextPath().startsWith(UriUtils.FRAGMENTS_URI_PREFIX);
     }
 
+    /**
+     * Returns whether this request is for an i18n bundle.
+     *
+     * @return {@code true} if this is a request to an i18n bundle, {@code false} if not
+     */
+    default boolean isI18nBundleRequest() {
+        return getUriWithoutContextPath().startsWith(UriUtils.I18N_BUNDLES_URI_PREFIX);
+    }
+
     /**
      * Returns whether this request is for the default favicon.
      *
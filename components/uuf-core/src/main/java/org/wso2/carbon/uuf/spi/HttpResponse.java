@@ -18,8 +18,15 @@
 
 package org.wso2.carbon.uuf.spi;
 
+import org.wso2.carbon.uuf.api.io.ByteBufferInputStream;
+
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import javax.ws.rs.core.MultivaluedMap;
 
@@ -31,6 +38,7 @@ import javax.ws.rs.core.MultivaluedMap;
 public interface HttpResponse {
 
     int STATUS_OK = 200;
+    int STATUS_PARTIAL_CONTENT = 206;
     int STATUS_MOVED_PERMANENTLY = 301;
     int STATUS_FOUND = 302;
     int STATUS_NOT_MODIFIED = 304;
@@ -38,7 +46,9 @@ public interface HttpResponse {
     int STATUS_UNAUTHORIZED = 401;
     int STATUS_FORBIDDEN = 403;
     int STATUS_NOT_FOUND = 404;
+    int STATUS_RANGE_NOT_SATISFIABLE = 416;
     int STATUS_INTERNAL_SERVER_ERROR = 500;
+    int STATUS_SERVICE_UNAVAILABLE = 503;
 
     String CONTENT_TYPE_WILDCARD = "*/*";
     String CONTENT_TYPE_TEXT_PLAIN = "text/plain";
@@ -51,9 +61,15 @@ public interface HttpResponse {
     String HEADER_X_XSS_PROTECTION = "X-XSS-Protection";
     String HEADER_CACHE_CONTROL = "Cache-Control";
     String HEADER_LAST_MODIFIED = "Last-Modified";
+    String HEADER_ETAG = "ETag";
+    String HEADER_ACCEPT_RANGES = "Accept-Ranges";
+    String HEADER_CONTENT_RANGE = "Content-Range";
+    String HEADER_CONTENT_ENCODING = "Content-Encoding";
+    String HEADER_VARY = "Vary";
     String HEADER_EXPIRES = "Expires";
     String HEADER_PRAGMA = "Pragma";
     String HEADER_X_FRAME_OPTIONS = "X-Frame-Options";
+    String HEADER_RETRY_AFTER = "Retry-After";
 
     /**
      * Sets the <a href="https://tools.ietf.org/html/rfc2616#section-10">HTTP status code</a> of this response to the
@@ -126,9 +142,19 @@ public interface HttpResponse {
      *
      * @param content     path of the file content to be set
      * @param contentType MIME type of the content
+     * @throws UncheckedIOException if the path is not in the default file system and cannot be read
      */
     default void setContent(Path content, String contentType) {
-        setContent(content.toFile(), contentType);
+        if (content.getFileSystem() == FileSystems.getDefault()) {
+            setContent(content.toFile(), contentType);
+            return;
+        }
+        // Path is an entry of a zip artifact which cannot be accessed as a file.
+        try {
+            setContent(Files.newInputStream(content), contentType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read file '" + content + "'.", e);
+        }
     }
 
     /**
@@ -139,6 +165,17 @@ public interface HttpResponse {
      */
     void setContent(InputStream content, String contentType);
 
+    /**
+     * Sets the remaining bytes of the specified buffer and the content type to this response. The position of the
+     * buffer is not changed, hence the same buffer can be used for concurrent responses.
+     *
+     * @param content     buffer of the content to be set
+     * @param contentType MIME type of the content
+     */
+    default void setContent(ByteBuffer content, String contentType) {
+        setContent(new ByteBufferInputStream(content), contentType);
+    }
+
     /**
      * Sets the specified the HTTP status code and the textual content to this response.
      *
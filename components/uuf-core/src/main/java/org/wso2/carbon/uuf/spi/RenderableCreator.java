@@ -24,6 +24,7 @@ import org.wso2.carbon.uuf.api.reference.FragmentReference;
 import org.wso2.carbon.uuf.api.reference.LayoutReference;
 import org.wso2.carbon.uuf.api.reference.PageReference;
 
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 
@@ -47,6 +48,7 @@ public interface RenderableCreator {
 
         private final Renderable renderable;
         private final Permission permission;
+        private final Set<Permission> securedPermissions;
 
         /**
          * Constructs a fragment renderable data bean.
@@ -55,8 +57,21 @@ public interface RenderableCreator {
          * @param permission permission for the renderable
          */
         public FragmentRenderableData(Renderable renderable, Permission permission) {
+            this(renderable, permission, Collections.emptySet());
+        }
+
+        /**
+         * Constructs a fragment renderable data bean.
+         *
+         * @param renderable         renderable
+         * @param permission         permission for the renderable
+         * @param securedPermissions permissions of the secured sections in the renderable
+         */
+        public FragmentRenderableData(Renderable renderable, Permission permission,
+                                      Set<Permission> securedPermissions) {
             this.renderable = renderable;
             this.permission = permission;
+            this.securedPermissions = securedPermissions;
         }
 
         public Renderable getRenderable() {
@@ -71,6 +86,15 @@ public interface RenderableCreator {
         public Permission getPermission() {
             return permission;
         }
+
+        /**
+         * Returns the permissions which are checked in the secured sections of the fragment renderable.
+         *
+         * @return permissions of the secured sections
+         */
+        public Set<Permission> getSecuredPermissions() {
+            return securedPermissions;
+        }
     }
 
     class PageRenderableData {
@@ -78,6 +102,7 @@ public interface RenderableCreator {
         private final Renderable renderable;
         private final Permission permission;
         private final String layoutName;
+        private final Set<Permission> securedPermissions;
 
         /**
          * Constructs a page renderable data bean.
@@ -90,9 +115,23 @@ public interface RenderableCreator {
         }
 
         public PageRenderableData(Renderable renderable, Permission permission, String layoutName) {
+            this(renderable, permission, layoutName, Collections.emptySet());
+        }
+
+        /**
+         * Constructs a page renderable data bean.
+         *
+         * @param renderable         renderable
+         * @param permission         permission for the renderable
+         * @param layoutName         name of the layout of the page, or {@code null} if the page has no layout
+         * @param securedPermissions permissions of the secured sections in the renderable
+         */
+        public PageRenderableData(Renderable renderable, Permission permission, String layoutName,
+                                  Set<Permission> securedPermissions) {
             this.renderable = renderable;
             this.permission = permission;
             this.layoutName = layoutName;
+            this.securedPermissions = securedPermissions;
         }
 
         public Renderable getRenderable() {
@@ -108,6 +147,15 @@ public interface RenderableCreator {
             return permission;
         }
 
+        /**
+         * Returns the permissions which are checked in the secured sections of the page renderable.
+         *
+         * @return permissions of the secured sections
+         */
+        public Set<Permission> getSecuredPermissions() {
+            return securedPermissions;
+        }
+
         public Optional<String> getLayoutName() {
             return Optional.ofNullable(layoutName);
         }
@@ -116,13 +164,34 @@ public interface RenderableCreator {
     class LayoutRenderableData {
 
         private final Renderable renderable;
+        private final Set<Permission> securedPermissions;
 
         public LayoutRenderableData(Renderable renderable) {
+            this(renderable, Collections.emptySet());
+        }
+
+        /**
+         * Constructs a layout renderable data bean.
+         *
+         * @param renderable         renderable
+         * @param securedPermissions permissions of the secured sections in the renderable
+         */
+        public LayoutRenderableData(Renderable renderable, Set<Permission> securedPermissions) {
             this.renderable = renderable;
+            this.securedPermissions = securedPermissions;
         }
 
         public Renderable getRenderable() {
             return renderable;
         }
+
+        /**
+         * Returns the permissions which are checked in the secured sections of the layout renderable.
+         *
+         * @return permissions of the secured sections
+         */
+        public Set<Permission> getSecuredPermissions() {
+            return securedPermissions;
+        }
     }
 }
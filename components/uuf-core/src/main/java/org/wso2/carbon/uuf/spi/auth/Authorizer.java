@@ -22,6 +22,10 @@ import org.wso2.carbon.uuf.api.auth.Permission;
 import org.wso2.carbon.uuf.api.auth.User;
 import org.wso2.carbon.uuf.api.exception.AuthorizationException;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Evaluates permissions for users.
  * <p>
@@ -33,7 +37,9 @@ import org.wso2.carbon.uuf.api.exception.AuthorizationException;
  * <p>
  * The logic for persisting and retrieving permissions are expected to be implemented by the web developer. The
  * {@code hasPermission(User user, Permission permission)} method will be called internally by the UUF framework when
- * it is required to evaluate permissions.
+ * it is required to evaluate permissions. Authorizers which can evaluate many permissions at once (e.g. with a single
+ * call to a remote policy server) should override {@code hasPermissions(User user, Collection<Permission>
+ * permissions)}; the UUF framework then evaluates all permissions declared in the app with a single call per request.
  *
  * @since 1.0.0
  */
@@ -48,4 +54,25 @@ public interface Authorizer {
      * @throws AuthorizationException if an error occurs when checking permission
      */
     boolean hasPermission(User user, Permission permission) throws AuthorizationException;
+
+    /**
+     * Checks which of the given permissions the given user has.
+     * <p>
+     * The default implementation calls {@link #hasPermission(User, Permission)} for each permission.
+     *
+     * @param user        user to be checked
+     * @param permissions permissions to be checked
+     * @return permissions that the user has, out of the given permissions
+     * @throws AuthorizationException if an error occurs when checking permissions
+     */
+    default Set<Permission> hasPermissions(User user, Collection<Permission> permissions)
+            throws AuthorizationException {
+        Set<Permission> grantedPermissions = new HashSet<>();
+        for (Permission permission : permissions) {
+            if (hasPermission(user, permission)) {
+                grantedPermissions.add(permission);
+            }
+        }
+        return grantedPermissions;
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.api.auth;
+
+import com.google.common.base.Strings;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.config.Configuration;
+import org.wso2.carbon.uuf.api.exception.SessionManagementException;
+import org.wso2.carbon.uuf.spi.HttpRequest;
+import org.wso2.carbon.uuf.spi.HttpResponse;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for the disk session manager.
+ *
+ * @since 1.0.0
+ */
+public class DiskSessionManagerTest {
+
+    private static final String SESSION_COOKIE_NAME = "UUFSESSIONID";
+
+    private Path logFile;
+
+    private DiskSessionManager createSessionManager() throws Exception {
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getSessionTimeout()).thenReturn(600L);
+        return new DiskSessionManager(logFile, configuration, 100L);
+    }
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        logFile = Files.createTempDirectory("uuf-disk-session-manager").resolve("app.log");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(logFile.getParent());
+    }
+
+    @Test
+    public void testSessionAddAndRemove() throws Exception {
+        HttpRequest request = mock(HttpRequest.class);
+        HttpResponse response = mock(HttpResponse.class);
+        when(request.getContextPath()).thenReturn("/testSessionAddAndRemove");
+        try (DiskSessionManager sessionManager = createSessionManager()) {
+            Session session = sessionManager.createSession(new User("admin", null), request, response);
+            when(request.getCookieValue(SESSION_COOKIE_NAME)).thenReturn(session.getSessionId());
+            Assert.assertEquals(sessionManager.getSession(request, response).orElse(null), session);
+            Assert.assertEquals(sessionManager.getCount(), 1);
+
+            Assert.assertEquals(sessionManager.destroySession(request, response), true);
+            Assert.assertEquals(sessionManager.getSession(request, response).isPresent(), false);
+            Assert.assertEquals(sessionManager.getCount(), 0);
+            Assert.assertEquals(sessionManager.destroySession(request, response), false);
+        }
+    }
+
+    @Test
+    public void testSessionsSurviveRestart() throws Exception {
+        HttpRequest request = mock(HttpRequest.class);
+        HttpResponse response = mock(HttpResponse.class);
+        when(request.getContextPath()).thenReturn("/testSessionsSurviveRestart");
+        Map<String, Serializable> properties = new HashMap<>();
+        properties.put("name", "Administrator");
+        properties.put("age", 42);
+        properties.put("roles", new ArrayList<>(Arrays.asList("admin", "user")));
+
+        Session session;
+        try (DiskSessionManager sessionManager = createSessionManager()) {
+            session = sessionManager.createSession(new User("admin", properties), request, response);
+            when(request.getCookieValue(SESSION_COOKIE_NAME)).thenReturn(session.getSessionId());
+            sessionManager.getSession(request, response).ifPresent(s -> s.setThemeName("org.wso2.carbon.uuf.theme"));
+
+            Session destroyedSession = sessionManager.createSession(new User("user", null), request, response);
+            when(request.getCookieValue(SESSION_COOKIE_NAME)).thenReturn(destroyedSession.getSessionId());
+            sessionManager.destroySession(request, response);
+        }
+
+        try (DiskSessionManager sessionManager = createSessionManager()) {
+            Assert.assertEquals(sessionManager.getCount(), 1);
+            when(request.getCookieValue(SESSION_COOKIE_NAME)).thenReturn(session.getSessionId());
+            Session recoveredSession = sessionManager.getSession(request, response).orElse(null);
+            Assert.assertNotNull(recoveredSession);
+            Assert.assertEquals(recoveredSession.getSessionId(), session.getSessionId());
+            Assert.assertEquals(recoveredSession.getCsrfToken(), session.getCsrfToken());
+            Assert.assertEquals(recoveredSession.getThemeName(), "org.wso2.carbon.uuf.theme");
+            User user = recoveredSession.getUser();
+            Assert.assertEquals(user.getId(), "admin");
+            Assert.assertEquals(user.getProperty("name"), "Administrator");
+            Assert.assertEquals(user.getProperty("age"), 42);
+            Assert.assertEquals(user.getProperty("roles"), Arrays.asList("admin", "user"));
+        }
+    }
+
+    @Test
+    public void testLongStrings() throws Exception {
+        HttpRequest request = mock(HttpRequest.class);
+        HttpResponse response = mock(HttpResponse.class);
+        when(request.getContextPath()).thenReturn("/testLongStrings");
+        String longValue = Strings.repeat("\u00e9", 70000); // 140000 bytes in UTF-8
+        Map<String, Serializable> properties = new HashMap<>();
+        properties.put("description", longValue);
+
+        Session session;
+        try (DiskSessionManager sessionManager = createSessionManager()) {
+            session = sessionManager.createSession(new User("admin", properties), request, response);
+        }
+        try (DiskSessionManager sessionManager = createSessionManager()) {
+            when(request.getCookieValue(SESSION_COOKIE_NAME)).thenReturn(session.getSessionId());
+            Session recoveredSession = sessionManager.getSession(request, response).orElse(null);
+            Assert.assertNotNull(recoveredSession);
+            Assert.assertEquals(recoveredSession.getUser().getProperty("description"), longValue);
+        }
+    }
+
+    @Test
+    public void testDisallowedClassesAreNotRestored() throws Exception {
+        HttpRequest request = mock(HttpRequest.class);
+        HttpResponse response = mock(HttpResponse.class);
+        when(request.getContextPath()).thenReturn("/testDisallowedClassesAreNotRestored");
+        Map<String, Serializable> properties = new HashMap<>();
+        properties.put("value", new DisallowedValue());
+
+        try (DiskSessionManager sessionManager = createSessionManager()) {
+            sessionManager.createSession(new User("admin", properties), request, response);
+            Assert.assertEquals(sessionManager.getCount(), 1);
+        }
+        try (DiskSessionManager sessionManager = createSessionManager()) {
+            Assert.assertEquals(sessionManager.getCount(), 0);
+        }
+    }
+
+    @Test(expectedExceptions = SessionManagementException.class)
+    public void testSharedLogDirectoryIsRejected() throws Exception {
+        Path logDirectory = logFile.getParent();
+        Files.setPosixFilePermissions(logDirectory, PosixFilePermissions.fromString("rwxrwxrwx"));
+        createSessionManager();
+    }
+
+    private static class DisallowedValue implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
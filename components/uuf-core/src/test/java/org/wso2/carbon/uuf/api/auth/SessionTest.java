@@ -21,6 +21,13 @@ package org.wso2.carbon.uuf.api.auth;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
 /**
  * Test cases for session.
  *
@@ -37,4 +44,25 @@ public class SessionTest {
         Assert.assertEquals(Session.isValidSessionId("12345678901234567890123456789012"), true);
         Assert.assertEquals(Session.isValidSessionId("2B2F3466F1937F70B50A610453509EEB"), true);
     }
+
+    @Test
+    public void testGeneratedIds() throws Exception {
+        Pattern hexPattern = Pattern.compile("[0-9A-F]{32}");
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        Set<Future<Session>> futures = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            futures.add(executorService.submit(() -> new Session(null)));
+        }
+        Set<String> ids = new HashSet<>();
+        for (Future<Session> future : futures) {
+            Session session = future.get();
+            Assert.assertTrue(Session.isValidSessionId(session.getSessionId()));
+            Assert.assertTrue(hexPattern.matcher(session.getSessionId()).matches());
+            Assert.assertTrue(hexPattern.matcher(session.getCsrfToken()).matches());
+            ids.add(session.getSessionId());
+            ids.add(session.getCsrfToken());
+        }
+        executorService.shutdown();
+        Assert.assertEquals(ids.size(), 4000, "Generated IDs should be unique.");
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.api.auth;
+
+import com.google.common.collect.ImmutableMap;
+import org.mockito.ArgumentCaptor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.config.Configuration;
+import org.wso2.carbon.uuf.api.exception.SessionManagementException;
+import org.wso2.carbon.uuf.spi.HttpRequest;
+import org.wso2.carbon.uuf.spi.HttpResponse;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for the signed cookie session manager.
+ *
+ * @since 1.0.0
+ */
+public class SignedCookieSessionManagerTest {
+
+    private static final String SESSION_COOKIE_NAME = "UUFSESSIONID";
+    private static final String OLD_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final String NEW_KEY = Base64.getEncoder().encodeToString(
+            "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    private static SignedCookieSessionManager createSessionManager(boolean isEncrypted, String... keys)
+            throws SessionManagementException {
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getSessionTimeout()).thenReturn(600L);
+        when(configuration.other()).thenReturn(ImmutableMap.of("sessionKeys", Arrays.asList(keys),
+                                                               "sessionEncryption", isEncrypted));
+        return new SignedCookieSessionManager(configuration);
+    }
+
+    private static String createSessionCookie(SignedCookieSessionManager sessionManager, HttpRequest request,
+                                              User user) throws SessionManagementException {
+        HttpResponse response = mock(HttpResponse.class);
+        sessionManager.createSession(user, request, response);
+        ArgumentCaptor<String> cookie = ArgumentCaptor.forClass(String.class);
+        verify(response).addCookie(eq(SESSION_COOKIE_NAME), cookie.capture());
+        return cookie.getValue().substring(0, cookie.getValue().indexOf(';'));
+    }
+
+    @Test
+    public void testSessionAddAndRemove() throws Exception {
+        for (boolean isEncrypted : new boolean[]{false, true}) {
+            HttpRequest request = mock(HttpRequest.class);
+            HttpResponse response = mock(HttpResponse.class);
+            when(request.getContextPath()).thenReturn("/testSessionAddAndRemove");
+            SignedCookieSessionManager sessionManager = createSessionManager(isEncrypted, NEW_KEY);
+            Map<String, Serializable> properties = Collections.singletonMap("name", "Administrator");
+
+            String cookie = createSessionCookie(sessionManager, request, new User("admin", properties));
+            when(request.getCookieValue(SESSION_COOKIE_NAME)).thenReturn(cookie);
+            Session session = sessionManager.getSession(request, response).orElse(null);
+            Assert.assertNotNull(session);
+            Assert.assertEquals(session.getUser().getId(), "admin");
+            Assert.assertEquals(session.getUser().getProperty("name"), "Administrator");
+
+            Assert.assertEquals(sessionManager.destroySession(request, response), true);
+            Assert.assertEquals(sessionManager.getSession(request, response).isPresent(), false);
+            Assert.assertEquals(sessionManager.destroySession(request, response), false);
+        }
+    }
+
+    @Test
+    public void testTamperedCookie() throws Exception {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.getContextPath()).thenReturn("/testTamperedCookie");
+        SignedCookieSessionManager sessionManager = createSessionManager(false, NEW_KEY);
+
+        char[] cookie = createSessionCookie(sessionManager, request, new User("admin", null)).toCharArray();
+        cookie[10] = (cookie[10] == 'A') ? 'B' : 'A';
+        when(request.getCookieValue(SESSION_COOKIE_NAME)).thenReturn(new String(cookie));
+        Assert.assertEquals(sessionManager.getSession(request, mock(HttpResponse.class)).isPresent(), false);
+    }
+
+    @Test
+    public void testKeyRotation() throws Exception {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.getContextPath()).thenReturn("/testKeyRotation");
+        String cookie = createSessionCookie(createSessionManager(true, OLD_KEY), request, new User("admin", null));
+        when(request.getCookieValue(SESSION_COOKIE_NAME)).thenReturn(cookie);
+
+        Assert.assertEquals(createSessionManager(true, NEW_KEY, OLD_KEY).getSession(request, mock(HttpResponse.class))
+                                    .isPresent(), true);
+        Assert.assertEquals(createSessionManager(true, NEW_KEY).getSession(request, mock(HttpResponse.class))
+                                    .isPresent(), false);
+    }
+
+    @Test(expectedExceptions = SessionManagementException.class)
+    public void testShortKey() throws Exception {
+        createSessionManager(false, Base64.getEncoder().encodeToString(new byte[16]));
+    }
+}
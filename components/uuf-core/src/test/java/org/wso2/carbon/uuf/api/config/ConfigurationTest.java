@@ -100,6 +100,39 @@ public class ConfigurationTest {
         configuration.setSessionTimeout(0);
     }
 
+    @Test
+    public void testRequestTimeoutValidations() {
+        Configuration configuration = createConfiguration();
+
+        Assert.assertEquals(configuration.getRequestTimeout(), 0L);
+        Assert.assertThrows(IllegalArgumentException.class, () -> configuration.setRequestTimeout(-1));
+        configuration.setRequestTimeout(3000);
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> configuration.setPageRequestTimeouts(ImmutableMap.of("", 1000L)));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> configuration.setPageRequestTimeouts(ImmutableMap.of("/reports", -1L)));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> configuration.setPageRequestTimeouts(Collections.singletonMap("/reports", null)));
+        configuration.setPageRequestTimeouts(null);
+        configuration.setPageRequestTimeouts(ImmutableMap.of("/reports/{id}", 10000L, "/reports/summary", 0L));
+
+        Assert.assertEquals(configuration.getRequestTimeout("/reports/summary"), 0L);
+        Assert.assertEquals(configuration.getRequestTimeout("/reports/42"), 10000L);
+        Assert.assertEquals(configuration.getRequestTimeout("/home"), 3000L);
+    }
+
+    @Test
+    public void testAssetsCdnBaseUrlValidation() {
+        Configuration configuration = createConfiguration();
+        Assert.assertThrows(IllegalArgumentException.class, () -> configuration.setAssetsCdnBaseUrl(""));
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> configuration.setAssetsCdnBaseUrl("https://cdn.example.com/"));
+
+        configuration.setAssetsCdnBaseUrl(null);
+        configuration.setAssetsCdnBaseUrl("https://cdn.example.com");
+    }
+
     @Test
     public void testErrorPageUrisValidation() {
         Configuration configuration = createConfiguration();
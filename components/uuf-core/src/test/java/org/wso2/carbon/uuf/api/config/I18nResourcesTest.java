@@ -23,6 +23,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.util.Locale;
+import java.util.Optional;
 import java.util.Properties;
 
 /**
@@ -76,4 +77,74 @@ public class I18nResourcesTest {
         I18nResources i18nResources = createI18nResources();
         Assert.assertEquals(i18nResources.getLocale(localeString), expectedLocale);
     }
+
+    @Test
+    public void testCachedLocale() {
+        I18nResources i18nResources = createI18nResources();
+        String languageRanges = "fr-CA,fr;q=0.8";
+        Assert.assertEquals(i18nResources.getLocale(languageRanges), Locale.FRENCH);
+        Assert.assertEquals(i18nResources.getLocale(languageRanges), Locale.FRENCH);
+        Assert.assertNull(i18nResources.getLocale("ja"));
+        Assert.assertNull(i18nResources.getLocale("ja"));
+    }
+
+    @Test
+    public void testGetMessage() {
+        I18nResources i18nResources = createI18nResources();
+        Properties americanMessages = new Properties();
+        americanMessages.put(MESSAGE_KEY_HELLO, "Howdy");
+        i18nResources.addI18nResource(Locale.US, americanMessages);
+
+        Assert.assertEquals(i18nResources.getMessage(Locale.FRENCH, MESSAGE_KEY_HELLO, null, "x"), "Bonjour");
+        Assert.assertEquals(i18nResources.getMessage(Locale.FRENCH, MESSAGE_KEY_HELLO_NAME, new Object[]{"Alice"}, "x"),
+                            "Bonjour Alice");
+        Assert.assertEquals(i18nResources.getMessage(Locale.US, MESSAGE_KEY_HELLO, null, "x"), "Howdy");
+        Assert.assertEquals(i18nResources.getMessage(Locale.US, MESSAGE_KEY_HELLO_NAME, new Object[]{"Bob"}, "x"),
+                            "Hello Bob", "Message missing in 'en-US' should be taken from 'en'.");
+        Assert.assertEquals(i18nResources.getMessage(Locale.UK, MESSAGE_KEY_HELLO, null, "x"), "Hello");
+        Assert.assertEquals(i18nResources.getMessage(Locale.JAPANESE, MESSAGE_KEY_HELLO, null, "x"), "x");
+        Assert.assertEquals(i18nResources.getMessage(Locale.FRENCH, "test.unknown", null, "x"), "x");
+        Assert.assertEquals(i18nResources.getMessage(null, MESSAGE_KEY_HELLO, null, "x"), "x");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAddAfterFreeze() {
+        I18nResources i18nResources = createI18nResources();
+        i18nResources.freeze();
+        i18nResources.addI18nResource(Locale.GERMAN, new Properties());
+    }
+
+    @Test
+    public void testGetBundle() {
+        I18nResources i18nResources = new I18nResources();
+        Properties fooMessages = new Properties();
+        fooMessages.put("foo.title", "Foo <Title>");
+        i18nResources.addI18nResource("foo", Locale.ENGLISH, fooMessages);
+        Properties barMessages = new Properties();
+        barMessages.put("bar.title", "Bar");
+        i18nResources.addI18nResource("bar", Locale.ENGLISH, barMessages);
+        Properties americanBarMessages = new Properties();
+        americanBarMessages.put("bar.title", "Bar!");
+        i18nResources.addI18nResource("bar", Locale.US, americanBarMessages);
+        i18nResources.freeze();
+
+        Optional<I18nBundle> fooBundle = i18nResources.getBundle("foo", Locale.US);
+        Assert.assertTrue(fooBundle.isPresent());
+        Assert.assertEquals(fooBundle.get().getJson(), "{\"foo.title\":\"Foo <Title>\"}");
+        Assert.assertTrue(fooBundle.get().getScript().contains(fooBundle.get().getJson()));
+        Assert.assertEquals(fooBundle.get().getScriptUri(), "/i18n/foo/en-US.js?v=" + fooBundle.get().getVersion());
+        Assert.assertEquals(i18nResources.getBundle("bar", Locale.US).get().getJson(), "{\"bar.title\":\"Bar!\"}");
+        Assert.assertNotEquals(i18nResources.getBundle("bar", Locale.US).get().getVersion(),
+                               i18nResources.getBundle("bar", Locale.ENGLISH).get().getVersion());
+        Assert.assertFalse(i18nResources.getBundle("baz", Locale.ENGLISH).isPresent());
+
+        Optional<I18nBundle> britishBarBundle = i18nResources.getBundle("bar", Locale.UK);
+        Assert.assertTrue(britishBarBundle.isPresent());
+        Assert.assertEquals(britishBarBundle.get().getLocale(), Locale.ENGLISH,
+                            "Bundle should be in the best matching available locale.");
+        Assert.assertSame(britishBarBundle.get(), i18nResources.getBundle("bar", Locale.ENGLISH).get());
+        Assert.assertFalse(i18nResources.getBundle("bar", Locale.forLanguageTag("zz-ZZ")).isPresent(),
+                           "No bundle should be created for a locale that is not available.");
+        Assert.assertFalse(i18nResources.getBundle("bar", Locale.JAPANESE).isPresent());
+    }
 }
@@ -28,12 +28,20 @@ import org.wso2.carbon.uuf.internal.exception.HttpErrorException;
 import org.wso2.carbon.uuf.internal.exception.PageRedirectException;
 import org.wso2.carbon.uuf.spi.HttpRequest;
 import org.wso2.carbon.uuf.spi.HttpResponse;
+import org.wso2.carbon.uuf.spi.auth.Authorizer;
 import org.wso2.carbon.uuf.spi.auth.SessionManager;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Optional;
 
+import static java.util.Arrays.asList;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -177,6 +185,47 @@ public class APITest {
         Assert.assertFalse(api.hasPermission(null));
     }
 
+    @Test
+    public void testPermissionDecisionsAreRemembered() throws Exception {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.getContextPath()).thenReturn("/test");
+        SessionManager sessionManager = createSessionManager();
+        mockGetSession(sessionManager);
+        Authorizer authorizer = mock(Authorizer.class);
+        Permission permission = new Permission("resourceUri", "action");
+        when(authorizer.hasPermission(any(), any())).thenReturn(true);
+
+        // Creating API.
+        RequestLookup requestLookup = new RequestLookup("/test", request, null);
+        API api = new API(sessionManager, authorizer, requestLookup);
+
+        Assert.assertTrue(api.hasPermission(permission));
+        Assert.assertTrue(api.hasPermission(new Permission("resourceUri", "action")));
+        verify(authorizer, times(1)).hasPermission(any(), any());
+    }
+
+    @Test
+    public void testPrefetchedPermissions() throws Exception {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.getContextPath()).thenReturn("/test");
+        SessionManager sessionManager = createSessionManager();
+        mockGetSession(sessionManager);
+        Permission grantedPermission = new Permission("resourceUri", "view");
+        Permission deniedPermission = new Permission("resourceUri", "edit");
+        Authorizer authorizer = mock(Authorizer.class);
+        when(authorizer.hasPermissions(any(), anyCollection())).thenReturn(Collections.singleton(grantedPermission));
+
+        // Creating API.
+        RequestLookup requestLookup = new RequestLookup("/test", request, null);
+        API api = new API(sessionManager, authorizer, new HashSet<>(asList(grantedPermission, deniedPermission)),
+                          requestLookup);
+
+        Assert.assertFalse(api.hasPermission(deniedPermission));
+        Assert.assertTrue(api.hasPermission(grantedPermission));
+        verify(authorizer, times(1)).hasPermissions(any(), anyCollection());
+        verify(authorizer, never()).hasPermission(any(), any());
+    }
+
     private SessionManager createSessionManager() {
         return mock(SessionManager.class);
     }
@@ -121,7 +121,7 @@ public class AppTest {
         Configuration configuration = createConfiguration();
         SessionManager sessionManager = createSessionManager();
         App app = new App(null, "/test", ImmutableSet.of(cmp, rootComponent), emptySet(), configuration, null,
-                          null, sessionManager, null);
+                          null, sessionManager, null, null, null, emptySet());
         String html = app.renderPage(createRequest(app.getContextPath(), "/cmp/a/b"), null);
         Assert.assertEquals(html, page1Content);
 
@@ -145,7 +145,7 @@ public class AppTest {
         Configuration configuration = createConfiguration();
         SessionManager sessionManager = createSessionManager();
         App app = new App(null, "/test", ImmutableSet.of(cmp, rootComponent), emptySet(), configuration, null,
-                          null, sessionManager, null);
+                          null, sessionManager, null, null, null, emptySet());
 
         String html = app.renderPage(createRequest(app.getContextPath(), "/a/b"), null);
         Assert.assertEquals(html, page1Content);
@@ -167,7 +167,7 @@ public class AppTest {
         Configuration configuration = createConfiguration();
         SessionManager sessionManager = createSessionManager();
         App app = new App(null, "/test", ImmutableSet.of(cmp, rootComponent), emptySet(), configuration, null,
-                          null, sessionManager, null);
+                          null, sessionManager, null, null, null, emptySet());
 
         HttpRequest request = createRequest(app.getContextPath(), "/fragments/cmp.f1");
         when(request.getFormParams()).thenReturn(emptyMap());
@@ -190,7 +190,7 @@ public class AppTest {
                                                 emptySet(), emptySet(), singleton(cmp), null);
         Configuration configuration = createConfiguration();
         App app = new App(null, "/test", ImmutableSet.of(cmp, rootComponent), emptySet(), configuration, null,
-                          null, null, null);
+                          null, null, null, null, null, emptySet());
 
         HttpRequest request = createRequest(app.getContextPath(), "/fragments/cmp.f1");
         when(request.getFormParams()).thenReturn(emptyMap());
@@ -213,7 +213,7 @@ public class AppTest {
         Configuration configuration = createConfiguration();
         SessionManager sessionManager = createSessionManager();
         App app = new App(null, "/test", ImmutableSet.of(cmp, rootComponent), emptySet(), configuration, null,
-                          null, sessionManager, null);
+                          null, sessionManager, null, null, null, emptySet());
         Map<String, Object> formParams = ImmutableMap.of("key1", "value1", "key2", ImmutableList.of("v2-1", "v2-2"));
 
         HttpRequest request = createRequest(app.getContextPath(), "/fragments/cmp.f1");
@@ -235,7 +235,7 @@ public class AppTest {
         Configuration configuration = createConfiguration();
         SessionManager sessionManager = createSessionManager();
         App app = new App(null, "/test", ImmutableSet.of(cmp, rootComponent), emptySet(), configuration, null,
-                          null, sessionManager, null);
+                          null, sessionManager, null, null, null, emptySet());
         PageRedirectException pre;
 
         pre = Assert.expectThrows(PageRedirectException.class,
@@ -275,7 +275,7 @@ public class AppTest {
         // Creating app.
         SessionManager sessionManager = createSessionManager();
         App app = new App(null, "/test", ImmutableSet.of(cmp, rootComponent), emptySet(), configuration, null, null,
-                          sessionManager, null);
+                          sessionManager, null, null, null, emptySet());
         String html;
         Map<String, Object> params;
 
@@ -311,7 +311,7 @@ public class AppTest {
                 .thenReturn(Optional.empty());
         // Creating app.
         App app = new App(null, "/test", singleton(rootComponent), emptySet(), configuration, null, null,
-                          sessionManager, null);
+                          sessionManager, null, null, null, emptySet());
         PageRedirectException pre = Assert.expectThrows(PageRedirectException.class, () ->
                 app.renderPage(createRequest(app.getContextPath(), "/a"), null));
         Assert.assertEquals(pre.getHttpStatusCode(), HttpResponse.STATUS_FOUND);
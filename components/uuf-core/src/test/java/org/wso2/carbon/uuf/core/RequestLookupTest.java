@@ -108,4 +108,33 @@ public class RequestLookupTest {
         requestLookup.popPublicUriStack();
         Assert.assertEquals(requestLookup.getPublicUri(), "/test" + publicUri1);
     }
+
+    @Test
+    public void testDeadline() {
+        RequestLookup requestLookup = new RequestLookup("/test", null, null);
+        Assert.assertFalse(requestLookup.hasDeadline());
+        Assert.assertFalse(requestLookup.isDeadlineExceeded());
+        Assert.assertEquals(requestLookup.getRemainingTime(), Long.MAX_VALUE);
+
+        requestLookup = new RequestLookup("/test", null, null, 60000);
+        Assert.assertTrue(requestLookup.hasDeadline());
+        Assert.assertFalse(requestLookup.isDeadlineExceeded());
+        Assert.assertTrue(requestLookup.getRemainingTime() > 0);
+
+        requestLookup = new RequestLookup("/test", null, null, 1);
+        while (!requestLookup.isDeadlineExceeded()) {
+            Thread.yield();
+        }
+        Assert.assertEquals(requestLookup.getRemainingTime(), 0L);
+    }
+
+    @Test
+    public void testTimedOutFragments() {
+        RequestLookup requestLookup = new RequestLookup("/test", null, null);
+        Fragment fragment = new Fragment("test.component.fragment", null, null);
+        Assert.assertFalse(requestLookup.isTimedOut(fragment));
+
+        requestLookup.addTimedOutFragment(fragment);
+        Assert.assertTrue(requestLookup.isTimedOut(fragment));
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void testShedding() {
+        AdmissionController admissionController = new AdmissionController("test", 2, 1, 10);
+        Assert.assertTrue(admissionController.tryAcquire(false));
+        Assert.assertTrue(admissionController.tryAcquire(false));
+        Assert.assertFalse(admissionController.tryAcquire(false));
+        Assert.assertEquals(admissionController.getInFlightCount(), 2);
+        Assert.assertEquals(admissionController.getShedCount(), 1);
+    }
+
+    @Test
+    public void testPriority() {
+        AdmissionController admissionController = new AdmissionController("test", 2, 1, 10);
+        Assert.assertTrue(admissionController.tryAcquire(false));
+        Assert.assertTrue(admissionController.tryAcquire(false));
+        Assert.assertTrue(admissionController.tryAcquire(true), "Priority requests should get headroom.");
+        Assert.assertFalse(admissionController.tryAcquire(true));
+        Assert.assertEquals(admissionController.getShedCount(), 1);
+    }
+
+    @Test
+    public void testLimitAdjustment() {
+        AdmissionController admissionController = new AdmissionController("test", 4, 1, 8);
+        long fast = TimeUnit.MILLISECONDS.toNanos(10);
+        for (int i = 0; i < 100; i++) {
+            int admitted = 0;
+            while (admissionController.tryAcquire(false)) {
+                admitted++;
+            }
+            for (int j = 0; j < admitted; j++) {
+                admissionController.release(fast, false);
+            }
+        }
+        Assert.assertTrue(admissionController.getLimit() > 4, "Limit should grow while latencies are low.");
+        Assert.assertEquals(admissionController.getInFlightCount(), 0);
+
+        int limit = admissionController.getLimit();
+        long slow = TimeUnit.MILLISECONDS.toNanos(100);
+        for (int i = 0; i < 100; i++) {
+            admissionController.tryAcquire(false);
+            admissionController.release(slow, false);
+        }
+        Assert.assertTrue(admissionController.getLimit() < limit, "Limit should shrink when latencies grow.");
+
+        limit = admissionController.getLimit();
+        admissionController.tryAcquire(false);
+        admissionController.release(0, true);
+        Assert.assertTrue(admissionController.getLimit() <= limit, "Limit should not grow on dropped requests.");
+    }
+
+    @Test
+    public void testMixedLatencies() {
+        AdmissionController admissionController = new AdmissionController("test", 4, 1, 8);
+        long fast = TimeUnit.MILLISECONDS.toNanos(1);
+        long slow = TimeUnit.MILLISECONDS.toNanos(50);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(admissionController.tryAcquire(false));
+            Assert.assertTrue(admissionController.tryAcquire(false));
+            admissionController.release((i % 3 == 0) ? slow : fast, false);
+            admissionController.release(fast, false);
+        }
+        Assert.assertTrue(admissionController.getLimit() >= 4,
+                          "Slow pages of an app should not be mistaken for congestion.");
+    }
+
+    @Test
+    public void testDecreaseOncePerWindow() {
+        AdmissionController admissionController = new AdmissionController("test", 8, 1, 8);
+        long fast = TimeUnit.MILLISECONDS.toNanos(10);
+        for (int i = 0; i < 32; i++) {
+            admissionController.tryAcquire(false);
+            admissionController.release(fast, false);
+        }
+        Assert.assertEquals(admissionController.getLimit(), 8);
+
+        for (int i = 0; i < 5; i++) {
+            admissionController.tryAcquire(false);
+            admissionController.release(0, true);
+        }
+        Assert.assertEquals(admissionController.getLimit(), 7, "Limit should be decreased once per window.");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidLimits() {
+        new AdmissionController("test", 10, 1, 5);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.internal.exception.HttpErrorException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class RequestExecutorTest {
+
+    private static RequestExecutor createExecutor(String name, int queueDepth, long queueTimeoutMillis,
+                                                  Semaphore waitingSlots) {
+        return new RequestExecutor(name, 1, queueDepth, queueTimeoutMillis, waitingSlots);
+    }
+
+    private static void waitUntilQueued(RequestExecutor requestExecutor, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((requestExecutor.getQueuedCount() < count) && (System.currentTimeMillis() < deadline)) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(requestExecutor.getQueuedCount(), count);
+    }
+
+    private static Future<?> occupy(RequestExecutor requestExecutor, ExecutorService callers, CountDownLatch release)
+            throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> future = callers.submit(() -> requestExecutor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        return future;
+    }
+
+    private static void assertRejected(RequestExecutor requestExecutor) {
+        try {
+            requestExecutor.execute(() -> {
+            });
+            Assert.fail("Request should be rejected when the executor is saturated.");
+        } catch (HttpErrorException e) {
+            Assert.assertEquals(e.getHttpStatusCode(), 503);
+        }
+    }
+
+    @Test
+    public void testExecute() {
+        RequestExecutor requestExecutor = createExecutor("test", 0, 0, new Semaphore(1));
+        Thread[] servingThread = {null};
+        requestExecutor.execute(() -> servingThread[0] = Thread.currentThread());
+        Assert.assertSame(servingThread[0], Thread.currentThread(), "Request should be served in the calling thread.");
+        Assert.assertEquals(requestExecutor.getActiveCount(), 0);
+        Assert.assertEquals(requestExecutor.getRejectedCount(), 0);
+    }
+
+    @Test
+    public void testExceptionPropagation() {
+        RequestExecutor requestExecutor = createExecutor("test", 0, 0, new Semaphore(1));
+        IllegalStateException exception = new IllegalStateException("test");
+        try {
+            requestExecutor.execute(() -> {
+                throw exception;
+            });
+            Assert.fail("Exception thrown while serving should be re-thrown.");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(e, exception);
+        }
+        Assert.assertEquals(requestExecutor.getActiveCount(), 0, "Turn should be released after a failure.");
+    }
+
+    @Test
+    public void testImmediateRejection() throws Exception {
+        RequestExecutor requestExecutor = createExecutor("test", 0, 0, new Semaphore(1));
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        occupy(requestExecutor, callers, release);
+
+        assertRejected(requestExecutor);
+        Assert.assertEquals(requestExecutor.getRejectedCount(), 1);
+
+        release.countDown();
+        callers.shutdown();
+        Assert.assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testQueueing() throws Exception {
+        RequestExecutor requestExecutor = createExecutor("test", 1, 5000, new Semaphore(1));
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+        occupy(requestExecutor, callers, release);
+        boolean[] isQueuedServed = {false};
+        callers.submit(() -> requestExecutor.execute(() -> isQueuedServed[0] = true));
+        waitUntilQueued(requestExecutor, 1);
+
+        assertRejected(requestExecutor);
+        Assert.assertEquals(requestExecutor.getRejectedCount(), 1);
+
+        release.countDown();
+        callers.shutdown();
+        Assert.assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertTrue(isQueuedServed[0], "Queued request should be served once it is its turn.");
+        Assert.assertEquals(requestExecutor.getQueuedCount(), 0);
+    }
+
+    @Test
+    public void testSlowAppDoesNotBlockOtherApps() throws Exception {
+        Semaphore waitingSlots = new Semaphore(1);
+        RequestExecutor slowApp = createExecutor("slow", 10, 300, waitingSlots);
+        RequestExecutor fastApp = createExecutor("fast", 10, 300, waitingSlots);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+        occupy(slowApp, callers, release);
+        Future<?> waitingRequest = callers.submit(() -> slowApp.execute(() -> {
+        }));
+        waitUntilQueued(slowApp, 1);
+
+        // The only shared waiting slot is taken, hence the slow app cannot park another thread.
+        long startTime = System.nanoTime();
+        assertRejected(slowApp);
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) < 250,
+                          "Request should be rejected without waiting.");
+        // Other apps are served right away.
+        boolean[] isServed = {false};
+        fastApp.execute(() -> isServed[0] = true);
+        Assert.assertTrue(isServed[0]);
+
+        // The waiting request gives up after the queue timeout.
+        try {
+            waitingRequest.get(5, TimeUnit.SECONDS);
+            Assert.fail("Waiting request should time out.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof HttpErrorException);
+        }
+        Assert.assertEquals(slowApp.getRejectedCount(), 2);
+        Assert.assertEquals(waitingSlots.availablePermits(), 1, "Shared waiting slot should be released.");
+
+        release.countDown();
+        callers.shutdown();
+        Assert.assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidThreads() {
+        new RequestExecutor("test", 0, 10, 0, new Semaphore(1));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.auth;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.auth.Permission;
+import org.wso2.carbon.uuf.api.auth.User;
+import org.wso2.carbon.uuf.spi.auth.Authorizer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for the caching authorizer.
+ *
+ * @since 1.0.0
+ */
+public class CachingAuthorizerTest {
+
+    @Test
+    public void testDecisionsAreCached() throws Exception {
+        Authorizer authorizer = mock(Authorizer.class);
+        when(authorizer.hasPermission(any(), any())).thenReturn(true);
+        CachingAuthorizer cachingAuthorizer = new CachingAuthorizer(authorizer, 60000L, 100L);
+        Permission permission = new Permission("resourceUri", "action");
+
+        Assert.assertTrue(cachingAuthorizer.hasPermission(new User("admin", null), permission));
+        Assert.assertTrue(cachingAuthorizer.hasPermission(new User("admin", null), permission));
+        verify(authorizer, times(1)).hasPermission(any(), any());
+        Assert.assertTrue(cachingAuthorizer.hasPermission(new User("guest", null), permission));
+        verify(authorizer, times(2)).hasPermission(any(), any());
+    }
+
+    @Test
+    public void testBatchDecisionsAreCached() throws Exception {
+        Permission viewPermission = new Permission("resourceUri", "view");
+        Permission editPermission = new Permission("resourceUri", "edit");
+        List<Permission> permissions = Arrays.asList(viewPermission, editPermission);
+        Authorizer authorizer = mock(Authorizer.class);
+        when(authorizer.hasPermissions(any(), anyCollection())).thenReturn(Collections.singleton(viewPermission));
+        CachingAuthorizer cachingAuthorizer = new CachingAuthorizer(authorizer, 60000L, 100L);
+        User user = new User("admin", null);
+
+        Assert.assertEquals(cachingAuthorizer.hasPermissions(user, permissions), Collections.singleton(viewPermission));
+        Assert.assertEquals(cachingAuthorizer.hasPermissions(user, permissions), Collections.singleton(viewPermission));
+        Assert.assertFalse(cachingAuthorizer.hasPermission(user, editPermission));
+        verify(authorizer, times(1)).hasPermissions(any(), anyCollection());
+    }
+
+    @Test
+    public void testIsBatchAuthorizer() {
+        Authorizer authorizer = (user, permission) -> true;
+        Assert.assertFalse(CachingAuthorizer.isBatchAuthorizer(authorizer));
+        Assert.assertFalse(CachingAuthorizer.isBatchAuthorizer(new CachingAuthorizer(authorizer, 1L, 1L)));
+        Assert.assertTrue(CachingAuthorizer.isBatchAuthorizer(mock(Authorizer.class)));
+    }
+}
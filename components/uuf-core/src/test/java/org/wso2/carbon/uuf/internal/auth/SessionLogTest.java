@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.auth;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test cases for the session log.
+ *
+ * @since 1.0.0
+ */
+public class SessionLogTest {
+
+    private Path logFile;
+
+    private static List<String> read(Path logFile) throws IOException {
+        List<String> records = new ArrayList<>();
+        SessionLog sessionLog = SessionLog.open(logFile, payload -> {
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            records.add(new String(bytes, StandardCharsets.UTF_8));
+        });
+        sessionLog.close();
+        return records;
+    }
+
+    private static byte[] bytes(String record) {
+        return record.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        logFile = Files.createTempDirectory("uuf-session-log").resolve("app.log");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(logFile.getParent());
+    }
+
+    @Test
+    public void testAppendAndReopen() throws IOException {
+        try (SessionLog sessionLog = SessionLog.open(logFile, payload -> Assert.fail("Log should be empty."))) {
+            sessionLog.append(bytes("a"));
+            sessionLog.append(bytes("bb"));
+            sessionLog.sync();
+            sessionLog.append(bytes("ccc"));
+        }
+        Assert.assertEquals(read(logFile), Arrays.asList("a", "bb", "ccc"));
+    }
+
+    @Test
+    public void testIncompleteRecordIsDiscarded() throws IOException {
+        int length;
+        try (SessionLog sessionLog = SessionLog.open(logFile, payload -> {
+        })) {
+            sessionLog.append(bytes("a"));
+            sessionLog.append(bytes("bb"));
+            length = sessionLog.getLength();
+        }
+        // Simulate a crash in the middle of appending a record.
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(6).putInt(0, 100).put(4, (byte) 'x'), length);
+        }
+
+        try (SessionLog sessionLog = SessionLog.open(logFile, payload -> {
+        })) {
+            Assert.assertEquals(sessionLog.getLength(), length);
+            sessionLog.append(bytes("ccc"));
+        }
+        Assert.assertEquals(read(logFile), Arrays.asList("a", "bb", "ccc"));
+    }
+
+    @Test
+    public void testGrowAndCompact() throws IOException {
+        byte[] record = new byte[1000];
+        try (SessionLog sessionLog = SessionLog.open(logFile, payload -> {
+        })) {
+            for (int i = 0; i < 5000; i++) {
+                sessionLog.append(record);
+            }
+            Assert.assertTrue(sessionLog.needsCompaction());
+
+            sessionLog.compact(Arrays.asList(bytes("a"), bytes("bb")));
+            Assert.assertFalse(sessionLog.needsCompaction());
+            sessionLog.append(bytes("ccc"));
+        }
+        Assert.assertEquals(read(logFile), Arrays.asList("a", "bb", "ccc"));
+        Assert.assertFalse(Files.exists(logFile.resolveSibling("app.log.compact")));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testLogIsOpenedOnlyOnce() throws IOException {
+        try (SessionLog ignored = SessionLog.open(logFile, payload -> {
+        })) {
+            SessionLog.open(logFile, payload -> {
+            });
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.auth;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.auth.Session;
+import org.wso2.carbon.uuf.api.auth.ShardedSessionManager;
+import org.wso2.carbon.uuf.api.auth.User;
+import org.wso2.carbon.uuf.api.config.Configuration;
+import org.wso2.carbon.uuf.spi.HttpRequest;
+import org.wso2.carbon.uuf.spi.HttpResponse;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for the sharded session manager.
+ *
+ * @since 1.0.0
+ */
+public class ShardedSessionManagerTest {
+
+    private static final String SESSION_COOKIE_NAME = "UUFSESSIONID";
+
+    private static ShardedSessionManager createSessionManager(long sessionTimeout) {
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getSessionTimeout()).thenReturn(sessionTimeout);
+        return new ShardedSessionManager(configuration);
+    }
+
+    @Test
+    public void testSessionAddAndRemove() throws Exception {
+        User user = mock(User.class);
+        HttpRequest request = mock(HttpRequest.class);
+        HttpResponse response = mock(HttpResponse.class);
+        when(request.getContextPath()).thenReturn("/testSessionAddAndRemove");
+        ShardedSessionManager sessionManager = createSessionManager(600L);
+
+        Session session = sessionManager.createSession(user, request, response);
+        when(request.getCookieValue(SESSION_COOKIE_NAME)).thenReturn(session.getSessionId());
+        Assert.assertEquals(sessionManager.getSession(request, response).orElse(null), session);
+        Assert.assertEquals(sessionManager.getCount(), 1);
+
+        boolean isDestroyed = sessionManager.destroySession(request, response);
+        Assert.assertEquals(isDestroyed, true);
+        Assert.assertEquals(sessionManager.getSession(request, response).isPresent(), false);
+        Assert.assertEquals(sessionManager.getCount(), 0);
+        Assert.assertEquals(sessionManager.destroySession(request, response), false);
+        sessionManager.close();
+    }
+
+    @Test
+    public void testCount() throws Exception {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.getContextPath()).thenReturn("/testCount");
+        ShardedSessionManager sessionManager = createSessionManager(600L);
+        for (int i = 0; i < 1000; i++) {
+            sessionManager.createSession(mock(User.class), request, mock(HttpResponse.class));
+        }
+        Assert.assertEquals(sessionManager.getCount(), 1000);
+        sessionManager.close();
+    }
+
+    @Test
+    public void testBackgroundExpiry() throws Exception {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.getContextPath()).thenReturn("/testBackgroundExpiry");
+        ShardedSessionManager sessionManager = createSessionManager(1L);
+        for (int i = 0; i < 100; i++) {
+            sessionManager.createSession(mock(User.class), request, mock(HttpResponse.class));
+        }
+        Assert.assertEquals(sessionManager.getCount(), 100);
+
+        // Idle sessions are expired without any further request.
+        long deadline = System.currentTimeMillis() + 10000;
+        while ((sessionManager.getCount() > 0) && (System.currentTimeMillis() < deadline)) {
+            Thread.sleep(100);
+        }
+        Assert.assertEquals(sessionManager.getCount(), 0);
+        sessionManager.close();
+    }
+}
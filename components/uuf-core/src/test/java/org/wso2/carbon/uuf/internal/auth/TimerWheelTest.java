@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.auth;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Test cases for the timer wheel.
+ *
+ * @since 1.0.0
+ */
+public class TimerWheelTest {
+
+    @Test
+    public void testExpiry() {
+        TimerWheel<String> timerWheel = new TimerWheel<>(0L);
+        TimerWheel.Timer<String> second = new TimerWheel.Timer<>("second");
+        TimerWheel.Timer<String> hour = new TimerWheel.Timer<>("hour");
+        TimerWheel.Timer<String> week = new TimerWheel.Timer<>("week");
+        timerWheel.schedule(second, 1000L);
+        timerWheel.schedule(hour, 3600_000L);
+        timerWheel.schedule(week, 7 * 24 * 3600_000L);
+        Assert.assertEquals(timerWheel.size(), 3);
+
+        List<String> expired = new ArrayList<>();
+        timerWheel.advance(500L, timer -> expired.add(timer.getValue()));
+        Assert.assertTrue(expired.isEmpty());
+        timerWheel.advance(3000L, timer -> expired.add(timer.getValue()));
+        Assert.assertEquals(expired, singletonList("second"));
+        timerWheel.advance(3599_000L, timer -> expired.add(timer.getValue()));
+        Assert.assertEquals(expired, singletonList("second"));
+        timerWheel.advance(3602_000L, timer -> expired.add(timer.getValue()));
+        Assert.assertEquals(expired, asList("second", "hour"));
+        timerWheel.advance(8 * 24 * 3600_000L, timer -> expired.add(timer.getValue()));
+        Assert.assertEquals(expired, asList("second", "hour", "week"));
+        Assert.assertEquals(timerWheel.size(), 0);
+    }
+
+    @Test
+    public void testCancelAndReschedule() {
+        TimerWheel<String> timerWheel = new TimerWheel<>(0L);
+        TimerWheel.Timer<String> cancelled = new TimerWheel.Timer<>("cancelled");
+        TimerWheel.Timer<String> rescheduled = new TimerWheel.Timer<>("rescheduled");
+        timerWheel.schedule(cancelled, 1000L);
+        timerWheel.schedule(rescheduled, 1000L);
+        Assert.assertTrue(timerWheel.cancel(cancelled));
+        Assert.assertFalse(timerWheel.cancel(cancelled));
+        timerWheel.schedule(rescheduled, 120_000L);
+        Assert.assertEquals(timerWheel.size(), 1);
+
+        List<String> expired = new ArrayList<>();
+        timerWheel.advance(60_000L, timer -> expired.add(timer.getValue()));
+        Assert.assertTrue(expired.isEmpty());
+        // An expired timer can be scheduled again by the consumer.
+        timerWheel.advance(125_000L, timer -> {
+            expired.add(timer.getValue());
+            timerWheel.schedule(timer, 200_000L);
+        });
+        Assert.assertEquals(expired, singletonList("rescheduled"));
+        Assert.assertEquals(timerWheel.size(), 1);
+        timerWheel.advance(205_000L, timer -> expired.add(timer.getValue()));
+        Assert.assertEquals(expired, asList("rescheduled", "rescheduled"));
+    }
+}
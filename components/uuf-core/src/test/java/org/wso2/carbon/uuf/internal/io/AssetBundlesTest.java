@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.Placeholder;
+import org.wso2.carbon.uuf.core.Component;
+import org.wso2.carbon.uuf.core.Theme;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+
+public class AssetBundlesTest {
+
+    private Path tempDirectory;
+    private Theme theme;
+    private StaticResourceIndex staticResourceIndex;
+    private AssetBundles assetBundles;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        tempDirectory = Files.createTempDirectory("uuf-asset-bundles");
+        Path componentPath = tempDirectory.resolve("component");
+        createFile(componentPath.resolve("public/css/main.css"), "body {}");
+        createFile(componentPath.resolve("public/images/logo.png"), "png");
+        Path themePath = tempDirectory.resolve("theme");
+        createFile(themePath.resolve("public/css/first.css"), "h1 { background: url('../images/bg.png'); }");
+        createFile(themePath.resolve("public/css/second.css"), "h2 { background: url(data:image/png;base64,AA==); }");
+        createFile(themePath.resolve("public/js/script.js"), "var a = 1");
+
+        Component component = new Component("test.component", "1.0.0", "/test", new TreeSet<>(), emptySet(),
+                                            emptySet(), emptySet(), componentPath.toString());
+        theme = new Theme("test.theme", ImmutableList.of("css/second.css", "css/first.css"), emptyList(),
+                          ImmutableList.of("js/script.js"), themePath.toString());
+        staticResourceIndex = StaticResourceIndex.create(ImmutableSet.of(component), Collections.singleton(theme));
+        assetBundles = AssetBundles.create(Collections.singleton(theme), staticResourceIndex, "/app",
+                                           tempDirectory.resolve("bundles"), "https://cdn.example.com");
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDirectory.toFile());
+    }
+
+    @Test
+    public void testFingerprintedUris() {
+        Optional<String> fingerprintedUri =
+                assetBundles.getFingerprintedUri("/public/components/test/base/css/main.css");
+        Assert.assertTrue(fingerprintedUri.isPresent());
+        Assert.assertEquals(fingerprintedUri.get(), "/public/components/test/base/css/main.62368a1a29259b30.css");
+        Assert.assertTrue(assetBundles.isImmutable(fingerprintedUri.get()));
+        Assert.assertFalse(assetBundles.isImmutable("/public/components/test/base/css/main.css"));
+        Assert.assertFalse(assetBundles.getFingerprintedUri("/public/components/test/base/images/logo.png")
+                                   .isPresent(), "Only CSS and JS files should be fingerprinted.");
+        Assert.assertEquals(assetBundles.getUrl("/app", fingerprintedUri.get()),
+                            "https://cdn.example.com/app" + fingerprintedUri.get());
+    }
+
+    @Test
+    public void testThemeBundles() throws IOException {
+        Optional<String> cssBundleUri = assetBundles.getBundleUri(theme, Placeholder.css);
+        Assert.assertTrue(cssBundleUri.isPresent());
+        Assert.assertTrue(cssBundleUri.get().startsWith(AssetBundles.URI_PREFIX_BUNDLES));
+        Assert.assertTrue(assetBundles.isImmutable(cssBundleUri.get()));
+        StaticResource cssBundle = assetBundles.getResources().get(cssBundleUri.get());
+        Assert.assertEquals(cssBundle.getContentType(), "text/css");
+        Assert.assertEquals(new String(Files.readAllBytes(cssBundle.getPath()), StandardCharsets.UTF_8),
+                            "h2 { background: url(data:image/png;base64,AA==); }\n" +
+                                    "h1 { background: url('/app/public/themes/test.theme/images/bg.png'); }\n");
+
+        Optional<String> jsBundleUri = assetBundles.getBundleUri(theme, Placeholder.js);
+        Assert.assertTrue(jsBundleUri.isPresent());
+        StaticResource jsBundle = assetBundles.getResources().get(jsBundleUri.get());
+        Assert.assertEquals(new String(Files.readAllBytes(jsBundle.getPath()), StandardCharsets.UTF_8),
+                            "var a = 1;\n");
+
+        Assert.assertFalse(assetBundles.getBundleUri(theme, Placeholder.headJs).isPresent());
+    }
+
+    @Test
+    public void testExistingBundleFileIsOverwritten() throws IOException {
+        StaticResource jsBundle = assetBundles.getResources().get(assetBundles.getBundleUri(theme, Placeholder.js)
+                                                                          .get());
+        Files.write(jsBundle.getPath(), "alert('planted');".getBytes(StandardCharsets.UTF_8));
+
+        AssetBundles.create(Collections.singleton(theme), staticResourceIndex, "/app",
+                            tempDirectory.resolve("bundles"), null);
+        Assert.assertEquals(new String(Files.readAllBytes(jsBundle.getPath()), StandardCharsets.UTF_8),
+                            "var a = 1;\n");
+    }
+
+    @Test
+    public void testRewriteRelativeUrls() {
+        String css = "a { background: url(img/a.png); } b { background: url(\"/abs.png\"); } " +
+                "c { background: url(http://example.com/c.png); } d { background: url( ../d.png ); }";
+        Assert.assertEquals(AssetBundles.rewriteRelativeUrls(css, "/public/themes/t/css/main.css", "/app"),
+                            "a { background: url(/app/public/themes/t/css/img/a.png); } " +
+                                    "b { background: url(\"/abs.png\"); } " +
+                                    "c { background: url(http://example.com/c.png); } " +
+                                    "d { background: url(/app/public/themes/t/d.png); }");
+    }
+
+    private static void createFile(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
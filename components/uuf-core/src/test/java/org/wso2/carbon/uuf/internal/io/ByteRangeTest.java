@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+public class ByteRangeTest {
+
+    @DataProvider
+    public Object[][] rangeHeaders() {
+        return new Object[][]{
+                {"bytes=0-499", Collections.singletonList(new ByteRange(0, 499))},
+                {"bytes=500-", Collections.singletonList(new ByteRange(500, 999))},
+                {"bytes=-200", Collections.singletonList(new ByteRange(800, 999))},
+                {"bytes=-2000", Collections.singletonList(new ByteRange(0, 999))},
+                {"bytes=900-1999", Collections.singletonList(new ByteRange(900, 999))},
+                {"bytes=0-0, -1", Arrays.asList(new ByteRange(0, 0), new ByteRange(999, 999))},
+                {"bytes=1000-1100", Collections.emptyList()},
+                {"bytes=1000-, 0-9", Collections.singletonList(new ByteRange(0, 9))}
+        };
+    }
+
+    @DataProvider
+    public Object[][] ignoredRangeHeaders() {
+        return new Object[][]{
+                {"items=0-10"},
+                {"bytes=10-5"},
+                {"bytes=abc-"},
+                {"bytes=10"},
+                {"bytes=0-1,2-3,4-5,6-7,8-9,10-11,12-13,14-15,16-17,18-19,20-21,22-23,24-25,26-27,28-29,30-31,32-33"}
+        };
+    }
+
+    @Test(dataProvider = "rangeHeaders")
+    public void testParse(String rangeHeader, List<ByteRange> expectedRanges) {
+        Optional<List<ByteRange>> ranges = ByteRange.parse(rangeHeader, 1000);
+        Assert.assertTrue(ranges.isPresent());
+        Assert.assertEquals(ranges.get(), expectedRanges);
+    }
+
+    @Test(dataProvider = "ignoredRangeHeaders")
+    public void testIgnoredRangeHeaders(String rangeHeader) {
+        Assert.assertFalse(ByteRange.parse(rangeHeader, 1000).isPresent());
+    }
+
+    @Test
+    public void testContentRange() {
+        Assert.assertEquals(new ByteRange(0, 499).toContentRange(1000), "bytes 0-499/1000");
+        Assert.assertEquals(new ByteRange(0, 499).getLength(), 500);
+    }
+}
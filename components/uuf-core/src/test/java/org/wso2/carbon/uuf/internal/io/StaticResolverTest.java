@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.config.Configuration;
+import org.wso2.carbon.uuf.core.App;
+import org.wso2.carbon.uuf.core.Component;
+import org.wso2.carbon.uuf.spi.HttpRequest;
+import org.wso2.carbon.uuf.spi.HttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.wso2.carbon.uuf.spi.HttpRequest.HEADER_IF_MODIFIED_SINCE;
+import static org.wso2.carbon.uuf.spi.HttpRequest.HEADER_IF_NONE_MATCH;
+import static org.wso2.carbon.uuf.spi.HttpRequest.HEADER_IF_RANGE;
+import static org.wso2.carbon.uuf.spi.HttpRequest.HEADER_RANGE;
+import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_CONTENT_RANGE;
+import static org.wso2.carbon.uuf.spi.HttpResponse.HEADER_ETAG;
+import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_NOT_FOUND;
+import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_NOT_MODIFIED;
+import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_OK;
+import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_PARTIAL_CONTENT;
+import static org.wso2.carbon.uuf.spi.HttpResponse.STATUS_RANGE_NOT_SATISFIABLE;
+
+public class StaticResolverTest {
+
+    private static final String RESOURCE_URI = "/public/components/test/base/css/main.css";
+    // SHA-256 of "body {}"
+    private static final String RESOURCE_ETAG = "\"62368a1a29259b30bac235c0e75dc700c9b3bacf1513ad5708e4fe4a6c0d6560\"";
+
+    private Path tempDirectory;
+    private App app;
+    private StaticResource staticResource;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        tempDirectory = Files.createTempDirectory("uuf-static-resolver");
+        Path componentPath = tempDirectory.resolve("component");
+        Path resourcePath = componentPath.resolve("public/css/main.css");
+        Files.createDirectories(resourcePath.getParent());
+        Files.write(resourcePath, "body {}".getBytes(StandardCharsets.UTF_8));
+
+        Component component = new Component("test.component", "1.0.0", "/test", new TreeSet<>(), emptySet(),
+                                            emptySet(), emptySet(), componentPath.toString());
+        StaticResourceIndex staticResourceIndex = StaticResourceIndex.create(singleton(component), emptySet());
+        staticResource = staticResourceIndex.getResource(RESOURCE_URI).get();
+
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getResponseHeaders()).thenReturn(new Configuration.ResponseHeaders(emptyMap(),
+                                                                                              emptyMap()));
+        app = mock(App.class);
+        when(app.getConfiguration()).thenReturn(configuration);
+        when(app.getComponents()).thenReturn(singletonComponent(component));
+        when(app.getStaticResourceIndex()).thenReturn(Optional.of(staticResourceIndex));
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDirectory.toFile());
+    }
+
+    private static Map<String, Component> singletonComponent(Component component) {
+        Map<String, Component> components = new HashMap<>();
+        components.put(component.getContextPath(), component);
+        return components;
+    }
+
+    private static HttpRequest createRequest(String uri, Map<String, String> headers) {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.getUri()).thenReturn("/test" + uri);
+        when(request.getUriWithoutContextPath()).thenReturn(uri);
+        when(request.getHeaders()).thenReturn(headers);
+        when(request.isComponentStaticResourceRequest()).thenReturn(true);
+        return request;
+    }
+
+    @Test
+    public void testServe() {
+        HttpResponse response = mock(HttpResponse.class);
+        new StaticResolver().serve(app, createRequest(RESOURCE_URI, emptyMap()), response);
+
+        verify(response).setStatus(STATUS_OK);
+        verify(response).setHeader(HEADER_ETAG, RESOURCE_ETAG);
+        verify(response).setContent(any(ByteBuffer.class), eq("text/css"));
+    }
+
+    @Test
+    public void testIfNoneMatch() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(HEADER_IF_NONE_MATCH, "\"other\", W/" + RESOURCE_ETAG);
+        HttpResponse response = mock(HttpResponse.class);
+        new StaticResolver().serve(app, createRequest(RESOURCE_URI, headers), response);
+
+        verify(response).setStatus(STATUS_NOT_MODIFIED);
+        verify(response).setHeader(HEADER_ETAG, RESOURCE_ETAG);
+        verify(response, never()).setContent(any(ByteBuffer.class), anyString());
+    }
+
+    @Test
+    public void testIfNoneMatchMismatch() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(HEADER_IF_NONE_MATCH, "\"other\"");
+        // If-None-Match takes precedence over If-Modified-Since.
+        headers.put(HEADER_IF_MODIFIED_SINCE, staticResource.getLastModifiedHeader());
+        HttpResponse response = mock(HttpResponse.class);
+        new StaticResolver().serve(app, createRequest(RESOURCE_URI, headers), response);
+
+        verify(response).setStatus(STATUS_OK);
+    }
+
+    @Test
+    public void testIfModifiedSince() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(HEADER_IF_MODIFIED_SINCE, staticResource.getLastModifiedHeader());
+        HttpResponse response = mock(HttpResponse.class);
+        new StaticResolver().serve(app, createRequest(RESOURCE_URI, headers), response);
+
+        verify(response).setStatus(STATUS_NOT_MODIFIED);
+    }
+
+    @Test
+    public void testRange() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(HEADER_RANGE, "bytes=0-3");
+        HttpResponse response = mock(HttpResponse.class);
+        new StaticResolver().serve(app, createRequest(RESOURCE_URI, headers), response);
+
+        verify(response).setStatus(STATUS_PARTIAL_CONTENT);
+        verify(response).setHeader(HEADER_CONTENT_RANGE, "bytes 0-3/7");
+        verify(response).setContent(any(InputStream.class), eq("text/css"));
+    }
+
+    @Test
+    public void testIfRangeMismatch() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(HEADER_RANGE, "bytes=0-3");
+        headers.put(HEADER_IF_RANGE, "\"other\"");
+        HttpResponse response = mock(HttpResponse.class);
+        new StaticResolver().serve(app, createRequest(RESOURCE_URI, headers), response);
+
+        verify(response).setStatus(STATUS_OK);
+        verify(response, never()).setStatus(STATUS_PARTIAL_CONTENT);
+    }
+
+    @Test
+    public void testRangeNotSatisfiable() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(HEADER_RANGE, "bytes=100-");
+        HttpResponse response = mock(HttpResponse.class);
+        new StaticResolver().serve(app, createRequest(RESOURCE_URI, headers), response);
+
+        verify(response).setStatus(STATUS_RANGE_NOT_SATISFIABLE);
+        verify(response).setHeader(HEADER_CONTENT_RANGE, "bytes */7");
+    }
+
+    @Test
+    public void testNotFound() {
+        HttpResponse response = mock(HttpResponse.class);
+        new StaticResolver().serve(app, createRequest("/public/components/test/base/css/none.css", emptyMap()),
+                                   response);
+
+        verify(response).setContent(eq(STATUS_NOT_FOUND), anyString());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+public class StaticResourceCacheTest {
+
+    private static StaticResource createResource(String content) throws IOException {
+        Path path = Files.createTempFile("uuf-static-resource", ".txt");
+        path.toFile().deleteOnExit();
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return new StaticResource(path, Files.size(path), "text/plain", ZonedDateTime.now());
+    }
+
+    private static String toString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testInMemoryContent() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(1024, 16, 0);
+        StaticResource resource = createResource("small");
+
+        Optional<ByteBuffer> content = cache.getContent(resource);
+        Assert.assertTrue(content.isPresent());
+        Assert.assertEquals(toString(content.get()), "small");
+        Assert.assertTrue(content.get().isReadOnly());
+        Assert.assertSame(cache.getContent(resource).get(), content.get(), "Cached buffer should be reused.");
+        Assert.assertEquals(cache.getInMemoryStats().hitCount(), 1);
+        Assert.assertEquals(cache.getInMemoryStats().missCount(), 1);
+    }
+
+    @Test
+    public void testMappedContent() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(1024, 4, 1);
+        StaticResource resource = createResource("larger than four bytes");
+
+        Optional<ByteBuffer> content = cache.getContent(resource);
+        Assert.assertTrue(content.isPresent());
+        Assert.assertEquals(toString(content.get()), "larger than four bytes");
+        Assert.assertEquals(cache.getMappedStats().missCount(), 1);
+        Assert.assertEquals(cache.getInMemoryStats().requestCount(), 0);
+    }
+
+    @Test
+    public void testUncachedContent() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(1024, 4, 0);
+        Assert.assertFalse(cache.getContent(createResource("larger than four bytes")).isPresent(),
+                           "Large resources should not be cached when memory-mapping is disabled.");
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import com.google.common.base.Strings;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.internal.io.util.PrivateDirectories;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+public class StaticResourceCompressorTest {
+
+    private Path tempDirectory;
+    private StaticResourceCompressor compressor;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        tempDirectory = Files.createTempDirectory("uuf-static-compressor");
+        compressor = new StaticResourceCompressor(tempDirectory.resolve("gzip"), 100);
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDirectory.toFile());
+    }
+
+    private StaticResource createResource(String name, String content, String contentType) throws IOException {
+        Path path = tempDirectory.resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return new StaticResource(path, Files.size(path), contentType, ZonedDateTime.now());
+    }
+
+    @Test
+    public void testGzipVariant() throws IOException {
+        String content = Strings.repeat("body { margin: 0; }\n", 100);
+        StaticResource resource = createResource("main.css", content, "text/css");
+
+        Optional<StaticResource> variant = compressor.getGzipVariant(resource);
+        Assert.assertTrue(variant.isPresent());
+        Assert.assertTrue(variant.get().getSize() < resource.getSize());
+        Assert.assertEquals(variant.get().getContentEncoding(), Optional.of("gzip"));
+        Assert.assertEquals(variant.get().getContentType(), "text/css");
+        Assert.assertNotEquals(variant.get().getETag(), resource.getETag());
+        Assert.assertSame(compressor.getGzipVariant(resource).get(), variant.get(), "Variant should be reused.");
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(variant.get().getPath()))) {
+            byte[] decompressed = new byte[content.length() + 1];
+            int length = 0, read;
+            while ((read = inputStream.read(decompressed, length, decompressed.length - length)) > 0) {
+                length += read;
+            }
+            Assert.assertEquals(new String(decompressed, 0, length, StandardCharsets.UTF_8), content);
+        }
+    }
+
+    @Test
+    public void testExistingFileIsNotTrusted() throws IOException {
+        String content = Strings.repeat("h1 { color: red; }\n", 100);
+        StaticResource resource = createResource("planted.css", content, "text/css");
+        Path plantedFile = PrivateDirectories.create(tempDirectory.resolve("gzip"))
+                .resolve(resource.getDigest() + ".gz");
+        Files.write(plantedFile, "planted".getBytes(StandardCharsets.UTF_8));
+
+        Optional<StaticResource> variant = compressor.getGzipVariant(resource);
+        Assert.assertTrue(variant.isPresent());
+        Assert.assertEquals(variant.get().getSize(), Files.size(plantedFile));
+        Assert.assertNotEquals(new String(Files.readAllBytes(plantedFile), StandardCharsets.UTF_8), "planted",
+                               "Existing files in the cache directory should be overwritten.");
+    }
+
+    @Test
+    public void testNoGzipVariant() throws IOException {
+        Assert.assertFalse(compressor.getGzipVariant(createResource("small.css", "body {}", "text/css")).isPresent(),
+                           "Resources smaller than the threshold should not be compressed.");
+        String content = Strings.repeat("0123456789", 20);
+        Assert.assertFalse(compressor.getGzipVariant(createResource("image.png", content, "image/png")).isPresent(),
+                           "Resources with a non-compressible MIME type should not be compressed.");
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.core.Component;
+import org.wso2.carbon.uuf.core.Theme;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+
+public class StaticResourceIndexTest {
+
+    private Path tempDirectory;
+    private StaticResourceIndex staticResourceIndex;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        tempDirectory = Files.createTempDirectory("uuf-static-resources");
+        Path componentPath = tempDirectory.resolve("component");
+        createFile(componentPath.resolve("public/css/main.css"), "body {}");
+        createFile(componentPath.resolve("public/top-level.css"), "body {}");
+        createFile(componentPath.resolve("fragments/menu/public/js/menu.js"), "var menu;");
+        Path themePath = tempDirectory.resolve("theme");
+        createFile(themePath.resolve("public/images/logo.png"), "png");
+
+        Component component = new Component("test.component", "1.0.0", "/test", new TreeSet<>(), emptySet(),
+                                            emptySet(), emptySet(), componentPath.toString());
+        Theme theme = new Theme("test.theme", emptyList(), emptyList(), emptyList(), themePath.toString());
+        staticResourceIndex = StaticResourceIndex.create(ImmutableSet.of(component), Collections.singleton(theme));
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDirectory.toFile());
+    }
+
+    @Test
+    public void testIndexedResources() {
+        Assert.assertTrue(staticResourceIndex.getResource("/public/components/test/base/css/main.css").isPresent());
+        Assert.assertTrue(staticResourceIndex.getResource("/public/components/test/menu/js/menu.js").isPresent());
+        Assert.assertTrue(staticResourceIndex.getResource("/public/themes/test.theme/images/logo.png").isPresent());
+        Assert.assertEquals(staticResourceIndex.getResources().size(), 3);
+    }
+
+    @Test
+    public void testNotIndexedResources() {
+        Assert.assertFalse(staticResourceIndex.getResource("/public/components/test/base/top-level.css").isPresent(),
+                           "Resources directly inside the public directory should not be indexed.");
+        Assert.assertFalse(staticResourceIndex.getResource("/public/components/test/base/css").isPresent(),
+                           "Directories should not be indexed.");
+        Assert.assertFalse(staticResourceIndex.getResource("/public/components/test/base/css/none.css").isPresent());
+    }
+
+    @Test
+    public void testResourceMetadata() throws IOException {
+        Optional<StaticResource> resource =
+                staticResourceIndex.getResource("/public/components/test/base/css/main.css");
+        Assert.assertTrue(resource.isPresent());
+        StaticResource staticResource = resource.get();
+        Assert.assertEquals(staticResource.getSize(), 7);
+        Assert.assertEquals(staticResource.getContentType(), "text/css");
+        Assert.assertEquals(staticResource.getLastModifiedDate().toInstant(),
+                            Files.getLastModifiedTime(staticResource.getPath()).toInstant());
+        // SHA-256 of "body {}"
+        Assert.assertEquals(staticResource.getDigest(),
+                            "62368a1a29259b30bac235c0e75dc700c9b3bacf1513ad5708e4fe4a6c0d6560");
+    }
+
+    @Test
+    public void testRefresh() throws IOException {
+        Path componentPath = tempDirectory.resolve("updatable-component");
+        Path publicDirectory = componentPath.resolve("public");
+        createFile(publicDirectory.resolve("css/main.css"), "body {}");
+        Component component = new Component("updatable.component", "1.0.0", "/updatable", new TreeSet<>(),
+                                            emptySet(), emptySet(), emptySet(), componentPath.toString());
+        StaticResourceIndex index = StaticResourceIndex.create(ImmutableSet.of(component), emptySet(), true);
+        Assert.assertTrue(index.isUpdatable());
+        StaticResource oldResource = index.getResource("/public/components/updatable/base/css/main.css").get();
+
+        // Modified file
+        createFile(publicDirectory.resolve("css/main.css"), "body { color: red; }");
+        index.refresh(publicDirectory, publicDirectory.resolve("css/main.css"));
+        StaticResource newResource = index.getResource("/public/components/updatable/base/css/main.css").get();
+        Assert.assertNotSame(newResource, oldResource);
+        Assert.assertEquals(newResource.getSize(), 20);
+
+        // Created directory
+        createFile(publicDirectory.resolve("js/lib/app.js"), "var app;");
+        index.refresh(publicDirectory, publicDirectory.resolve("js"));
+        Assert.assertTrue(index.getResource("/public/components/updatable/base/js/lib/app.js").isPresent());
+
+        // Directory with a deleted file
+        createFile(publicDirectory.resolve("js/lib/util.js"), "var util;");
+        index.refresh(publicDirectory, publicDirectory.resolve("js"));
+        Files.delete(publicDirectory.resolve("js/lib/util.js"));
+        index.refresh(publicDirectory, publicDirectory.resolve("js"));
+        Assert.assertTrue(index.getResource("/public/components/updatable/base/js/lib/app.js").isPresent());
+        Assert.assertFalse(index.getResource("/public/components/updatable/base/js/lib/util.js").isPresent());
+
+        // Deleted directory
+        FileUtils.deleteDirectory(publicDirectory.resolve("js").toFile());
+        index.refresh(publicDirectory, publicDirectory.resolve("js"));
+        Assert.assertFalse(index.getResource("/public/components/updatable/base/js/lib/app.js").isPresent());
+        Assert.assertEquals(index.getResources().size(), 1);
+
+        Assert.assertThrows(IllegalStateException.class,
+                            () -> staticResourceIndex.refresh(publicDirectory, publicDirectory.resolve("css")));
+    }
+
+    @Test
+    public void testSymbolicLinkLoop() throws IOException {
+        Path componentPath = tempDirectory.resolve("linked-component");
+        Path publicDirectory = componentPath.resolve("public");
+        createFile(publicDirectory.resolve("css/main.css"), "body {}");
+        Files.createSymbolicLink(publicDirectory.resolve("css/loop"), publicDirectory);
+        Component component = new Component("linked.component", "1.0.0", "/linked", new TreeSet<>(), emptySet(),
+                                            emptySet(), emptySet(), componentPath.toString());
+
+        StaticResourceIndex index = StaticResourceIndex.create(ImmutableSet.of(component), emptySet());
+        Assert.assertTrue(index.getResource("/public/components/linked/base/css/main.css").isPresent(),
+                          "Links back to an ancestor directory should be skipped.");
+        Assert.assertEquals(index.getResources().size(), 1);
+    }
+
+    private static void createFile(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.core.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.TreeSet;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * Test cases for static resource updater.
+ *
+ * @since 1.0.0
+ */
+public class StaticResourceUpdaterTest {
+
+    @Test
+    public void testSymbolicLinkLoop() throws Exception {
+        Path tempDirectory = Files.createTempDirectory("uuf-static-updater");
+        StaticResourceUpdater updater = new StaticResourceUpdater();
+        try {
+            Path componentPath = tempDirectory.resolve("component");
+            Path publicDirectory = componentPath.resolve("public");
+            createFile(publicDirectory.resolve("css/main.css"), "body {}");
+            Files.createSymbolicLink(publicDirectory.resolve("css/loop"), publicDirectory);
+            Component component = new Component("test.component", "1.0.0", "/test", new TreeSet<>(), emptySet(),
+                                                emptySet(), emptySet(), componentPath.toString());
+            StaticResourceIndex index = StaticResourceIndex.create(ImmutableSet.of(component), emptySet(), true);
+
+            updater.add(index);
+            updater.start();
+            createFile(publicDirectory.resolve("css/new.css"), "p {}");
+            long deadline = System.currentTimeMillis() + 10000;
+            while (!index.getResource("/public/components/test/base/css/new.css").isPresent() &&
+                    (System.currentTimeMillis() < deadline)) {
+                Thread.sleep(50);
+            }
+            Assert.assertTrue(index.getResource("/public/components/test/base/css/new.css").isPresent(),
+                              "Directories should be watched although a link loops back to an ancestor.");
+        } finally {
+            updater.finish();
+            FileUtils.deleteDirectory(tempDirectory.toFile());
+        }
+    }
+
+    private static void createFile(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
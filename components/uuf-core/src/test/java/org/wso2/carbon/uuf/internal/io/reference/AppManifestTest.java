@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io.reference;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.reference.ComponentReference;
+import org.wso2.carbon.uuf.api.reference.FileReference;
+import org.wso2.carbon.uuf.api.reference.PageReference;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test cases for the {@link AppManifest} class.
+ *
+ * @since 1.0.0
+ */
+public class AppManifestTest {
+
+    private Path tempDirectory;
+    private Path appDirectory;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        tempDirectory = Files.createTempDirectory("uuf-app-manifest");
+        appDirectory = tempDirectory.resolve("test.app").normalize().toAbsolutePath();
+        Path componentDirectory = appDirectory.resolve("components/root");
+        createFile(componentDirectory.resolve("component.yaml"), "");
+        createFile(componentDirectory.resolve("pages/index.hbs"), "index");
+        createFile(componentDirectory.resolve("pages/index.js"), "function onGet() {}");
+        createFile(componentDirectory.resolve("pages/users/profile.hbs"), "profile");
+        createFile(componentDirectory.resolve("layouts/main.hbs"), "main");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        FileUtils.deleteQuietly(tempDirectory.toFile());
+    }
+
+    private static void createFile(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testScan() throws IOException {
+        AppManifest manifest = AppManifest.scan(appDirectory);
+        Path pagesDirectory = appDirectory.resolve("components/root/pages");
+
+        Assert.assertTrue(manifest.isDirectory(pagesDirectory));
+        Assert.assertTrue(manifest.isRegularFile(pagesDirectory.resolve("index.js")));
+        Assert.assertFalse(manifest.exists(pagesDirectory.resolve("missing.hbs")));
+        Assert.assertEquals(manifest.getAttributes(pagesDirectory.resolve("index.hbs")).size(), 5);
+        Assert.assertEquals(manifest.list(pagesDirectory).map(pagesDirectory::relativize).map(Path::toString)
+                                    .collect(Collectors.toList()),
+                            ImmutableList.of("index.hbs", "index.js", "users"));
+        Assert.assertEquals(manifest.walk(pagesDirectory).count(), 5);
+        Assert.assertEquals(manifest.walk(appDirectory.resolve("components/root/fragments")).count(), 0);
+        Assert.assertEquals(manifest.getAbsolutePath(pagesDirectory.resolve("index.hbs")),
+                            pagesDirectory.resolve("index.hbs").toRealPath().toString());
+    }
+
+    @Test
+    public void testSymbolicLinks() throws IOException {
+        Path linkedAppDirectory = tempDirectory.resolve("linked.app").normalize().toAbsolutePath();
+        Path pagesDirectory = linkedAppDirectory.resolve("pages");
+        createFile(pagesDirectory.resolve("index.hbs"), "index");
+        Path aliasDirectory = Files.createSymbolicLink(linkedAppDirectory.resolve("alias"), pagesDirectory);
+        Path loopDirectory = Files.createSymbolicLink(pagesDirectory.resolve("loop"), linkedAppDirectory);
+
+        AppManifest manifest = AppManifest.scan(linkedAppDirectory);
+        Assert.assertEquals(manifest.list(aliasDirectory).map(aliasDirectory::relativize).map(Path::toString)
+                                    .collect(Collectors.toList()),
+                            ImmutableList.of("index.hbs", "loop"), "Every alias of a directory should be listed.");
+        Assert.assertEquals(manifest.list(pagesDirectory).count(), 2);
+        Assert.assertTrue(manifest.isDirectory(loopDirectory));
+        Assert.assertEquals(manifest.list(loopDirectory).count(), 0, "Links to ancestors should not be followed.");
+    }
+
+    @Test
+    public void testReferencesAnswerFromManifest() throws IOException {
+        ArtifactAppReference appReference = new ArtifactAppReference(appDirectory);
+        ComponentReference componentReference = appReference.getComponentReference("/root");
+        List<PageReference> pages = componentReference.getPages(ImmutableSet.of("hbs")).collect(Collectors.toList());
+        Assert.assertEquals(pages.stream().map(PageReference::getPathPattern).collect(Collectors.toList()),
+                            ImmutableList.of("/index", "/users/profile"));
+
+        // Files created after the app is scanned are not visible to the references.
+        createFile(appDirectory.resolve("components/root/pages/users/profile.js"), "function onGet() {}");
+        FileReference indexFile = pages.get(0).getRenderingFile();
+        FileReference profileFile = pages.get(1).getRenderingFile();
+        Assert.assertTrue(indexFile.getSibling("index.js").isPresent());
+        Assert.assertFalse(profileFile.getSibling("profile.js").isPresent());
+        Assert.assertEquals(componentReference.getLayouts(ImmutableSet.of("hbs")).count(), 1);
+        Assert.assertEquals(componentReference.getI18nFiles().count(), 0);
+    }
+}
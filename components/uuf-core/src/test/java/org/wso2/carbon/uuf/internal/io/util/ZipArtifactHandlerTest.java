@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.internal.io.util;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.reference.ComponentReference;
+import org.wso2.carbon.uuf.internal.io.reference.ArtifactAppReference;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class ZipArtifactHandlerTest {
+
+    private static final String APP_NAME = "org.wso2.carbon.uuf.sample.test.app";
+
+    private Path zipFile;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        zipFile = Files.createTempFile("uuf-zip-artifact", ".zip");
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(zipFile))) {
+            zipOutputStream.putNextEntry(new ZipEntry(APP_NAME + "/"));
+            zipOutputStream.putNextEntry(new ZipEntry(APP_NAME + "/components/root/component.yaml"));
+            zipOutputStream.putNextEntry(new ZipEntry(APP_NAME + "/components/root/public/css/main.css"));
+            zipOutputStream.write("body {}".getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+        }
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(zipFile);
+    }
+
+    @Test
+    public void testGetAppName() {
+        Assert.assertTrue(ZipArtifactHandler.isZipArtifact(zipFile));
+        Assert.assertEquals(ZipArtifactHandler.getAppName(zipFile), APP_NAME);
+    }
+
+    @Test
+    public void testGetAppDirectory() throws IOException {
+        Path appDirectory = ZipArtifactHandler.getAppDirectory(APP_NAME, zipFile);
+        Path css = appDirectory.resolve("components/root/public/css/main.css");
+        Assert.assertEquals(new String(Files.readAllBytes(css), StandardCharsets.UTF_8), "body {}");
+
+        Path redeployedAppDirectory = ZipArtifactHandler.getAppDirectory(APP_NAME, zipFile);
+        Assert.assertNotSame(redeployedAppDirectory.getFileSystem(), appDirectory.getFileSystem(),
+                             "Zip artifact should be opened afresh for every deployment.");
+        Assert.assertFalse(appDirectory.getFileSystem().isOpen(), "Stale zip file system should be closed.");
+        Assert.assertTrue(Files.isRegularFile(redeployedAppDirectory.resolve("components/root/public/css/main.css")));
+        redeployedAppDirectory.getFileSystem().close();
+    }
+
+    @Test
+    public void testPathConversions() throws IOException {
+        Path appDirectory = ZipArtifactHandler.getAppDirectory(APP_NAME, zipFile);
+        ArtifactAppReference appReference = new ArtifactAppReference(appDirectory);
+        ComponentReference componentReference = appReference.getComponentReference("/root");
+        String componentPath = componentReference.getPath();
+        Assert.assertTrue(ZipArtifactHandler.isZipEntry(componentPath));
+
+        Path css = ZipArtifactHandler.toPath(componentPath, "public", "css", "main.css");
+        Assert.assertEquals(css, appDirectory.resolve("components/root/public/css/main.css"));
+        Assert.assertTrue(Files.isRegularFile(css));
+
+        Path filePath = Paths.get("components", "root");
+        Assert.assertEquals(ZipArtifactHandler.toPathString(filePath), filePath.toString());
+        Assert.assertFalse(ZipArtifactHandler.isZipEntry(ZipArtifactHandler.toPathString(filePath)));
+        Assert.assertEquals(ZipArtifactHandler.toPath(filePath.toString(), "public"), filePath.resolve("public"));
+
+        appReference.close();
+        Assert.assertFalse(appDirectory.getFileSystem().isOpen(), "Zip artifact should be closed with its app.");
+    }
+}
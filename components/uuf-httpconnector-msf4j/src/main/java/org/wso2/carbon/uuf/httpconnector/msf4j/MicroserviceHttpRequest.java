@@ -19,6 +19,8 @@ package org.wso2.carbon.uuf.httpconnector.msf4j;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.handler.codec.http.cookie.Cookie;
 import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
+import org.wso2.carbon.messaging.Header;
+import org.wso2.carbon.messaging.Headers;
 import org.wso2.carbon.uuf.spi.HttpRequest;
 import org.wso2.msf4j.Request;
 
@@ -26,11 +28,13 @@ import javax.ws.rs.NotSupportedException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
 import java.io.File;
+import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * UUF HttpRequest implementation based on MSF4J request.
@@ -47,16 +51,15 @@ public class MicroserviceHttpRequest implements HttpRequest {
 
     private final Request msf4jRequest;
     private final String method;
-    private final Map<String, Cookie> cookies;
     private final Map<String, String> headers;
     private final String uri;
     private final String contextPath;
     private final String uriWithoutContextPath;
     private final String queryString;
-    private final Map<String, Object> queryParams;
     private final Map<String, Object> formParams;
     private final Map<String, Object> files;
     private final boolean isGetRequest;
+    private Map<String, Object> queryParams;
 
     public MicroserviceHttpRequest(Request request) {
         this(request, null, null);
@@ -83,22 +86,9 @@ public class MicroserviceHttpRequest implements HttpRequest {
         this.contextPath = HttpRequest.getContextPath(this.uri);
         this.uriWithoutContextPath = HttpRequest.getUriWithoutContextPath(this.uri);
         this.queryString = rawQueryString; // Query string is not very useful, so we don't bother to decode it.
-        if (rawQueryString != null) {
-            HashMap<String, Object> map = new HashMap<>();
-            new QueryStringDecoder(rawQueryString, false).parameters()
-                    .forEach((key, value) -> map.put(key, (value.size() == 1) ? value.get(0) : value));
-            this.queryParams = map;
-        } else {
-            this.queryParams = Collections.emptyMap();
-        }
-
-        // process headers and cookies
-        this.headers = new HashMap<>();
-        request.getHeaders().getAll().forEach(header -> this.headers.put(header.getName(), header.getValue()));
-        String cookieHeader = this.headers.get(HttpHeaders.COOKIE);
-        this.cookies = (cookieHeader == null) ? Collections.emptyMap() :
-                ServerCookieDecoder.STRICT.decode(cookieHeader).stream().collect(Collectors.toMap(Cookie::name,
-                                                                                                  c -> c));
+        // Query params, headers and cookies are parsed only when they are asked for, as most requests (e.g. static
+        // resource requests) never read them.
+        this.headers = new HeadersView(request.getHeaders());
 
         // process POST data
         if (formParams == null) {
@@ -185,6 +175,16 @@ public class MicroserviceHttpRequest implements HttpRequest {
 
     @Override
     public Map<String, Object> getQueryParams() {
+        if (queryParams == null) {
+            if (queryString == null) {
+                queryParams = Collections.emptyMap();
+            } else {
+                Map<String, Object> map = new HashMap<>();
+                new QueryStringDecoder(queryString, false).parameters()
+                        .forEach((key, value) -> map.put(key, (value.size() == 1) ? value.get(0) : value));
+                queryParams = map;
+            }
+        }
         return queryParams;
     }
 
@@ -195,8 +195,31 @@ public class MicroserviceHttpRequest implements HttpRequest {
 
     @Override
     public String getCookieValue(String cookieName) {
-        Cookie cookie = cookies.get(cookieName);
-        return (cookie == null) ? null : cookie.value();
+        String cookieHeader = headers.get(HttpHeaders.COOKIE);
+        if (cookieHeader == null) {
+            return null;
+        }
+        // Only the pair of the requested cookie is decoded, instead of decoding every cookie in the header.
+        int nameLength = cookieName.length();
+        int pairStart = 0;
+        while (pairStart < cookieHeader.length()) {
+            int pairEnd = cookieHeader.indexOf(';', pairStart);
+            if (pairEnd == -1) {
+                pairEnd = cookieHeader.length();
+            }
+            int nameStart = pairStart;
+            while ((nameStart < pairEnd) && Character.isWhitespace(cookieHeader.charAt(nameStart))) {
+                nameStart++;
+            }
+            int nameEnd = nameStart + nameLength;
+            if ((nameEnd < pairEnd) && (cookieHeader.charAt(nameEnd) == '=') &&
+                    cookieHeader.regionMatches(nameStart, cookieName, 0, nameLength)) {
+                Set<Cookie> cookies = ServerCookieDecoder.STRICT.decode(cookieHeader.substring(nameStart, pairEnd));
+                return cookies.isEmpty() ? null : cookies.iterator().next().value();
+            }
+            pairStart = pairEnd + 1;
+        }
+        return null;
     }
 
     @Override
@@ -245,4 +268,60 @@ public class MicroserviceHttpRequest implements HttpRequest {
         return "{\"method\": \"" + method + "\", \"uri\": \"" + uri + "\", \"query\": \"" + queryString +
                 "\", \"protocol\": \"" + getProtocol() + "\"}";
     }
+
+    /**
+     * Read-only, case-insensitive map view of the headers of an MSF4J request. Headers are looked up in the MSF4J
+     * request as they are asked for, instead of being copied to a new map for each request.
+     */
+    private static class HeadersView extends AbstractMap<String, String> {
+
+        private final Headers msf4jHeaders;
+        private List<Header> headerList;
+        private Set<Entry<String, String>> entries;
+
+        HeadersView(Headers msf4jHeaders) {
+            this.msf4jHeaders = msf4jHeaders;
+        }
+
+        private List<Header> getHeaderList() {
+            if (headerList == null) {
+                headerList = msf4jHeaders.getAll();
+            }
+            return headerList;
+        }
+
+        @Override
+        public String get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            String name = (String) key;
+            for (Header header : getHeaderList()) {
+                if (header.getName().equalsIgnoreCase(name)) {
+                    return header.getValue();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getHeaderList().isEmpty();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            if (entries == null) {
+                Map<String, String> map = new LinkedHashMap<>();
+                getHeaderList().forEach(header -> map.putIfAbsent(header.getName(), header.getValue()));
+                entries = Collections.unmodifiableMap(map).entrySet();
+            }
+            return entries;
+        }
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.httpconnector.msf4j;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.Header;
+import org.wso2.carbon.messaging.Headers;
+import org.wso2.msf4j.Request;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for MicroserviceHttpRequest.
+ *
+ * @since 1.0.0
+ */
+public class MicroserviceHttpRequestTest {
+
+    private static Headers createHeaders(String... namesAndValues) {
+        List<Header> headerList = new ArrayList<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            Header header = mock(Header.class);
+            when(header.getName()).thenReturn(namesAndValues[i]);
+            when(header.getValue()).thenReturn(namesAndValues[i + 1]);
+            headerList.add(header);
+        }
+        Headers headers = mock(Headers.class);
+        when(headers.getAll()).thenReturn(headerList);
+        return headers;
+    }
+
+    private static Request createRequest(String uri, Headers headers) {
+        Request request = mock(Request.class);
+        when(request.getHttpMethod()).thenReturn("GET");
+        when(request.getUri()).thenReturn(uri);
+        when(request.getHeaders()).thenReturn(headers);
+        return request;
+    }
+
+    @Test
+    public void testLazyParsing() {
+        Headers headers = createHeaders("Cookie", "UUFSESSIONID=abc");
+        MicroserviceHttpRequest request = new MicroserviceHttpRequest(createRequest("/app/page?a=1", headers));
+
+        Assert.assertEquals(request.getUriWithoutContextPath(), "/page");
+        verify(headers, never()).getAll();
+    }
+
+    @Test
+    public void testQueryParams() {
+        MicroserviceHttpRequest request = new MicroserviceHttpRequest(createRequest("/app/page?a=1&b=2&b=3",
+                                                                                    createHeaders()));
+
+        Assert.assertEquals(request.getQueryString(), "a=1&b=2&b=3");
+        Assert.assertEquals(request.getQueryParams().get("a"), "1");
+        Assert.assertEquals(request.getQueryParams().get("b"), Arrays.asList("2", "3"));
+        Assert.assertTrue(new MicroserviceHttpRequest(createRequest("/app/", createHeaders())).getQueryParams()
+                                  .isEmpty());
+    }
+
+    @Test
+    public void testHeaders() {
+        Headers headers = createHeaders("Accept-Language", "en-US", "content-type", "text/plain");
+        Map<String, String> headersMap = new MicroserviceHttpRequest(createRequest("/app/", headers)).getHeaders();
+
+        Assert.assertEquals(headersMap.get("Accept-Language"), "en-US");
+        Assert.assertEquals(headersMap.get("accept-language"), "en-US");
+        Assert.assertEquals(headersMap.get("Content-Type"), "text/plain");
+        Assert.assertTrue(headersMap.containsKey("CONTENT-TYPE"));
+        Assert.assertNull(headersMap.get("Range"));
+        Assert.assertEquals(headersMap.size(), 2);
+    }
+
+    @Test
+    public void testCookies() {
+        Headers headers = createHeaders("Cookie", "UUFSESSION=x; UUFSESSIONID=abc;CSRFTOKEN=\"xyz\"; empty=");
+        MicroserviceHttpRequest request = new MicroserviceHttpRequest(createRequest("/app/", headers));
+
+        Assert.assertEquals(request.getCookieValue("UUFSESSIONID"), "abc");
+        Assert.assertEquals(request.getCookieValue("UUFSESSION"), "x");
+        Assert.assertEquals(request.getCookieValue("CSRFTOKEN"), "xyz");
+        Assert.assertEquals(request.getCookieValue("empty"), "");
+        Assert.assertNull(request.getCookieValue("UUF"));
+        Assert.assertNull(new MicroserviceHttpRequest(createRequest("/app/", createHeaders())).getCookieValue("a"));
+    }
+}
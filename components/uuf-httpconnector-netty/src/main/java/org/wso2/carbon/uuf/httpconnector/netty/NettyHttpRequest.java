@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.httpconnector.netty;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http.cookie.Cookie;
+import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
+import io.netty.handler.codec.http.multipart.Attribute;
+import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
+import io.netty.handler.codec.http.multipart.FileUpload;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
+import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+import org.wso2.carbon.uuf.spi.HttpRequest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * UUF HttpRequest implementation based on an aggregated Netty HTTP request.
+ * <p>
+ * Headers are read directly from the Netty request without copying them. Cookies, form parameters and uploaded files
+ * are decoded only when they are first asked for; an {@link IllegalArgumentException} is thrown if the body of the
+ * request cannot be decoded. Uploaded files are deleted when {@link #release()} is called.
+ *
+ * @since 1.0.0
+ */
+public class NettyHttpRequest implements HttpRequest {
+
+    private static final String CONTENT_TYPE_APPLICATION_JSON = "application/json";
+    private static final Gson GSON = new Gson();
+
+    private final FullHttpRequest nettyRequest;
+    private final Channel channel;
+    private final boolean isSecure;
+    private final String method;
+    private final boolean isGetRequest;
+    private final String uri;
+    private final String contextPath;
+    private final String uriWithoutContextPath;
+    private final String queryString;
+    private final Map<String, String> headers;
+    private Map<String, Object> queryParams;
+    private Map<String, Cookie> cookies;
+    private Map<String, Object> formParams;
+    private Map<String, Object> files;
+    private HttpPostRequestDecoder postRequestDecoder;
+
+    /**
+     * Creates a new UUF request for the specified Netty request.
+     *
+     * @param request  Netty request
+     * @param channel  channel which the request was received from
+     * @param isSecure whether the channel is secured
+     */
+    public NettyHttpRequest(FullHttpRequest request, Channel channel, boolean isSecure) {
+        this.nettyRequest = request;
+        this.channel = channel;
+        this.isSecure = isSecure;
+        this.method = request.getMethod().name();
+        this.isGetRequest = HttpMethod.GET.equals(request.getMethod());
+
+        String rawUri = request.getUri();
+        int uriPathEndIndex = rawUri.indexOf('?');
+        String rawUriPath;
+        if (uriPathEndIndex == -1) {
+            rawUriPath = rawUri;
+            this.queryString = null;
+        } else {
+            rawUriPath = rawUri.substring(0, uriPathEndIndex);
+            this.queryString = rawUri.substring(uriPathEndIndex + 1);
+        }
+        this.uri = QueryStringDecoder.decodeComponent(rawUriPath);
+        this.contextPath = HttpRequest.getContextPath(this.uri);
+        this.uriWithoutContextPath = HttpRequest.getUriWithoutContextPath(this.uri);
+        this.headers = new HeadersView(request.headers());
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public boolean isGetRequest() {
+        return isGetRequest;
+    }
+
+    @Override
+    public String getProtocol() {
+        return nettyRequest.getProtocolVersion().text();
+    }
+
+    @Override
+    public boolean isSecure() {
+        return isSecure;
+    }
+
+    @Override
+    public String getUrl() {
+        String host = nettyRequest.headers().get(HttpHeaders.Names.HOST);
+        String authority = (host == null) ? (getLocalAddress() + ":" + getLocalPort()) : host;
+        return getScheme() + "://" + authority + uri;
+    }
+
+    @Override
+    public String getUri() {
+        return uri;
+    }
+
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    @Override
+    public String getUriWithoutContextPath() {
+        return uriWithoutContextPath;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public Map<String, Object> getQueryParams() {
+        if (queryParams == null) {
+            if (queryString == null) {
+                queryParams = Collections.emptyMap();
+            } else {
+                Map<String, Object> map = new HashMap<>();
+                new QueryStringDecoder(queryString, false).parameters()
+                        .forEach((key, value) -> map.put(key, (value.size() == 1) ? value.get(0) : value));
+                queryParams = map;
+            }
+        }
+        return queryParams;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public String getCookieValue(String cookieName) {
+        if (cookies == null) {
+            String cookieHeader = nettyRequest.headers().get(HttpHeaders.Names.COOKIE);
+            if (cookieHeader == null) {
+                cookies = Collections.emptyMap();
+            } else {
+                Set<Cookie> decodedCookies = ServerCookieDecoder.STRICT.decode(cookieHeader);
+                cookies = new HashMap<>(decodedCookies.size());
+                decodedCookies.forEach(cookie -> cookies.put(cookie.name(), cookie));
+            }
+        }
+        Cookie cookie = cookies.get(cookieName);
+        return (cookie == null) ? null : cookie.value();
+    }
+
+    @Override
+    public String getContentType() {
+        return nettyRequest.headers().get(HttpHeaders.Names.CONTENT_TYPE);
+    }
+
+    @Override
+    public long getContentLength() {
+        return HttpHeaders.getContentLength(nettyRequest, -1);
+    }
+
+    @Override
+    public Map<String, Object> getFormParams() {
+        if (formParams == null) {
+            decodeBody();
+        }
+        return formParams;
+    }
+
+    @Override
+    public Map<String, Object> getFiles() {
+        if (files == null) {
+            decodeBody();
+        }
+        return files;
+    }
+
+    private void decodeBody() {
+        formParams = Collections.emptyMap();
+        files = Collections.emptyMap();
+        if (isGetRequest || !nettyRequest.content().isReadable()) {
+            return;
+        }
+
+        String contentType = getContentType();
+        if ((contentType != null) && contentType.startsWith(CONTENT_TYPE_APPLICATION_JSON)) {
+            formParams = decodeJson(nettyRequest.content().toString(StandardCharsets.UTF_8));
+        } else if (HttpPostRequestDecoder.isMultipart(nettyRequest) || ((contentType != null) &&
+                contentType.startsWith(HttpHeaders.Values.APPLICATION_X_WWW_FORM_URLENCODED))) {
+            decodeForm();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> decodeJson(String json) {
+        Object postParams;
+        try {
+            postParams = GSON.fromJson(json, Object.class);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Request body is not a valid JSON.", e);
+        }
+        if (postParams == null) {
+            return Collections.emptyMap();
+        } else if (postParams instanceof List) {
+            List<?> postParamsList = (List<?>) postParams;
+            Map<String, Object> map = new HashMap<>(postParamsList.size());
+            for (int i = 0; i < postParamsList.size(); i++) {
+                map.put(Integer.toString(i), postParamsList.get(i));
+            }
+            return map;
+        } else if (postParams instanceof Map) {
+            return (Map<String, Object>) postParams;
+        } else {
+            throw new IllegalArgumentException("Unsupported JSON data type. Expected Map or List. Instead found '" +
+                                                       postParams.getClass().getName() + "'.");
+        }
+    }
+
+    private void decodeForm() {
+        Map<String, List<Object>> formValues = new LinkedHashMap<>();
+        Map<String, List<Object>> fileValues = new LinkedHashMap<>();
+        try {
+            // Uploaded files are always written to the disk, so that they can be passed as java.io.File instances.
+            postRequestDecoder = new HttpPostRequestDecoder(new DefaultHttpDataFactory(true), nettyRequest);
+            for (InterfaceHttpData data : postRequestDecoder.getBodyHttpDatas()) {
+                if (data.getHttpDataType() == InterfaceHttpData.HttpDataType.Attribute) {
+                    formValues.computeIfAbsent(data.getName(), key -> new ArrayList<>())
+                            .add(((Attribute) data).getValue());
+                } else if (data.getHttpDataType() == InterfaceHttpData.HttpDataType.FileUpload) {
+                    FileUpload fileUpload = (FileUpload) data;
+                    if (fileUpload.isCompleted() && (fileUpload.length() > 0)) {
+                        fileValues.computeIfAbsent(data.getName(), key -> new ArrayList<>()).add(fileUpload.getFile());
+                    }
+                }
+            }
+        } catch (HttpPostRequestDecoder.ErrorDataDecoderException | IOException e) {
+            throw new IllegalArgumentException("Cannot decode the request body.", e);
+        }
+        formParams = flatten(formValues);
+        files = flatten(fileValues);
+    }
+
+    private static Map<String, Object> flatten(Map<String, List<Object>> multiValues) {
+        if (multiValues.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> map = new HashMap<>(multiValues.size());
+        multiValues.forEach((key, values) -> map.put(key, (values.size() == 1) ? values.get(0) : values));
+        return map;
+    }
+
+    @Override
+    public String getLocalAddress() {
+        return ((InetSocketAddress) channel.localAddress()).getHostString();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return ((InetSocketAddress) channel.localAddress()).getPort();
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        return ((InetSocketAddress) channel.remoteAddress()).getHostString();
+    }
+
+    @Override
+    public int getRemotePort() {
+        return ((InetSocketAddress) channel.remoteAddress()).getPort();
+    }
+
+    /**
+     * Releases the resources held for decoding the body of this request, including the uploaded files.
+     */
+    public void release() {
+        if (postRequestDecoder != null) {
+            postRequestDecoder.destroy();
+            postRequestDecoder = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "{\"method\": \"" + method + "\", \"uri\": \"" + uri + "\", \"query\": \"" + queryString +
+                "\", \"protocol\": \"" + getProtocol() + "\"}";
+    }
+
+    /**
+     * Read-only map view of the headers of a Netty request. Lookups are delegated to the case-insensitive Netty
+     * headers, so headers are neither copied nor re-hashed for each request.
+     */
+    private static class HeadersView extends AbstractMap<String, String> {
+
+        private final HttpHeaders headers;
+        private Set<Entry<String, String>> entries;
+
+        HeadersView(HttpHeaders headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        public String get(Object key) {
+            return (key instanceof String) ? headers.get((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return (key instanceof String) && headers.contains((String) key);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return headers.isEmpty();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            if (entries == null) {
+                Map<String, String> map = new LinkedHashMap<>();
+                headers.forEach(header -> map.putIfAbsent(header.getKey(), header.getValue()));
+                entries = Collections.unmodifiableMap(map).entrySet();
+            }
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.httpconnector.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.wso2.carbon.uuf.spi.HttpResponse;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * UUF HttpResponse implementation which keeps its headers in Netty HTTP headers, so that they can be written to the
+ * Netty response as they are.
+ *
+ * @since 1.0.0
+ */
+public class NettyHttpResponse implements HttpResponse {
+
+    private static final String CONTENT_TYPE_APPLICATION_OCTET_STREAM = "application/octet-stream";
+
+    private final HttpHeaders headers;
+    private final Map<String, String> cookies;
+    private int status;
+    private Object content;
+    private String contentType;
+
+    public NettyHttpResponse() {
+        this.status = STATUS_OK;
+        this.headers = new DefaultHttpHeaders(false);
+        this.cookies = new HashMap<>();
+    }
+
+    @Override
+    public void setStatus(int statusCode) {
+        this.status = statusCode;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void setContent(String content, String contentType) {
+        this.content = content;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public void setContent(File content) {
+        String contentType = URLConnection.guessContentTypeFromName(content.getName());
+        setContent(content, (contentType == null) ? CONTENT_TYPE_APPLICATION_OCTET_STREAM : contentType);
+    }
+
+    @Override
+    public void setContent(File content, String contentType) {
+        this.content = content;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public void setContent(InputStream content, String contentType) {
+        this.content = content;
+        this.contentType = contentType;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The buffer is wrapped in a Netty buffer without copying, so that a cached or memory-mapped content is written
+     * to the connection as it is.
+     */
+    @Override
+    public void setContent(ByteBuffer content, String contentType) {
+        this.content = Unpooled.wrappedBuffer(content.duplicate());
+        this.contentType = contentType;
+    }
+
+    @Override
+    public void setContent(Object content, String contentType) {
+        this.content = content;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public Object getContent() {
+        return content;
+    }
+
+    @Override
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (value == null) {
+            headers.remove(name);
+        } else {
+            headers.add(name, value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returned map is a copy of the headers of this response; use {@link #setHeader(String, String)} to change them.
+     */
+    @Override
+    public MultivaluedMap<String, String> getHeaders() {
+        MultivaluedMap<String, String> map = new MultivaluedHashMap<>();
+        headers.forEach(header -> map.add(header.getKey(), header.getValue()));
+        return map;
+    }
+
+    /**
+     * Returns the Netty HTTP headers of this response.
+     *
+     * @return Netty HTTP headers of this response
+     */
+    public HttpHeaders getNettyHeaders() {
+        return headers;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The value may carry the attributes of the cookie (e.g. {@code "value; Path=/; HttpOnly"}), as it is written to
+     * the {@code Set-Cookie} header without encoding.
+     */
+    @Override
+    public void addCookie(String name, String value) {
+        cookies.put(name, value);
+    }
+
+    @Override
+    public String getCookie(String name) {
+        return cookies.get(name);
+    }
+
+    /**
+     * Returns the cookies added to this response.
+     *
+     * @return cookie names and values of this response
+     */
+    public Map<String, String> getCookies() {
+        return cookies;
+    }
+}
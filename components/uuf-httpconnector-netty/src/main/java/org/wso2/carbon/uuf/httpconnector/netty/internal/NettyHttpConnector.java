@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.httpconnector.netty.internal;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.api.Server;
+import org.wso2.carbon.uuf.spi.HttpConnector;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP connector which serves UUF apps directly on Netty, without going through a JAX-RS or MSF4J dispatch.
+ * <p>
+ * The connector listens on the port given by the {@code uuf.netty.port} system property (default 9090). Its
+ * {@code uuf.netty.bossThreads}, {@code uuf.netty.ioThreads} and {@code uuf.netty.workerThreads} system properties
+ * set the number of acceptor, I/O and request serving threads; {@code uuf.netty.workerQueueDepth} sets the number of
+ * requests that can wait for a serving thread, {@code uuf.netty.idleTimeout} the seconds an idle keep-alive
+ * connection is kept open, and {@code uuf.netty.maxContentLength} the maximum size of a request body.
+ *
+ * @since 1.0.0
+ */
+@Component(name = "org.wso2.carbon.uuf.httpconnector.netty.internal.NettyHttpConnector",
+           service = HttpConnector.class,
+           immediate = true)
+@SuppressWarnings("unused")
+public class NettyHttpConnector implements HttpConnector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NettyHttpConnector.class);
+    private static final int PORT = Integer.getInteger("uuf.netty.port", 9090);
+    private static final int BOSS_THREADS = Integer.getInteger("uuf.netty.bossThreads", 1);
+    private static final int IO_THREADS = Integer.getInteger("uuf.netty.ioThreads",
+                                                             Runtime.getRuntime().availableProcessors());
+    private static final int WORKER_THREADS = Integer.getInteger("uuf.netty.workerThreads",
+                                                                 Runtime.getRuntime().availableProcessors() * 8);
+    private static final int WORKER_QUEUE_DEPTH = Integer.getInteger("uuf.netty.workerQueueDepth", 1000);
+    private static final int IDLE_TIMEOUT_SECONDS = Integer.getInteger("uuf.netty.idleTimeout", 60);
+    private static final int MAX_CONTENT_LENGTH = Integer.getInteger("uuf.netty.maxContentLength", 10 * 1024 * 1024);
+    private static final int BACKLOG = 1024;
+
+    private final Set<String> appContextPaths = ConcurrentHashMap.newKeySet();
+    private volatile Server uufServer;
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup ioGroup;
+    private ThreadPoolExecutor workerExecutor;
+    private Channel serverChannel;
+
+    @Reference(name = "uufServer",
+               service = Server.class,
+               cardinality = ReferenceCardinality.MANDATORY,
+               policy = ReferencePolicy.DYNAMIC,
+               unbind = "unsetServer")
+    @Override
+    public void setServer(Server server) {
+        this.uufServer = server;
+    }
+
+    public void unsetServer(Server server) {
+        this.uufServer = null;
+    }
+
+    /**
+     * Get called when this osgi component get registered.
+     */
+    @Activate
+    protected void activate() {
+        bossGroup = new NioEventLoopGroup(BOSS_THREADS);
+        ioGroup = new NioEventLoopGroup(IO_THREADS);
+        // Requests are served off the I/O threads by a pool shared by all connections, so that a slow render does not
+        // stall the other connections.
+        workerExecutor = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 60, TimeUnit.SECONDS,
+                                                new LinkedBlockingQueue<>(WORKER_QUEUE_DEPTH),
+                                                new DefaultThreadFactory("uuf-netty-worker", true));
+        workerExecutor.allowCoreThreadTimeOut(true);
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(bossGroup, ioGroup)
+                .channel(NioServerSocketChannel.class)
+                .option(ChannelOption.SO_BACKLOG, BACKLOG)
+                .option(ChannelOption.SO_REUSEADDR, true)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .childOption(ChannelOption.SO_KEEPALIVE, true)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel channel) {
+                        ChannelPipeline pipeline = channel.pipeline();
+                        pipeline.addLast("idleStateHandler", new IdleStateHandler(0, 0, IDLE_TIMEOUT_SECONDS,
+                                                                                   TimeUnit.SECONDS));
+                        pipeline.addLast("httpServerCodec", new HttpServerCodec());
+                        pipeline.addLast("httpObjectAggregator", new HttpObjectAggregator(MAX_CONTENT_LENGTH));
+                        pipeline.addLast("chunkedWriteHandler", new ChunkedWriteHandler());
+                        pipeline.addLast("uufRequestHandler", new UUFRequestHandler(NettyHttpConnector.this::getServer,
+                                                                                    appContextPaths, workerExecutor));
+                    }
+                });
+        try {
+            serverChannel = bootstrap.bind(PORT).sync().channel();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shutdown();
+            throw new IllegalStateException("Interrupted while binding Netty HTTP connector to port " + PORT + ".", e);
+        }
+        LOGGER.info("Netty HTTP connector started on port {}.", PORT);
+        LOGGER.debug("{} activated.", getClass().getName());
+    }
+
+    /**
+     * Get called when this osgi component get unregistered.
+     */
+    @Deactivate
+    protected void deactivate() {
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+            serverChannel = null;
+        }
+        shutdown();
+        appContextPaths.clear();
+        LOGGER.debug("{} deactivated.", getClass().getName());
+    }
+
+    private void shutdown() {
+        bossGroup.shutdownGracefully();
+        ioGroup.shutdownGracefully();
+        workerExecutor.shutdown();
+    }
+
+    private Server getServer() {
+        return uufServer;
+    }
+
+    /**
+     * Starts serving requests to the specified app context path.
+     *
+     * @param appContextPath app context path
+     */
+    @Override
+    public void registerApp(String appName, String appContextPath) {
+        appContextPaths.add(appContextPath);
+        LOGGER.info("UUF app '{}' is available at '{}'.", appName, appContextPath);
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.httpconnector.netty.internal;
+
+import com.google.gson.Gson;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpChunkedInput;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedFile;
+import io.netty.handler.stream.ChunkedStream;
+import io.netty.handler.timeout.IdleStateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.api.Server;
+import org.wso2.carbon.uuf.httpconnector.netty.NettyHttpRequest;
+import org.wso2.carbon.uuf.httpconnector.netty.NettyHttpResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Netty handler which serves aggregated HTTP requests through the UUF server and writes the UUF responses.
+ * <p>
+ * Textual content is written from a pooled buffer, buffer content is written without copying, and file content is
+ * transferred from the file channel straight to the socket, without copying it through the JVM heap.
+ * <p>
+ * Requests are served in the given executor, which is shared by all connections, so that a slow render neither
+ * stalls the I/O thread nor the other requests of the connections sharing it. Requests of the same connection are
+ * served in order, and a request that the executor rejects gets an HTTP 503 response. While a request of a connection
+ * is being served, no further data is read from it; a connection that still sends more than
+ * {@code uuf.netty.maxPendingRequests} (default 16) requests is closed, so that a client cannot buffer an unbounded
+ * number of requests.
+ *
+ * @since 1.0.0
+ */
+class UUFRequestHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UUFRequestHandler.class);
+    private static final Gson GSON = new Gson();
+    static final int MAX_PENDING_REQUESTS = Integer.getInteger("uuf.netty.maxPendingRequests", 16);
+
+    private final Supplier<Server> serverSupplier;
+    private final Set<String> appContextPaths;
+    private final Executor executor;
+    // Accessed only in the event loop of the connection.
+    private final Queue<FullHttpRequest> pendingRequests;
+    private boolean isServing;
+
+    UUFRequestHandler(Supplier<Server> serverSupplier, Set<String> appContextPaths, Executor executor) {
+        this.serverSupplier = serverSupplier;
+        this.appContextPaths = appContextPaths;
+        this.executor = executor;
+        this.pendingRequests = new ArrayDeque<>();
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+        if (pendingRequests.size() >= MAX_PENDING_REQUESTS) {
+            LOGGER.debug("Closing connection '{}' as it has too many pending requests.", ctx.channel());
+            ctx.close();
+            return;
+        }
+        // Requests of a connection are served one after the other, so that pipelined responses are not reordered.
+        pendingRequests.add(request.retain());
+        // Requests already decoded are still delivered, but no more are read until the pending ones are served.
+        ctx.channel().config().setAutoRead(false);
+        if (!isServing) {
+            serveNext(ctx);
+        }
+    }
+
+    private void serveNext(ChannelHandlerContext ctx) {
+        FullHttpRequest request = pendingRequests.poll();
+        if (request == null) {
+            isServing = false;
+            ctx.channel().config().setAutoRead(true);
+            return;
+        }
+
+        isServing = true;
+        try {
+            executor.execute(() -> {
+                try {
+                    serve(ctx, request);
+                } finally {
+                    request.release();
+                    ctx.executor().execute(() -> serveNext(ctx));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            boolean isKeepAlive = HttpHeaders.isKeepAlive(request);
+            request.release();
+            writeError(ctx, HttpResponseStatus.SERVICE_UNAVAILABLE, isKeepAlive);
+            serveNext(ctx);
+        }
+    }
+
+    private void serve(ChannelHandlerContext ctx, FullHttpRequest request) {
+        boolean isKeepAlive = HttpHeaders.isKeepAlive(request);
+        if (!request.getDecoderResult().isSuccess()) {
+            writeError(ctx, HttpResponseStatus.BAD_REQUEST, false);
+            return;
+        }
+
+        boolean isSecure = (ctx.pipeline().get(SslHandler.class) != null);
+        NettyHttpRequest httpRequest = new NettyHttpRequest(request, ctx.channel(), isSecure);
+        Server server = serverSupplier.get();
+        if ((server == null) || !appContextPaths.contains(httpRequest.getContextPath())) {
+            writeError(ctx, HttpResponseStatus.NOT_FOUND, isKeepAlive);
+            return;
+        }
+
+        NettyHttpResponse httpResponse = new NettyHttpResponse();
+        try {
+            server.serve(httpRequest, httpResponse);
+        } catch (Exception e) {
+            LOGGER.error("An error occurred when serving request '{}'.", httpRequest, e);
+            writeError(ctx, HttpResponseStatus.INTERNAL_SERVER_ERROR, isKeepAlive);
+            return;
+        } finally {
+            httpRequest.release();
+        }
+        try {
+            writeResponse(ctx, httpResponse, isKeepAlive, isSecure);
+        } catch (IOException e) {
+            LOGGER.error("Cannot write the response for request '{}'.", httpRequest, e);
+            writeError(ctx, HttpResponseStatus.INTERNAL_SERVER_ERROR, false);
+        }
+    }
+
+    private void writeResponse(ChannelHandlerContext ctx, NettyHttpResponse httpResponse, boolean isKeepAlive,
+                               boolean isSecure) throws IOException {
+        HttpResponseStatus status = HttpResponseStatus.valueOf(httpResponse.getStatus());
+        Object content = httpResponse.getContent();
+        ChannelFuture lastWriteFuture;
+
+        if (content instanceof File) {
+            RandomAccessFile file = new RandomAccessFile((File) content, "r");
+            long length = file.length();
+            DefaultHttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, status);
+            setHeaders(response.headers(), httpResponse, isKeepAlive);
+            HttpHeaders.setContentLength(response, length);
+            ctx.write(response);
+            if (isSecure) {
+                // Zero-copy transfer bypasses the SSL engine, hence encrypted connections need to read the file.
+                lastWriteFuture = ctx.writeAndFlush(new HttpChunkedInput(new ChunkedFile(file)));
+            } else {
+                ctx.write(new DefaultFileRegion(file.getChannel(), 0, length));
+                lastWriteFuture = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+            }
+        } else if (content instanceof InputStream) {
+            DefaultHttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, status);
+            setHeaders(response.headers(), httpResponse, isKeepAlive);
+            HttpHeaders.setTransferEncodingChunked(response);
+            ctx.write(response);
+            lastWriteFuture = ctx.writeAndFlush(new HttpChunkedInput(new ChunkedStream((InputStream) content)));
+        } else {
+            ByteBuf body;
+            if (content == null) {
+                body = Unpooled.EMPTY_BUFFER;
+            } else if (content instanceof ByteBuf) {
+                body = (ByteBuf) content;
+            } else {
+                String text = (content instanceof String) ? (String) content : GSON.toJson(content);
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                body = ctx.alloc().buffer(bytes.length).writeBytes(bytes);
+            }
+            DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, body);
+            setHeaders(response.headers(), httpResponse, isKeepAlive);
+            HttpHeaders.setContentLength(response, body.readableBytes());
+            lastWriteFuture = ctx.writeAndFlush(response);
+        }
+
+        if (!isKeepAlive) {
+            lastWriteFuture.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    private static void setHeaders(HttpHeaders headers, NettyHttpResponse httpResponse, boolean isKeepAlive) {
+        headers.set(httpResponse.getNettyHeaders());
+        if ((httpResponse.getContent() != null) && (httpResponse.getContentType() != null)) {
+            headers.set(HttpHeaders.Names.CONTENT_TYPE, httpResponse.getContentType());
+        }
+        httpResponse.getCookies().forEach((name, value) -> headers.add(HttpHeaders.Names.SET_COOKIE,
+                                                                       name + "=" + value));
+        if (isKeepAlive) {
+            headers.set(HttpHeaders.Names.CONNECTION, HttpHeaders.Values.KEEP_ALIVE);
+        } else {
+            headers.set(HttpHeaders.Names.CONNECTION, HttpHeaders.Values.CLOSE);
+        }
+    }
+
+    private static void writeError(ChannelHandlerContext ctx, HttpResponseStatus status, boolean isKeepAlive) {
+        DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status);
+        HttpHeaders.setContentLength(response, 0);
+        ChannelFuture writeFuture = ctx.writeAndFlush(response);
+        if (!isKeepAlive) {
+            writeFuture.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        pendingRequests.forEach(FullHttpRequest::release);
+        pendingRequests.clear();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object event) throws Exception {
+        if (event instanceof IdleStateEvent) {
+            ctx.close(); // Keep-alive connection has been idle for too long.
+        } else {
+            super.userEventTriggered(ctx, event);
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        LOGGER.debug("Closing connection '{}' due to an error.", ctx.channel(), cause);
+        ctx.close();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.httpconnector.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for NettyHttpRequest.
+ *
+ * @since 1.0.0
+ */
+public class NettyHttpRequestTest {
+
+    private static NettyHttpRequest createRequest(FullHttpRequest request) {
+        Channel channel = mock(Channel.class);
+        when(channel.localAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 9090));
+        when(channel.remoteAddress()).thenReturn(new InetSocketAddress("127.0.0.2", 53000));
+        return new NettyHttpRequest(request, channel, false);
+    }
+
+    @Test
+    public void testUri() {
+        NettyHttpRequest request = createRequest(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET,
+                                                                            "/pets-store/some%20page?a=1&b=2&b=3"));
+
+        Assert.assertEquals(request.getMethod(), "GET");
+        Assert.assertTrue(request.isGetRequest());
+        Assert.assertEquals(request.getProtocol(), "HTTP/1.1");
+        Assert.assertEquals(request.getUri(), "/pets-store/some page");
+        Assert.assertEquals(request.getContextPath(), "/pets-store");
+        Assert.assertEquals(request.getUriWithoutContextPath(), "/some page");
+        Assert.assertEquals(request.getQueryString(), "a=1&b=2&b=3");
+        Assert.assertEquals(request.getQueryParams().get("a"), "1");
+        Assert.assertEquals(request.getQueryParams().get("b"), Arrays.asList("2", "3"));
+        Assert.assertEquals(request.getLocalPort(), 9090);
+        Assert.assertEquals(request.getRemoteAddress(), "127.0.0.2");
+    }
+
+    @Test
+    public void testHeadersAndCookies() {
+        FullHttpRequest nettyRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/app/");
+        nettyRequest.headers().add(HttpHeaders.Names.HOST, "localhost:9090");
+        nettyRequest.headers().add(HttpHeaders.Names.ACCEPT_LANGUAGE, "en-US");
+        nettyRequest.headers().add(HttpHeaders.Names.COOKIE, "UUFSESSIONID=abc; CSRFTOKEN=xyz");
+        NettyHttpRequest request = createRequest(nettyRequest);
+
+        Map<String, String> headers = request.getHeaders();
+        Assert.assertEquals(headers.get("Accept-Language"), "en-US");
+        Assert.assertEquals(headers.get("accept-language"), "en-US");
+        Assert.assertTrue(headers.containsKey("Cookie"));
+        Assert.assertNull(headers.get("Range"));
+        Assert.assertEquals(headers.size(), 3);
+        Assert.assertEquals(request.getCookieValue("UUFSESSIONID"), "abc");
+        Assert.assertEquals(request.getCookieValue("CSRFTOKEN"), "xyz");
+        Assert.assertNull(request.getCookieValue("other"));
+        Assert.assertEquals(request.getUrl(), "http://localhost:9090/app/");
+    }
+
+    @Test
+    public void testFormParams() {
+        byte[] body = "name=Alice&pets=cat&pets=dog".getBytes(StandardCharsets.UTF_8);
+        FullHttpRequest nettyRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/app/",
+                                                                  Unpooled.wrappedBuffer(body));
+        nettyRequest.headers().add(HttpHeaders.Names.CONTENT_TYPE,
+                                   HttpHeaders.Values.APPLICATION_X_WWW_FORM_URLENCODED);
+        HttpHeaders.setContentLength(nettyRequest, body.length);
+        NettyHttpRequest request = createRequest(nettyRequest);
+
+        Assert.assertEquals(request.getContentLength(), body.length);
+        Assert.assertEquals(request.getFormParams().get("name"), "Alice");
+        Assert.assertEquals(request.getFormParams().get("pets"), Arrays.asList("cat", "dog"));
+        Assert.assertTrue(request.getFiles().isEmpty());
+        request.release();
+    }
+
+    @Test
+    public void testJsonParams() {
+        byte[] body = "{\"name\": \"Alice\"}".getBytes(StandardCharsets.UTF_8);
+        FullHttpRequest nettyRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/app/",
+                                                                  Unpooled.wrappedBuffer(body));
+        nettyRequest.headers().add(HttpHeaders.Names.CONTENT_TYPE, "application/json; charset=UTF-8");
+        NettyHttpRequest request = createRequest(nettyRequest);
+
+        Assert.assertEquals(request.getFormParams().get("name"), "Alice");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidJsonParams() {
+        byte[] body = "\"Alice\"".getBytes(StandardCharsets.UTF_8);
+        FullHttpRequest nettyRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/app/",
+                                                                  Unpooled.wrappedBuffer(body));
+        nettyRequest.headers().add(HttpHeaders.Names.CONTENT_TYPE, "application/json");
+        createRequest(nettyRequest).getFormParams();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.uuf.httpconnector.netty;
+
+import io.netty.buffer.ByteBuf;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Test cases for NettyHttpResponse.
+ *
+ * @since 1.0.0
+ */
+public class NettyHttpResponseTest {
+
+    @Test
+    public void testStatusAndHeaders() {
+        NettyHttpResponse response = new NettyHttpResponse();
+        Assert.assertEquals(response.getStatus(), 200);
+        response.setStatus(404);
+        Assert.assertEquals(response.getStatus(), 404);
+
+        response.setHeader("Vary", "Accept-Encoding");
+        response.setHeader("Vary", "Cookie");
+        response.setHeader("X-Removed", "value");
+        response.setHeader("X-Removed", null);
+        Assert.assertEquals(response.getNettyHeaders().getAll("Vary"), Arrays.asList("Accept-Encoding", "Cookie"));
+        Assert.assertFalse(response.getNettyHeaders().contains("X-Removed"));
+        Assert.assertEquals(response.getHeaders().get("Vary"), Arrays.asList("Accept-Encoding", "Cookie"));
+
+        response.addCookie("UUFSESSIONID", "abc; Path=/; HttpOnly");
+        Assert.assertEquals(response.getCookie("UUFSESSIONID"), "abc; Path=/; HttpOnly");
+        Assert.assertEquals(response.getCookies().size(), 1);
+    }
+
+    @Test
+    public void testContent() {
+        NettyHttpResponse response = new NettyHttpResponse();
+        response.setContent("hello", "text/plain");
+        Assert.assertEquals(response.getContent(), "hello");
+        Assert.assertEquals(response.getContentType(), "text/plain");
+
+        File file = new File("image.png");
+        response.setContent(file);
+        Assert.assertSame(response.getContent(), file);
+        Assert.assertEquals(response.getContentType(), "image/png");
+        response.setContent(new File("data.unknown"));
+        Assert.assertEquals(response.getContentType(), "application/octet-stream");
+    }
+
+    @Test
+    public void testBufferContent() {
+        ByteBuffer buffer = ByteBuffer.wrap("var a = 1;".getBytes(StandardCharsets.UTF_8));
+        buffer.position(4);
+        NettyHttpResponse response = new NettyHttpResponse();
+        response.setContent(buffer, "application/javascript");
+
+        Assert.assertTrue(response.getContent() instanceof ByteBuf);
+        ByteBuf content = (ByteBuf) response.getContent();
+        Assert.assertEquals(content.toString(StandardCharsets.UTF_8), "a = 1;");
+        Assert.assertEquals(response.getContentType(), "application/javascript");
+        Assert.assertEquals(buffer.position(), 4, "Position of the buffer should not be changed.");
+        content.readByte();
+        Assert.assertEquals(buffer.position(), 4, "Buffer should not be shared with the response content.");
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.uuf.httpconnector.netty.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.FileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.Server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test cases for UUFRequestHandler.
+ *
+ * @since 1.0.0
+ */
+public class UUFRequestHandlerTest {
+
+    private static EmbeddedChannel createChannel(Server server) {
+        return createChannel(server, Runnable::run);
+    }
+
+    private static EmbeddedChannel createChannel(Server server, Executor executor) {
+        return new EmbeddedChannel(new UUFRequestHandler(() -> server, Collections.singleton("/app"), executor));
+    }
+
+    private static FullHttpRequest createRequest(String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+    }
+
+    @Test
+    public void testStatusAndHeaders() {
+        EmbeddedChannel channel = createChannel((request, response) -> {
+            response.setStatus(201);
+            response.setHeader("X-Custom", "value");
+            response.addCookie("UUFSESSIONID", "abc; Path=/app");
+            response.setContent("hello", "text/plain");
+        });
+        FullHttpRequest request = createRequest("/app/page");
+        channel.writeInbound(request);
+
+        FullHttpResponse response = (FullHttpResponse) channel.readOutbound();
+        Assert.assertEquals(response.getStatus().code(), 201);
+        Assert.assertEquals(response.headers().get("X-Custom"), "value");
+        Assert.assertEquals(response.headers().get(HttpHeaders.Names.SET_COOKIE), "UUFSESSIONID=abc; Path=/app");
+        Assert.assertEquals(response.headers().get(HttpHeaders.Names.CONTENT_TYPE), "text/plain");
+        Assert.assertEquals(HttpHeaders.getContentLength(response), 5);
+        Assert.assertEquals(response.content().toString(StandardCharsets.UTF_8), "hello");
+        Assert.assertEquals(response.headers().get(HttpHeaders.Names.CONNECTION), HttpHeaders.Values.KEEP_ALIVE);
+        Assert.assertTrue(channel.isOpen(), "Keep-alive connection should be kept open.");
+        Assert.assertEquals(request.refCnt(), 0, "Request should be released.");
+        response.release();
+    }
+
+    @Test
+    public void testNotFoundAndErrors() {
+        EmbeddedChannel channel = createChannel((request, response) -> {
+            throw new IllegalStateException("Cannot serve.");
+        });
+        channel.writeInbound(createRequest("/other/page"));
+        FullHttpResponse response = (FullHttpResponse) channel.readOutbound();
+        Assert.assertEquals(response.getStatus().code(), 404);
+        response.release();
+
+        channel.writeInbound(createRequest("/app/page"));
+        response = (FullHttpResponse) channel.readOutbound();
+        Assert.assertEquals(response.getStatus().code(), 500);
+        Assert.assertEquals(HttpHeaders.getContentLength(response), 0);
+        response.release();
+    }
+
+    @Test
+    public void testConnectionClose() {
+        EmbeddedChannel channel = createChannel((request, response) -> response.setContent("bye", "text/plain"));
+        FullHttpRequest request = createRequest("/app/page");
+        request.headers().set(HttpHeaders.Names.CONNECTION, HttpHeaders.Values.CLOSE);
+        channel.writeInbound(request);
+
+        FullHttpResponse response = (FullHttpResponse) channel.readOutbound();
+        Assert.assertEquals(response.headers().get(HttpHeaders.Names.CONNECTION), HttpHeaders.Values.CLOSE);
+        Assert.assertFalse(channel.isOpen(), "Connection should be closed after the response.");
+        response.release();
+    }
+
+    @Test
+    public void testPipelinedRequests() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        EmbeddedChannel channel = createChannel((request, response) -> response.setContent(request.getUri(),
+                                                                                           "text/plain"), tasks::add);
+        for (int i = 0; i < 5; i++) {
+            channel.writeInbound(createRequest("/app/page" + i));
+        }
+        Assert.assertFalse(channel.config().isAutoRead(), "Reading should be paused while requests are pending.");
+        Assert.assertEquals(tasks.size(), 1, "Requests of a connection should be served one at a time.");
+
+        for (int i = 0; i < 5; i++) {
+            tasks.poll().run();
+            channel.runPendingTasks();
+            FullHttpResponse response = (FullHttpResponse) channel.readOutbound();
+            Assert.assertEquals(response.content().toString(StandardCharsets.UTF_8), "/app/page" + i);
+            response.release();
+        }
+        Assert.assertTrue(tasks.isEmpty());
+        Assert.assertTrue(channel.config().isAutoRead(), "Reading should be resumed once the requests are served.");
+        Assert.assertTrue(channel.isOpen());
+    }
+
+    @Test
+    public void testTooManyPipelinedRequests() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        EmbeddedChannel channel = createChannel((request, response) -> response.setContent("ok", "text/plain"),
+                                                tasks::add);
+        List<FullHttpRequest> requests = new ArrayList<>();
+        // One request is being served, while the others wait.
+        for (int i = 0; i < UUFRequestHandler.MAX_PENDING_REQUESTS + 2; i++) {
+            FullHttpRequest request = createRequest("/app/page");
+            requests.add(request);
+            channel.writeInbound(request);
+        }
+        channel.runPendingTasks();
+
+        Assert.assertFalse(channel.isOpen(), "Connection with too many pending requests should be closed.");
+        for (FullHttpRequest request : requests.subList(1, requests.size())) {
+            Assert.assertEquals(request.refCnt(), 0, "Pending requests should be released.");
+        }
+        tasks.poll().run();
+        Assert.assertEquals(requests.get(0).refCnt(), 0);
+    }
+
+    @Test
+    public void testBufferContent() {
+        ByteBuffer buffer = ByteBuffer.wrap("var a = 1;".getBytes(StandardCharsets.UTF_8));
+        EmbeddedChannel channel = createChannel((request, response) -> response.setContent(buffer,
+                                                                                           "application/javascript"));
+        channel.writeInbound(createRequest("/app/public/script.js"));
+        channel.writeInbound(createRequest("/app/public/script.js"));
+
+        for (int i = 0; i < 2; i++) {
+            FullHttpResponse response = (FullHttpResponse) channel.readOutbound();
+            Assert.assertEquals(response.content().toString(StandardCharsets.UTF_8), "var a = 1;");
+            Assert.assertEquals(HttpHeaders.getContentLength(response), buffer.remaining());
+            response.release();
+        }
+        Assert.assertEquals(buffer.position(), 0);
+    }
+
+    @Test
+    public void testFileContent() throws IOException {
+        Path file = Files.createTempFile("uuf-netty", ".css");
+        try {
+            Files.write(file, "body {}".getBytes(StandardCharsets.UTF_8));
+            EmbeddedChannel channel = createChannel((request, response) -> response.setContent(file.toFile(),
+                                                                                               "text/css"));
+            channel.writeInbound(createRequest("/app/public/main.css"));
+
+            HttpResponse response = (HttpResponse) channel.readOutbound();
+            Assert.assertFalse(response instanceof FullHttpResponse);
+            Assert.assertEquals(HttpHeaders.getContentLength(response), 7);
+            Assert.assertEquals(response.headers().get(HttpHeaders.Names.CONTENT_TYPE), "text/css");
+            FileRegion fileRegion = (FileRegion) channel.readOutbound();
+            Assert.assertEquals(fileRegion.count(), 7);
+            fileRegion.release();
+            Assert.assertSame(channel.readOutbound(), LastHttpContent.EMPTY_LAST_CONTENT);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testUploadsAreReleased() {
+        AtomicReference<File> uploadedFile = new AtomicReference<>();
+        EmbeddedChannel channel = createChannel((request, response) -> {
+            uploadedFile.set((File) request.getFiles().get("file"));
+            Assert.assertTrue(uploadedFile.get().exists());
+        });
+        String body = "--boundary\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"a.txt\"\r\n" +
+                "Content-Type: text/plain\r\n\r\n" +
+                "hello\r\n" +
+                "--boundary--\r\n";
+        ByteBuf content = Unpooled.copiedBuffer(body, StandardCharsets.UTF_8);
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/app/upload",
+                                                             content);
+        request.headers().set(HttpHeaders.Names.CONTENT_TYPE, "multipart/form-data; boundary=boundary");
+        HttpHeaders.setContentLength(request, content.readableBytes());
+        channel.writeInbound(request);
+
+        FullHttpResponse response = (FullHttpResponse) channel.readOutbound();
+        Assert.assertEquals(response.getStatus().code(), 200);
+        Assert.assertNotNull(uploadedFile.get());
+        Assert.assertFalse(uploadedFile.get().exists(), "Uploaded files should be deleted after serving.");
+        Assert.assertEquals(request.refCnt(), 0);
+        response.release();
+    }
+
+    @Test
+    public void testRejectedRequest() {
+        EmbeddedChannel channel = createChannel((request, response) -> response.setContent("hello", "text/plain"),
+                                                command -> {
+                                                    throw new RejectedExecutionException();
+                                                });
+        FullHttpRequest request = createRequest("/app/page");
+        channel.writeInbound(request);
+
+        FullHttpResponse response = (FullHttpResponse) channel.readOutbound();
+        Assert.assertEquals(response.getStatus().code(), 503);
+        Assert.assertTrue(channel.isOpen());
+        Assert.assertEquals(request.refCnt(), 0);
+        response.release();
+    }
+}
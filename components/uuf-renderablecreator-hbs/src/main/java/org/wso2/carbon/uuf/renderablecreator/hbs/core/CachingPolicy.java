@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.uuf.renderablecreator.hbs.core;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Represents how the output of an {@link Executable} can be cached and reused across requests.
+ * <p>
+ * An output is cached against the values of the key fields and served until its TTL expires. After the TTL expired
+ * the stale output is served for at most the stale TTL, while the output is refreshed in the background.
+ * <p>
+ * Supported key fields are {@code pathParams.<name>}, {@code queryParams.<name>}, {@code params.<name>} and {@code
+ * user} (ID of the user of the current session).
+ *
+ * @since 1.0.0
+ */
+public class CachingPolicy {
+
+    public static final String KEY_FIELD_PATH_PARAMS = "pathParams.";
+    public static final String KEY_FIELD_QUERY_PARAMS = "queryParams.";
+    public static final String KEY_FIELD_PARAMS = "params.";
+    public static final String KEY_FIELD_USER = "user";
+
+    private final long ttl;
+    private final long staleTtl;
+    private final List<String> keyFields;
+
+    /**
+     * Creates a new caching policy.
+     *
+     * @param ttl       time-to-live of a cached output in milliseconds
+     * @param staleTtl  time in milliseconds a cached output can be served after its TTL expired
+     * @param keyFields key fields of a cached output
+     * @throws IllegalArgumentException if TTL is not a positive value or stale TTL is a negative value
+     * @throws IllegalArgumentException if a key field is not supported
+     */
+    public CachingPolicy(long ttl, long staleTtl, List<String> keyFields) {
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("TTL of a caching policy should be a positive value. Instead found '" +
+                                                       ttl + "'.");
+        }
+        if (staleTtl < 0) {
+            throw new IllegalArgumentException("Stale TTL of a caching policy should not be a negative value. " +
+                                                       "Instead found '" + staleTtl + "'.");
+        }
+        for (String keyField : keyFields) {
+            if (!isSupportedKeyField(keyField)) {
+                throw new IllegalArgumentException(
+                        "Key field '" + keyField + "' of a caching policy is not supported. Key field should be one " +
+                                "of '" + KEY_FIELD_PATH_PARAMS + "<name>', '" + KEY_FIELD_QUERY_PARAMS + "<name>', '" +
+                                KEY_FIELD_PARAMS + "<name>' or '" + KEY_FIELD_USER + "'.");
+            }
+        }
+        this.ttl = ttl;
+        this.staleTtl = staleTtl;
+        this.keyFields = unmodifiableList(keyFields);
+    }
+
+    /**
+     * Returns the time-to-live of a cached output in milliseconds.
+     *
+     * @return TTL in milliseconds
+     */
+    public long getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Returns the time in milliseconds a cached output can be served after its TTL expired.
+     *
+     * @return stale TTL in milliseconds
+     */
+    public long getStaleTtl() {
+        return staleTtl;
+    }
+
+    /**
+     * Returns the key fields of a cached output.
+     *
+     * @return key fields
+     */
+    public List<String> getKeyFields() {
+        return keyFields;
+    }
+
+    private static boolean isSupportedKeyField(String keyField) {
+        if (keyField == null) {
+            return false;
+        }
+        if (keyField.equals(KEY_FIELD_USER)) {
+            return true;
+        }
+        for (String prefix : new String[]{KEY_FIELD_PATH_PARAMS, KEY_FIELD_QUERY_PARAMS, KEY_FIELD_PARAMS}) {
+            if (keyField.startsWith(prefix) && (keyField.length() > prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "{\"ttl\": " + ttl + ", \"staleTtl\": " + staleTtl + ", \"keys\": " + keyFields + "}";
+    }
+}
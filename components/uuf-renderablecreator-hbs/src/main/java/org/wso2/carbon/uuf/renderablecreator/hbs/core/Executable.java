@@ -21,7 +21,18 @@ import org.wso2.carbon.uuf.core.Lookup;
 import org.wso2.carbon.uuf.core.RequestLookup;
 import org.wso2.carbon.uuf.renderablecreator.hbs.exception.ExecutionException;
 
+import java.util.Optional;
+
 public interface Executable {
 
     Object execute(Object context, API api, Lookup lookup, RequestLookup requestLookup) throws ExecutionException;
+
+    /**
+     * Returns the caching policy of the outputs of this executable.
+     *
+     * @return caching policy of this executable or an empty {@link Optional} if outputs are not cacheable
+     */
+    default Optional<CachingPolicy> getCachingPolicy() {
+        return Optional.empty();
+    }
 }
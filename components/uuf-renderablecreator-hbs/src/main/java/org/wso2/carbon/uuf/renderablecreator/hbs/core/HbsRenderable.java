@@ -16,22 +16,31 @@
 
 package org.wso2.carbon.uuf.renderablecreator.hbs.core;
 
+import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.HandlebarsException;
 import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.io.StringTemplateSource;
 import com.github.jknack.handlebars.io.TemplateSource;
+import org.wso2.carbon.uuf.api.config.I18nResources;
 import org.wso2.carbon.uuf.core.API;
 import org.wso2.carbon.uuf.core.Lookup;
 import org.wso2.carbon.uuf.core.RequestLookup;
 import org.wso2.carbon.uuf.renderablecreator.hbs.exception.HbsRenderableCreationException;
 import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.registry.RuntimeHelperRegistry;
+import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.I18nHelper;
+import org.wso2.carbon.uuf.renderablecreator.hbs.internal.TemplateLocalizer;
 import org.wso2.carbon.uuf.spi.Renderable;
 import org.wso2.carbon.uuf.spi.model.Model;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public abstract class HbsRenderable implements Renderable {
 
@@ -41,13 +50,27 @@ public abstract class HbsRenderable implements Renderable {
     public static final String DATA_KEY_CURRENT_WRITER = HbsRenderable.class.getName() + "#writer";
     public static final String DATA_KEY_RESOLVED_RESOURCES = HbsRenderable.class.getName() + "#resolved-resources";
     private static final Handlebars HANDLEBARS = new Handlebars().with(new RuntimeHelperRegistry());
+    /**
+     * Whether to compile a variant of each template per locale, with literal i18n keys resolved.
+     */
+    private static final boolean IS_LOCALE_VARIANTS_ENABLED = Boolean.getBoolean("uuf.hbs.localeVariants");
+    private static final int MAX_LOCALE_VARIANTS = 32;
 
     private final Template template;
+    private final TemplateSource templateSource;
+    private final ConcurrentMap<Locale, Template> localeVariants;
     private final String absolutePath;
     private final String relativePath;
 
     public HbsRenderable(TemplateSource templateSource, String absolutePath, String relativePath) {
         this.template = (templateSource != null) ? compile(templateSource) : null;
+        if ((templateSource != null) && IS_LOCALE_VARIANTS_ENABLED) {
+            this.templateSource = templateSource;
+            this.localeVariants = new ConcurrentHashMap<>();
+        } else {
+            this.templateSource = null;
+            this.localeVariants = null;
+        }
         this.absolutePath = absolutePath;
         this.relativePath = relativePath;
     }
@@ -56,6 +79,47 @@ public abstract class HbsRenderable implements Renderable {
         return template;
     }
 
+    /**
+     * Returns the template to be applied for the current request. When locale variants are enabled, this is the
+     * variant of the template for the locale of the request, compiled when the locale is first rendered. The locale
+     * is also recorded in the given context for the i18n helpers that are still called in the variant.
+     *
+     * @param lookup        lookup of the app
+     * @param requestLookup lookup of the current request
+     * @param context       context the template is applied with
+     * @return template to be applied
+     */
+    protected Template getTemplate(Lookup lookup, RequestLookup requestLookup, Context context) {
+        if ((localeVariants == null) || (lookup.getI18nResources() == null)) {
+            return getTemplate();
+        }
+        Locale locale = I18nHelper.computeRequestLocale(lookup, requestLookup);
+        context.data(I18nHelper.DATA_KEY_CURRENT_REQUEST_LOCALE, locale);
+        Template localeVariant = localeVariants.get(locale);
+        if (localeVariant == null) {
+            localeVariant = compileLocaleVariant(locale, lookup.getI18nResources());
+            if (localeVariants.size() < MAX_LOCALE_VARIANTS) {
+                localeVariants.putIfAbsent(locale, localeVariant);
+            }
+        }
+        return localeVariant;
+    }
+
+    private Template compileLocaleVariant(Locale locale, I18nResources i18nResources) {
+        String content;
+        try {
+            content = templateSource.content();
+        } catch (IOException e) {
+            throw new HbsRenderableCreationException(
+                    "Cannot load Handlebars template '" + templateSource.filename() + "'.", e);
+        }
+        Optional<String> localizedContent = TemplateLocalizer.localize(content, locale, i18nResources);
+        if (!localizedContent.isPresent()) {
+            return getTemplate(); // Nothing to resolve, hence the template itself is the variant.
+        }
+        return compile(new StringTemplateSource(templateSource.filename(), localizedContent.get()));
+    }
+
     protected String getAbsolutePath() {
         return absolutePath;
     }
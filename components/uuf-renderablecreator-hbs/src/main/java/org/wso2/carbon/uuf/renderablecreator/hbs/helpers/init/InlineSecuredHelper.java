@@ -22,6 +22,7 @@ import org.wso2.carbon.uuf.api.auth.Permission;
 import org.wso2.carbon.uuf.renderablecreator.hbs.internal.HbsPreprocessor;
 
 import java.io.IOException;
+import java.util.Set;
 
 /**
  * Implements handlebars {@code {{#secured}}} inline helper.
@@ -57,6 +58,13 @@ public class InlineSecuredHelper implements Helper<Object> {
     @Override
     public CharSequence apply(Object context, Options options) throws IOException {
         if (!options.tagType.inline()) {
+            // {{#secured}} block, record its permission so that it can be evaluated ahead.
+            Set<Permission> securedPermissions = options.data(HbsPreprocessor.DATA_KEY_SECURED_SECTIONS);
+            boolean isLiteral = (context instanceof String) && (options.params.length > 0) &&
+                    (options.params[0] instanceof String);
+            if ((securedPermissions != null) && isLiteral) {
+                securedPermissions.add(getPermission(context, options));
+            }
             return "";
         }
 
@@ -40,6 +40,7 @@ import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.FillZoneHelper;
 import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.FragmentHelper;
 import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.HeadJsHelper;
 import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.HeadOtherHelper;
+import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.I18nBundleHelper;
 import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.I18nHelper;
 import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.JsHelper;
 import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.MenuHelper;
@@ -221,6 +222,7 @@ public class RuntimeHelperRegistry implements HelperRegistry {
         registry.registerHelper(HeadOtherHelper.HELPER_NAME, new HeadOtherHelper());
         registry.registerHelper(JsHelper.HELPER_NAME, new JsHelper());
         registry.registerHelper(I18nHelper.HELPER_NAME, new I18nHelper());
+        registry.registerHelper(I18nBundleHelper.HELPER_NAME, new I18nBundleHelper());
         registry.registerHelper(TemplateHelper.HELPER_NAME, new TemplateHelper());
         registry.registerHelper(CSRFTokenHelper.HELPER_NAME, new CSRFTokenHelper());
         registry.registerHelperMissing(new MissingHelper());
@@ -46,10 +46,9 @@ public class CssHelper extends FillPlaceholderHelper<String> {
         }
 
         RequestLookup requestLookup = options.data(HbsRenderable.DATA_KEY_REQUEST_LOOKUP);
+        // With asset bundling, a content-fingerprinted URI is used so that browsers can cache the file forever.
         StringBuilder buffer = new StringBuilder("<link href=\"")
-                .append(requestLookup.getPublicUri())
-                .append('/')
-                .append(completeRelativePath);
+                .append(requestLookup.getStaticResourceUri(requestLookup.getPublicUri() + "/" + completeRelativePath));
         buffer.append("\" rel=\"stylesheet\" type=\"text/css\" />\n");
         addToPlaceholder(buffer.toString(), options);
         return "";
@@ -54,8 +54,19 @@ public class DefineZoneHelper implements Helper<String> {
         } else {
             if (!bindings.isEmpty()) {
                 API api = options.data(HbsRenderable.DATA_KEY_API);
+                boolean isDefaultContentRendered = false;
                 for (Fragment fragment : bindings) {
-                    buffer.append(fragment.render(new ContextModel(options.context), lookup, requestLookup, api));
+                    String content = fragment.render(new ContextModel(options.context), lookup, requestLookup, api);
+                    if (content.isEmpty() && requestLookup.isTimedOut(fragment)) {
+                        // This fragment couldn't be rendered within the deadline, hence fallback to the default
+                        // content in its place. Default content is rendered only once even if more fragments fail.
+                        if (!isDefaultContentRendered && (options.tagType == TagType.SECTION)) {
+                            buffer.append(options.fn().toString());
+                            isDefaultContentRendered = true;
+                        }
+                    } else {
+                        buffer.append(content);
+                    }
                 }
             }
             zoneContent.ifPresent(buffer::append);
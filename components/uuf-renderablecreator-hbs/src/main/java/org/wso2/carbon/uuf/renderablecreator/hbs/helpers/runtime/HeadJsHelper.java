@@ -49,10 +49,9 @@ public class HeadJsHelper extends FillPlaceholderHelper<String> {
         }
 
         RequestLookup requestLookup = options.data(HbsRenderable.DATA_KEY_REQUEST_LOOKUP);
+        // With asset bundling, a content-fingerprinted URI is used so that browsers can cache the file forever.
         StringBuilder buffer = new StringBuilder("<script src=\"")
-                .append(requestLookup.getPublicUri())
-                .append('/')
-                .append(completeRelativePath);
+                .append(requestLookup.getStaticResourceUri(requestLookup.getPublicUri() + "/" + completeRelativePath));
         buffer.append("\"");
         // See http://www.w3schools.com/tags/att_script_async.asp
         Object async = options.hash.get("async");
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime;
+
+import com.github.jknack.handlebars.Options;
+import org.wso2.carbon.uuf.api.Placeholder;
+import org.wso2.carbon.uuf.api.config.I18nBundle;
+import org.wso2.carbon.uuf.core.Lookup;
+import org.wso2.carbon.uuf.core.RequestLookup;
+import org.wso2.carbon.uuf.renderablecreator.hbs.core.HbsRenderable;
+import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.FillPlaceholderHelper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Adds a script of the i18n bundle of a component to the head JS placeholder, so that client-side templates can use
+ * the messages through the {@code uufI18n} global object. e.g. <tt>{{i18nBundle}}</tt> for the current component or
+ * <tt>{{i18nBundle "org.wso2.carbon.uuf.sample.foundation.ui" locale="fr"}}</tt>.
+ * <p>
+ * The script URI carries the version of the bundle, so browsers can cache it until the messages change.
+ *
+ * @since 1.0.0
+ */
+public class I18nBundleHelper extends FillPlaceholderHelper<Object> {
+
+    public static final String HELPER_NAME = "i18nBundle";
+
+    public I18nBundleHelper() {
+        super(Placeholder.headJs);
+    }
+
+    @Override
+    public CharSequence apply(Object componentName, Options options) throws IOException {
+        Lookup lookup = options.data(HbsRenderable.DATA_KEY_LOOKUP);
+        RequestLookup requestLookup = options.data(HbsRenderable.DATA_KEY_REQUEST_LOOKUP);
+        String bundleComponentName = (componentName instanceof String) ? (String) componentName :
+                requestLookup.tracker().getCurrentComponentName();
+
+        Locale locale;
+        Object localeParam = options.hash.get("locale");
+        if ((localeParam instanceof String) && !localeParam.toString().isEmpty()) {
+            locale = Locale.forLanguageTag(localeParam.toString());
+        } else {
+            locale = options.data(I18nHelper.DATA_KEY_CURRENT_REQUEST_LOCALE);
+            if (locale == null) {
+                locale = I18nHelper.computeRequestLocale(lookup, requestLookup);
+                options.data(I18nHelper.DATA_KEY_CURRENT_REQUEST_LOCALE, locale);
+            }
+        }
+
+        Optional<I18nBundle> bundle = lookup.getI18nResources().getBundle(bundleComponentName, locale);
+        if (!bundle.isPresent()) {
+            return ""; // Component does not have any language resources.
+        }
+        String scriptUri = requestLookup.getContextPath() + bundle.get().getScriptUri();
+        String script = "<script src=\"" + scriptUri + "\" type=\"text/javascript\"></script>\n";
+        if (getPlaceholderValue(options).map(content -> content.contains(script)).orElse(false)) {
+            return ""; // This bundle is already added.
+        }
+        addToPlaceholder(script, options);
+        return "";
+    }
+}
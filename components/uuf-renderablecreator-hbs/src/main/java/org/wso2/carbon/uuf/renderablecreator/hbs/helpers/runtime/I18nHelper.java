@@ -34,7 +34,7 @@ public class I18nHelper implements Helper<String> {
     public static final String HELPER_NAME = "i18n";
 
     private static final Locale FALLBACK_LOCALE = Locale.ENGLISH;
-    private static final String DATA_KEY_CURRENT_REQUEST_LOCALE = "CURRENT_LOCALE";
+    public static final String DATA_KEY_CURRENT_REQUEST_LOCALE = "CURRENT_LOCALE";
 
     @Override
     public CharSequence apply(String key, Options options) throws IOException {
@@ -51,19 +51,7 @@ public class I18nHelper implements Helper<String> {
             // Check whether we have already computed the locale for this request.
             Locale currentRequestLocale = options.data(DATA_KEY_CURRENT_REQUEST_LOCALE);
             if (currentRequestLocale == null) {
-                // Second priority is given to the accept language header of the request.
-                RequestLookup requestLookup = options.data(HbsRenderable.DATA_KEY_REQUEST_LOOKUP);
-                locale = computeLocale(requestLookup.getRequest(), lookup.getI18nResources());
-                if (locale == null) {
-                    // Seems like we have failed to compute a locale in above approaches.
-                    // Let's check whether a default locale is configured in the configuration.
-                    locale = computeLocale(lookup.getConfiguration());
-                    if (locale == null) {
-                        // Since there is no other option, we choose fallback locale.
-                        locale = FALLBACK_LOCALE;
-                    }
-                }
-
+                locale = computeRequestLocale(lookup, options.data(HbsRenderable.DATA_KEY_REQUEST_LOOKUP));
                 options.data(DATA_KEY_CURRENT_REQUEST_LOCALE, locale);
             } else {
                 locale = currentRequestLocale;
@@ -73,6 +61,28 @@ public class I18nHelper implements Helper<String> {
         return lookup.getI18nResources().getMessage(locale, key, options.params, key);
     }
 
+    /**
+     * Computes the locale of the current request.
+     *
+     * @param lookup        lookup of the app
+     * @param requestLookup lookup of the current request
+     * @return locale of the current request
+     */
+    public static Locale computeRequestLocale(Lookup lookup, RequestLookup requestLookup) {
+        // Second priority is given to the accept language header of the request.
+        Locale locale = computeLocale(requestLookup.getRequest(), lookup.getI18nResources());
+        if (locale == null) {
+            // Seems like we have failed to compute a locale in above approaches.
+            // Let's check whether a default locale is configured in the configuration.
+            locale = computeLocale(lookup.getConfiguration());
+            if (locale == null) {
+                // Since there is no other option, we choose fallback locale.
+                locale = FALLBACK_LOCALE;
+            }
+        }
+        return locale;
+    }
+
     private static Locale computeLocale(Map<String, Object> hashParams) {
         Object localeParam = hashParams.get("locale");
         if ((localeParam instanceof String) && !localeParam.toString().isEmpty()) {
@@ -88,7 +88,7 @@ public class HbsFragmentRenderable extends HbsPageRenderable {
             LOGGER.debug("Template \"" + this + "\" will be applied with context \"" + toPrettyJson(context) + "\".");
         }
         try {
-            return getTemplate().apply(context);
+            return getTemplate(lookup, requestLookup, context).apply(context);
         } catch (IOException e) {
             throw new HbsRenderingException("Cannot load fragment Handlebars template '" + getAbsolutePath() + "'.", e);
         } catch (HandlebarsException e) {
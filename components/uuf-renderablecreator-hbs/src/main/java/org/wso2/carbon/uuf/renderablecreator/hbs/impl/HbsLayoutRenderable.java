@@ -52,7 +52,7 @@ public class HbsLayoutRenderable extends HbsRenderable {
         PlaceholderWriter writer = new PlaceholderWriter();
         context.data(DATA_KEY_CURRENT_WRITER, writer);
         try {
-            getTemplate().apply(context, writer);
+            getTemplate(lookup, requestLookup, context).apply(context, writer);
         } catch (IOException e) {
             throw new HbsRenderingException("Cannot load layout Handlebars template '" + getAbsolutePath() + "'.", e);
         } catch (HandlebarsException e) {
@@ -21,13 +21,16 @@ import com.github.jknack.handlebars.HandlebarsException;
 import com.github.jknack.handlebars.io.TemplateSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.api.exception.RenderingTimeoutException;
 import org.wso2.carbon.uuf.core.API;
 import org.wso2.carbon.uuf.core.Lookup;
 import org.wso2.carbon.uuf.core.RequestLookup;
+import org.wso2.carbon.uuf.renderablecreator.hbs.core.CachingPolicy;
 import org.wso2.carbon.uuf.renderablecreator.hbs.core.Executable;
 import org.wso2.carbon.uuf.renderablecreator.hbs.core.HbsRenderable;
 import org.wso2.carbon.uuf.renderablecreator.hbs.exception.ExecutionException;
 import org.wso2.carbon.uuf.renderablecreator.hbs.exception.HbsRenderingException;
+import org.wso2.carbon.uuf.renderablecreator.hbs.internal.ExecutableOutputCache;
 import org.wso2.carbon.uuf.renderablecreator.hbs.internal.io.PlaceholderWriter;
 import org.wso2.carbon.uuf.spi.model.Model;
 
@@ -36,6 +39,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import static org.wso2.carbon.uuf.renderablecreator.hbs.internal.serialize.JsonSerializer.toPrettyJson;
 
@@ -91,7 +95,7 @@ public class HbsPageRenderable extends HbsRenderable {
         PlaceholderWriter writer = new PlaceholderWriter();
         context.data(DATA_KEY_CURRENT_WRITER, writer);
         try {
-            getTemplate().apply(context, writer);
+            getTemplate(lookup, requestLookup, context).apply(context, writer);
         } catch (IOException e) {
             throw new HbsRenderingException("Cannot load page Handlebars template '" + getAbsolutePath() + "'.", e);
         } catch (HandlebarsException e) {
@@ -126,7 +130,23 @@ public class HbsPageRenderable extends HbsRenderable {
 
     protected static Map execute(Executable executable, Object context, API api, Lookup lookup,
                                  RequestLookup requestLookup) {
-        Object executableOutput = executable.execute(context, api, lookup, requestLookup);
+        if (requestLookup.isDeadlineExceeded()) {
+            throw new RenderingTimeoutException(
+                    "Deadline of the request exceeded before executing the executable '" + executable + "'.");
+        }
+        Object executableOutput;
+        Optional<CachingPolicy> cachingPolicy = executable.getCachingPolicy();
+        if (cachingPolicy.isPresent() && requestLookup.getRequest().isGetRequest()) {
+            executableOutput = ExecutableOutputCache.getInstance().get(executable, cachingPolicy.get(), context, api,
+                                                                       lookup, requestLookup);
+        } else {
+            executableOutput = executable.execute(context, api, lookup, requestLookup);
+        }
+        if (requestLookup.isDeadlineExceeded()) {
+            // Output of an executable which overran the deadline is discarded, so the caller can fallback.
+            throw new RenderingTimeoutException(
+                    "Deadline of the request exceeded while executing the executable '" + executable + "'.");
+        }
         if (executableOutput == null) {
             return Collections.emptyMap();
         }
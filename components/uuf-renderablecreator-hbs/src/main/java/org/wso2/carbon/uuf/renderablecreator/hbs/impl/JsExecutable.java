@@ -22,6 +22,7 @@ import jdk.nashorn.api.scripting.ScriptObjectMirror;
 import org.wso2.carbon.uuf.core.API;
 import org.wso2.carbon.uuf.core.Lookup;
 import org.wso2.carbon.uuf.core.RequestLookup;
+import org.wso2.carbon.uuf.renderablecreator.hbs.core.CachingPolicy;
 import org.wso2.carbon.uuf.renderablecreator.hbs.core.Executable;
 import org.wso2.carbon.uuf.renderablecreator.hbs.core.js.CallMicroServiceFunction;
 import org.wso2.carbon.uuf.renderablecreator.hbs.core.js.CallOSGiServiceFunction;
@@ -39,9 +40,13 @@ import org.wso2.carbon.uuf.renderablecreator.hbs.exception.ExecutionException;
 import org.wso2.carbon.uuf.renderablecreator.hbs.impl.js.JsFunctionsImpl;
 import org.wso2.carbon.uuf.renderablecreator.hbs.impl.js.LoggerObject;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
@@ -56,6 +61,7 @@ public class JsExecutable implements Executable {
 
     private static final String FUNCTION_ON_GET = "onGet";
     private static final String FUNCTION_ON_POST = "onPost";
+    private static final String VARIABLE_ON_GET_CACHE = "onGetCache";
 
     private final NashornScriptEngine engine;
     private final UUFBindings engineBindings;
@@ -64,7 +70,7 @@ public class JsExecutable implements Executable {
     private final String componentPath;
     private final boolean hasOnGetFunction;
     private final boolean hasOnPostFunction;
-
+    private final CachingPolicy cachingPolicy;
 
     public JsExecutable(String scriptSource, ClassLoader componentClassLoader, String absolutePath, String relativePath,
                         String componentPath) {
@@ -87,6 +93,7 @@ public class JsExecutable implements Executable {
                     "Neither '" + FUNCTION_ON_GET + "' nor '" + FUNCTION_ON_POST + "' can be found in " +
                             "JavaScript file '" + absolutePath + "'. Please implement at least one of them.");
         }
+        this.cachingPolicy = hasOnGetFunction ? createCachingPolicy() : null;
     }
 
     /**
@@ -122,6 +129,59 @@ public class JsExecutable implements Executable {
         return ((ScriptObjectMirror) engineBindings.get("nashorn.global")).keySet();
     }
 
+    /**
+     * Creates the caching policy for outputs of the 'onGet' function from the 'onGetCache' variable, e.g. {@code var
+     * onGetCache = {ttl: 60, staleTtl: 30, keys: ["pathParams.id"]};} where TTLs are in seconds.
+     *
+     * @return caching policy or {@code null} if the 'onGetCache' variable is not defined
+     * @throws ExecutableCreationException if the 'onGetCache' variable is invalid
+     */
+    private CachingPolicy createCachingPolicy() throws ExecutableCreationException {
+        Object cacheConfig = ((ScriptObjectMirror) engineBindings.get("nashorn.global")).get(VARIABLE_ON_GET_CACHE);
+        if ((cacheConfig == null) || ScriptObjectMirror.isUndefined(cacheConfig)) {
+            return null;
+        }
+        if (!(cacheConfig instanceof ScriptObjectMirror) || ((ScriptObjectMirror) cacheConfig).isArray()) {
+            throw new ExecutableCreationException(
+                    "Variable '" + VARIABLE_ON_GET_CACHE + "' in JavaScript file '" + absolutePath +
+                            "' should be an object.");
+        }
+
+        ScriptObjectMirror config = (ScriptObjectMirror) cacheConfig;
+        Object ttl = config.get("ttl");
+        if (!(ttl instanceof Number)) {
+            throw new ExecutableCreationException(
+                    "Variable '" + VARIABLE_ON_GET_CACHE + "' in JavaScript file '" + absolutePath +
+                            "' should have a numeric 'ttl' in seconds.");
+        }
+        Object staleTtl = config.get("staleTtl");
+        if ((staleTtl != null) && !ScriptObjectMirror.isUndefined(staleTtl) && !(staleTtl instanceof Number)) {
+            throw new ExecutableCreationException(
+                    "Property 'staleTtl' of variable '" + VARIABLE_ON_GET_CACHE + "' in JavaScript file '" +
+                            absolutePath + "' should be a number in seconds.");
+        }
+        List<String> keyFields = new ArrayList<>();
+        Object keys = config.get("keys");
+        if ((keys instanceof ScriptObjectMirror) && ((ScriptObjectMirror) keys).isArray()) {
+            ((ScriptObjectMirror) keys).values().forEach(key -> keyFields.add(String.valueOf(key)));
+        } else if ((keys != null) && !ScriptObjectMirror.isUndefined(keys)) {
+            throw new ExecutableCreationException(
+                    "Property 'keys' of variable '" + VARIABLE_ON_GET_CACHE + "' in JavaScript file '" +
+                            absolutePath + "' should be an array.");
+        }
+
+        long ttlMillis = TimeUnit.SECONDS.toMillis(((Number) ttl).longValue());
+        long staleTtlMillis = (staleTtl instanceof Number) ?
+                TimeUnit.SECONDS.toMillis(((Number) staleTtl).longValue()) : ttlMillis;
+        try {
+            return new CachingPolicy(ttlMillis, staleTtlMillis, keyFields);
+        } catch (IllegalArgumentException e) {
+            throw new ExecutableCreationException(
+                    "Variable '" + VARIABLE_ON_GET_CACHE + "' in JavaScript file '" + absolutePath +
+                            "' is invalid.", e);
+        }
+    }
+
     protected String getAbsolutePath() {
         return absolutePath;
     }
@@ -155,6 +215,11 @@ public class JsExecutable implements Executable {
         }
     }
 
+    @Override
+    public Optional<CachingPolicy> getCachingPolicy() {
+        return Optional.ofNullable(cachingPolicy);
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(absolutePath, engine);
@@ -19,8 +19,11 @@ package org.wso2.carbon.uuf.renderablecreator.hbs.impl;
 import org.wso2.carbon.uuf.core.API;
 import org.wso2.carbon.uuf.core.Lookup;
 import org.wso2.carbon.uuf.core.RequestLookup;
+import org.wso2.carbon.uuf.renderablecreator.hbs.core.CachingPolicy;
 import org.wso2.carbon.uuf.renderablecreator.hbs.core.MutableExecutable;
 
+import java.util.Optional;
+
 public class MutableJsExecutable implements MutableExecutable {
 
     private final ClassLoader componentClassLoader;
@@ -28,7 +31,7 @@ public class MutableJsExecutable implements MutableExecutable {
     private final String relativePath;
     private final String componentPath;
 
-    private JsExecutable jsExecutable;
+    private volatile JsExecutable jsExecutable;
 
     public MutableJsExecutable(String scriptSource, ClassLoader componentClassLoader, String absolutePath,
                                String relativePath, String componentPath) {
@@ -45,6 +48,11 @@ public class MutableJsExecutable implements MutableExecutable {
         return jsExecutable.execute(context, api, lookup, requestLookup);
     }
 
+    @Override
+    public Optional<CachingPolicy> getCachingPolicy() {
+        return jsExecutable.getCachingPolicy();
+    }
+
     @Override
     public String getPath() {
         return jsExecutable.getAbsolutePath();
@@ -21,6 +21,7 @@ import org.wso2.carbon.uuf.api.Placeholder;
 import org.wso2.carbon.uuf.core.API;
 import org.wso2.carbon.uuf.core.Lookup;
 import org.wso2.carbon.uuf.core.RequestLookup;
+import org.wso2.carbon.uuf.internal.io.util.ZipArtifactHandler;
 import org.wso2.carbon.uuf.renderablecreator.hbs.core.js.CallMicroServiceFunction;
 import org.wso2.carbon.uuf.renderablecreator.hbs.core.js.CallOSGiServiceFunction;
 import org.wso2.carbon.uuf.renderablecreator.hbs.core.js.CreateSessionFunction;
@@ -40,7 +41,6 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Locale;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
@@ -98,7 +98,7 @@ public class JsFunctionsImpl {
 
     public static ModuleFunction getModuleFunction(String componentPath, ScriptEngine engine) {
         return moduleName -> {
-            Path modulesDirPath = Paths.get(componentPath, "modules");
+            Path modulesDirPath = ZipArtifactHandler.toPath(componentPath, "modules");
             Path jsFilePath = modulesDirPath.resolve(moduleName + ".js");
             if (!Files.exists(jsFilePath)) {
                 throw new IllegalArgumentException(
@@ -149,11 +149,19 @@ public class JsFunctionsImpl {
     public SendToClientFunction getSendToClientFunction() {
         if (sendToClientFunction == null) {
             sendToClientFunction = (name, values) -> {
-                String scriptTag = "<script type=\"text/javascript\">var " + Handlebars.Utils.escapeExpression(name) +
-                        "=" + JsonSerializer.toSafeJson(values[0]) +
-                        ";</script>";
-                api.getRequestLookup().addToPlaceholder(
-                        isHeadJsPlaceholder(values) ? Placeholder.headJs : Placeholder.js, scriptTag);
+                StringBuilder buffer = api.getRequestLookup().getPlaceholderBuffer(
+                        isHeadJsPlaceholder(values) ? Placeholder.headJs : Placeholder.js);
+                int initialLength = buffer.length();
+                buffer.append("<script type=\"text/javascript\">var ")
+                        .append(Handlebars.Utils.escapeExpression(name)).append('=');
+                try {
+                    // Value is streamed into the placeholder buffer without creating intermediate strings.
+                    JsonSerializer.writeSafeJson(values[0], buffer);
+                } catch (RuntimeException e) {
+                    buffer.setLength(initialLength);
+                    throw e;
+                }
+                buffer.append(";</script>");
             };
         }
         return sendToClientFunction;
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.renderablecreator.hbs.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.api.auth.Session;
+import org.wso2.carbon.uuf.api.auth.User;
+import org.wso2.carbon.uuf.core.API;
+import org.wso2.carbon.uuf.core.Lookup;
+import org.wso2.carbon.uuf.core.RequestLookup;
+import org.wso2.carbon.uuf.renderablecreator.hbs.core.CachingPolicy;
+import org.wso2.carbon.uuf.renderablecreator.hbs.core.Executable;
+import org.wso2.carbon.uuf.renderablecreator.hbs.exception.ExecutionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache for outputs of {@link Executable}s that have a {@link CachingPolicy}.
+ * <p>
+ * Concurrent misses for the same key are collapsed into a single execution. Once the TTL of a cached output expires,
+ * the first request which finds it stale refreshes it inline with its own request state, while concurrent requests
+ * keep being served the stale output. Since cached outputs are shared between requests, cacheable executables should
+ * be free of side effects.
+ *
+ * @since 1.0.0
+ */
+public class ExecutableOutputCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutableOutputCache.class);
+    private static final long MAXIMUM_SIZE = 10000;
+    private static final ExecutableOutputCache INSTANCE = new ExecutableOutputCache(MAXIMUM_SIZE);
+
+    private final Cache<Key, Entry> cache;
+
+    ExecutableOutputCache(long maximumSize) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    public static ExecutableOutputCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the cached output of the specified executable for the current request, executing it if necessary.
+     *
+     * @param executable    executable to be executed
+     * @param cachingPolicy caching policy of the executable
+     * @param context       context for the executable
+     * @param api           API for the current request
+     * @param lookup        lookup of the app
+     * @param requestLookup request lookup of the current request
+     * @return output of the executable
+     */
+    public Object get(Executable executable, CachingPolicy cachingPolicy, Object context, API api, Lookup lookup,
+                      RequestLookup requestLookup) {
+        Key key = new Key(cachingPolicy, getKeyValues(cachingPolicy, context, api, requestLookup));
+        Entry entry = load(key, executable, context, api, lookup, requestLookup);
+        long now = System.nanoTime();
+        if (entry.isFresh(now)) {
+            return entry.value;
+        }
+        if (entry.isServable(now)) {
+            if (entry.startRefresh()) {
+                return refresh(key, entry, executable, context, api, lookup, requestLookup);
+            }
+            return entry.value;
+        }
+        // Cached output is too stale to be served.
+        cache.asMap().remove(key, entry);
+        return load(key, executable, context, api, lookup, requestLookup).value;
+    }
+
+    /**
+     * Removes all the cached outputs created under the specified caching policy. Since a reloaded executable comes with
+     * a new caching policy, this discards the outputs of the previous version of that executable only.
+     *
+     * @param cachingPolicy caching policy of the executable which outputs should be removed
+     */
+    public void invalidate(CachingPolicy cachingPolicy) {
+        cache.asMap().keySet().removeIf(key -> key.cachingPolicy == cachingPolicy);
+    }
+
+    private Entry load(Key key, Executable executable, Object context, API api, Lookup lookup,
+                       RequestLookup requestLookup) {
+        try {
+            return cache.get(key, () -> new Entry(executable.execute(context, api, lookup, requestLookup),
+                                                  key.cachingPolicy));
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ExecutionException("Cannot execute the executable '" + executable + "'.", e.getCause());
+        } catch (java.util.concurrent.ExecutionException e) {
+            throw new ExecutionException("Cannot execute the executable '" + executable + "'.", e.getCause());
+        }
+    }
+
+    private Object refresh(Key key, Entry staleEntry, Executable executable, Object context, API api, Lookup lookup,
+                           RequestLookup requestLookup) {
+        // Refresh runs inline in the current request, as the API and the request lookup are bound to this request and
+        // must not be used after it completes.
+        Object output;
+        try {
+            output = executable.execute(context, api, lookup, requestLookup);
+        } catch (Exception e) {
+            LOGGER.warn("Cannot refresh the cached output of executable '{}'.", executable, e);
+            staleEntry.refreshFailed();
+            return staleEntry.value;
+        }
+        cache.asMap().replace(key, staleEntry, new Entry(output, key.cachingPolicy));
+        return output;
+    }
+
+    private static List<Object> getKeyValues(CachingPolicy cachingPolicy, Object context, API api,
+                                             RequestLookup requestLookup) {
+        List<String> keyFields = cachingPolicy.getKeyFields();
+        List<Object> keyValues = new ArrayList<>(keyFields.size());
+        for (String keyField : keyFields) {
+            if (keyField.equals(CachingPolicy.KEY_FIELD_USER)) {
+                keyValues.add(api.getSession().map(Session::getUser).map(User::getId).orElse(null));
+            } else if (keyField.startsWith(CachingPolicy.KEY_FIELD_PATH_PARAMS)) {
+                keyValues.add(getValue(requestLookup.getPathParams(),
+                                       keyField.substring(CachingPolicy.KEY_FIELD_PATH_PARAMS.length())));
+            } else if (keyField.startsWith(CachingPolicy.KEY_FIELD_QUERY_PARAMS)) {
+                keyValues.add(getValue(requestLookup.getRequest().getQueryParams(),
+                                       keyField.substring(CachingPolicy.KEY_FIELD_QUERY_PARAMS.length())));
+            } else if (keyField.startsWith(CachingPolicy.KEY_FIELD_PARAMS)) {
+                Object params = (context instanceof Map) ? ((Map) context).get("params") : null;
+                keyValues.add(getValue(params, keyField.substring(CachingPolicy.KEY_FIELD_PARAMS.length())));
+            }
+        }
+        return keyValues;
+    }
+
+    private static Object getValue(Object map, String key) {
+        return (map instanceof Map) ? ((Map) map).get(key) : null;
+    }
+
+    private static class Key {
+
+        private final CachingPolicy cachingPolicy;
+        private final List<Object> keyValues;
+        private final int hashCode;
+
+        Key(CachingPolicy cachingPolicy, List<Object> keyValues) {
+            this.cachingPolicy = cachingPolicy;
+            this.keyValues = keyValues;
+            this.hashCode = (31 * System.identityHashCode(cachingPolicy)) + keyValues.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            // Caching policy is compared by identity, since a reloaded executable comes with a new policy.
+            return (this.cachingPolicy == other.cachingPolicy) && Objects.equals(this.keyValues, other.keyValues);
+        }
+    }
+
+    private static class Entry {
+
+        private final Object value;
+        private final long expiresAt;
+        private final long staleExpiresAt;
+        private final AtomicBoolean isRefreshing;
+
+        Entry(Object value, CachingPolicy cachingPolicy) {
+            long now = System.nanoTime();
+            this.value = value;
+            this.expiresAt = now + TimeUnit.MILLISECONDS.toNanos(cachingPolicy.getTtl());
+            this.staleExpiresAt = expiresAt + TimeUnit.MILLISECONDS.toNanos(cachingPolicy.getStaleTtl());
+            this.isRefreshing = new AtomicBoolean(false);
+        }
+
+        boolean isFresh(long now) {
+            return (now - expiresAt) < 0;
+        }
+
+        boolean isServable(long now) {
+            return (now - staleExpiresAt) < 0;
+        }
+
+        boolean startRefresh() {
+            return isRefreshing.compareAndSet(false, true);
+        }
+
+        void refreshFailed() {
+            isRefreshing.set(false);
+        }
+    }
+}
@@ -26,19 +26,25 @@ import org.wso2.carbon.uuf.renderablecreator.hbs.helpers.registry.InitHelperRegi
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
 public class HbsPreprocessor {
 
     public static final String DATA_KEY_CURRENT_LAYOUT = HbsPreprocessor.class.getName() + "#layout";
     public static final String DATA_KEY_SECURED = HbsPreprocessor.class.getName() + "#secured";
+    public static final String DATA_KEY_SECURED_SECTIONS = HbsPreprocessor.class.getName() + "#secured-sections";
     private static final Handlebars HANDLEBARS = new Handlebars().with(new InitHelperRegistry());
 
     private final String layout;
     private final Permission permission;
+    private final Set<Permission> securedPermissions;
 
     public HbsPreprocessor(TemplateSource templateSource) {
         Context context = Context.newContext(Collections.emptyMap());
+        securedPermissions = new HashSet<>();
+        context.data(DATA_KEY_SECURED_SECTIONS, securedPermissions);
         try {
             HANDLEBARS.compile(templateSource).apply(context);
         } catch (IOException e) {
@@ -64,4 +70,13 @@ public class HbsPreprocessor {
     public Permission getPermission() {
         return permission;
     }
+
+    /**
+     * Returns the permissions of the handlebars {{#secured}} blocks, which are not nested in other blocks.
+     *
+     * @return permissions of the handlebars {{#secured}} blocks
+     */
+    public Set<Permission> getSecuredPermissions() {
+        return securedPermissions;
+    }
 }
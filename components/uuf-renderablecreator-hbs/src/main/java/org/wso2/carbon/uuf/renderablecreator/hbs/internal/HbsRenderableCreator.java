@@ -111,8 +111,9 @@ public class HbsRenderableCreator implements RenderableCreator {
             fragmentRenderable = new HbsFragmentRenderable(templateSource, file.getAbsolutePath(),
                                                            file.getRelativePath(), executable);
         }
-        Permission permission = new HbsPreprocessor(templateSource).getPermission();
-        return new RenderableCreator.FragmentRenderableData(fragmentRenderable, permission);
+        HbsPreprocessor preprocessor = new HbsPreprocessor(templateSource);
+        return new RenderableCreator.FragmentRenderableData(fragmentRenderable, preprocessor.getPermission(),
+                                                            preprocessor.getSecuredPermissions());
     }
 
     @Override
@@ -134,8 +135,8 @@ public class HbsRenderableCreator implements RenderableCreator {
         }
         HbsPreprocessor preprocessor = new HbsPreprocessor(templateSource);
         String layoutName = preprocessor.getLayoutName().orElse(null);
-        Permission permission = preprocessor.getPermission();
-        return new RenderableCreator.PageRenderableData(pageRenderable, permission, layoutName);
+        return new RenderableCreator.PageRenderableData(pageRenderable, preprocessor.getPermission(), layoutName,
+                                                        preprocessor.getSecuredPermissions());
     }
 
     @Override
@@ -152,7 +153,8 @@ public class HbsRenderableCreator implements RenderableCreator {
         } else {
             layoutRenderable = new HbsLayoutRenderable(templateSource, file.getAbsolutePath(), file.getRelativePath());
         }
-        return new RenderableCreator.LayoutRenderableData(layoutRenderable);
+        Set<Permission> securedPermissions = new HbsPreprocessor(templateSource).getSecuredPermissions();
+        return new RenderableCreator.LayoutRenderableData(layoutRenderable, securedPermissions);
     }
 
     private TemplateSource createTemplateSource(FileReference fileReference) {
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.renderablecreator.hbs.internal;
+
+import com.github.jknack.handlebars.Handlebars;
+import org.wso2.carbon.uuf.api.config.I18nResources;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Folds i18n helper calls with a literal key and no parameters (e.g. <tt>{{i18n "key"}}</tt>) in a Handlebars
+ * template source into the static text of their messages in a particular locale.
+ * <p>
+ * Calls with a dynamic key, parameters or a locale hash parameter are left to the i18n helper. So are messages with
+ * curly braces or backslashes, which could be taken as Handlebars expressions once they are folded.
+ *
+ * @since 1.0.0
+ */
+public class TemplateLocalizer {
+
+    private static final Pattern LITERAL_I18N_CALL = Pattern.compile(
+            "(?<![\\\\{])\\{\\{\\s*i18n\\s+(?:\"([^\"\\\\]*)\"|'([^'\\\\]*)')\\s*}}(?!})");
+
+    private TemplateLocalizer() {
+    }
+
+    /**
+     * Returns the given template source with its literal i18n calls folded into messages of the given locale.
+     *
+     * @param templateSource content of the Handlebars template
+     * @param locale         locale of the messages
+     * @param i18nResources  i18n resources of the app
+     * @return the localized template source, or empty if there is nothing to fold in the given template source
+     */
+    public static Optional<String> localize(String templateSource, Locale locale, I18nResources i18nResources) {
+        Matcher matcher = LITERAL_I18N_CALL.matcher(templateSource);
+        StringBuffer buffer = null;
+        while (matcher.find()) {
+            String key = (matcher.group(1) != null) ? matcher.group(1) : matcher.group(2);
+            // Same as what the i18n helper would render for this call.
+            String message = i18nResources.getMessage(locale, key, null, key);
+            if (!isFoldable(message)) {
+                continue;
+            }
+            if (buffer == null) {
+                buffer = new StringBuffer(templateSource.length());
+            }
+            matcher.appendReplacement(buffer, Matcher.quoteReplacement(Handlebars.Utils.escapeExpression(message)
+                                                                               .toString()));
+        }
+        if (buffer == null) {
+            return Optional.empty();
+        }
+        matcher.appendTail(buffer);
+        return Optional.of(buffer.toString());
+    }
+
+    private static boolean isFoldable(String message) {
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if ((c == '{') || (c == '}') || (c == '\\')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -19,6 +19,7 @@
 package org.wso2.carbon.uuf.renderablecreator.hbs.internal.io;
 
 import com.github.jknack.handlebars.io.StringTemplateSource;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,16 +27,18 @@ import org.wso2.carbon.uuf.api.reference.FileReference;
 import org.wso2.carbon.uuf.api.reference.FragmentReference;
 import org.wso2.carbon.uuf.api.reference.LayoutReference;
 import org.wso2.carbon.uuf.api.reference.PageReference;
+import org.wso2.carbon.uuf.internal.io.util.ZipArtifactHandler;
+import org.wso2.carbon.uuf.renderablecreator.hbs.core.CachingPolicy;
 import org.wso2.carbon.uuf.renderablecreator.hbs.core.MutableExecutable;
 import org.wso2.carbon.uuf.renderablecreator.hbs.core.MutableHbsRenderable;
 import org.wso2.carbon.uuf.renderablecreator.hbs.exception.ExecutableUpdateException;
 import org.wso2.carbon.uuf.renderablecreator.hbs.exception.HbsRenderableCreationException;
 import org.wso2.carbon.uuf.renderablecreator.hbs.exception.HbsRenderableUpdateException;
+import org.wso2.carbon.uuf.renderablecreator.hbs.internal.ExecutableOutputCache;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.ClosedWatchServiceException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.NotDirectoryException;
@@ -45,32 +48,60 @@ import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
-import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Reloads Handlebars templates and JavaScript executables when their files are modified in dev mode.
+ * <p>
+ * Only the file pointed by a watch event is reloaded. Editors usually emit several events for a single save, hence
+ * events for the same file are coalesced within a debounce window (system property {@code uuf.hbs.reload.debounce}
+ * in milliseconds) before the file is read and compiled on a small background pool. A reload replaces the template
+ * or the executable of the mutable renderable at once, so a concurrent request sees either the old or the new
+ * version; a file that fails to compile keeps the old version.
+ */
 public class HbsRenderableUpdater {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HbsRenderableUpdater.class);
+    private static final long DEBOUNCE_DELAY_MILLIS = Long.getLong("uuf.hbs.reload.debounce", 100L);
+    private static final int RELOAD_THREADS = 2;
 
     private final Set<Path> watchingDirectories;
     private final ConcurrentMap<Path, MutableHbsRenderable> watchingRenderables;
     private final ConcurrentMap<Path, MutableExecutable> watchingExecutables;
+    private final ConcurrentMap<Path, ScheduledFuture<?>> pendingReloads;
+    private final long debounceDelayMillis;
     private final WatchService watcher;
     private final Thread watchService;
-    private boolean isWatchServiceStopped;
+    private final ScheduledExecutorService reloadExecutor;
+    private volatile boolean isWatchServiceStopped;
 
     public HbsRenderableUpdater() {
-        this.watchingDirectories = new HashSet<>();
+        this(DEBOUNCE_DELAY_MILLIS);
+    }
+
+    HbsRenderableUpdater(long debounceDelayMillis) {
+        this.watchingDirectories = ConcurrentHashMap.newKeySet();
         this.watchingRenderables = new ConcurrentHashMap<>();
         this.watchingExecutables = new ConcurrentHashMap<>();
+        this.pendingReloads = new ConcurrentHashMap<>();
+        this.debounceDelayMillis = debounceDelayMillis;
         try {
             this.watcher = FileSystems.getDefault().newWatchService();
         } catch (IOException e) {
             throw new HbsRenderableUpdateException("Cannot create file watch service for Handlebars renderables.", e);
         }
         this.watchService = new Thread(this::run, HbsRenderableUpdater.class.getName() + "-WatchService");
+        this.watchService.setDaemon(true);
+        this.reloadExecutor = Executors.newScheduledThreadPool(RELOAD_THREADS, new ThreadFactoryBuilder()
+                .setNameFormat("uuf-hbs-reload-%d").setDaemon(true).build());
         this.isWatchServiceStopped = false;
     }
 
@@ -87,25 +118,38 @@ public class HbsRenderableUpdater {
     }
 
     private void add(FileReference fileReference, MutableHbsRenderable mutableRenderable) {
-        Path renderablePath = Paths.get(fileReference.getAbsolutePath());
-        Path parentDirectory = renderablePath.getParent();
-        if (watchingDirectories.add(parentDirectory)) {
-            try {
-                parentDirectory.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY);
-            } catch (ClosedWatchServiceException e) {
-                throw new HbsRenderableUpdateException("File watch service is closed.", e);
-            } catch (NotDirectoryException e) {
-                throw new HbsRenderableUpdateException("Cannot register path '" + parentDirectory +
-                                                       "' to file watch service as it is not a directory.", e);
-            } catch (IOException e) {
-                throw new HbsRenderableUpdateException(
-                        "An IO error occurred when registering path '" + parentDirectory + "' to file watch service.'",
-                        e);
-            }
+        if (ZipArtifactHandler.isZipEntry(fileReference.getAbsolutePath())) {
+            // Files inside zip artifacts cannot be modified, hence no need to watch.
+            LOGGER.debug("Handlebars template '{}' is not watched as it is inside a zip artifact.",
+                         fileReference.getAbsolutePath());
+            return;
         }
+        Path renderablePath = Paths.get(fileReference.getAbsolutePath()).toAbsolutePath().normalize();
+        register(renderablePath.getParent());
         watchingRenderables.put(renderablePath, mutableRenderable);
-        mutableRenderable.getMutableExecutable()
-                .ifPresent(me -> watchingExecutables.put(Paths.get(me.getPath()), me));
+        mutableRenderable.getMutableExecutable().ifPresent(me -> {
+            Path executablePath = Paths.get(me.getPath()).toAbsolutePath().normalize();
+            register(executablePath.getParent());
+            watchingExecutables.put(executablePath, me);
+        });
+    }
+
+    private void register(Path directory) {
+        if (!watchingDirectories.add(directory)) {
+            return; // Already watching.
+        }
+        try {
+            // Editors which save by replacing the file generate a create event rather than a modify event.
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (ClosedWatchServiceException e) {
+            throw new HbsRenderableUpdateException("File watch service is closed.", e);
+        } catch (NotDirectoryException e) {
+            throw new HbsRenderableUpdateException("Cannot register path '" + directory +
+                                                   "' to file watch service as it is not a directory.", e);
+        } catch (IOException e) {
+            throw new HbsRenderableUpdateException(
+                    "An IO error occurred when registering path '" + directory + "' to file watch service.'", e);
+        }
     }
 
     public void start() {
@@ -119,6 +163,7 @@ public class HbsRenderableUpdater {
     public void finish() {
         isWatchServiceStopped = true;
         IOUtils.closeQuietly(watcher);
+        reloadExecutor.shutdownNow();
     }
 
     private void run() {
@@ -134,56 +179,24 @@ public class HbsRenderableUpdater {
                 return;
             }
 
+            Path updatedDirectory = (Path) watchKey.watchable();
             for (WatchEvent<?> event : watchKey.pollEvents()) {
-                if (event.kind() != StandardWatchEventKinds.ENTRY_MODIFY) {
-                    continue; // We only watch file modify events.
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // Some events are lost, hence reload every watched file in this directory.
+                    watchingRenderables.keySet().stream()
+                            .filter(path -> updatedDirectory.equals(path.getParent()))
+                            .forEach(this::scheduleReload);
+                    watchingExecutables.keySet().stream()
+                            .filter(path -> updatedDirectory.equals(path.getParent()))
+                            .forEach(this::scheduleReload);
+                    continue;
                 }
-
-                Path updatedDirectory = (Path) watchKey.watchable();
                 @SuppressWarnings("unchecked")
                 Path updatedFileName = ((WatchEvent<Path>) event).context();
                 Path updatedFileAbsolutePath = updatedDirectory.resolve(updatedFileName);
-                try (DirectoryStream<Path> stream = Files.newDirectoryStream(updatedFileAbsolutePath.getParent())) {
-                    for (Path entry : stream) {
-                        if (Files.isDirectory(entry)) {
-                            continue;
-                        }
-
-                        MutableHbsRenderable mutableRenderable = watchingRenderables.get(entry);
-                        if (mutableRenderable != null) {
-                            // Updated file is a MutableHbsRenderable
-                            try {
-                                mutableRenderable.reload(new StringTemplateSource(mutableRenderable.getComponentPath(),
-                                                                                  readFileContent(entry)));
-                                LOGGER.info("Handlebars template '{}' reloaded successfully.", entry);
-                            } catch (IOException e) {
-                                LOGGER.error("An error occurred while reloading Handlebars template '{}'.", entry, e);
-                            } catch (HbsRenderableCreationException e) {
-                                LOGGER.error("An error occurred while compiling Handlebars template '{}'.", entry, e);
-                            } catch (Exception e) {
-                                LOGGER.error("An unexpected error occurred while reloading Handlebars template '{}'.",
-                                             entry, e);
-                            }
-                            continue;
-                        }
-
-                        MutableExecutable mutableExecutable = watchingExecutables.get(entry);
-                        if (mutableExecutable != null) {
-                            // Updated file is a MutableExecutable
-                            try {
-                                mutableExecutable.reload(readFileContent(entry));
-                                LOGGER.info("JavaScript file '{}' reloaded successfully.", entry);
-                            } catch (IOException e) {
-                                LOGGER.error("An error occurred while reloading JavaScript file '{}'.", entry, e);
-                            } catch (ExecutableUpdateException e) {
-                                LOGGER.error("An error occurred while compiling JavaScript file '{}'.", entry, e);
-                            } catch (Exception e) {
-                                LOGGER.error("An unexpected error occurred while reloading JavaScript file '{}'.", entry, e);
-                            }
-                        }
-                    }
-                } catch (IOException e) {
-                    LOGGER.error("An error occurred while reloading modified files '{}'.", updatedFileAbsolutePath, e);
+                if (watchingRenderables.containsKey(updatedFileAbsolutePath) ||
+                        watchingExecutables.containsKey(updatedFileAbsolutePath)) {
+                    scheduleReload(updatedFileAbsolutePath);
                 }
             }
 
@@ -195,6 +208,67 @@ public class HbsRenderableUpdater {
         }
     }
 
+    /**
+     * Schedules a reload of the specified file after the debounce delay, replacing any reload of the same file which
+     * is still waiting.
+     *
+     * @param path absolute path of the modified file
+     */
+    private void scheduleReload(Path path) {
+        pendingReloads.compute(path, (p, pendingReload) -> {
+            if (pendingReload != null) {
+                pendingReload.cancel(false);
+            }
+            try {
+                return reloadExecutor.schedule(() -> reload(p), debounceDelayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                LOGGER.debug("Cannot schedule reloading of file '{}' as the updater is finished.", p);
+                return null;
+            }
+        });
+    }
+
+    private void reload(Path path) {
+        MutableHbsRenderable mutableRenderable = watchingRenderables.get(path);
+        if (mutableRenderable != null) {
+            // Updated file is a MutableHbsRenderable
+            // Reloads of the same file are serialized so that the content read last is the one that stays.
+            synchronized (mutableRenderable) {
+                try {
+                    mutableRenderable.reload(new StringTemplateSource(mutableRenderable.getComponentPath(),
+                                                                      readFileContent(path)));
+                    LOGGER.info("Handlebars template '{}' reloaded successfully.", path);
+                } catch (IOException e) {
+                    LOGGER.error("An error occurred while reloading Handlebars template '{}'.", path, e);
+                } catch (HbsRenderableCreationException e) {
+                    LOGGER.error("An error occurred while compiling Handlebars template '{}'.", path, e);
+                } catch (Exception e) {
+                    LOGGER.error("An unexpected error occurred while reloading Handlebars template '{}'.", path, e);
+                }
+            }
+        }
+
+        MutableExecutable mutableExecutable = watchingExecutables.get(path);
+        if (mutableExecutable != null) {
+            // Updated file is a MutableExecutable
+            synchronized (mutableExecutable) {
+                try {
+                    Optional<CachingPolicy> oldCachingPolicy = mutableExecutable.getCachingPolicy();
+                    mutableExecutable.reload(readFileContent(path));
+                    // Cached outputs of the previous version of this executable are no longer valid.
+                    oldCachingPolicy.ifPresent(ExecutableOutputCache.getInstance()::invalidate);
+                    LOGGER.info("JavaScript file '{}' reloaded successfully.", path);
+                } catch (IOException e) {
+                    LOGGER.error("An error occurred while reloading JavaScript file '{}'.", path, e);
+                } catch (ExecutableUpdateException e) {
+                    LOGGER.error("An error occurred while compiling JavaScript file '{}'.", path, e);
+                } catch (Exception e) {
+                    LOGGER.error("An unexpected error occurred while reloading JavaScript file '{}'.", path, e);
+                }
+            }
+        }
+    }
+
     private static String readFileContent(Path filePath) throws IOException {
         return new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8);
     }
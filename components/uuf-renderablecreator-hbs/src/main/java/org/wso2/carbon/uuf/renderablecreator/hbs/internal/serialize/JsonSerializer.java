@@ -21,8 +21,14 @@ package org.wso2.carbon.uuf.renderablecreator.hbs.internal.serialize;
 import com.github.jknack.handlebars.Context;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
 import jdk.nashorn.api.scripting.ScriptObjectMirror;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
 /**
  * JSON serializer for JavaScript object of Nashorn.
  *
@@ -56,6 +62,68 @@ public class JsonSerializer {
         return safeSerializer.toJson(src);
     }
 
+    /**
+     * Writes the given object as JSON to the given buffer. The written JSON is same as the one returned from {@link
+     * #toSafeJson(Object)}, but {@link ScriptObjectMirror}s, {@link Map}s and {@link Iterable}s are streamed to the
+     * buffer without creating an intermediate JSON tree or string.
+     * <p>
+     * If an error occurred while writing, the buffer may contain partially written JSON.
+     *
+     * @param src    object to be serialized to JSON
+     * @param buffer buffer to write the JSON representation of {@code src}
+     */
+    public static void writeSafeJson(Object src, StringBuilder buffer) {
+        JsonWriter jsonWriter = new JsonWriter(new StringBuilderWriter(buffer));
+        jsonWriter.setLenient(true);
+        jsonWriter.setHtmlSafe(true);
+        jsonWriter.setSerializeNulls(false);
+        try {
+            write(src, jsonWriter);
+            jsonWriter.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    private static void write(Object src, JsonWriter jsonWriter) throws IOException {
+        if ((src == null) || ScriptObjectMirror.isUndefined(src)) {
+            jsonWriter.nullValue();
+        } else if (src instanceof ScriptObjectMirror) {
+            ScriptObjectMirror jsObj = (ScriptObjectMirror) src;
+            if (jsObj.isFunction()) {
+                jsonWriter.nullValue();
+            } else if (jsObj.isArray()) {
+                jsonWriter.beginArray();
+                for (Object item : jsObj.values()) {
+                    write(item, jsonWriter);
+                }
+                jsonWriter.endArray();
+            } else {
+                jsonWriter.beginObject();
+                for (String key : jsObj.getOwnKeys(false)) {
+                    jsonWriter.name(key);
+                    write(jsObj.getMember(key), jsonWriter);
+                }
+                jsonWriter.endObject();
+            }
+        } else if (src instanceof Map) {
+            jsonWriter.beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) src).entrySet()) {
+                jsonWriter.name(String.valueOf(entry.getKey()));
+                write(entry.getValue(), jsonWriter);
+            }
+            jsonWriter.endObject();
+        } else if (src instanceof Iterable) {
+            jsonWriter.beginArray();
+            for (Object item : (Iterable<?>) src) {
+                write(item, jsonWriter);
+            }
+            jsonWriter.endArray();
+        } else {
+            safeSerializer.toJson(src, src.getClass(), jsonWriter);
+        }
+    }
+
     /**
      * Converts the given object to JSON. The returned JSON string includes indentations and new lines to for
      * formatting, has any null values/fields of the object, and any HTML special characters won't be escaped.
@@ -66,4 +134,45 @@ public class JsonSerializer {
     public static String toPrettyJson(Object src) {
         return prettySerializer.toJson(src);
     }
+
+    /**
+     * A {@link Writer} that appends to a {@link StringBuilder}.
+     */
+    private static class StringBuilderWriter extends Writer {
+
+        private final StringBuilder buffer;
+
+        StringBuilderWriter(StringBuilder buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int c) {
+            buffer.append((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            buffer.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            buffer.append(str, off, off + len);
+        }
+
+        @Override
+        public Writer append(CharSequence csq) {
+            buffer.append(csq);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
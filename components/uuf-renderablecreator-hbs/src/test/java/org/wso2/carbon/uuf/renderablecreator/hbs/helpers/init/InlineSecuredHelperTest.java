@@ -21,6 +21,10 @@ package org.wso2.carbon.uuf.renderablecreator.hbs.helpers.init;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.carbon.uuf.api.auth.Permission;
+import org.wso2.carbon.uuf.renderablecreator.hbs.internal.HbsPreprocessor;
+
+import java.util.Arrays;
+import java.util.HashSet;
 
 import static org.wso2.carbon.uuf.renderablecreator.hbs.helpers.init.InitHelpersTestUtil.createHbsPagePreprocessor;
 
@@ -44,4 +48,14 @@ public class InlineSecuredHelperTest {
         Permission permission = createHbsPagePreprocessor(templateContent).getPermission();
         Assert.assertEquals(permission, new Permission("resourceUri", "action"));
     }
+
+    @Test
+    public void testSecuredBlocks() {
+        String templateContent = "{{#secured \"a\" \"read\"}}A{{/secured}}{{#secured}}B{{/secured}}" +
+                "{{#secured \"b\" \"write\"}}C{{else}}D{{/secured}}";
+        HbsPreprocessor preprocessor = createHbsPagePreprocessor(templateContent);
+        Assert.assertNull(preprocessor.getPermission());
+        Assert.assertEquals(preprocessor.getSecuredPermissions(),
+                            new HashSet<>(Arrays.asList(new Permission("a", "read"), new Permission("b", "write"))));
+    }
 }
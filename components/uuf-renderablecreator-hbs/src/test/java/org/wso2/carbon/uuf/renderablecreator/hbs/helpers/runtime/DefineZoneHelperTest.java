@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+
+package org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.exception.RenderingTimeoutException;
+import org.wso2.carbon.uuf.core.Component;
+import org.wso2.carbon.uuf.core.Fragment;
+import org.wso2.carbon.uuf.core.Lookup;
+import org.wso2.carbon.uuf.core.RequestLookup;
+import org.wso2.carbon.uuf.spi.Renderable;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.RuntimeHelpersTestUtil.createAPI;
+import static org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.RuntimeHelpersTestUtil.createRenderable;
+import static org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.RuntimeHelpersTestUtil.createRenderingFlowTracker;
+
+/**
+ * Test cases for {@code {{#defineZone}}} helper.
+ *
+ * @since 1.0.0
+ */
+public class DefineZoneHelperTest {
+
+    private static final String ZONE_NAME = "content";
+    private static final String TEMPLATE = "{{#defineZone \"" + ZONE_NAME + "\"}}default{{/defineZone}}";
+
+    private static Fragment createFragment(String name, String content) {
+        Renderable renderable = mock(Renderable.class);
+        when(renderable.render(any(), any(), any(), any())).thenReturn(content);
+        return new Fragment(name, renderable, null);
+    }
+
+    private static Fragment createTimingOutFragment(String name) {
+        Renderable renderable = mock(Renderable.class);
+        when(renderable.render(any(), any(), any(), any())).thenThrow(new RenderingTimeoutException("Timed out."));
+        return new Fragment(name, renderable, null);
+    }
+
+    private static Lookup createLookup(Fragment... bindings) {
+        Component component = new Component("test.component", null, "/test", ImmutableSortedSet.of(),
+                                            Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+                                            null);
+        Lookup lookup = RuntimeHelpersTestUtil.createLookup();
+        when(lookup.getBindings(any(), eq(ZONE_NAME))).thenReturn(ImmutableList.copyOf(bindings));
+        when(lookup.getComponent(any())).thenReturn(Optional.of(component));
+        return lookup;
+    }
+
+    private static RequestLookup createRequestLookup() {
+        RequestLookup requestLookup = RuntimeHelpersTestUtil.createRequestLookup();
+        doReturn(createRenderingFlowTracker(false)).when(requestLookup).tracker();
+        return requestLookup;
+    }
+
+    private static String zone(String content) {
+        return "<!--[UUF-ZONE]{\"name\": \"" + ZONE_NAME + "\",\"position\": \"start\"}-->\n" + content +
+                "<!--[UUF-ZONE]{\"name\": \"" + ZONE_NAME + "\",\"position\": \"end\"}-->\n";
+    }
+
+    @Test
+    public void testDefaultContent() {
+        String output = createRenderable(TEMPLATE).render(null, createLookup(), createRequestLookup(), createAPI());
+        Assert.assertEquals(output, zone("default"));
+    }
+
+    @Test
+    public void testBoundFragments() {
+        Lookup lookup = createLookup(createFragment("test.component.f1", "<p>f1</p>"),
+                                     createFragment("test.component.f2", "<p>f2</p>"));
+        String output = createRenderable(TEMPLATE).render(null, lookup, createRequestLookup(), createAPI());
+        Assert.assertEquals(output, zone("<p>f1</p><p>f2</p>"));
+    }
+
+    @Test
+    public void testTimedOutFragments() {
+        Lookup lookup = createLookup(createFragment("test.component.f1", "<p>f1</p>"),
+                                     createTimingOutFragment("test.component.f2"),
+                                     createTimingOutFragment("test.component.f3"),
+                                     createFragment("test.component.f4", "<p>f4</p>"));
+        RequestLookup requestLookup = createRequestLookup();
+        requestLookup.putToZone(ZONE_NAME, "<p>zone</p>");
+
+        String output = createRenderable(TEMPLATE).render(null, lookup, requestLookup, createAPI());
+        // Default content is rendered once, in the place of the first timed out fragment.
+        Assert.assertEquals(output, zone("<p>f1</p>default<p>f4</p><p>zone</p>"));
+    }
+}
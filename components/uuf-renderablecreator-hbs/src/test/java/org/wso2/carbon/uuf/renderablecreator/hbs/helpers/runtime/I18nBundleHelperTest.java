@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.Placeholder;
+import org.wso2.carbon.uuf.api.config.I18nBundle;
+import org.wso2.carbon.uuf.api.config.I18nResources;
+import org.wso2.carbon.uuf.core.Lookup;
+import org.wso2.carbon.uuf.core.RequestLookup;
+
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.mockito.Mockito.when;
+import static org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.RuntimeHelpersTestUtil.createAPI;
+import static org.wso2.carbon.uuf.renderablecreator.hbs.helpers.runtime.RuntimeHelpersTestUtil.createRenderable;
+
+/**
+ * Test cases for the {@code {{i18nBundle}}} helper.
+ *
+ * @since 1.0.0
+ */
+public class I18nBundleHelperTest {
+
+    @Test
+    public void test() {
+        Lookup lookup = createLookup();
+        RequestLookup requestLookup = createRequestLookup();
+        createRenderable("{{i18nBundle}} {{i18nBundle}}").render(null, lookup, requestLookup, createAPI());
+
+        I18nBundle bundle = lookup.getI18nResources().getBundle("test.component", Locale.ENGLISH).get();
+        Assert.assertEquals(requestLookup.getPlaceholderContent(Placeholder.headJs).orElse(null),
+                            "<script src=\"/contextPath/i18n/test.component/en.js?v=" + bundle.getVersion() +
+                                    "\" type=\"text/javascript\"></script>\n");
+    }
+
+    @Test
+    public void testWithComponentAndLocale() {
+        Lookup lookup = createLookup();
+        RequestLookup requestLookup = createRequestLookup();
+        createRenderable("{{i18nBundle \"test.component\" locale=\"fr\"}}").render(null, lookup, requestLookup,
+                                                                                  createAPI());
+
+        I18nBundle bundle = lookup.getI18nResources().getBundle("test.component", Locale.FRENCH).get();
+        Assert.assertEquals(requestLookup.getPlaceholderContent(Placeholder.headJs).orElse(null),
+                            "<script src=\"/contextPath/i18n/test.component/fr.js?v=" + bundle.getVersion() +
+                                    "\" type=\"text/javascript\"></script>\n");
+    }
+
+    @Test
+    public void testWithoutLanguageResources() {
+        RequestLookup requestLookup = createRequestLookup();
+        createRenderable("{{i18nBundle \"other.component\"}}").render(null, createLookup(), requestLookup,
+                                                                      createAPI());
+        Assert.assertFalse(requestLookup.getPlaceholderContent(Placeholder.headJs).isPresent());
+    }
+
+    private static Lookup createLookup() {
+        I18nResources i18nResources = new I18nResources();
+        Properties englishMessages = new Properties();
+        englishMessages.put("test.hello", "Hello");
+        i18nResources.addI18nResource("test.component", Locale.ENGLISH, englishMessages);
+        Properties frenchMessages = new Properties();
+        frenchMessages.put("test.hello", "Bonjour");
+        i18nResources.addI18nResource("test.component", Locale.FRENCH, frenchMessages);
+
+        Lookup lookup = RuntimeHelpersTestUtil.createLookup();
+        when(lookup.getI18nResources()).thenReturn(i18nResources);
+        return lookup;
+    }
+
+    private static RequestLookup createRequestLookup() {
+        RequestLookup requestLookup = RuntimeHelpersTestUtil.createRequestLookup();
+        RequestLookup.RenderingFlowTracker tracker = RuntimeHelpersTestUtil.createRenderingFlowTracker(false);
+        when(tracker.getCurrentComponentName()).thenReturn("test.component");
+        when(requestLookup.tracker()).thenReturn(tracker);
+        return requestLookup;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.renderablecreator.hbs.internal;
+
+import com.google.common.collect.ImmutableMap;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.core.API;
+import org.wso2.carbon.uuf.core.RequestLookup;
+import org.wso2.carbon.uuf.renderablecreator.hbs.core.CachingPolicy;
+import org.wso2.carbon.uuf.renderablecreator.hbs.core.Executable;
+import org.wso2.carbon.uuf.spi.HttpRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for executable output cache.
+ *
+ * @since 1.0.0
+ */
+public class ExecutableOutputCacheTest {
+
+    private static RequestLookup createRequestLookup(Map<String, String> pathParams) {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.getQueryParams()).thenReturn(Collections.emptyMap());
+        RequestLookup requestLookup = mock(RequestLookup.class);
+        when(requestLookup.getRequest()).thenReturn(request);
+        when(requestLookup.getPathParams()).thenReturn(pathParams);
+        return requestLookup;
+    }
+
+    private static Executable createExecutable(AtomicInteger executionsCount) {
+        return (context, api, lookup, requestLookup) -> ImmutableMap.of("count", executionsCount.incrementAndGet());
+    }
+
+    @Test
+    public void testCachedOutput() {
+        ExecutableOutputCache cache = new ExecutableOutputCache(10);
+        CachingPolicy cachingPolicy = new CachingPolicy(60000, 0, Collections.singletonList("pathParams.id"));
+        AtomicInteger executionsCount = new AtomicInteger();
+        Executable executable = createExecutable(executionsCount);
+        RequestLookup requestLookup1 = createRequestLookup(ImmutableMap.of("id", "1"));
+        RequestLookup requestLookup2 = createRequestLookup(ImmutableMap.of("id", "2"));
+
+        Object output = cache.get(executable, cachingPolicy, null, mock(API.class), null, requestLookup1);
+        Assert.assertEquals(output, ImmutableMap.of("count", 1));
+        output = cache.get(executable, cachingPolicy, null, mock(API.class), null, requestLookup1);
+        Assert.assertEquals(output, ImmutableMap.of("count", 1));
+        output = cache.get(executable, cachingPolicy, null, mock(API.class), null, requestLookup2);
+        Assert.assertEquals(output, ImmutableMap.of("count", 2));
+        Assert.assertEquals(executionsCount.get(), 2);
+    }
+
+    @Test
+    public void testStaleWhileRevalidate() throws Exception {
+        ExecutableOutputCache cache = new ExecutableOutputCache(10);
+        CachingPolicy cachingPolicy = new CachingPolicy(1, 60000, Collections.emptyList());
+        AtomicInteger executionsCount = new AtomicInteger();
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch refreshReleased = new CountDownLatch(1);
+        Executable executable = (context, api, lookup, requestLookup) -> {
+            if (executionsCount.get() == 1) {
+                refreshStarted.countDown();
+                try {
+                    refreshReleased.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return ImmutableMap.of("count", executionsCount.incrementAndGet());
+        };
+        RequestLookup requestLookup = createRequestLookup(Collections.emptyMap());
+
+        Assert.assertEquals(cache.get(executable, cachingPolicy, null, mock(API.class), null, requestLookup),
+                            ImmutableMap.of("count", 1));
+        Thread.sleep(5);
+        // First request that finds the output stale refreshes it inline.
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Object> refreshingOutput = executorService.submit(
+                () -> cache.get(executable, cachingPolicy, null, mock(API.class), null, requestLookup));
+        Assert.assertTrue(refreshStarted.await(10, TimeUnit.SECONDS));
+        // Stale output is served to the other requests while the refresh is in progress.
+        Assert.assertEquals(cache.get(executable, cachingPolicy, null, mock(API.class), null, requestLookup),
+                            ImmutableMap.of("count", 1));
+        refreshReleased.countDown();
+        Assert.assertEquals(refreshingOutput.get(), ImmutableMap.of("count", 2));
+        executorService.shutdown();
+        Assert.assertEquals(executionsCount.get(), 2);
+    }
+
+    @Test
+    public void testInvalidate() {
+        ExecutableOutputCache cache = new ExecutableOutputCache(10);
+        CachingPolicy cachingPolicy1 = new CachingPolicy(60000, 0, Collections.emptyList());
+        CachingPolicy cachingPolicy2 = new CachingPolicy(60000, 0, Collections.emptyList());
+        AtomicInteger executionsCount1 = new AtomicInteger();
+        AtomicInteger executionsCount2 = new AtomicInteger();
+        Executable executable1 = createExecutable(executionsCount1);
+        Executable executable2 = createExecutable(executionsCount2);
+        RequestLookup requestLookup = createRequestLookup(Collections.emptyMap());
+
+        cache.get(executable1, cachingPolicy1, null, mock(API.class), null, requestLookup);
+        cache.get(executable2, cachingPolicy2, null, mock(API.class), null, requestLookup);
+        cache.invalidate(cachingPolicy1);
+        Assert.assertEquals(cache.get(executable1, cachingPolicy1, null, mock(API.class), null, requestLookup),
+                            ImmutableMap.of("count", 2));
+        Assert.assertEquals(cache.get(executable2, cachingPolicy2, null, mock(API.class), null, requestLookup),
+                            ImmutableMap.of("count", 1));
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        ExecutableOutputCache cache = new ExecutableOutputCache(10);
+        CachingPolicy cachingPolicy = new CachingPolicy(60000, 0, Collections.emptyList());
+        AtomicInteger executionsCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        Executable executable = (context, api, lookup, requestLookup) -> {
+            try {
+                latch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return executionsCount.incrementAndGet();
+        };
+        RequestLookup requestLookup = createRequestLookup(Collections.emptyMap());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        List<Future<Object>> outputs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            outputs.add(executorService.submit(
+                    () -> cache.get(executable, cachingPolicy, null, mock(API.class), null, requestLookup)));
+        }
+        Thread.sleep(100);
+        latch.countDown();
+        for (Future<Object> output : outputs) {
+            Assert.assertEquals(output.get(), 1);
+        }
+        executorService.shutdown();
+        Assert.assertEquals(executionsCount.get(), 1);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.renderablecreator.hbs.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.config.I18nResources;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Test cases for template localizer.
+ *
+ * @since 1.0.0
+ */
+public class TemplateLocalizerTest {
+
+    private static I18nResources createI18nResources() {
+        Properties messages = new Properties();
+        messages.put("hello", "Hello");
+        messages.put("hello.name", "Hello {0}");
+        messages.put("terms", "Terms & Conditions");
+        I18nResources i18nResources = new I18nResources();
+        i18nResources.addI18nResource(Locale.ENGLISH, messages);
+        return i18nResources;
+    }
+
+    @DataProvider
+    public Object[][] templates() {
+        return new Object[][]{
+                {"<p>{{i18n \"hello\"}}</p>", "<p>Hello</p>"},
+                {"<p>{{ i18n 'hello' }}</p>", "<p>Hello</p>"},
+                {"<a>{{i18n \"terms\"}}</a>", "<a>Terms &amp; Conditions</a>"},
+                {"{{i18n \"unknown\"}}", "unknown"},
+                {"{{i18n \"hello\"}} {{i18n \"hello.name\"}}", "Hello {{i18n \"hello.name\"}}"},
+                {"{{i18n \"hello.name\" @user.name}}", null},
+                {"{{i18n \"hello\" locale=\"fr\"}}", null},
+                {"{{i18n key}}", null},
+                {"{{{i18n \"hello\"}}}", null},
+                {"\\{{i18n \"hello\"}}", null}
+        };
+    }
+
+    @Test(dataProvider = "templates")
+    public void testLocalize(String templateSource, String expectedTemplateSource) {
+        Optional<String> localized = TemplateLocalizer.localize(templateSource, Locale.ENGLISH, createI18nResources());
+        Assert.assertEquals(localized.orElse(null), expectedTemplateSource);
+    }
+}
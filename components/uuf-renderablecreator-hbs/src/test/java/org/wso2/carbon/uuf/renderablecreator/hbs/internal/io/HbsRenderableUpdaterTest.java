@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.uuf.renderablecreator.hbs.internal.io;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+import org.wso2.carbon.uuf.api.reference.FileReference;
+import org.wso2.carbon.uuf.api.reference.LayoutReference;
+import org.wso2.carbon.uuf.renderablecreator.hbs.core.MutableHbsRenderable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for the {@link HbsRenderableUpdater} class.
+ *
+ * @since 1.0.0
+ */
+public class HbsRenderableUpdaterTest {
+
+    private static MutableHbsRenderable createRenderable(Path path, HbsRenderableUpdater updater) {
+        FileReference fileReference = mock(FileReference.class);
+        when(fileReference.getAbsolutePath()).thenReturn(path.toString());
+        LayoutReference layoutReference = mock(LayoutReference.class);
+        when(layoutReference.getRenderingFile()).thenReturn(fileReference);
+        MutableHbsRenderable renderable = mock(MutableHbsRenderable.class);
+        when(renderable.getComponentPath()).thenReturn(path.getFileName().toString());
+        when(renderable.getMutableExecutable()).thenReturn(Optional.empty());
+        updater.add(layoutReference, renderable);
+        return renderable;
+    }
+
+    @Test
+    public void testDebouncedReloadOfModifiedFileOnly() throws IOException {
+        Path directory = Files.createTempDirectory("uuf-hbs-updater");
+        Path modifiedFile = Files.write(directory.resolve("modified.hbs"), "v1".getBytes(StandardCharsets.UTF_8));
+        Path siblingFile = Files.write(directory.resolve("sibling.hbs"), "v1".getBytes(StandardCharsets.UTF_8));
+        HbsRenderableUpdater updater = new HbsRenderableUpdater(200);
+        try {
+            MutableHbsRenderable modifiedRenderable = createRenderable(modifiedFile, updater);
+            MutableHbsRenderable siblingRenderable = createRenderable(siblingFile, updater);
+            updater.start();
+
+            // Several writes of a single save are coalesced into one reload.
+            Files.write(modifiedFile, "v2".getBytes(StandardCharsets.UTF_8));
+            Files.write(modifiedFile, "v3".getBytes(StandardCharsets.UTF_8));
+
+            verify(modifiedRenderable, timeout(10000)).reload(any());
+            verify(modifiedRenderable, after(1000).times(1)).reload(any());
+            verify(siblingRenderable, never()).reload(any());
+        } finally {
+            updater.finish();
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+}
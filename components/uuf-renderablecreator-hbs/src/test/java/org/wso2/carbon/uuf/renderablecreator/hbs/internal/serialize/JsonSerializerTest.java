@@ -25,7 +25,10 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.script.Bindings;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
@@ -55,6 +58,26 @@ public class JsonSerializerTest {
         Assert.assertEquals(actualJson, expectedJson);
     }
 
+    @Test(dataProvider = "safeTestData")
+    public void testWriteJson(String jsScript, String expectedJson) throws ScriptException {
+        Object jsObject = executeJavaScript(jsScript).get("input");
+        StringBuilder buffer = new StringBuilder("var input=");
+        JsonSerializer.writeSafeJson(jsObject, buffer);
+        Assert.assertEquals(buffer.toString(), "var input=" + expectedJson);
+    }
+
+    @Test
+    public void testWriteJsonEscaping() {
+        Map<String, Object> src = new LinkedHashMap<>();
+        src.put("html", "</script><script>alert('x')</script>");
+        src.put("nothing", null);
+        src.put("list", Arrays.asList(1, "a&b", null));
+        StringBuilder buffer = new StringBuilder();
+        JsonSerializer.writeSafeJson(src, buffer);
+        Assert.assertEquals(buffer.toString(), JsonSerializer.toSafeJson(src));
+        Assert.assertFalse(buffer.toString().contains("</script>"));
+    }
+
     @Test(dataProvider = "prettyTestData")
     public void testToPrettyJson(String jsScript, String expectedJson) throws ScriptException {
         Object jsObject = executeJavaScript(jsScript).get("input");
@@ -19,6 +19,7 @@ package org.wso2.carbon.uuf.renderablecreator.html.internal.io;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.uuf.internal.io.util.ZipArtifactHandler;
 import org.wso2.carbon.uuf.renderablecreator.html.core.MutableHtmlRenderable;
 import org.wso2.carbon.uuf.renderablecreator.html.exception.HtmlRenderableUpdateException;
 
@@ -63,6 +64,12 @@ public class HtmlRenderableUpdater {
     }
 
     public void add(MutableHtmlRenderable mutableHtmlRenderable) {
+        if (ZipArtifactHandler.isZipEntry(mutableHtmlRenderable.getAbsoluteFilePath())) {
+            // Files inside zip artifacts cannot be modified, hence no need to watch.
+            LOGGER.debug("HTML file '{}' is not watched as it is inside a zip artifact.",
+                         mutableHtmlRenderable.getAbsoluteFilePath());
+            return;
+        }
         Path renderablePath = Paths.get(mutableHtmlRenderable.getAbsoluteFilePath());
         Path parentDirectory = renderablePath.getParent();
         if (watchingDirectories.add(parentDirectory)) {